@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.validation.BindException;
+
+/**
+ * Benchmark for {@link GraphQlArgumentBinder#bind(Object, boolean, ResolvableType)}
+ * with nested input types, bound through constructors and through setters.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GraphQlArgumentBinderBenchmark {
+
+	@Benchmark
+	public Object bindConstructor(BinderState state) throws BindException {
+		return state.binder.bind(state.rawValue, false, BinderState.RECORD_TYPE);
+	}
+
+	@Benchmark
+	public Object bindSetters(BinderState state) throws BindException {
+		return state.binder.bind(state.rawValue, false, BinderState.BEAN_TYPE);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BinderState {
+
+		static final ResolvableType RECORD_TYPE = ResolvableType.forClass(OrderInput.class);
+
+		static final ResolvableType BEAN_TYPE = ResolvableType.forClass(OrderBean.class);
+
+		@Param({"1", "20"})
+		public int itemCount;
+
+		public GraphQlArgumentBinder binder;
+
+		public Map<String, Object> rawValue;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.binder = new GraphQlArgumentBinder();
+			List<Map<String, Object>> items = new ArrayList<>(this.itemCount);
+			for (int i = 0; i < this.itemCount; i++) {
+				items.add(Map.of("sku", "sku-" + i, "quantity", i, "price", "12.5"));
+			}
+			this.rawValue = new LinkedHashMap<>();
+			this.rawValue.put("id", "42");
+			this.rawValue.put("customer", Map.of("name", "Jane", "address", Map.of("street", "Main", "city", "Town")));
+			this.rawValue.put("items", items);
+		}
+
+	}
+
+
+	public record OrderInput(String id, CustomerInput customer, List<ItemInput> items) {
+	}
+
+	public record CustomerInput(String name, AddressInput address) {
+	}
+
+	public record AddressInput(String street, String city) {
+	}
+
+	public record ItemInput(String sku, int quantity, double price) {
+	}
+
+
+	public static class OrderBean {
+
+		private String id;
+
+		private CustomerBean customer;
+
+		private List<ItemBean> items;
+
+		public String getId() {
+			return this.id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public CustomerBean getCustomer() {
+			return this.customer;
+		}
+
+		public void setCustomer(CustomerBean customer) {
+			this.customer = customer;
+		}
+
+		public List<ItemBean> getItems() {
+			return this.items;
+		}
+
+		public void setItems(List<ItemBean> items) {
+			this.items = items;
+		}
+
+	}
+
+
+	public static class CustomerBean {
+
+		private String name;
+
+		private AddressInput address;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public AddressInput getAddress() {
+			return this.address;
+		}
+
+		public void setAddress(AddressInput address) {
+			this.address = address;
+		}
+
+	}
+
+
+	public static class ItemBean {
+
+		private String sku;
+
+		private int quantity;
+
+		private double price;
+
+		public String getSku() {
+			return this.sku;
+		}
+
+		public void setSku(String sku) {
+			this.sku = sku;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.method;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for the invocation of a controller method with resolved argument
+ * values, reflectively as {@link InvocableHandlerMethodSupport} does, and
+ * through a {@link MethodHandle} adapted to take the bean and an argument
+ * array, and held in an instance field.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class HandlerMethodInvocationBenchmark {
+
+	@Benchmark
+	public Object reflection(InvocationState state) throws Exception {
+		return state.method.invoke(state.bean, state.args);
+	}
+
+	@Benchmark
+	public Object methodHandle(InvocationState state) throws Throwable {
+		return (Object) state.methodHandle.invokeExact(state.bean, state.args);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class InvocationState {
+
+		public Object bean;
+
+		public Object[] args;
+
+		public Method method;
+
+		public MethodHandle methodHandle;
+
+		@Setup(Level.Trial)
+		public void setup() throws Exception {
+			this.bean = new BookController();
+			this.args = new Object[] {"42", 3};
+			this.method = BookController.class.getMethod("book", String.class, int.class);
+			this.methodHandle = MethodHandles.lookup().unreflect(this.method)
+					.asType(MethodType.genericMethodType(3))
+					.asSpreader(Object[].class, 2);
+		}
+
+	}
+
+
+	public static class BookController {
+
+		public Book book(String id, int edition) {
+			return new Book(id, edition);
+		}
+
+	}
+
+
+	public record Book(String id, int edition) {
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.method.annotation.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Benchmark for the dispatch of {@link BatchMapping @BatchMapping} controller
+ * methods, with a list of books that each load an author.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BatchMappingBenchmark {
+
+	private static final String SCHEMA = """
+			type Query {
+				books(limit: Int): [Book]
+			}
+			type Book {
+				id: ID
+				name: String
+				author: Author
+			}
+			type Author {
+				id: ID
+				name: String
+			}
+			""";
+
+	private static final String DOCUMENT = "query Books($limit: Int) { books(limit: $limit) { id name author { id name } } }";
+
+
+	@Benchmark
+	public ExecutionGraphQlResponse batchMapping(ServiceState state) {
+		DefaultExecutionGraphQlRequest request = new DefaultExecutionGraphQlRequest(
+				DOCUMENT, null, Map.of("limit", state.limit), null, "1", null);
+		return state.service.execute(request).block();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ServiceState {
+
+		@Param({"10", "100", "1000"})
+		public int limit;
+
+		public AnnotationConfigApplicationContext context;
+
+		public DefaultExecutionGraphQlService service;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext();
+			this.context.registerBean(BookController.class);
+			this.context.registerBean(BatchLoaderRegistry.class, DefaultBatchLoaderRegistry::new);
+			this.context.refresh();
+
+			AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+			configurer.setApplicationContext(this.context);
+			configurer.afterPropertiesSet();
+
+			GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+					.schemaResources(new ByteArrayResource(SCHEMA.getBytes(StandardCharsets.UTF_8)))
+					.configureRuntimeWiring(configurer)
+					.build();
+
+			this.service = new DefaultExecutionGraphQlService(source);
+			this.service.addDataLoaderRegistrar(this.context.getBean(BatchLoaderRegistry.class));
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.context.close();
+		}
+
+	}
+
+
+	@Controller
+	static class BookController {
+
+		@QueryMapping
+		List<Book> books(@Argument int limit) {
+			return IntStream.range(0, limit)
+					.mapToObj((i) -> new Book(String.valueOf(i), "Book " + i, String.valueOf(i % 10)))
+					.toList();
+		}
+
+		@BatchMapping
+		Map<Book, Author> author(List<Book> books) {
+			return books.stream().collect(Collectors.toMap(Function.identity(),
+					(book) -> new Author(book.authorId(), "Author " + book.authorId())));
+		}
+
+	}
+
+
+	public record Book(String id, String name, String authorId) {
+	}
+
+	public record Author(String id, String name) {
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
+import org.springframework.graphql.data.query.WindowConnectionAdapter;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
+import org.springframework.graphql.execution.GraphQlSource;
+
+/**
+ * Benchmark for the adaptation of large pages to Connection types through
+ * {@link ConnectionFieldTypeVisitor}, with a Spring Data {@link Window}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ConnectionFieldTypeVisitorBenchmark {
+
+	private static final String SCHEMA = """
+			type Query {
+				books: BookConnection
+			}
+			type Book {
+				id: ID
+				name: String
+			}
+			""";
+
+
+	@Benchmark
+	public ExecutionResult edgesAndCursors(ConnectionState state) {
+		return state.graphQl.execute(
+				"{ books { edges { cursor node { id name } } pageInfo { hasNextPage endCursor } } }");
+	}
+
+	@Benchmark
+	public ExecutionResult nodesOnly(ConnectionState state) {
+		return state.graphQl.execute("{ books { edges { node { id name } } pageInfo { hasNextPage } } }");
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ConnectionState {
+
+		@Param({"100", "1000", "10000"})
+		public int pageSize;
+
+		public GraphQL graphQl;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			List<Book> books = IntStream.range(0, this.pageSize)
+					.mapToObj((i) -> new Book(String.valueOf(i), "Book " + i))
+					.toList();
+
+			CursorStrategy<ScrollPosition> cursorStrategy =
+					CursorStrategy.withEncoder(new ScrollPositionCursorStrategy(), CursorEncoder.base64());
+
+			this.graphQl = GraphQlSource.schemaResourceBuilder()
+					.schemaResources(new ByteArrayResource(SCHEMA.getBytes(StandardCharsets.UTF_8)))
+					.configureTypeDefinitions(new ConnectionTypeDefinitionConfigurer())
+					.typeVisitors(List.of(ConnectionFieldTypeVisitor.create(
+							List.of(new WindowConnectionAdapter(cursorStrategy)))))
+					.configureRuntimeWiring((wiring) -> wiring.type("Query", (type) -> type
+							.dataFetcher("books", (env) -> Window.from(books, ScrollPosition::offset, true))))
+					.build()
+					.graphQl();
+		}
+
+	}
+
+
+	public record Book(String id, String name) {
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Mono;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Benchmark for the per-request cost of {@link DataLoader} registrations in
+ * {@link DefaultExecutionGraphQlService}, with many registrations in the
+ * {@link BatchLoaderRegistry} of which a query uses only one. With
+ * {@code registry=lazy}, the service creates only the {@code DataLoader}s
+ * that are used, while with {@code registry=eager} the request provides a
+ * plain {@link DataLoaderRegistry} into which all are created upfront.
+ * Allocation rates are reported by the "gc" profiler.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataLoaderRegistrationBenchmark {
+
+	private static final String SCHEMA = """
+			type Query {
+				books(limit: Int): [Book]
+			}
+			type Book {
+				id: ID
+				name: String
+				author: Author
+			}
+			type Author {
+				id: ID
+				name: String
+			}
+			""";
+
+	private static final String DOCUMENT = "query Books($limit: Int) { books(limit: $limit) { id name author { id name } } }";
+
+
+	@Benchmark
+	public ExecutionGraphQlResponse books(ServiceState state) {
+		DefaultExecutionGraphQlRequest request = new DefaultExecutionGraphQlRequest(
+				DOCUMENT, null, Map.of("limit", state.limit), null, "1", null);
+		if (state.registry.equals("eager")) {
+			request.configureExecutionInput((input, builder) ->
+					builder.dataLoaderRegistry(new DataLoaderRegistry()).build());
+		}
+		return state.service.execute(request).block();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ServiceState {
+
+		@Param({"lazy", "eager"})
+		public String registry;
+
+		@Param({"180"})
+		public int registrations;
+
+		@Param({"10"})
+		public int limit;
+
+		public AnnotationConfigApplicationContext context;
+
+		public DefaultExecutionGraphQlService service;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext(BookController.class);
+
+			AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+			configurer.setApplicationContext(this.context);
+			configurer.afterPropertiesSet();
+
+			GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+					.schemaResources(new ByteArrayResource(SCHEMA.getBytes(StandardCharsets.UTF_8)))
+					.configureRuntimeWiring(configurer)
+					.build();
+
+			BatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry();
+			batchLoaderRegistry.forTypePair(String.class, Author.class)
+					.registerMappedBatchLoader((ids, env) -> Mono.just(ids.stream().collect(
+							Collectors.toMap(Function.identity(), (id) -> new Author(id, "Author " + id)))));
+			for (int i = 1; i < this.registrations; i++) {
+				batchLoaderRegistry.<String, Author>forName("unused" + i)
+						.registerMappedBatchLoader((ids, env) -> Mono.empty());
+			}
+
+			this.service = new DefaultExecutionGraphQlService(source);
+			this.service.addDataLoaderRegistrar(batchLoaderRegistry);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.context.close();
+		}
+
+	}
+
+
+	@Controller
+	static class BookController {
+
+		@QueryMapping
+		List<Book> books(@Argument int limit) {
+			return IntStream.range(0, limit)
+					.mapToObj((i) -> new Book(String.valueOf(i), "Book " + i, String.valueOf(i % 5)))
+					.toList();
+		}
+
+		@SchemaMapping
+		CompletableFuture<Author> author(Book book, DataLoader<String, Author> loader) {
+			return loader.load(book.authorId());
+		}
+
+	}
+
+
+	public record Book(String id, String name, String authorId) {
+	}
+
+	public record Author(String id, String name) {
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Benchmark for end-to-end execution through {@link DefaultExecutionGraphQlService}
+ * with annotated controllers, from request to response data.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ExecutionGraphQlServiceBenchmark {
+
+	private static final String SCHEMA = """
+			type Query {
+				bookById(id: ID): Book
+				books(limit: Int): [Book]
+			}
+			type Book {
+				id: ID
+				name: String
+				pageCount: Int
+			}
+			""";
+
+
+	@Benchmark
+	public String bookById(ServiceState state) {
+		return state.tester.document("{ bookById(id: \"1\") { id name pageCount } }")
+				.execute()
+				.path("bookById.name").entity(String.class).get();
+	}
+
+	@Benchmark
+	public List<Book> books(ServiceState state) {
+		return state.tester.document("query Books($limit: Int) { books(limit: $limit) { id name pageCount } }")
+				.variable("limit", state.limit)
+				.execute()
+				.path("books").entityList(Book.class).get();
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ServiceState {
+
+		@Param({"10", "100"})
+		public int limit;
+
+		public AnnotationConfigApplicationContext context;
+
+		public ExecutionGraphQlServiceTester tester;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.context = new AnnotationConfigApplicationContext(BookController.class);
+
+			AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+			configurer.setApplicationContext(this.context);
+			configurer.afterPropertiesSet();
+
+			GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+					.schemaResources(new ByteArrayResource(SCHEMA.getBytes(StandardCharsets.UTF_8)))
+					.configureRuntimeWiring(configurer)
+					.build();
+
+			this.tester = ExecutionGraphQlServiceTester.create(new DefaultExecutionGraphQlService(source));
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.context.close();
+		}
+
+	}
+
+
+	@Controller
+	static class BookController {
+
+		@QueryMapping
+		Book bookById(@Argument String id) {
+			return new Book(id, "Book " + id, 100);
+		}
+
+		@QueryMapping
+		List<Book> books(@Argument int limit) {
+			return IntStream.range(0, limit).mapToObj((i) -> new Book(String.valueOf(i), "Book " + i, i)).toList();
+		}
+
+	}
+
+
+	public record Book(String id, String name, int pageCount) {
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.webflux;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.graphql.server.support.GraphQlWebSocketMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.adapter.AbstractWebSocketSession;
+
+/**
+ * Benchmark for encoding and decoding GraphQL over WebSocket messages with
+ * {@link WebSocketCodecDelegate}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class WebSocketCodecDelegateBenchmark {
+
+	@Benchmark
+	public WebSocketMessage encodeNext(CodecState state) {
+		return state.codecDelegate.encodeNext(state.session, "1", state.responseMap);
+	}
+
+	@Benchmark
+	public GraphQlWebSocketMessage decodeSubscribe(CodecState state) {
+		return state.codecDelegate.decode(state.subscribeMessage());
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class CodecState {
+
+		@Param({"1", "100"})
+		public int itemCount;
+
+		public WebSocketCodecDelegate codecDelegate;
+
+		public BenchmarkWebSocketSession session;
+
+		public Map<String, Object> responseMap;
+
+		public byte[] subscribePayload;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.codecDelegate = new WebSocketCodecDelegate(ServerCodecConfigurer.create());
+			this.session = new BenchmarkWebSocketSession();
+
+			List<Map<String, Object>> books = new ArrayList<>(this.itemCount);
+			for (int i = 0; i < this.itemCount; i++) {
+				books.add(Map.of("id", String.valueOf(i), "name", "Book " + i, "pageCount", i));
+			}
+			this.responseMap = Map.of("data", Map.of("books", books));
+
+			String document = "subscription Books { books { id name pageCount } }";
+			this.subscribePayload = ("{\"id\":\"1\",\"type\":\"subscribe\",\"payload\":" +
+					"{\"query\":\"" + document + "\",\"variables\":{\"limit\":" + this.itemCount + "}}}")
+					.getBytes(StandardCharsets.UTF_8);
+		}
+
+		WebSocketMessage subscribeMessage() {
+			DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(this.subscribePayload);
+			return new WebSocketMessage(WebSocketMessage.Type.TEXT, buffer);
+		}
+
+	}
+
+
+	/**
+	 * Session that only provides a {@link DefaultDataBufferFactory} for encoding.
+	 */
+	static class BenchmarkWebSocketSession extends AbstractWebSocketSession<Object> {
+
+		BenchmarkWebSocketSession() {
+			super(new Object(), "1", new HandshakeInfo(URI.create("/graphql"), new HttpHeaders(), Mono.empty(), null),
+					DefaultDataBufferFactory.sharedInstance);
+		}
+
+		@Override
+		public Flux<WebSocketMessage> receive() {
+			return Flux.empty();
+		}
+
+		@Override
+		public Mono<Void> send(Publisher<WebSocketMessage> messages) {
+			return Mono.empty();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public Mono<Void> close(CloseStatus status) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<CloseStatus> closeStatus() {
+			return Mono.empty();
+		}
+
+	}
+
+}
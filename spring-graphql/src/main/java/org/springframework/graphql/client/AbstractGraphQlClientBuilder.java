@@ -212,8 +212,8 @@ public abstract class AbstractGraphQlClientBuilder<B extends AbstractGraphQlClie
 
 	private SubscriptionChain createSubscriptionChain(GraphQlTransport transport) {
 
-		SubscriptionChain chain = (request) -> transport
-				.executeSubscription(request)
+		SubscriptionChain chain = (request) -> IncrementalResponseMerger
+				.merge(transport.executeSubscription(request))
 				.map((response) -> new DefaultClientGraphQlResponse(request, response, getEncoder(), getDecoder()));
 
 		return this.interceptors.stream()
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.client;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.graphql.GraphQlResponse;
+import org.springframework.lang.Nullable;
+
+/**
+ * Merges incremental payloads for {@code @defer} and {@code @stream} into the
+ * initial result, so that each response in the stream has the data received
+ * so far, and the last response has the complete data.
+ *
+ * <p>Incremental payloads have an {@code "incremental"} list of items, each
+ * with a {@code "path"}, and either {@code "data"} to merge into the object at
+ * the path, or {@code "items"} to append to the list at the path. Responses
+ * without a {@code "hasNext"} entry, e.g. for subscriptions, are passed through.
+ *
+ * @since 1.4.0
+ */
+final class IncrementalResponseMerger {
+
+	private static final String HAS_NEXT = "hasNext";
+
+	private static final String INCREMENTAL = "incremental";
+
+
+	@Nullable
+	private Map<String, Object> mergedResult;
+
+
+	private IncrementalResponseMerger() {
+	}
+
+
+	/**
+	 * Merge incremental payloads in the given stream of responses.
+	 */
+	static Flux<GraphQlResponse> merge(Flux<GraphQlResponse> responses) {
+		return Flux.defer(() -> {
+			IncrementalResponseMerger merger = new IncrementalResponseMerger();
+			return responses.map(merger::apply);
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private GraphQlResponse apply(GraphQlResponse response) {
+		Map<String, Object> payload = response.toMap();
+		if (this.mergedResult == null) {
+			if (!payload.containsKey(HAS_NEXT)) {
+				return response;
+			}
+			this.mergedResult = (Map<String, Object>) deepCopy(payload);
+			this.mergedResult.remove(INCREMENTAL);
+			if (payload.get(INCREMENTAL) == null) {
+				return response;
+			}
+		}
+		List<Map<String, Object>> items = (List<Map<String, Object>>) payload.get(INCREMENTAL);
+		if (items != null) {
+			for (Map<String, Object> item : items) {
+				mergeItem(item);
+			}
+		}
+		mergeExtensions((Map<String, Object>) payload.get("extensions"));
+		this.mergedResult.put(HAS_NEXT, payload.getOrDefault(HAS_NEXT, false));
+		return new ResponseMapGraphQlResponse((Map<String, Object>) deepCopy(this.mergedResult));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mergeItem(Map<String, Object> item) {
+		List<Object> errors = (List<Object>) item.get("errors");
+		if (errors != null) {
+			((List<Object>) this.mergedResult.computeIfAbsent("errors", (key) -> new ArrayList<>())).addAll(errors);
+		}
+		Object target = this.mergedResult.get("data");
+		List<Object> path = (List<Object>) item.getOrDefault("path", List.of());
+		for (Object segment : path) {
+			if (target instanceof Map<?, ?> map) {
+				target = map.get(segment.toString());
+			}
+			else if (target instanceof List<?> list && segment instanceof Number index && index.intValue() < list.size()) {
+				target = list.get(index.intValue());
+			}
+			else {
+				return;
+			}
+		}
+		if (item.get("items") instanceof List<?> newItems && target instanceof List<?> list) {
+			((List<Object>) list).addAll(newItems);
+		}
+		else if (item.get("data") instanceof Map<?, ?> data && target instanceof Map<?, ?> map) {
+			mergeMap((Map<String, Object>) map, (Map<String, Object>) data);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void mergeMap(Map<String, Object> target, Map<String, Object> source) {
+		source.forEach((key, value) -> {
+			if (target.get(key) instanceof Map<?, ?> existing && value instanceof Map<?, ?> map) {
+				mergeMap((Map<String, Object>) existing, (Map<String, Object>) map);
+			}
+			else {
+				target.put(key, deepCopy(value));
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private void mergeExtensions(@Nullable Map<String, Object> extensions) {
+		if (extensions != null) {
+			Map<String, Object> existing = (Map<String, Object>) this.mergedResult.get("extensions");
+			if (existing != null) {
+				mergeMap(existing, extensions);
+			}
+			else {
+				this.mergedResult.put("extensions", deepCopy(extensions));
+			}
+		}
+	}
+
+	@Nullable
+	private static Object deepCopy(@Nullable Object value) {
+		if (value instanceof Map<?, ?> map) {
+			Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+			map.forEach((key, element) -> copy.put(key, deepCopy(element)));
+			return copy;
+		}
+		if (value instanceof List<?> list) {
+			List<Object> copy = new ArrayList<>(list.size());
+			list.forEach((element) -> copy.add(deepCopy(element)));
+			return copy;
+		}
+		return value;
+	}
+
+}
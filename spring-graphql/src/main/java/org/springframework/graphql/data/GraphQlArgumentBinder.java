@@ -16,10 +16,13 @@
 
 package org.springframework.graphql.data;
 
+import java.beans.PropertyDescriptor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -28,9 +31,6 @@ import graphql.schema.DataFetchingEnvironment;
 
 import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.NotWritablePropertyException;
-import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
@@ -39,10 +39,11 @@ import org.springframework.core.Conventions;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
-import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.validation.AbstractBindingResult;
 import org.springframework.validation.BindException;
@@ -72,6 +73,10 @@ import org.springframework.validation.FieldError;
  * {@link ArgumentValue} as a wrapper that indicates whether a given input
  * argument was omitted rather than set to the {@literal "null"} literal.
  *
+ * <p>The constructor and its parameters, or the writable properties, of each
+ * non-generic target class are introspected once and cached, so that binding
+ * is a walk over the input map that applies the prepared plan.
+ *
  * @author Brian Clozel
  * @author Rossen Stoyanchev
  * @since 1.0.0
@@ -83,6 +88,8 @@ public class GraphQlArgumentBinder {
 
 	private final boolean fallBackOnDirectFieldAccess;
 
+	private final Map<Class<?>, BindingPlan> bindingPlanCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	public GraphQlArgumentBinder() {
 		this(null);
@@ -226,7 +233,7 @@ public class GraphQlArgumentBinder {
 			ArgumentsBindingResult bindingResult) {
 
 		ResolvableType elementType = collectionType.asCollection().getGeneric(0);
-		Class<?> elementClass = collectionType.asCollection().getGeneric(0).resolve();
+		Class<?> elementClass = elementType.resolve();
 		if (elementClass == null) {
 			bindingResult.rejectArgumentValue(name, null, "unknownType", "Unknown Collection element type");
 			return Collections.emptyList(); // Keep going, to record more errors
@@ -255,11 +262,11 @@ public class GraphQlArgumentBinder {
 
 		bindingResult.pushNestedPath(name);
 
-		Constructor<?> constructor = BeanUtils.getResolvableConstructor(targetClass);
+		BindingPlan plan = getBindingPlan(targetType, targetClass);
 
-		Object value = (constructor.getParameterCount() > 0) ?
-				bindMapToObjectViaConstructor(rawMap, constructor, targetType, bindingResult) :
-				bindMapToObjectViaSetters(rawMap, constructor, targetType, bindingResult);
+		Object value = (plan instanceof ConstructorBindingPlan constructorPlan) ?
+				bindMapToObjectViaConstructor(rawMap, constructorPlan, bindingResult) :
+				bindMapToObjectViaSetters(rawMap, (SetterBindingPlan) plan, bindingResult);
 
 		bindingResult.popNestedPath();
 
@@ -289,25 +296,20 @@ public class GraphQlArgumentBinder {
 
 	@Nullable
 	private Object bindMapToObjectViaConstructor(
-			Map<String, Object> rawMap, Constructor<?> constructor, ResolvableType ownerType,
-			ArgumentsBindingResult bindingResult) {
+			Map<String, Object> rawMap, ConstructorBindingPlan plan, ArgumentsBindingResult bindingResult) {
 
-		String[] paramNames = BeanUtils.getParameterNames(constructor);
-		Class<?>[] paramTypes = constructor.getParameterTypes();
-		Object[] constructorArguments = new Object[paramTypes.length];
+		String[] paramNames = plan.paramNames();
+		Object[] constructorArguments = new Object[paramNames.length];
 
 		for (int i = 0; i < paramNames.length; i++) {
 			String name = paramNames[i];
-
-			ResolvableType targetType = ResolvableType.forType(
-					ResolvableType.forConstructorParameter(constructor, i).getType(), ownerType);
-
 			constructorArguments[i] = bindRawValue(
-					name, rawMap.get(name), !rawMap.containsKey(name), targetType, paramTypes[i], bindingResult);
+					name, rawMap.get(name), !rawMap.containsKey(name),
+					plan.paramTypes()[i], plan.paramClasses()[i], bindingResult);
 		}
 
 		try {
-			return BeanUtils.instantiateClass(constructor, constructorArguments);
+			return BeanUtils.instantiateClass(plan.constructor(), constructorArguments);
 		}
 		catch (BeanInstantiationException ex) {
 			// Ignore, if we had binding errors to begin with
@@ -319,41 +321,32 @@ public class GraphQlArgumentBinder {
 	}
 
 	private Object bindMapToObjectViaSetters(
-			Map<String, Object> rawMap, Constructor<?> constructor, ResolvableType ownerType,
-			ArgumentsBindingResult bindingResult) {
+			Map<String, Object> rawMap, SetterBindingPlan plan, ArgumentsBindingResult bindingResult) {
 
-		Object target = BeanUtils.instantiateClass(constructor);
-		BeanWrapper beanWrapper = (this.fallBackOnDirectFieldAccess ?
-				new DirectFieldAccessFallbackBeanWrapper(target) : PropertyAccessorFactory.forBeanPropertyAccess(target));
+		Object target = BeanUtils.instantiateClass(plan.constructor());
 
 		for (Map.Entry<String, Object> entry : rawMap.entrySet()) {
 			String key = entry.getKey();
-			TypeDescriptor typeDescriptor = beanWrapper.getPropertyTypeDescriptor(key);
-			if (typeDescriptor == null && this.fallBackOnDirectFieldAccess) {
-				Field field = ReflectionUtils.findField(beanWrapper.getWrappedClass(), key);
-				if (field != null) {
-					typeDescriptor = new TypeDescriptor(field);
-				}
+			PropertyBinding property = plan.properties().get(key);
+			if (property == null) {
+				// Not one of the introspected names, but may still match leniently
+				property = plan.otherProperties().computeIfAbsent(key, (name) -> Optional.ofNullable(
+						createPropertyBinding(plan.constructor().getDeclaringClass(), name, plan.ownerType())))
+						.orElse(null);
 			}
-			if (typeDescriptor == null) {
+			if (property == null) {
 				// Ignore unknown property
 				continue;
 			}
 
-			ResolvableType targetType =
-					ResolvableType.forType(typeDescriptor.getResolvableType().getType(), ownerType);
-
 			Object value = bindRawValue(
-					key, entry.getValue(), false, targetType, typeDescriptor.getType(), bindingResult);
+					key, entry.getValue(), false, property.type(), property.typeClass(), bindingResult);
 
 			try {
 				if (value != null) {
-					beanWrapper.setPropertyValue(key, value);
+					property.setValue(target, value);
 				}
 			}
-			catch (NotWritablePropertyException ex) {
-				// Ignore unknown property
-			}
 			catch (Exception ex) {
 				bindingResult.rejectArgumentValue(key, value, "invalidPropertyValue", "Failed to set property value");
 			}
@@ -362,6 +355,85 @@ public class GraphQlArgumentBinder {
 		return target;
 	}
 
+	/**
+	 * Return the plan to bind a Map to an Object of the given type. Plans for
+	 * non-generic classes are cached, while for generic classes the member types
+	 * depend on the target type, and the plan is created for each use.
+	 */
+	private BindingPlan getBindingPlan(ResolvableType targetType, Class<?> targetClass) {
+		if (targetClass.getTypeParameters().length > 0) {
+			return createBindingPlan(targetType, targetClass);
+		}
+		return this.bindingPlanCache.computeIfAbsent(targetClass,
+				(clazz) -> createBindingPlan(ResolvableType.forClass(clazz), clazz));
+	}
+
+	private BindingPlan createBindingPlan(ResolvableType ownerType, Class<?> targetClass) {
+		Constructor<?> constructor = BeanUtils.getResolvableConstructor(targetClass);
+
+		if (constructor.getParameterCount() > 0) {
+			String[] paramNames = BeanUtils.getParameterNames(constructor);
+			ResolvableType[] paramTypes = new ResolvableType[paramNames.length];
+			for (int i = 0; i < paramNames.length; i++) {
+				paramTypes[i] = ResolvableType.forType(
+						ResolvableType.forConstructorParameter(constructor, i).getType(), ownerType);
+			}
+			return new ConstructorBindingPlan(constructor, paramNames, paramTypes, constructor.getParameterTypes());
+		}
+
+		Map<String, PropertyBinding> properties = new HashMap<>();
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(targetClass)) {
+			PropertyBinding property = createPropertyBinding(targetClass, descriptor.getName(), ownerType);
+			if (property != null) {
+				properties.put(descriptor.getName(), property);
+			}
+		}
+		if (this.fallBackOnDirectFieldAccess) {
+			ReflectionUtils.doWithFields(targetClass, (field) -> {
+				if (!properties.containsKey(field.getName())) {
+					PropertyBinding property = createPropertyBinding(targetClass, field.getName(), ownerType);
+					if (property != null) {
+						properties.put(field.getName(), property);
+					}
+				}
+			});
+		}
+		return new SetterBindingPlan(constructor, ownerType, properties, new ConcurrentReferenceHashMap<>(16));
+	}
+
+	@Nullable
+	private PropertyBinding createPropertyBinding(Class<?> beanClass, String name, ResolvableType ownerType) {
+		PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(beanClass, name);
+		TypeDescriptor typeDescriptor = null;
+		Method writeMethod = null;
+		Field field = null;
+
+		if (descriptor != null) {
+			typeDescriptor = new TypeDescriptor(new Property(
+					beanClass, descriptor.getReadMethod(), descriptor.getWriteMethod(), descriptor.getName()));
+			writeMethod = descriptor.getWriteMethod();
+		}
+		if (writeMethod == null && this.fallBackOnDirectFieldAccess) {
+			field = ReflectionUtils.findField(beanClass, name);
+			if (typeDescriptor == null && field != null) {
+				typeDescriptor = new TypeDescriptor(field);
+			}
+		}
+		if (typeDescriptor == null) {
+			return null;
+		}
+
+		if (writeMethod != null) {
+			ReflectionUtils.makeAccessible(writeMethod);
+		}
+		else if (field != null) {
+			ReflectionUtils.makeAccessible(field);
+		}
+
+		ResolvableType targetType = ResolvableType.forType(typeDescriptor.getResolvableType().getType(), ownerType);
+		return new PropertyBinding(targetType, typeDescriptor.getType(), writeMethod, field);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Nullable
 	private <T> T convertValue(
@@ -420,4 +492,52 @@ public class GraphQlArgumentBinder {
 		}
 	}
 
+
+	/**
+	 * Introspected metadata to bind a Map to an Object of a given type.
+	 */
+	private sealed interface BindingPlan permits ConstructorBindingPlan, SetterBindingPlan {
+	}
+
+
+	/**
+	 * Plan to create an Object through a data constructor, with arguments
+	 * matched to constructor parameters by name.
+	 */
+	private record ConstructorBindingPlan(
+			Constructor<?> constructor, String[] paramNames, ResolvableType[] paramTypes, Class<?>[] paramClasses)
+			implements BindingPlan {
+	}
+
+
+	/**
+	 * Plan to create an Object through its default constructor, and set
+	 * properties by name. Lookups for other names, including those that do not
+	 * match any property, are cached so that unknown keys are looked up once.
+	 */
+	private record SetterBindingPlan(
+			Constructor<?> constructor, ResolvableType ownerType, Map<String, PropertyBinding> properties,
+			Map<String, Optional<PropertyBinding>> otherProperties)
+			implements BindingPlan {
+	}
+
+
+	/**
+	 * Type of a property to bind to, and the setter method or the field, in
+	 * case of direct field access, to set it through. If neither is present,
+	 * the property is not writable, and the value is ignored after binding.
+	 */
+	private record PropertyBinding(
+			ResolvableType type, Class<?> typeClass, @Nullable Method writeMethod, @Nullable Field field) {
+
+		void setValue(Object target, Object value) throws Exception {
+			if (this.writeMethod != null) {
+				this.writeMethod.invoke(target, value);
+			}
+			else if (this.field != null) {
+				this.field.set(target, value);
+			}
+		}
+	}
+
 }
@@ -20,12 +20,11 @@ package org.springframework.graphql.data.federation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
 
 import com.apollographql.federation.graphqljava._Entity;
 import graphql.GraphQLError;
@@ -35,11 +34,13 @@ import graphql.execution.ExecutionStepInfo;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DelegatingDataFetchingEnvironment;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.graphql.data.method.annotation.support.HandlerDataFetcherExceptionResolver;
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * DataFetcher that handles the "_entities" query by invoking
@@ -50,16 +51,28 @@ import org.springframework.lang.Nullable;
  */
 final class EntitiesDataFetcher implements DataFetcher<Mono<DataFetcherResult<List<Object>>>> {
 
+	/**
+	 * Default limit on the number of entity fetcher invocations in progress
+	 * at the same time for one "_entities" query.
+	 */
+	static final int DEFAULT_CONCURRENCY = 256;
+
+
 	private final Map<String, EntityHandlerMethod> handlerMethods;
 
 	private final HandlerDataFetcherExceptionResolver exceptionResolver;
 
+	private final int concurrency;
+
 
 	EntitiesDataFetcher(
-			Map<String, EntityHandlerMethod> handlerMethods, HandlerDataFetcherExceptionResolver resolver) {
+			Map<String, EntityHandlerMethod> handlerMethods, HandlerDataFetcherExceptionResolver resolver,
+			int concurrency) {
 
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
 		this.handlerMethods = new LinkedHashMap<>(handlerMethods);
 		this.exceptionResolver = resolver;
+		this.concurrency = concurrency;
 	}
 
 
@@ -74,37 +87,52 @@ final class EntitiesDataFetcher implements DataFetcher<Mono<DataFetcherResult<Li
 			return Mono.just(DataFetcherResult.<List<Object>>newResult().data(Collections.emptyList()).build());
 		}
 
-		Set<String> batchedTypes = new HashSet<>();
-		List<Mono<?>> monoList = new ArrayList<>();
+		// Single pass: group batched types, and prepare one invocation per other representation
+
+		Object[] entities = new Object[representations.size()];
+		Map<String, EntityTypeGroup> batchedGroups = new LinkedHashMap<>();
+		List<Mono<Void>> invocations = new ArrayList<>();
+
 		for (int index = 0; index < representations.size(); index++) {
 			Map<String, Object> map = representations.get(index);
 			if (!(map.get("__typename") instanceof String type)) {
 				Exception ex = new RepresentationException(map, "Missing \"__typename\" argument");
-				monoList.add(resolveException(ex, env, null, index));
+				invocations.add(setEntity(resolveException(ex, env, null, index), entities, index));
 				continue;
 			}
 			EntityHandlerMethod handlerMethod = this.handlerMethods.get(type);
 			if (handlerMethod == null) {
 				Exception ex = new RepresentationException(map, "No entity fetcher");
-				monoList.add(resolveException(ex, env, null, index));
+				invocations.add(setEntity(resolveException(ex, env, null, index), entities, index));
 				continue;
 			}
 
 			if (!handlerMethod.isBatchHandlerMethod()) {
-				monoList.add(invokeEntityMethod(env, handlerMethod, map, index));
+				int entityIndex = index;
+				Mono<Object> entityMono = Mono.defer(() -> invokeEntityMethod(env, handlerMethod, map, entityIndex));
+				invocations.add(setEntity(entityMono, entities, index));
 			}
 			else {
-				if (!batchedTypes.contains(type)) {
-					monoList.add(invokeEntitiesMethod(env, handlerMethod, representations, type));
-					batchedTypes.add(type);
-				}
-				else {
-					// Already covered, but zip needs a value (to be replaced by batch results)
-					monoList.add(Mono.just(Collections.emptyMap()));
-				}
+				batchedGroups.computeIfAbsent(type, (key) -> new EntityTypeGroup(handlerMethod)).add(index, map);
 			}
 		}
-		return Mono.zip(monoList, Arrays::asList).map(EntitiesDataFetcher::toDataFetcherResult);
+
+		// Batched types first, as each may cover many representations
+
+		List<Mono<Void>> allInvocations = new ArrayList<>(batchedGroups.size() + invocations.size());
+		for (EntityTypeGroup group : batchedGroups.values()) {
+			allInvocations.add(Mono.defer(() -> invokeEntitiesMethod(env, group))
+					.doOnNext((results) -> group.applyResults(results, entities))
+					.then());
+		}
+		allInvocations.addAll(invocations);
+
+		return Flux.merge(Flux.fromIterable(allInvocations), this.concurrency)
+				.then(Mono.fromCallable(() -> toDataFetcherResult(entities)));
+	}
+
+	private static Mono<Void> setEntity(Mono<?> entityMono, Object[] entities, int index) {
+		return entityMono.doOnNext((entity) -> entities[index] = entity).then();
 	}
 
 	private Mono<Object> invokeEntityMethod(
@@ -116,40 +144,29 @@ final class EntitiesDataFetcher implements DataFetcher<Mono<DataFetcherResult<Li
 				.onErrorResume((ex) -> resolveException(ex, environment, handlerMethod, index));
 	}
 
-	private Mono<EntitiesResultContainer> invokeEntitiesMethod(
-			DataFetchingEnvironment environment, EntityHandlerMethod handlerMethod,
-			List<Map<String, Object>> representations, String type) {
+	private Mono<List<?>> invokeEntitiesMethod(DataFetchingEnvironment environment, EntityTypeGroup group) {
+		EntityHandlerMethod handlerMethod = group.getHandlerMethod();
+		List<Map<String, Object>> representations = group.getRepresentations();
+
+		return handlerMethod.getEntities(environment, representations)
+				.<List<?>>mapNotNull((result) -> (((List<?>) result).isEmpty()) ? null : (List<?>) result)
+				.<List<?>>flatMap((results) -> (results.size() == group.size()) ? Mono.just(results) :
+						resolveExceptions(environment, group, (i) -> new RepresentationException(
+								representations.get(i), handlerMethod, "Entities fetcher returned " +
+								results.size() + " results for " + group.size() + " representations")))
+				.switchIfEmpty(Mono.defer(() -> resolveExceptions(environment, group, (i) ->
+						new RepresentationNotResolvedException(representations.get(i), handlerMethod))))
+				.onErrorResume((ex) -> resolveExceptions(environment, group, (i) -> ex));
+	}
 
-		List<Map<String, Object>> typeRepresentations = new ArrayList<>();
-		List<Integer> originalIndexes = new ArrayList<>();
+	private Mono<List<?>> resolveExceptions(
+			DataFetchingEnvironment env, EntityTypeGroup group, IntFunction<Throwable> exceptionFunction) {
 
-		for (int i = 0; i < representations.size(); i++) {
-			Map<String, Object> map = representations.get(i);
-			if (type.equals(map.get("__typename"))) {
-				typeRepresentations.add(map);
-				originalIndexes.add(i);
-			}
+		List<Mono<ErrorContainer>> list = new ArrayList<>(group.size());
+		for (int i = 0; i < group.size(); i++) {
+			list.add(resolveException(exceptionFunction.apply(i), env, group.getHandlerMethod(), group.getIndex(i)));
 		}
-
-		return handlerMethod.getEntities(environment, typeRepresentations)
-				.mapNotNull((result) -> (((List<?>) result).isEmpty()) ? null : result)
-				.switchIfEmpty(Mono.defer(() -> {
-					List<Mono<?>> exceptions = new ArrayList<>(originalIndexes.size());
-					for (int i = 0; i < originalIndexes.size(); i++) {
-						exceptions.add(resolveException(
-								new RepresentationNotResolvedException(typeRepresentations.get(i), handlerMethod),
-								environment, handlerMethod, originalIndexes.get(i)));
-					}
-					return Mono.zip(exceptions, Arrays::asList);
-				}))
-				.onErrorResume((ex) -> {
-					List<Mono<?>> list = new ArrayList<>();
-					for (Integer index : originalIndexes) {
-						list.add(resolveException(ex, environment, handlerMethod, index));
-					}
-					return Mono.zip(list, Arrays::asList);
-				})
-				.map((result) -> new EntitiesResultContainer((List<?>) result, originalIndexes));
+		return Mono.zip(list, Arrays::asList);
 	}
 
 	private Mono<ErrorContainer> resolveException(
@@ -175,19 +192,15 @@ final class EntitiesDataFetcher implements DataFetcher<Mono<DataFetcherResult<Li
 				.build());
 	}
 
-	private static DataFetcherResult<List<Object>> toDataFetcherResult(List<Object> entities) {
+	private static DataFetcherResult<List<Object>> toDataFetcherResult(Object[] entities) {
 		List<GraphQLError> errors = new ArrayList<>();
-		for (int i = 0; i < entities.size(); i++) {
-			Object entity = entities.get(i);
-			if (entity instanceof EntitiesResultContainer resultHandler) {
-				resultHandler.applyResults(entities, errors);
-			}
-			if (entity instanceof ErrorContainer errorContainer) {
+		for (int i = 0; i < entities.length; i++) {
+			if (entities[i] instanceof ErrorContainer errorContainer) {
 				errors.addAll(errorContainer.errors());
-				entities.set(i, null);
+				entities[i] = null;
 			}
 		}
-		return DataFetcherResult.<List<Object>>newResult().data(entities).errors(errors).build();
+		return DataFetcherResult.<List<Object>>newResult().data(Arrays.asList(entities)).errors(errors).build();
 	}
 
 
@@ -209,19 +222,51 @@ final class EntitiesDataFetcher implements DataFetcher<Mono<DataFetcherResult<Li
 	}
 
 
-	private record EntitiesResultContainer(List<?> results, List<Integer> originalIndexes) {
+	/**
+	 * Representations of one batched entity type, along with their positions
+	 * in the "representations" argument.
+	 */
+	private static final class EntityTypeGroup {
+
+		private final EntityHandlerMethod handlerMethod;
+
+		private final List<Map<String, Object>> representations = new ArrayList<>();
+
+		private int[] indexes = new int[16];
+
+		EntityTypeGroup(EntityHandlerMethod handlerMethod) {
+			this.handlerMethod = handlerMethod;
+		}
+
+		EntityHandlerMethod getHandlerMethod() {
+			return this.handlerMethod;
+		}
+
+		List<Map<String, Object>> getRepresentations() {
+			return this.representations;
+		}
+
+		int size() {
+			return this.representations.size();
+		}
+
+		int getIndex(int i) {
+			return this.indexes[i];
+		}
+
+		void add(int index, Map<String, Object> representation) {
+			int size = this.representations.size();
+			if (size == this.indexes.length) {
+				this.indexes = Arrays.copyOf(this.indexes, size * 2);
+			}
+			this.indexes[size] = index;
+			this.representations.add(representation);
+		}
 
-		public void applyResults(List<Object> entities, List<GraphQLError> errors) {
-			for (int i = 0; i < this.results.size(); i++) {
-				Object result = this.results.get(i);
-				Integer index = this.originalIndexes.get(i);
-				if (result instanceof ErrorContainer container) {
-					errors.addAll(container.errors());
-					entities.set(index, null);
-				}
-				else {
-				entities.set(index, result);
-				}
+		void applyResults(List<?> results, Object[] entities) {
+			Assert.state(results.size() == size(), "Expected one result per representation");
+			for (int i = 0; i < size(); i++) {
+				entities[this.indexes[i]] = results.get(i);
 			}
 		}
 	}
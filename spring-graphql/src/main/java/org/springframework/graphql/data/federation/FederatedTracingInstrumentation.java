@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.federation;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.incremental.IncrementalExecutionResult;
+
+import org.springframework.graphql.ExecutionGraphQlRequest;
+
+/**
+ * {@link graphql.execution.instrumentation.Instrumentation} for subgraphs
+ * behind a federation router that records the Apollo federated tracing
+ * ({@code ftv1}) trace tree with the start and end time of each field fetch,
+ * and errors, and adds it as Base64 encoded protobuf under the
+ * {@value #EXTENSION_KEY} response extension.
+ *
+ * <p>Traces are recorded only for requests with tracing
+ * {@link #enableTracing(ExecutionGraphQlRequest) enabled}, typically when
+ * the router sends the {@value #TRACING_HEADER_NAME} header, which
+ * {@link org.springframework.graphql.server.support.FederatedTracingInterceptor}
+ * checks for. Configure this instrumentation on the
+ * {@link org.springframework.graphql.execution.GraphQlSource} along with
+ * the {@link FederationSchemaFactory}, for example through
+ * {@link FederationSchemaFactory#setTracingEnabled(boolean)} and
+ * {@link FederationSchemaFactory#configure(org.springframework.graphql.execution.GraphQlSource.SchemaResourceBuilder)}.
+ *
+ * @since 1.4.0
+ */
+public class FederatedTracingInstrumentation extends SimplePerformantInstrumentation {
+
+	/**
+	 * Name of the request header that the router sends to request a trace.
+	 */
+	public static final String TRACING_HEADER_NAME = "apollo-federation-include-trace";
+
+	/**
+	 * Value of the {@link #TRACING_HEADER_NAME} header for {@code ftv1} traces.
+	 */
+	public static final String TRACING_HEADER_VALUE = "ftv1";
+
+	/**
+	 * Response extension key for the encoded trace.
+	 */
+	public static final String EXTENSION_KEY = "ftv1";
+
+	private static final String TRACING_ENABLED_KEY = FederatedTracingInstrumentation.class.getName() + ".ENABLED";
+
+
+	/**
+	 * Enable tracing for the given request.
+	 * @param request the request to configure
+	 */
+	public static void enableTracing(ExecutionGraphQlRequest request) {
+		request.configureExecutionInput((input, builder) -> {
+			input.getGraphQLContext().put(TRACING_ENABLED_KEY, true);
+			return input;
+		});
+	}
+
+
+	@Override
+	public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+		boolean enabled = parameters.getExecutionInput().getGraphQLContext().getOrDefault(TRACING_ENABLED_KEY, false);
+		return CompletableFuture.completedFuture(enabled ? new FederatedTrace() : null);
+	}
+
+	@Override
+	public InstrumentationContext<Object> beginFieldFetch(
+			InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+
+		if (state instanceof FederatedTrace trace) {
+			int node = trace.startField(parameters.getExecutionStepInfo());
+			return SimpleInstrumentationContext.whenCompleted((result, ex) -> trace.endField(node));
+		}
+		return super.beginFieldFetch(parameters, state);
+	}
+
+	@Override
+	public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+			ExecutionResult result, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+
+		// Incremental payloads are delivered after this: not supported
+		if (state instanceof FederatedTrace trace && !(result instanceof IncrementalExecutionResult)) {
+			String encoded = Base64.getEncoder().encodeToString(trace.encode(result.getErrors()));
+			Map<Object, Object> extensions = new LinkedHashMap<>();
+			if (result.getExtensions() != null) {
+				extensions.putAll(result.getExtensions());
+			}
+			extensions.put(EXTENSION_KEY, encoded);
+			return CompletableFuture.completedFuture(result.transform((builder) -> builder.extensions(extensions)));
+		}
+		return super.instrumentExecutionResult(result, parameters, state);
+	}
+
+}
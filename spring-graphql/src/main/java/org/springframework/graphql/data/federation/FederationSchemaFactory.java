@@ -66,6 +66,7 @@ import org.springframework.util.StringUtils;
  * @author Rossen Stoyanchev
  * @since 1.3.0
  * @see Federation#transform(TypeDefinitionRegistry, RuntimeWiring)
+ * @see FederatedTracingInstrumentation
  *
  */
 public final class FederationSchemaFactory
@@ -74,6 +75,10 @@ public final class FederationSchemaFactory
 	@Nullable
 	private TypeResolver typeResolver;
 
+	private int entitiesConcurrency = EntitiesDataFetcher.DEFAULT_CONCURRENCY;
+
+	private boolean tracingEnabled;
+
 	private final Map<String, EntityHandlerMethod> handlerMethods = new LinkedHashMap<>();
 
 
@@ -87,6 +92,41 @@ public final class FederationSchemaFactory
 		this.typeResolver = typeResolver;
 	}
 
+	/**
+	 * Configure the maximum number of {@code @EntityMapping} method invocations
+	 * in progress at the same time for one "_entities" query. Representations
+	 * of a type with a batched method count as a single invocation, while each
+	 * representation of any other type counts as one invocation.
+	 * <p>By default this is 256.
+	 * @param concurrency the concurrency limit, greater than 0
+	 * @since 1.4.0
+	 */
+	public void setEntitiesConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		this.entitiesConcurrency = concurrency;
+	}
+
+	/**
+	 * Whether {@link #configure(SchemaResourceBuilder)} should also register a
+	 * {@link FederatedTracingInstrumentation} to record Apollo federated traces
+	 * for requests that ask for one.
+	 * <p>By default this is set to {@code false}.
+	 * @param tracingEnabled whether to enable federated tracing
+	 * @since 1.4.0
+	 * @see org.springframework.graphql.server.support.FederatedTracingInterceptor
+	 */
+	public void setTracingEnabled(boolean tracingEnabled) {
+		this.tracingEnabled = tracingEnabled;
+	}
+
+	/**
+	 * Whether {@link #setTracingEnabled(boolean) federated tracing} is enabled.
+	 * @since 1.4.0
+	 */
+	public boolean isTracingEnabled() {
+		return this.tracingEnabled;
+	}
+
 
 	@Override
 	public void afterPropertiesSet() {
@@ -179,11 +219,28 @@ public final class FederationSchemaFactory
 	public SchemaTransformer createSchemaTransformer(TypeDefinitionRegistry registry, RuntimeWiring wiring) {
 		Assert.state(this.typeResolver != null, "afterPropertiesSet not called");
 		return Federation.transform(registry, wiring)
-				.fetchEntities(new EntitiesDataFetcher(this.handlerMethods, getExceptionResolver()))
+				.fetchEntities(new EntitiesDataFetcher(
+						this.handlerMethods, getExceptionResolver(), this.entitiesConcurrency))
 				.resolveEntityType(this.typeResolver);
 	}
 
 
+	/**
+	 * Configure the given builder to create the schema through
+	 * {@link #createGraphQLSchema(TypeDefinitionRegistry, RuntimeWiring)}, and
+	 * if {@link #setTracingEnabled(boolean) tracing} is enabled, to register a
+	 * {@link FederatedTracingInstrumentation}.
+	 * @param builder the builder to configure
+	 * @since 1.4.0
+	 */
+	public void configure(SchemaResourceBuilder builder) {
+		builder.schemaFactory(this::createGraphQLSchema);
+		if (this.tracingEnabled) {
+			builder.instrumentation(List.of(new FederatedTracingInstrumentation()));
+		}
+	}
+
+
 	public record EntityMappingInfo(String typeName, HandlerMethod handlerMethod) {
 
 		public boolean isBatchHandlerMethod() {
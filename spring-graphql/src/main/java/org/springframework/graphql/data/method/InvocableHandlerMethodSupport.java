@@ -55,6 +55,8 @@ public abstract class InvocableHandlerMethodSupport extends HandlerMethod {
 
 	private final boolean invokeAsync;
 
+	private final boolean suspendingFunction;
+
 
 
 	/**
@@ -86,6 +88,8 @@ public abstract class InvocableHandlerMethodSupport extends HandlerMethod {
 		Assert.isTrue((!this.hasCallableReturnValue && !invokeAsync) || executor != null,
 				"Controller method has Callable return value or invokeAsync=true, but Executor not provided: " +
 						handlerMethod.getBridgedMethod().toGenericString());
+
+		this.suspendingFunction = KotlinDetector.isSuspendingFunction(getBridgedMethod());
 	}
 
 
@@ -104,7 +108,7 @@ public abstract class InvocableHandlerMethodSupport extends HandlerMethod {
 		}
 		Method method = getBridgedMethod();
 		try {
-			if (KotlinDetector.isSuspendingFunction(method)) {
+			if (this.suspendingFunction) {
 				return invokeSuspendingFunction(getBean(), method, argValues);
 			}
 
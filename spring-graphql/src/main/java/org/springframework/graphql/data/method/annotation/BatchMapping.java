@@ -104,4 +104,15 @@ public @interface BatchMapping {
 	 */
 	int maxBatchSize() default -1;
 
+	/**
+	 * The name of a cache to store loaded values in and share across requests,
+	 * in addition to the per-request {@code DataLoader} cache. The cache is
+	 * obtained from the {@link org.springframework.cache.CacheManager} bean in
+	 * the application context, which must then be present.
+	 * <p>By default this is empty, in which case values are not shared.
+	 * @since 1.4.0
+	 * @see org.springframework.graphql.execution.BatchLoaderRegistry.RegistrationSpec#withSharedCache
+	 */
+	String cacheName() default "";
+
 }
@@ -51,6 +51,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.DefaultParameterNameDiscoverer;
@@ -346,7 +348,8 @@ public class AnnotatedControllerConfigurer
 		if (!info.isBatchMapping()) {
 			dataFetcher = new SchemaMappingDataFetcher(
 					info, getArgumentResolvers(), this.validationHelper, getExceptionResolver(),
-					getExecutor(), shouldInvokeAsync(info.getHandlerMethod()));
+					getExecutor(), shouldInvokeAsync(info.getHandlerMethod()),
+					isSingletonHandler(info.getHandlerMethod()));
 		}
 		else {
 			dataFetcher = registerBatchLoader(info);
@@ -356,6 +359,10 @@ public class AnnotatedControllerConfigurer
 				typeBuilder.dataFetcher(coordinates.getFieldName(), dataFetcher));
 	}
 
+	private boolean isSingletonHandler(HandlerMethod handlerMethod) {
+		return (!(handlerMethod.getBean() instanceof String beanName) || obtainApplicationContext().isSingleton(beanName));
+	}
+
 	private DataFetcher<Object> registerBatchLoader(DataFetcherMappingInfo info) {
 		if (!info.isBatchMapping()) {
 			throw new IllegalArgumentException("Not a @BatchMapping method: " + info);
@@ -369,6 +376,11 @@ public class AnnotatedControllerConfigurer
 		}
 
 		HandlerMethod handlerMethod = info.getHandlerMethod();
+		BatchMapping mapping = handlerMethod.getMethodAnnotation(BatchMapping.class);
+		if (mapping != null && StringUtils.hasText(mapping.cacheName())) {
+			registration.withSharedCache(initSharedCache(mapping.cacheName(), handlerMethod));
+		}
+
 		BatchLoaderHandlerMethod invocable =
 				new BatchLoaderHandlerMethod(handlerMethod, getExecutor(), shouldInvokeAsync(handlerMethod));
 
@@ -405,6 +417,21 @@ public class AnnotatedControllerConfigurer
 						"Mono<Map<K, V>>, Map<K, V>, Flux<V>, or Collection<V>: " + handlerMethod);
 	}
 
+	private Cache initSharedCache(String cacheName, HandlerMethod handlerMethod) {
+		CacheManager cacheManager;
+		try {
+			cacheManager = obtainApplicationContext().getBean(CacheManager.class);
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			throw new IllegalStateException("@BatchMapping method with cacheName '" + cacheName + "' " +
+					"requires a CacheManager bean: " + handlerMethod.getShortLogMessage(), ex);
+		}
+		Cache cache = cacheManager.getCache(cacheName);
+		Assert.state(cache != null, () -> "No cache named '" + cacheName + "' for @BatchMapping method " +
+				handlerMethod.getShortLogMessage());
+		return cache;
+	}
+
 	@SuppressWarnings("rawtypes")
 	protected static String formatRegistrations(RuntimeWiring.Builder wiringBuilder) {
 		return wiringBuilder.build().getDataFetchers().entrySet().stream()
@@ -459,10 +486,15 @@ public class AnnotatedControllerConfigurer
 
 		private final boolean subscription;
 
+		private final boolean singletonHandler;
+
+		@Nullable
+		private volatile DataFetcherHandlerMethod invocableHandlerMethod;
+
 		SchemaMappingDataFetcher(
 				DataFetcherMappingInfo info, HandlerMethodArgumentResolverComposite argumentResolvers,
 				@Nullable ValidationHelper helper, HandlerDataFetcherExceptionResolver exceptionResolver,
-				@Nullable Executor executor, boolean invokeAsync) {
+				@Nullable Executor executor, boolean invokeAsync, boolean singletonHandler) {
 
 			this.mappingInfo = info;
 			this.argumentResolvers = argumentResolvers;
@@ -475,6 +507,7 @@ public class AnnotatedControllerConfigurer
 			this.executor = executor;
 			this.invokeAsync = invokeAsync;
 			this.subscription = this.mappingInfo.getCoordinates().getTypeName().equalsIgnoreCase("Subscription");
+			this.singletonHandler = singletonHandler;
 		}
 
 		@Override
@@ -512,10 +545,7 @@ public class AnnotatedControllerConfigurer
 		@SuppressWarnings({"ConstantConditions", "ReactiveStreamsUnusedPublisher"})
 		public Object get(DataFetchingEnvironment environment) throws Exception {
 
-			DataFetcherHandlerMethod handlerMethod = new DataFetcherHandlerMethod(
-					getHandlerMethod(), this.argumentResolvers, this.methodValidationHelper,
-					this.executor, this.invokeAsync, this.subscription);
-
+			DataFetcherHandlerMethod handlerMethod = getInvocableHandlerMethod();
 			try {
 				Object result = handlerMethod.invoke(environment);
 				return applyExceptionHandling(environment, handlerMethod, result);
@@ -525,6 +555,23 @@ public class AnnotatedControllerConfigurer
 			}
 		}
 
+		/**
+		 * Return the invocable for the handler method, creating it once for a
+		 * singleton controller, or on every call to resolve a scoped bean.
+		 */
+		DataFetcherHandlerMethod getInvocableHandlerMethod() {
+			DataFetcherHandlerMethod handlerMethod = this.invocableHandlerMethod;
+			if (handlerMethod == null) {
+				handlerMethod = new DataFetcherHandlerMethod(
+						getHandlerMethod(), this.argumentResolvers, this.methodValidationHelper,
+						this.executor, this.invokeAsync, this.subscription);
+				if (this.singletonHandler) {
+					this.invocableHandlerMethod = handlerMethod;
+				}
+			}
+			return handlerMethod;
+		}
+
 		@SuppressWarnings({"unchecked", "ReactiveStreamsUnusedPublisher"})
 		@Nullable
 		private <T> Object applyExceptionHandling(
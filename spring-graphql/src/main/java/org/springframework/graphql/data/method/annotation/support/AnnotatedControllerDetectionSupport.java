@@ -233,10 +233,27 @@ public abstract class AnnotatedControllerDetectionSupport<M> implements Applicat
 
 	/**
 	 * Scan beans in the ApplicationContext, detect and prepare a map of handler methods.
+	 * <p>If handler methods were detected during AOT processing, and registered
+	 * as {@link AnnotatedControllerMethods}, those are used instead of scanning.
 	 */
 	protected Set<M> detectHandlerMethods() {
 		Set<M> results = new LinkedHashSet<>();
 		ApplicationContext context = obtainApplicationContext();
+		if (context.containsBean(AnnotatedControllerMethods.BEAN_NAME)) {
+			AnnotatedControllerMethods methods =
+					context.getBean(AnnotatedControllerMethods.BEAN_NAME, AnnotatedControllerMethods.class);
+			for (AnnotatedControllerMethods.Registration registration : methods.getRegistrations()) {
+				Class<?> beanClass = context.getType(registration.beanName());
+				Assert.state(beanClass != null, () -> "No type for controller bean '" + registration.beanName() + "'");
+				Class<?> userClass = ClassUtils.getUserClass(beanClass);
+				Method method = registration.resolveMethod(context.getClassLoader());
+				M info = getMappingInfo(method, registration.beanName(), userClass);
+				if (info != null) {
+					addHandlerMethod(info, results);
+				}
+			}
+			return results;
+		}
 		for (String beanName : context.getBeanNamesForType(Object.class)) {
 			if (beanName.startsWith(SCOPED_TARGET_NAME_PREFIX)) {
 				continue;
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.method.annotation.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Table of controller handler methods detected during AOT processing, and
+ * registered as a bean by generated code, in order to avoid scanning beans
+ * and their methods on startup. If present, this is used by
+ * {@link AnnotatedControllerDetectionSupport} instead of scanning.
+ *
+ * <p>This is for use by generated code, and not intended to be used directly.
+ *
+ * @since 1.4.0
+ * @see SchemaMappingBeanFactoryInitializationAotProcessor
+ */
+public final class AnnotatedControllerMethods {
+
+	/**
+	 * The name of the bean for the table.
+	 */
+	public static final String BEAN_NAME = "org.springframework.graphql.internalAnnotatedControllerMethods";
+
+
+	private final List<Registration> registrations = new ArrayList<>();
+
+
+	/**
+	 * Add a handler method.
+	 * @param coordinates the schema coordinates the method is mapped to, or
+	 * {@code null} for other handler methods such as for entity mappings
+	 * @param beanName the name of the controller bean
+	 * @param className the name of the class that declares the method
+	 * @param methodName the name of the method
+	 * @param parameterTypes the names of the method parameter types
+	 */
+	public void add(@Nullable String coordinates, String beanName,
+			String className, String methodName, String... parameterTypes) {
+
+		this.registrations.add(new Registration(
+				coordinates, beanName, className, methodName, List.of(parameterTypes)));
+	}
+
+	/**
+	 * Return the registered handler methods.
+	 */
+	public List<Registration> getRegistrations() {
+		return Collections.unmodifiableList(this.registrations);
+	}
+
+
+	/**
+	 * A registered handler method.
+	 * @param coordinates the schema coordinates the method is mapped to, if any
+	 * @param beanName the name of the controller bean
+	 * @param className the name of the class that declares the method
+	 * @param methodName the name of the method
+	 * @param parameterTypes the names of the method parameter types
+	 */
+	public record Registration(@Nullable String coordinates, String beanName,
+			String className, String methodName, List<String> parameterTypes) {
+
+		/**
+		 * Resolve the handler method.
+		 * @param classLoader the class loader to use
+		 * @throws IllegalStateException if the method is not found
+		 */
+		public Method resolveMethod(@Nullable ClassLoader classLoader) {
+			Class<?> declaringClass = ClassUtils.resolveClassName(this.className, classLoader);
+			Class<?>[] types = new Class<?>[this.parameterTypes.size()];
+			for (int i = 0; i < types.length; i++) {
+				types[i] = ClassUtils.resolveClassName(this.parameterTypes.get(i), classLoader);
+			}
+			Method method = ReflectionUtils.findMethod(declaringClass, this.methodName, types);
+			Assert.state(method != null, () -> "Handler method not found: " + this);
+			return method;
+		}
+	}
+
+}
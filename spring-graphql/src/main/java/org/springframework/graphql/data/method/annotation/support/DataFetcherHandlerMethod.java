@@ -16,7 +16,6 @@
 
 package org.springframework.graphql.data.method.annotation.support;
 
-import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
@@ -39,6 +38,8 @@ import org.springframework.util.Assert;
  */
 public class DataFetcherHandlerMethod extends DataFetcherHandlerMethodSupport {
 
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
 	private final BiConsumer<Object, Object[]> validationHelper;
 
 	private final boolean subscription;
@@ -100,7 +101,7 @@ public class DataFetcherHandlerMethod extends DataFetcherHandlerMethodSupport {
 	 */
 	@Nullable
 	public Object invoke(DataFetchingEnvironment environment) {
-		return invoke(environment, new Object[0]);
+		return invoke(environment, EMPTY_ARGS);
 	}
 
 	/**
@@ -121,7 +122,7 @@ public class DataFetcherHandlerMethod extends DataFetcherHandlerMethodSupport {
 			return Mono.error(ex);
 		}
 
-		if (Arrays.stream(args).noneMatch((arg) -> arg instanceof Mono)) {
+		if (!hasMonoArgument(args)) {
 			return validateAndInvoke(args, environment);
 		}
 
@@ -136,6 +137,15 @@ public class DataFetcherHandlerMethod extends DataFetcherHandlerMethodSupport {
 				});
 	}
 
+	private static boolean hasMonoArgument(Object[] args) {
+		for (Object arg : args) {
+			if (arg instanceof Mono) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Nullable
 	private Object validateAndInvoke(Object[] args, DataFetchingEnvironment environment) {
 		this.validationHelper.accept(getBean(), args);
@@ -24,6 +24,7 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.graphql.data.method.HandlerMethod;
+import org.springframework.graphql.data.method.HandlerMethodArgumentResolver;
 import org.springframework.graphql.data.method.HandlerMethodArgumentResolverComposite;
 import org.springframework.graphql.data.method.InvocableHandlerMethodSupport;
 import org.springframework.lang.Nullable;
@@ -41,9 +42,12 @@ public class DataFetcherHandlerMethodSupport extends InvocableHandlerMethodSuppo
 
 	private static final Object[] EMPTY_ARGS = new Object[0];
 
+	private static final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+
 	protected final HandlerMethodArgumentResolverComposite resolvers;
 
-	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+	private final HandlerMethodArgumentResolver[] parameterResolvers;
 
 
 	protected DataFetcherHandlerMethodSupport(
@@ -52,6 +56,22 @@ public class DataFetcherHandlerMethodSupport extends InvocableHandlerMethodSuppo
 
 		super(handlerMethod, executor, invokeAsync);
 		this.resolvers = resolvers;
+		this.parameterResolvers = initParameterResolvers(getMethodParameters(), resolvers);
+	}
+
+	/**
+	 * Look up the resolver for each parameter once, leaving {@code null} for
+	 * parameters without a resolver, which are looked up again on invocation.
+	 */
+	private static HandlerMethodArgumentResolver[] initParameterResolvers(
+			MethodParameter[] parameters, HandlerMethodArgumentResolverComposite resolvers) {
+
+		HandlerMethodArgumentResolver[] result = new HandlerMethodArgumentResolver[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			parameters[i].initParameterNameDiscovery(parameterNameDiscoverer);
+			result[i] = resolvers.getArgumentResolver(parameters[i]);
+		}
+		return result;
 	}
 
 
@@ -80,16 +100,19 @@ public class DataFetcherHandlerMethodSupport extends InvocableHandlerMethodSuppo
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
-			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
 			args[i] = findProvidedArgument(parameter, providedArgs);
 			if (args[i] != null) {
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
-				throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+			HandlerMethodArgumentResolver resolver = this.parameterResolvers[i];
+			if (resolver == null) {
+				resolver = this.resolvers.getArgumentResolver(parameter);
+				if (resolver == null) {
+					throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+				}
 			}
 			try {
-				args[i] = this.resolvers.resolveArgument(parameter, environment);
+				args[i] = resolver.resolveArgument(parameter, environment);
 			}
 			catch (Exception ex) {
 				// Leave stack trace for later, exception may actually be resolved and handled...
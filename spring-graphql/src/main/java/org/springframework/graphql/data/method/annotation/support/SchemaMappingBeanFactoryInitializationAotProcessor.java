@@ -16,15 +16,28 @@
 
 package org.springframework.graphql.data.method.annotation.support;
 
+import java.io.IOException;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Modifier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.aop.SpringProxy;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.aot.generate.GeneratedClass;
+import org.springframework.aot.generate.GeneratedMethod;
 import org.springframework.aot.generate.GenerationContext;
 import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
 import org.springframework.aot.hint.ExecutableMode;
@@ -36,11 +49,17 @@ import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContrib
 import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
 import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.core.DecoratingProxy;
+import org.springframework.core.MethodIntrospector;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.data.projection.TargetAware;
 import org.springframework.graphql.data.ArgumentValue;
@@ -50,6 +69,12 @@ import org.springframework.graphql.data.method.HandlerMethodArgumentResolverComp
 import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.execution.SchemaReport;
+import org.springframework.javapoet.CodeBlock;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Controller;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
@@ -76,12 +101,28 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
  * <p>Manual registration of {@link graphql.schema.DataFetcher} cannot be detected
  * by this processor; developers will need to declare bound types with
  * {@link RegisterReflectionForBinding} annotations on their configuration class.
+ * <p>This processor also generates code that registers the detected controller
+ * methods as {@link AnnotatedControllerMethods}, so that controller beans are not
+ * scanned on startup. If schema files are present under
+ * {@value #SCHEMA_LOCATION}, it also runs the
+ * {@link org.springframework.graphql.execution.SchemaMappingInspector} against
+ * controller mappings, and logs the report. Set the
+ * {@value #FAIL_ON_UNMAPPED_PROPERTY_NAME} Spring property to fail the build
+ * instead if the report has unmapped fields, registrations, or arguments.
  *
  * @author Brian Clozel
  * @see org.springframework.graphql.data.method.HandlerMethodArgumentResolver
  */
 class SchemaMappingBeanFactoryInitializationAotProcessor implements BeanFactoryInitializationAotProcessor {
 
+	static final String FAIL_ON_UNMAPPED_PROPERTY_NAME = "spring.graphql.aot.fail-on-unmapped";
+
+	private static final String SCHEMA_LOCATION = "classpath*:graphql/**/";
+
+	private static final String[] SCHEMA_FILE_EXTENSIONS = new String[] {"*.graphqls", "*.gqls"};
+
+	private static final Log logger = LogFactory.getLog(SchemaMappingBeanFactoryInitializationAotProcessor.class);
+
 	private static final boolean springDataPresent = ClassUtils.isPresent(
 			"org.springframework.data.projection.SpelAwareProxyProjectionFactory",
 			SchemaMappingBeanFactoryInitializationAotProcessor.class.getClassLoader());
@@ -89,19 +130,23 @@ class SchemaMappingBeanFactoryInitializationAotProcessor implements BeanFactoryI
 
 	@Override
 	public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
-		List<Class<?>> controllers = new ArrayList<>();
+		Map<String, Class<?>> controllers = new LinkedHashMap<>();
 		List<Class<?>> controllerAdvices = new ArrayList<>();
 		Arrays.stream(beanFactory.getBeanDefinitionNames())
-				.map((beanName) -> RegisteredBean.of(beanFactory, beanName).getBeanClass())
-				.forEach((beanClass) -> {
+				.filter((beanName) -> !ScopedProxyUtils.isScopedTarget(beanName))
+				.forEach((beanName) -> {
+					Class<?> beanClass = RegisteredBean.of(beanFactory, beanName).getBeanClass();
 					if (isController(beanClass)) {
-						controllers.add(beanClass);
+						controllers.put(beanName, beanClass);
 					}
 					else if (isControllerAdvice(beanClass)) {
 						controllerAdvices.add(beanClass);
 					}
 				});
-		return new SchemaMappingBeanFactoryInitializationAotContribution(controllers, controllerAdvices);
+		SchemaMappingBeanFactoryInitializationAotContribution contribution =
+				new SchemaMappingBeanFactoryInitializationAotContribution(controllers, controllerAdvices);
+		contribution.inspectSchemaMappings(beanFactory.getBeanClassLoader());
+		return contribution;
 	}
 
 	private boolean isController(AnnotatedElement element) {
@@ -116,30 +161,114 @@ class SchemaMappingBeanFactoryInitializationAotProcessor implements BeanFactoryI
 	private static class SchemaMappingBeanFactoryInitializationAotContribution
 			implements BeanFactoryInitializationAotContribution {
 
-		private final List<Class<?>> controllers;
+		private final Map<String, Class<?>> controllers;
 
 		private final List<Class<?>> controllerAdvices;
 
+		private final AnnotatedControllerConfigurer configurer;
+
 		private final HandlerMethodArgumentResolverComposite argumentResolvers;
 
-		SchemaMappingBeanFactoryInitializationAotContribution(List<Class<?>> controllers, List<Class<?>> controllerAdvices) {
+		private final AnnotatedControllerMethods controllerMethods = new AnnotatedControllerMethods();
+
+		private final Set<Class<?>> controllerMethodParameterTypes = new LinkedHashSet<>();
+
+		SchemaMappingBeanFactoryInitializationAotContribution(
+				Map<String, Class<?>> controllers, List<Class<?>> controllerAdvices) {
+
 			this.controllers = controllers;
 			this.controllerAdvices = controllerAdvices;
-			this.argumentResolvers = createArgumentResolvers();
+			this.configurer = createConfigurer(controllers);
+			this.argumentResolvers = this.configurer.getArgumentResolvers();
+			initControllerMethods();
 		}
 
-		private HandlerMethodArgumentResolverComposite createArgumentResolvers() {
+		private static AnnotatedControllerConfigurer createConfigurer(Map<String, Class<?>> controllers) {
+			StaticApplicationContext context = new StaticApplicationContext();
+			controllers.forEach((beanName, beanClass) ->
+					context.registerBeanDefinition(beanName, new RootBeanDefinition(beanClass)));
+			context.getBeanFactory().registerSingleton("batchLoaderRegistry", new DefaultBatchLoaderRegistry());
 			AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
-			configurer.setApplicationContext(new StaticApplicationContext());
+			configurer.setApplicationContext(context);
 			configurer.afterPropertiesSet();
-			return configurer.getArgumentResolvers();
+			return configurer;
+		}
+
+		private void initControllerMethods() {
+			this.controllers.forEach((beanName, beanClass) -> {
+				Class<?> userClass = ClassUtils.getUserClass(beanClass);
+				Map<Method, Boolean> methods = MethodIntrospector.selectMethods(userClass,
+						(MethodIntrospector.MetadataLookup<Boolean>) (method) -> (isGraphQlHandlerMethod(method) ? true : null));
+				for (Method method : methods.keySet()) {
+					String[] parameterTypes = new String[method.getParameterCount()];
+					for (int i = 0; i < parameterTypes.length; i++) {
+						Class<?> type = method.getParameterTypes()[i];
+						parameterTypes[i] = type.getName();
+						if (!type.isPrimitive()) {
+							this.controllerMethodParameterTypes.add(type);
+						}
+					}
+					this.controllerMethods.add(getCoordinates(method, beanName, userClass), beanName,
+							method.getDeclaringClass().getName(), method.getName(), parameterTypes);
+				}
+			});
+		}
+
+		@Nullable
+		private String getCoordinates(Method method, String beanName, Class<?> userClass) {
+			try {
+				DataFetcherMappingInfo info = this.configurer.getMappingInfo(method, beanName, userClass);
+				return (info != null) ? info.getTypeName() + "." + info.getFieldName() : null;
+			}
+			catch (IllegalArgumentException | IllegalStateException ex) {
+				// Invalid mapping, reported when the method is registered at runtime
+				return null;
+			}
+		}
+
+		void inspectSchemaMappings(@Nullable ClassLoader classLoader) {
+			List<Resource> resources = new ArrayList<>();
+			try {
+				PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+				for (String extension : SCHEMA_FILE_EXTENSIONS) {
+					resources.addAll(Arrays.asList(resolver.getResources(SCHEMA_LOCATION + extension)));
+				}
+			}
+			catch (IOException ex) {
+				logger.debug("Failed to resolve GraphQL schema files", ex);
+			}
+			if (resources.isEmpty()) {
+				return;
+			}
+			SchemaReport[] report = new SchemaReport[1];
+			try {
+				GraphQlSource.schemaResourceBuilder()
+						.schemaResources(resources.toArray(new Resource[0]))
+						.configureTypeDefinitions(new ConnectionTypeDefinitionConfigurer())
+						.configureRuntimeWiring(this.configurer)
+						.inspectSchemaMappings((schemaReport) -> report[0] = schemaReport)
+						.build();
+			}
+			catch (Exception ex) {
+				logger.info("Skipped GraphQL schema inspection: " + ex.getMessage());
+				return;
+			}
+			if (report[0] == null) {
+				return;
+			}
+			logger.info(report[0]);
+			boolean unmapped = (!report[0].unmappedFields().isEmpty() ||
+					!report[0].unmappedRegistrations().isEmpty() || !report[0].unmappedArguments().isEmpty());
+			if (unmapped && SpringProperties.getFlag(FAIL_ON_UNMAPPED_PROPERTY_NAME)) {
+				throw new IllegalStateException("Unmapped GraphQL schema mappings: " + report[0]);
+			}
 		}
 
 		@Override
 		public void applyTo(GenerationContext context, BeanFactoryInitializationCode initializationCode) {
 			RuntimeHints runtimeHints = context.getRuntimeHints();
 			registerSpringDataSpelSupport(runtimeHints);
-			this.controllers.forEach((controller) -> {
+			this.controllers.values().forEach((controller) -> {
 				runtimeHints.reflection().registerType(controller, MemberCategory.INTROSPECT_DECLARED_METHODS);
 				ReflectionUtils.doWithMethods(controller,
 						(method) -> processSchemaMappingMethod(runtimeHints, method),
@@ -154,6 +283,36 @@ class SchemaMappingBeanFactoryInitializationAotProcessor implements BeanFactoryI
 						(method) -> processExceptionHandlerMethod(runtimeHints, method),
 						this::isExceptionHandlerMethod);
 			});
+			if (!this.controllers.isEmpty()) {
+				registerControllerMethods(context, initializationCode);
+			}
+		}
+
+		private void registerControllerMethods(GenerationContext context, BeanFactoryInitializationCode code) {
+			GeneratedClass generatedClass = context.getGeneratedClasses().addForFeature("GraphQlControllerMethods",
+					(type) -> type.addJavadoc("Register GraphQL controller methods.").addModifiers(Modifier.PUBLIC));
+			GeneratedMethod generatedMethod = generatedClass.getMethods().add("registerControllerMethods", (method) -> method
+					.addJavadoc("Register GraphQL controller methods detected during AOT processing.")
+					.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.addParameter(DefaultListableBeanFactory.class, "beanFactory")
+					.addCode(generateControllerMethodsCode()));
+			code.addInitializer(generatedMethod.toMethodReference());
+			// Parameter types are loaded by name to find controller methods at runtime
+			this.controllerMethodParameterTypes.forEach((type) -> context.getRuntimeHints().reflection().registerType(type));
+		}
+
+		private CodeBlock generateControllerMethodsCode() {
+			CodeBlock.Builder code = CodeBlock.builder();
+			code.addStatement("$T methods = new $T()", AnnotatedControllerMethods.class, AnnotatedControllerMethods.class);
+			for (AnnotatedControllerMethods.Registration registration : this.controllerMethods.getRegistrations()) {
+				CodeBlock.Builder statement = CodeBlock.builder().add("methods.add($S, $S, $S, $S",
+						registration.coordinates(), registration.beanName(),
+						registration.className(), registration.methodName());
+				registration.parameterTypes().forEach((typeName) -> statement.add(", $S", typeName));
+				code.addStatement(statement.add(")").build());
+			}
+			code.addStatement("beanFactory.registerSingleton($T.BEAN_NAME, methods)", AnnotatedControllerMethods.class);
+			return code.build();
 		}
 
 		private void registerSpringDataSpelSupport(RuntimeHints runtimeHints) {
@@ -18,6 +18,7 @@ package org.springframework.graphql.data.pagination;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -64,6 +65,12 @@ final class CompositeConnectionAdapter implements ConnectionAdapter {
 		return getRequiredAdapter(container).cursorAt(container, index);
 	}
 
+	@Override
+	@Nullable
+	public CompletionStage<Long> getTotalCount(Object container) {
+		return getRequiredAdapter(container).getTotalCount(container);
+	}
+
 	private ConnectionAdapter getRequiredAdapter(Object container) {
 		ConnectionAdapter adapter = getAdapter(container.getClass());
 		Assert.notNull(adapter, "No ConnectionAdapter for: " + container.getClass().getName());
@@ -18,6 +18,9 @@ package org.springframework.graphql.data.pagination;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.springframework.lang.Nullable;
 
 /**
  * Contract to adapt a container object for a window of elements from a larger
@@ -60,6 +63,19 @@ public interface ConnectionAdapter {
 	 */
 	String cursorAt(Object container, int index);
 
+	/**
+	 * Return the total count of elements across all pages, for the
+	 * {@code totalCount} field of a Connection type, if available.
+	 * <p>By default, this returns {@code null}.
+	 * @param container the container of elements
+	 * @return the total count, possibly not yet complete, or {@code null}
+	 * @since 1.4.0
+	 */
+	@Nullable
+	default CompletionStage<Long> getTotalCount(Object container) {
+		return null;
+	}
+
 
 	/**
 	 * Create a composite {@link ConnectionAdapter} that checks which adapter
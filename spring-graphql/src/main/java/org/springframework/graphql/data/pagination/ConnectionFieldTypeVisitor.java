@@ -25,13 +25,15 @@ import java.util.concurrent.CompletionStage;
 import graphql.TrivialDataFetcher;
 import graphql.execution.DataFetcherResult;
 import graphql.relay.Connection;
+import graphql.relay.ConnectionCursor;
 import graphql.relay.DefaultConnection;
-import graphql.relay.DefaultConnectionCursor;
 import graphql.relay.DefaultEdge;
 import graphql.relay.DefaultPageInfo;
 import graphql.relay.Edge;
+import graphql.relay.PageInfo;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLFieldDefinition;
@@ -184,6 +186,9 @@ public final class ConnectionFieldTypeVisitor extends GraphQLTypeVisitorStub {
 
 	/**
 	 * {@code DataFetcher} decorator that adapts return values with an adapter.
+	 * <p>Cursors are computed on demand when the {@code cursor} of an edge, or
+	 * the {@code startCursor} or {@code endCursor} of the page are fetched, and
+	 * edges are not created at all if they are not in the selection set.
 	 */
 	private record ConnectionDataFetcher(DataFetcher<?> delegate, ConnectionAdapter adapter) implements DataFetcher<Object> {
 
@@ -199,32 +204,38 @@ public final class ConnectionFieldTypeVisitor extends GraphQLTypeVisitorStub {
 
 		@Override
 		public Object get(DataFetchingEnvironment environment) throws Exception {
+			boolean edgesSelected = isEdgesSelected(environment);
 			Object result = this.delegate.get(environment);
 			if (result instanceof Mono<?> mono) {
-				return mono.map(this::adaptDataFetcherResult);
+				return mono.map((value) -> adaptDataFetcherResult(value, edgesSelected));
 			}
 			else if (result instanceof CompletionStage<?> stage) {
-				return stage.thenApply(this::adaptDataFetcherResult);
+				return stage.thenApply((value) -> adaptDataFetcherResult(value, edgesSelected));
 			}
 			else {
-				return adaptDataFetcherResult(result);
+				return adaptDataFetcherResult(result, edgesSelected);
 			}
 		}
 
-		private Object adaptDataFetcherResult(@Nullable Object value) {
+		private static boolean isEdgesSelected(DataFetchingEnvironment environment) {
+			DataFetchingFieldSelectionSet selectionSet = environment.getSelectionSet();
+			return (selectionSet == null || selectionSet.contains("edges"));
+		}
+
+		private Object adaptDataFetcherResult(@Nullable Object value, boolean edgesSelected) {
 			if (value instanceof DataFetcherResult<?> dataFetcherResult) {
-				Object adapted = adaptDataContainer(dataFetcherResult.getData());
+				Object adapted = adaptDataContainer(dataFetcherResult.getData(), edgesSelected);
 				return DataFetcherResult.newResult()
 						.data(adapted)
 						.errors(dataFetcherResult.getErrors())
 						.localContext(dataFetcherResult.getLocalContext()).build();
 			}
 			else {
-				return adaptDataContainer(value);
+				return adaptDataContainer(value, edgesSelected);
 			}
 		}
 
-		private <T> Object adaptDataContainer(@Nullable Object container) {
+		private <T> Object adaptDataContainer(@Nullable Object container, boolean edgesSelected) {
 			if (container == null) {
 				return EMPTY_CONNECTION;
 			}
@@ -242,22 +253,103 @@ public final class ConnectionFieldTypeVisitor extends GraphQLTypeVisitorStub {
 			}
 
 			Collection<T> nodes = this.adapter.getContent(container);
+			CompletionStage<Long> totalCount = this.adapter.getTotalCount(container);
 			if (nodes.isEmpty()) {
-				return EMPTY_CONNECTION;
+				return (totalCount != null) ?
+						new TotalCountConnection<>(Collections.emptyList(), EMPTY_CONNECTION.getPageInfo(), totalCount) :
+						EMPTY_CONNECTION;
 			}
 
-			int index = 0;
-			List<Edge<T>> edges = new ArrayList<>(nodes.size());
-			for (T node : nodes) {
-				String cursor = this.adapter.cursorAt(container, index++);
-				edges.add(new DefaultEdge<>(node, new DefaultConnectionCursor(cursor)));
+			List<Edge<T>> edges = Collections.emptyList();
+			if (edgesSelected) {
+				int index = 0;
+				edges = new ArrayList<>(nodes.size());
+				for (T node : nodes) {
+					edges.add(new DefaultEdge<>(node, new LazyConnectionCursor(this.adapter, container, index++)));
+				}
 			}
 
-			DefaultPageInfo pageInfo = new DefaultPageInfo(
-					edges.get(0).getCursor(), edges.get(edges.size() - 1).getCursor(),
+			ConnectionCursor startCursor = (edgesSelected ?
+					edges.get(0).getCursor() : new LazyConnectionCursor(this.adapter, container, 0));
+
+			ConnectionCursor endCursor = (edgesSelected ?
+					edges.get(edges.size() - 1).getCursor() :
+					new LazyConnectionCursor(this.adapter, container, nodes.size() - 1));
+
+			DefaultPageInfo pageInfo = new DefaultPageInfo(startCursor, endCursor,
 					this.adapter.hasPrevious(container), this.adapter.hasNext(container));
 
-			return new DefaultConnection<>(edges, pageInfo);
+			return (totalCount != null) ?
+					new TotalCountConnection<>(edges, pageInfo, totalCount) : new DefaultConnection<>(edges, pageInfo);
+		}
+
+	}
+
+
+	/**
+	 * {@link Connection} with a {@code totalCount} property, which may complete
+	 * later if the count is queried concurrently with the page.
+	 */
+	private static final class TotalCountConnection<T> extends DefaultConnection<T> {
+
+		private final CompletionStage<Long> totalCount;
+
+		TotalCountConnection(List<Edge<T>> edges, PageInfo pageInfo, CompletionStage<Long> totalCount) {
+			super(edges, pageInfo);
+			this.totalCount = totalCount;
+		}
+
+		public CompletionStage<Long> getTotalCount() {
+			return this.totalCount;
+		}
+
+	}
+
+
+	/**
+	 * {@link ConnectionCursor} that obtains its value from the adapter on first
+	 * access, so that pages do not pay for cursors that are not selected.
+	 */
+	private static final class LazyConnectionCursor implements ConnectionCursor {
+
+		private final ConnectionAdapter adapter;
+
+		private final Object container;
+
+		private final int index;
+
+		@Nullable
+		private volatile String value;
+
+		LazyConnectionCursor(ConnectionAdapter adapter, Object container, int index) {
+			this.adapter = adapter;
+			this.container = container;
+			this.index = index;
+		}
+
+		@Override
+		public String getValue() {
+			String value = this.value;
+			if (value == null) {
+				value = this.adapter.cursorAt(this.container, this.index);
+				this.value = value;
+			}
+			return value;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof ConnectionCursor that && getValue().equals(that.getValue())));
+		}
+
+		@Override
+		public int hashCode() {
+			return getValue().hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getValue();
 		}
 
 	}
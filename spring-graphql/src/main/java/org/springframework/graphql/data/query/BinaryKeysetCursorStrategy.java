@@ -0,0 +1,404 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.query;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.graphql.data.pagination.CursorEncoder;
+import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Strategy to convert a {@link KeysetScrollPosition#getKeys() keyset} to and
+ * from a compact binary format for use with {@link ScrollPositionCursorStrategy},
+ * as an alternative to {@link JsonKeysetCursorStrategy}.
+ *
+ * <p>Each key is written as a UTF-8 name, followed by a type tag and its
+ * value, with integral and temporal values as variable-length integers.
+ * The result is encoded with URL-safe Base64 without padding, and therefore
+ * this strategy should be combined with {@link CursorEncoder#noOpEncoder()}
+ * rather than with a further Base64 encoding.
+ *
+ * <p>Supported values are {@code null}, {@link String}, {@link Boolean},
+ * {@link Byte}, {@link Short}, {@link Integer}, {@link Long}, {@link Float},
+ * {@link Double}, {@link BigInteger}, {@link BigDecimal}, {@link UUID},
+ * {@link Date}, {@link Instant}, {@link LocalDate}, {@link LocalTime},
+ * {@link LocalDateTime}, {@link OffsetDateTime}, and {@link ZonedDateTime},
+ * as well as {@link Timestamp} with nanosecond precision,
+ * {@link java.sql.Date}, and {@link Time}. Other {@code Date} subclasses are
+ * rejected, since they would not be decoded as the same type.
+ *
+ * @since 1.4.0
+ */
+public final class BinaryKeysetCursorStrategy implements CursorStrategy<Map<String, Object>> {
+
+	private static final byte VERSION = 1;
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte TRUE = 2;
+
+	private static final byte FALSE = 3;
+
+	private static final byte BYTE = 4;
+
+	private static final byte SHORT = 5;
+
+	private static final byte INTEGER = 6;
+
+	private static final byte LONG = 7;
+
+	private static final byte FLOAT = 8;
+
+	private static final byte DOUBLE = 9;
+
+	private static final byte BIG_INTEGER = 10;
+
+	private static final byte BIG_DECIMAL = 11;
+
+	private static final byte UUID_VALUE = 12;
+
+	private static final byte DATE = 13;
+
+	private static final byte INSTANT = 14;
+
+	private static final byte LOCAL_DATE = 15;
+
+	private static final byte LOCAL_TIME = 16;
+
+	private static final byte LOCAL_DATE_TIME = 17;
+
+	private static final byte OFFSET_DATE_TIME = 18;
+
+	private static final byte ZONED_DATE_TIME = 19;
+
+	private static final byte SQL_TIMESTAMP = 20;
+
+	private static final byte SQL_DATE = 21;
+
+	private static final byte SQL_TIME = 22;
+
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+
+	/** Key names repeat on every edge of a page, so encode them once. */
+	private final Map<String, byte[]> keyNameCache = new ConcurrentReferenceHashMap<>(64);
+
+
+	@Override
+	public boolean supports(Class<?> targetType) {
+		return Map.class.isAssignableFrom(targetType);
+	}
+
+	@Override
+	public String toCursor(Map<String, Object> keys) {
+		Output output = new Output();
+		output.write(VERSION);
+		output.writeVarLong(keys.size());
+		for (Map.Entry<String, Object> entry : keys.entrySet()) {
+			output.writeLengthPrefixed(this.keyNameCache.computeIfAbsent(
+					entry.getKey(), (name) -> name.getBytes(StandardCharsets.UTF_8)));
+			writeValue(output, entry.getValue());
+		}
+		return ENCODER.encodeToString(output.toByteArray());
+	}
+
+	private static void writeValue(Output output, @Nullable Object value) {
+		if (value == null) {
+			output.write(NULL);
+		}
+		else if (value instanceof String text) {
+			output.write(STRING);
+			output.writeLengthPrefixed(text.getBytes(StandardCharsets.UTF_8));
+		}
+		else if (value instanceof Boolean bool) {
+			output.write(bool ? TRUE : FALSE);
+		}
+		else if (value instanceof Byte number) {
+			output.write(BYTE);
+			output.write(number);
+		}
+		else if (value instanceof Short number) {
+			output.write(SHORT);
+			output.writeZigZag(number);
+		}
+		else if (value instanceof Integer number) {
+			output.write(INTEGER);
+			output.writeZigZag(number);
+		}
+		else if (value instanceof Long number) {
+			output.write(LONG);
+			output.writeZigZag(number);
+		}
+		else if (value instanceof Float number) {
+			output.write(FLOAT);
+			output.writeFixed(Float.floatToIntBits(number), 4);
+		}
+		else if (value instanceof Double number) {
+			output.write(DOUBLE);
+			output.writeFixed(Double.doubleToLongBits(number), 8);
+		}
+		else if (value instanceof BigInteger number) {
+			output.write(BIG_INTEGER);
+			output.writeLengthPrefixed(number.toByteArray());
+		}
+		else if (value instanceof BigDecimal number) {
+			output.write(BIG_DECIMAL);
+			output.writeZigZag(number.scale());
+			output.writeLengthPrefixed(number.unscaledValue().toByteArray());
+		}
+		else if (value instanceof UUID uuid) {
+			output.write(UUID_VALUE);
+			output.writeFixed(uuid.getMostSignificantBits(), 8);
+			output.writeFixed(uuid.getLeastSignificantBits(), 8);
+		}
+		else if (value instanceof Date date) {
+			writeDate(output, date);
+		}
+		else if (value instanceof Instant instant) {
+			output.write(INSTANT);
+			output.writeZigZag(instant.getEpochSecond());
+			output.writeVarLong(instant.getNano());
+		}
+		else if (value instanceof LocalDate date) {
+			output.write(LOCAL_DATE);
+			output.writeZigZag(date.toEpochDay());
+		}
+		else if (value instanceof LocalTime time) {
+			output.write(LOCAL_TIME);
+			output.writeVarLong(time.toNanoOfDay());
+		}
+		else if (value instanceof LocalDateTime dateTime) {
+			output.write(LOCAL_DATE_TIME);
+			writeLocalDateTime(output, dateTime);
+		}
+		else if (value instanceof OffsetDateTime dateTime) {
+			output.write(OFFSET_DATE_TIME);
+			writeLocalDateTime(output, dateTime.toLocalDateTime());
+			output.writeZigZag(dateTime.getOffset().getTotalSeconds());
+		}
+		else if (value instanceof ZonedDateTime dateTime) {
+			output.write(ZONED_DATE_TIME);
+			writeLocalDateTime(output, dateTime.toLocalDateTime());
+			output.writeZigZag(dateTime.getOffset().getTotalSeconds());
+			output.writeLengthPrefixed(dateTime.getZone().getId().getBytes(StandardCharsets.UTF_8));
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported keyset value type: " + value.getClass().getName());
+		}
+	}
+
+	private static void writeDate(Output output, Date date) {
+		if (date instanceof Timestamp timestamp) {
+			Instant instant = timestamp.toInstant();
+			output.write(SQL_TIMESTAMP);
+			output.writeZigZag(instant.getEpochSecond());
+			output.writeVarLong(instant.getNano());
+			return;
+		}
+		if (date instanceof java.sql.Date) {
+			output.write(SQL_DATE);
+		}
+		else if (date instanceof Time) {
+			output.write(SQL_TIME);
+		}
+		else if (date.getClass() == Date.class) {
+			output.write(DATE);
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported keyset value type: " + date.getClass().getName());
+		}
+		output.writeZigZag(date.getTime());
+	}
+
+	private static void writeLocalDateTime(Output output, LocalDateTime dateTime) {
+		output.writeZigZag(dateTime.toLocalDate().toEpochDay());
+		output.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+	}
+
+	@Override
+	public Map<String, Object> fromCursor(String cursor) {
+		try {
+			return readKeys(ByteBuffer.wrap(DECODER.decode(cursor)));
+		}
+		catch (BufferUnderflowException ex) {
+			throw new IllegalArgumentException("Truncated keyset cursor", ex);
+		}
+		catch (DateTimeException | ArithmeticException | NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid value in keyset cursor: " + ex.getMessage(), ex);
+		}
+	}
+
+	private static Map<String, Object> readKeys(ByteBuffer input) {
+		byte version = input.get();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported keyset cursor version: " + version);
+		}
+		long size = readVarLong(input);
+		if (size < 0 || size > input.remaining()) {
+			throw new IllegalArgumentException("Invalid key count in keyset cursor: " + size);
+		}
+		Map<String, Object> keys = new LinkedHashMap<>((int) size);
+		for (int i = 0; i < size; i++) {
+			String name = readString(input);
+			keys.put(name, readValue(input));
+		}
+		if (input.hasRemaining()) {
+			throw new IllegalArgumentException("Unexpected trailing bytes in keyset cursor");
+		}
+		return keys;
+	}
+
+	@Nullable
+	private static Object readValue(ByteBuffer input) {
+		byte tag = input.get();
+		return switch (tag) {
+			case NULL -> null;
+			case STRING -> readString(input);
+			case TRUE -> Boolean.TRUE;
+			case FALSE -> Boolean.FALSE;
+			case BYTE -> input.get();
+			case SHORT -> (short) readZigZag(input);
+			case INTEGER -> (int) readZigZag(input);
+			case LONG -> readZigZag(input);
+			case FLOAT -> input.getFloat();
+			case DOUBLE -> input.getDouble();
+			case BIG_INTEGER -> new BigInteger(readBytes(input));
+			case BIG_DECIMAL -> {
+				int scale = (int) readZigZag(input);
+				yield new BigDecimal(new BigInteger(readBytes(input)), scale);
+			}
+			case UUID_VALUE -> new UUID(input.getLong(), input.getLong());
+			case DATE -> new Date(readZigZag(input));
+			case INSTANT -> Instant.ofEpochSecond(readZigZag(input), readVarLong(input));
+			case LOCAL_DATE -> LocalDate.ofEpochDay(readZigZag(input));
+			case LOCAL_TIME -> LocalTime.ofNanoOfDay(readVarLong(input));
+			case LOCAL_DATE_TIME -> readLocalDateTime(input);
+			case OFFSET_DATE_TIME -> OffsetDateTime.of(
+					readLocalDateTime(input), ZoneOffset.ofTotalSeconds((int) readZigZag(input)));
+			case ZONED_DATE_TIME -> {
+				LocalDateTime dateTime = readLocalDateTime(input);
+				ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) readZigZag(input));
+				yield ZonedDateTime.ofLocal(dateTime, ZoneId.of(readString(input)), offset);
+			}
+			case SQL_TIMESTAMP -> Timestamp.from(Instant.ofEpochSecond(readZigZag(input), readVarLong(input)));
+			case SQL_DATE -> new java.sql.Date(readZigZag(input));
+			case SQL_TIME -> new Time(readZigZag(input));
+			default -> throw new IllegalArgumentException("Unknown keyset value tag: " + tag);
+		};
+	}
+
+	private static LocalDateTime readLocalDateTime(ByteBuffer input) {
+		LocalDate date = LocalDate.ofEpochDay(readZigZag(input));
+		return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong(input)));
+	}
+
+	private static String readString(ByteBuffer input) {
+		return new String(readBytes(input), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(ByteBuffer input) {
+		long length = readVarLong(input);
+		if (length < 0 || length > input.remaining()) {
+			throw new IllegalArgumentException("Invalid length in keyset cursor: " + length);
+		}
+		byte[] bytes = new byte[(int) length];
+		input.get(bytes);
+		return bytes;
+	}
+
+	private static long readZigZag(ByteBuffer input) {
+		long value = readVarLong(input);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static long readVarLong(ByteBuffer input) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = input.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed variable-length integer in keyset cursor");
+	}
+
+
+	/**
+	 * Output with helpers for variable-length and fixed-length integers.
+	 */
+	private static final class Output extends ByteArrayOutputStream {
+
+		Output() {
+			super(64);
+		}
+
+		void writeZigZag(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		void writeFixed(long value, int byteCount) {
+			for (int i = byteCount - 1; i >= 0; i--) {
+				write((int) (value >>> (i * 8)));
+			}
+		}
+
+		void writeLengthPrefixed(byte[] bytes) {
+			writeVarLong(bytes.length);
+			write(bytes, 0, bytes.length);
+		}
+
+	}
+
+}
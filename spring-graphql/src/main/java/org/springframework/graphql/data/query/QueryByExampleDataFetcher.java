@@ -16,11 +16,15 @@
 
 package org.springframework.graphql.data.query;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import graphql.schema.DataFetcher;
@@ -102,6 +106,8 @@ public abstract class QueryByExampleDataFetcher<T> {
 
 	private static final Log logger = LogFactory.getLog(QueryByExampleDataFetcher.class);
 
+	private static final Set<String> PAGINATION_ARGUMENTS = Set.of("first", "last", "before", "after");
+
 
 	private final TypeInformation<T> domainType;
 
@@ -153,6 +159,22 @@ public abstract class QueryByExampleDataFetcher<T> {
 		return null;
 	}
 
+	/**
+	 * Return the argument values that the {@link Example} is bound from,
+	 * without pagination arguments, as the key to cache a count under, since
+	 * the probe of an {@code Example} does not necessarily implement
+	 * {@code equals}.
+	 */
+	private static Object getCountKey(DataFetchingEnvironment environment) {
+		String name = getArgumentName(environment);
+		if (name != null) {
+			return environment.getArgument(name);
+		}
+		Map<String, Object> arguments = new HashMap<>(environment.getArguments());
+		arguments.keySet().removeAll(PAGINATION_ARGUMENTS);
+		return arguments;
+	}
+
 	protected boolean requiresProjection(Class<?> resultType) {
 		return !resultType.equals(this.domainType.getType());
 	}
@@ -339,15 +361,18 @@ public abstract class QueryByExampleDataFetcher<T> {
 
 		private final Sort sort;
 
+		private final TotalCounter totalCounter;
+
 		@SuppressWarnings("unchecked")
 		Builder(QueryByExampleExecutor<T> executor, Class<R> domainType) {
-			this(executor, TypeInformation.of((Class<T>) domainType), domainType, null, null, null, Sort.unsorted());
+			this(executor, TypeInformation.of((Class<T>) domainType), domainType, null, null, null, Sort.unsorted(),
+					TotalCounter.NONE);
 		}
 
 		Builder(QueryByExampleExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				@Nullable CursorStrategy<ScrollPosition> cursorStrategy,
 				@Nullable Integer defaultScrollCount, @Nullable Function<Boolean, ScrollPosition> defaultScrollPosition,
-				Sort sort) {
+				Sort sort, TotalCounter totalCounter) {
 
 			this.executor = executor;
 			this.domainType = domainType;
@@ -356,6 +381,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 			this.defaultScrollCount = defaultScrollCount;
 			this.defaultScrollPosition = defaultScrollPosition;
 			this.sort = sort;
+			this.totalCounter = totalCounter;
 		}
 
 		/**
@@ -371,7 +397,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 		public <P> Builder<T, P> projectAs(Class<P> projectionType) {
 			Assert.notNull(projectionType, "Projection type must not be null");
 			return new Builder<>(this.executor, this.domainType, projectionType,
-					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort, this.totalCounter);
 		}
 
 		/**
@@ -385,7 +411,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 		 */
 		public Builder<T, R> cursorStrategy(@Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
 			return new Builder<>(this.executor, this.domainType, this.resultType,
-					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort, this.totalCounter);
 		}
 
 		/**
@@ -405,7 +431,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 				int defaultCount, Function<Boolean, ScrollPosition> defaultPosition) {
 
 			return new Builder<>(this.executor, this.domainType,
-					this.resultType, this.cursorStrategy, defaultCount, defaultPosition, this.sort);
+					this.resultType, this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.totalCounter);
 		}
 
 		/**
@@ -425,7 +451,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 					this.resultType, this.cursorStrategy,
 					(defaultSubrange != null) ? defaultSubrange.count().getAsInt() : null,
 					(defaultSubrange != null) ? (forward) -> defaultSubrange.position().get() : null,
-					this.sort);
+					this.sort, this.totalCounter);
 		}
 
 		/**
@@ -437,7 +463,32 @@ public abstract class QueryByExampleDataFetcher<T> {
 		public Builder<T, R> sortBy(Sort sort) {
 			Assert.notNull(sort, "Sort must not be null");
 			return new Builder<>(this.executor, this.domainType, this.resultType,
-					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort);
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort, this.totalCounter);
+		}
+
+		/**
+		 * Configure how a {@link #scrollable() scrollable} data fetcher counts
+		 * elements for the {@code totalCount} field of a Connection type, which
+		 * is only queried when the field is selected.
+		 * <p>By default, the count is queried in the calling thread, and is not
+		 * cached. Without an executor, the count query runs synchronously before
+		 * the query for the page, adding its full latency to the request.
+		 * Counts are cached by the argument values that the {@link Example}
+		 * is bound from, excluding pagination arguments, so that all pages
+		 * share the same count.
+		 * @param executor the executor to query the count on, concurrently with
+		 * the query for the page, or {@code null} to use the calling thread
+		 * @param cacheTimeToLive how long to cache counts for the same
+		 * argument values, or {@link Duration#ZERO} to not cache
+		 * @return a new {@link Builder} instance with all previously configured
+		 * options and the total count options applied
+		 * @since 1.4.0
+		 * @see org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer#setTotalCountEnabled(boolean)
+		 */
+		public Builder<T, R> totalCount(@Nullable Executor executor, Duration cacheTimeToLive) {
+			return new Builder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort,
+					new TotalCounter(executor, cacheTimeToLive));
 		}
 
 		/**
@@ -465,7 +516,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
 					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
 					(this.defaultScrollPosition != null) ? this.defaultScrollPosition : RepositoryUtils.defaultScrollPosition(),
-					this.sort);
+					this.sort, this.totalCounter);
 		}
 
 	}
@@ -518,16 +569,19 @@ public abstract class QueryByExampleDataFetcher<T> {
 
 		private final Sort sort;
 
+		private final TotalCounter totalCounter;
+
 		@SuppressWarnings("unchecked")
 		ReactiveBuilder(ReactiveQueryByExampleExecutor<T> executor, Class<R> domainType) {
-			this(executor, TypeInformation.of((Class<T>) domainType), domainType, null, null, null, Sort.unsorted());
+			this(executor, TypeInformation.of((Class<T>) domainType), domainType, null, null, null, Sort.unsorted(),
+					TotalCounter.NONE);
 		}
 
 		ReactiveBuilder(
 				ReactiveQueryByExampleExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				@Nullable CursorStrategy<ScrollPosition> cursorStrategy,
 				@Nullable Integer defaultScrollCount, @Nullable Function<Boolean, ScrollPosition> defaultScrollPosition,
-				Sort sort) {
+				Sort sort, TotalCounter totalCounter) {
 
 			this.executor = executor;
 			this.domainType = domainType;
@@ -536,6 +590,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 			this.defaultScrollCount = defaultScrollCount;
 			this.defaultScrollPosition = defaultScrollPosition;
 			this.sort = sort;
+			this.totalCounter = totalCounter;
 		}
 
 		/**
@@ -551,7 +606,8 @@ public abstract class QueryByExampleDataFetcher<T> {
 		public <P> ReactiveBuilder<T, P> projectAs(Class<P> projectionType) {
 			Assert.notNull(projectionType, "Projection type must not be null");
 			return new ReactiveBuilder<>(this.executor, this.domainType,
-					projectionType, this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+					projectionType, this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort,
+					this.totalCounter);
 		}
 
 		/**
@@ -565,7 +621,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 		 */
 		public ReactiveBuilder<T, R> cursorStrategy(@Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
-					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort);
+					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort, this.totalCounter);
 		}
 
 		/**
@@ -585,7 +641,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 				int defaultCount, Function<Boolean, ScrollPosition> defaultPosition) {
 
 			return new ReactiveBuilder<>(this.executor, this.domainType,
-					this.resultType, this.cursorStrategy, defaultCount, defaultPosition, this.sort);
+					this.resultType, this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.totalCounter);
 		}
 
 		/**
@@ -605,7 +661,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 					this.resultType, this.cursorStrategy,
 					(defaultSubrange != null) ? defaultSubrange.count().getAsInt() : null,
 					(defaultSubrange != null) ? (forward) -> defaultSubrange.position().get() : null,
-					this.sort);
+					this.sort, this.totalCounter);
 		}
 
 		/**
@@ -617,7 +673,28 @@ public abstract class QueryByExampleDataFetcher<T> {
 		public ReactiveBuilder<T, R> sortBy(Sort sort) {
 			Assert.notNull(sort, "Sort must not be null");
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
-					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort);
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, sort, this.totalCounter);
+		}
+
+		/**
+		 * Configure how long a {@link #scrollable() scrollable} data fetcher
+		 * caches counts for the {@code totalCount} field of a Connection type.
+		 * The count is only queried when the field is selected, concurrently
+		 * with the query for the page.
+		 * <p>By default, counts are not cached. Counts are cached by the
+		 * argument values that the {@link Example} is bound from, excluding
+		 * pagination arguments, so that all pages share the same count.
+		 * @param cacheTimeToLive how long to cache counts for the same
+		 * argument values, or {@link Duration#ZERO} to not cache
+		 * @return a new {@link ReactiveBuilder} instance with all previously
+		 * configured options and the total count options applied
+		 * @since 1.4.0
+		 * @see org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer#setTotalCountEnabled(boolean)
+		 */
+		public ReactiveBuilder<T, R> totalCount(Duration cacheTimeToLive) {
+			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition, this.sort,
+					new TotalCounter(null, cacheTimeToLive));
 		}
 
 		/**
@@ -641,6 +718,33 @@ public abstract class QueryByExampleDataFetcher<T> {
 		 */
 		public DataFetcher<Mono<Iterable<R>>> scrollable() {
 			return new ReactiveScrollableEntityFetcher<>(
+					this.executor, this.domainType, this.resultType,
+					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
+					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
+					(this.defaultScrollPosition != null) ? this.defaultScrollPosition : RepositoryUtils.defaultScrollPosition(),
+					this.sort, this.totalCounter);
+		}
+
+		/**
+		 * Build a {@link DataFetcher} that streams the elements of a scroll
+		 * subrange, requested with the same arguments as for
+		 * {@link #scrollable()}, directly from the repository {@link Flux},
+		 * rather than collecting them into a {@code Window} first.
+		 * <p>GraphQL Java resolves list fields, such as the edges of a
+		 * Connection, in full, and does not support {@code @stream}. This is
+		 * therefore intended for subscription fields, where each element is
+		 * sent as it arrives.
+		 * <p>Only offset scrolling is supported, since keyset cursors are
+		 * created from a complete {@code Window}. From the initial position,
+		 * elements are streamed with demand from the transport propagated to
+		 * the repository, and the subrange is never held in memory as a whole.
+		 * For a later position, the store applies the offset through a scroll
+		 * query, and the resulting {@code Window} of the requested count is
+		 * held in memory before its elements are emitted.
+		 * @since 1.4.0
+		 */
+		public DataFetcher<Flux<R>> stream() {
+			return new ReactiveStreamingEntityFetcher<>(
 					this.executor, this.domainType, this.resultType,
 					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
 					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
@@ -743,9 +847,13 @@ public abstract class QueryByExampleDataFetcher<T> {
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public Iterable<R> get(DataFetchingEnvironment env) throws BindException {
-			return this.executor.findBy(buildExample(env), (query) -> {
+			return fetch(buildExample(env), env);
+		}
+
+		@SuppressWarnings("unchecked")
+		protected Iterable<R> fetch(Example<T> example, DataFetchingEnvironment env) {
+			return this.executor.findBy(example, (query) -> {
 				FluentQuery.FetchableFluentQuery<R> queryToUse = (FluentQuery.FetchableFluentQuery<R>) query;
 
 				if (this.sort.isSorted()) {
@@ -767,6 +875,10 @@ public abstract class QueryByExampleDataFetcher<T> {
 			return queryToUse.all();
 		}
 
+		protected long count(Example<T> example) {
+			return this.executor.count(example);
+		}
+
 	}
 
 
@@ -780,12 +892,15 @@ public abstract class QueryByExampleDataFetcher<T> {
 
 		private final ResolvableType scrollableResultType;
 
+		private final TotalCounter totalCounter;
+
 		ScrollableEntityFetcher(
 				QueryByExampleExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				CursorStrategy<ScrollPosition> cursorStrategy,
 				int defaultCount,
 				Function<Boolean, ScrollPosition> defaultPosition,
-				Sort sort) {
+				Sort sort,
+				TotalCounter totalCounter) {
 
 			super(executor, domainType, resultType, sort);
 
@@ -796,6 +911,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 			this.defaultCount = defaultCount;
 			this.defaultPosition = defaultPosition;
 			this.scrollableResultType = ResolvableType.forClassWithGenerics(Window.class, resultType);
+			this.totalCounter = totalCounter;
 		}
 
 		@Override
@@ -803,6 +919,17 @@ public abstract class QueryByExampleDataFetcher<T> {
 			return ResolvableType.forClassWithGenerics(Iterable.class, this.scrollableResultType);
 		}
 
+		@Override
+		public Iterable<R> get(DataFetchingEnvironment env) throws BindException {
+			if (!TotalCounter.isSelected(env)) {
+				return super.get(env);
+			}
+			Example<T> example = buildExample(env);
+			CompletableFuture<Long> totalCount = this.totalCounter.count(getCountKey(env), () -> count(example));
+			Iterable<R> result = fetch(example, env);
+			return (result instanceof Window<R> window) ? new TotalCountWindow<>(window, totalCount) : result;
+		}
+
 		@Override
 		protected Iterable<R> getResult(FluentQuery.FetchableFluentQuery<R> queryToUse, DataFetchingEnvironment env) {
 			ScrollSubrange range = RepositoryUtils.getScrollSubrange(env, this.cursorStrategy);
@@ -904,10 +1031,55 @@ public abstract class QueryByExampleDataFetcher<T> {
 					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), this.resultType));
 				}
 
-				return queryToUse.all();
+				return getResult(queryToUse, env);
 			});
 		}
 
+		protected Flux<R> getResult(FluentQuery.ReactiveFluentQuery<R> queryToUse, DataFetchingEnvironment env) {
+			return queryToUse.all();
+		}
+
+	}
+
+
+	private static class ReactiveStreamingEntityFetcher<T, R> extends ReactiveManyEntityFetcher<T, R> {
+
+		private final CursorStrategy<ScrollPosition> cursorStrategy;
+
+		private final int defaultCount;
+
+		private final Function<Boolean, ScrollPosition> defaultPosition;
+
+		ReactiveStreamingEntityFetcher(
+				ReactiveQueryByExampleExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
+				CursorStrategy<ScrollPosition> cursorStrategy,
+				int defaultCount,
+				Function<Boolean, ScrollPosition> defaultPosition,
+				Sort sort) {
+
+			super(executor, domainType, resultType, sort);
+
+			Assert.notNull(cursorStrategy, "CursorStrategy is required");
+			Assert.notNull(defaultPosition, "'defaultPosition' is required");
+
+			this.cursorStrategy = cursorStrategy;
+			this.defaultCount = defaultCount;
+			this.defaultPosition = defaultPosition;
+		}
+
+		@Override
+		protected Flux<R> getResult(FluentQuery.ReactiveFluentQuery<R> queryToUse, DataFetchingEnvironment env) {
+			ScrollSubrange range = RepositoryUtils.getScrollSubrange(env, this.cursorStrategy);
+			int count = range.count().orElse(this.defaultCount);
+			ScrollPosition position = (range.position().isPresent() ?
+					range.position().get() : this.defaultPosition.apply(range.forward()));
+			if (RepositoryUtils.getStreamOffset(position) == 0) {
+				return queryToUse.limit(count).all();
+			}
+			// Let the store apply the offset, rather than read and skip the elements before it
+			return queryToUse.limit(count).scroll(position).flatMapIterable((window) -> window);
+		}
+
 	}
 
 
@@ -928,12 +1100,15 @@ public abstract class QueryByExampleDataFetcher<T> {
 
 		private final Sort sort;
 
+		private final TotalCounter totalCounter;
+
 		ReactiveScrollableEntityFetcher(
 				ReactiveQueryByExampleExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				CursorStrategy<ScrollPosition> cursorStrategy,
 				int defaultCount,
 				Function<Boolean, ScrollPosition> defaultPosition,
-				Sort sort) {
+				Sort sort,
+				TotalCounter totalCounter) {
 
 			super(domainType);
 
@@ -947,6 +1122,7 @@ public abstract class QueryByExampleDataFetcher<T> {
 			this.defaultCount = defaultCount;
 			this.defaultPosition = defaultPosition;
 			this.sort = sort;
+			this.totalCounter = totalCounter;
 		}
 
 		@Override
@@ -957,7 +1133,11 @@ public abstract class QueryByExampleDataFetcher<T> {
 		@Override
 		@SuppressWarnings("unchecked")
 		public Mono<Iterable<R>> get(DataFetchingEnvironment env) throws BindException {
-			return this.executor.findBy(buildExample(env), (query) -> {
+			Example<T> example = buildExample(env);
+			CompletableFuture<Long> totalCount = (TotalCounter.isSelected(env)) ?
+					this.totalCounter.countAsync(getCountKey(env), () -> this.executor.count(example)) : null;
+
+			return this.executor.findBy(example, (query) -> {
 				FluentQuery.ReactiveFluentQuery<R> queryToUse = (FluentQuery.ReactiveFluentQuery<R>) query;
 
 				if (this.sort.isSorted()) {
@@ -975,7 +1155,8 @@ public abstract class QueryByExampleDataFetcher<T> {
 				int count = range.count().orElse(this.defaultCount);
 				ScrollPosition position = (range.position().isPresent() ?
 						range.position().get() : this.defaultPosition.apply(range.forward()));
-				return queryToUse.limit(count).scroll(position).map(Function.identity());
+				return queryToUse.limit(count).scroll(position)
+						.<Iterable<R>>map((window) -> (totalCount != null) ? new TotalCountWindow<>(window, totalCount) : window);
 			});
 		}
 
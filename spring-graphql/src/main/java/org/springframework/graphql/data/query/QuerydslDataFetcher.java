@@ -16,29 +16,46 @@
 
 package org.springframework.graphql.data.query;
 
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.dataloader.DataLoader;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.ReactiveQuerydslPredicateExecutor;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
@@ -52,12 +69,15 @@ import org.springframework.graphql.data.GraphQlRepository;
 import org.springframework.graphql.data.pagination.CursorEncoder;
 import org.springframework.graphql.data.pagination.CursorStrategy;
 import org.springframework.graphql.data.query.AutoRegistrationRuntimeWiringConfigurer.DataFetcherFactory;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.graphql.execution.SelfDescribingDataFetcher;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Main class to create a {@link DataFetcher} from a Querydsl repository.
@@ -120,10 +140,19 @@ public abstract class QuerydslDataFetcher<T> {
 
 	private final QuerydslBinderCustomizer<EntityPath<?>> customizer;
 
+	private final Map<Class<?>, Set<String>> selectionProjections;
+
+
+	QuerydslDataFetcher(
+			TypeInformation<T> domainType, QuerydslBinderCustomizer<EntityPath<?>> customizer,
+			List<Class<?>> selectionProjections) {
 
-	QuerydslDataFetcher(TypeInformation<T> domainType, QuerydslBinderCustomizer<EntityPath<?>> customizer) {
 		this.domainType = domainType;
 		this.customizer = customizer;
+		this.selectionProjections = new LinkedHashMap<>(selectionProjections.size());
+		for (Class<?> projectionType : selectionProjections) {
+			this.selectionProjections.put(projectionType, initPropertyPaths(TypeInformation.of(projectionType)));
+		}
 	}
 
 
@@ -191,6 +220,100 @@ public abstract class QuerydslDataFetcher<T> {
 		return Collections.emptyList();
 	}
 
+	/**
+	 * Return the first of the {@link Builder#projectSelectionAs selection
+	 * projection} types that declares all given property paths, or
+	 * {@code null} if there is no such type, and the domain type should be
+	 * queried with the property paths instead.
+	 * @param propertyPaths the paths computed from the selection set
+	 * @since 1.4.0
+	 */
+	@Nullable
+	protected Class<?> selectProjection(Collection<String> propertyPaths) {
+		if (propertyPaths.isEmpty()) {
+			return null;
+		}
+		for (Map.Entry<Class<?>, Set<String>> entry : this.selectionProjections.entrySet()) {
+			if (entry.getValue().containsAll(propertyPaths)) {
+				return entry.getKey();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Apply the result type to the given query if it
+	 * {@link #requiresProjection(Class) requires a projection}, or otherwise
+	 * the first matching {@link #selectProjection(Collection) selection
+	 * projection}, or the property paths of the selection set.
+	 * @param query the query to apply the projection to
+	 * @param resultType the result type of the data fetcher
+	 * @param selection the selection set of the field
+	 * @return the query to use
+	 * @since 1.4.0
+	 */
+	@SuppressWarnings("unchecked")
+	protected <R, Q extends FluentQuery<R>> Q applyProjection(
+			Q query, Class<R> resultType, DataFetchingFieldSelectionSet selection) {
+
+		if (requiresProjection(resultType)) {
+			return (Q) query.as(resultType);
+		}
+		Collection<String> paths = buildPropertyPaths(selection, resultType);
+		Class<?> projectionType = selectProjection(paths);
+		return (Q) ((projectionType != null) ? query.as(projectionType) : query.project(paths));
+	}
+
+	/**
+	 * Collect the dot paths of the properties of the given projection type,
+	 * including nested properties, to match selection paths against.
+	 * Recursion stops at a type that is already on the current path.
+	 */
+	private static Set<String> initPropertyPaths(TypeInformation<?> typeInfo) {
+		Set<String> paths = new HashSet<>();
+		addPropertyPaths(typeInfo, "", new HashSet<>(), paths);
+		return paths;
+	}
+
+	private static void addPropertyPaths(
+			TypeInformation<?> typeInfo, String prefix, Set<Class<?>> visitedTypes, Set<String> paths) {
+
+		Class<?> type = typeInfo.getType();
+		if (BeanUtils.isSimpleValueType(type) || type.getName().startsWith("java.") || !visitedTypes.add(type)) {
+			return;
+		}
+		for (String name : getPropertyNames(type)) {
+			TypeInformation<?> propertyTypeInfo = typeInfo.getProperty(name);
+			if (propertyTypeInfo != null) {
+				String path = prefix + name;
+				paths.add(path);
+				TypeInformation<?> actualType = propertyTypeInfo.getActualType();
+				if (actualType != null) {
+					addPropertyPaths(actualType, path + ".", visitedTypes, paths);
+				}
+			}
+		}
+		visitedTypes.remove(type);
+	}
+
+	private static Set<String> getPropertyNames(Class<?> type) {
+		Set<String> names = new LinkedHashSet<>();
+		for (Method method : type.getMethods()) {
+			if (method.getParameterCount() == 0 && method.getDeclaringClass() != Object.class) {
+				String name = method.getName();
+				if (name.startsWith("get") && name.length() > 3) {
+					names.add(Introspector.decapitalize(name.substring(3)));
+				}
+				else if (name.startsWith("is") && name.length() > 2) {
+					names.add(Introspector.decapitalize(name.substring(2)));
+				}
+			}
+		}
+		ReflectionUtils.doWithFields(type, (field) -> names.add(field.getName()),
+				(field) -> !Modifier.isStatic(field.getModifiers()));
+		return names;
+	}
+
 	@Override
 	public String toString() {
 		return getDescription();
@@ -378,16 +501,22 @@ public abstract class QuerydslDataFetcher<T> {
 
 		private final QuerydslBinderCustomizer<? extends EntityPath<T>> customizer;
 
+		private final List<Class<?>> selectionProjections;
+
+		private final TotalCounter totalCounter;
+
 		@SuppressWarnings("unchecked")
 		Builder(QuerydslPredicateExecutor<T> executor, Class<R> domainType) {
 			this(executor, TypeInformation.of((Class<T>) domainType),
-					domainType, null, null, null, Sort.unsorted(), NO_OP_BINDER_CUSTOMIZER);
+					domainType, null, null, null, Sort.unsorted(), NO_OP_BINDER_CUSTOMIZER, Collections.emptyList(),
+					TotalCounter.NONE);
 		}
 
 		Builder(QuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				@Nullable CursorStrategy<ScrollPosition> cursorStrategy,
 				@Nullable Integer defaultScrollCount, @Nullable Function<Boolean, ScrollPosition> defaultScrollPosition,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections, TotalCounter totalCounter) {
 
 			this.executor = executor;
 			this.domainType = domainType;
@@ -397,6 +526,8 @@ public abstract class QuerydslDataFetcher<T> {
 			this.defaultScrollPosition = defaultScrollPosition;
 			this.sort = sort;
 			this.customizer = customizer;
+			this.selectionProjections = selectionProjections;
+			this.totalCounter = totalCounter;
 		}
 
 		/**
@@ -413,7 +544,29 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(projectionType, "Projection type must not be null");
 			return new Builder<>(this.executor, this.domainType, projectionType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Configure projection types to choose from for each request, based on
+		 * the GraphQL selection set, when results are not otherwise projected
+		 * {@link #projectAs(Class) as} a single type. The first type, in the given
+		 * order, that declares all selected properties is used to query results,
+		 * which allows the underlying store to read only the columns or the fields
+		 * of the projection. If none match, the domain type is queried as usual.
+		 * <p>Declare projection types from the narrowest to the widest. Each type
+		 * needs to expose properties that are also named as properties of the
+		 * domain type, and that match GraphQL field names.
+		 * @param projectionTypes interface or DTO projection types
+		 * @return a new {@link Builder} instance with all previously configured
+		 * options and {@code projectionTypes} applied
+		 * @since 1.4.0
+		 */
+		public Builder<T, R> projectSelectionAs(Class<?>... projectionTypes) {
+			Assert.notNull(projectionTypes, "Projection types must not be null");
+			return new Builder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
+					this.sort, this.customizer, List.of(projectionTypes), this.totalCounter);
 		}
 
 		/**
@@ -428,7 +581,7 @@ public abstract class QuerydslDataFetcher<T> {
 		public Builder<T, R> cursorStrategy(@Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
 			return new Builder<>(this.executor, this.domainType, this.resultType,
 					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -448,7 +601,8 @@ public abstract class QuerydslDataFetcher<T> {
 				int defaultCount, Function<Boolean, ScrollPosition> defaultPosition) {
 
 			return new Builder<>(this.executor, this.domainType, this.resultType,
-					this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.customizer);
+					this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.customizer,
+					this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -466,7 +620,7 @@ public abstract class QuerydslDataFetcher<T> {
 			return new Builder<>(this.executor, this.domainType, this.resultType, this.cursorStrategy,
 					(defaultSubrange != null) ? defaultSubrange.count().getAsInt() : null,
 					(defaultSubrange != null) ? (forward) -> defaultSubrange.position().get() : null,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -479,7 +633,7 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(sort, "Sort must not be null");
 			return new Builder<>(this.executor, this.domainType, this.resultType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					sort, this.customizer);
+					sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -498,7 +652,29 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(customizer, "QuerydslBinderCustomizer must not be null");
 			return new Builder<>(this.executor, this.domainType, this.resultType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, customizer);
+					this.sort, customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Configure how a {@link #scrollable() scrollable} data fetcher counts
+		 * elements for the {@code totalCount} field of a Connection type, which
+		 * is only queried when the field is selected.
+		 * <p>By default, the count is queried in the calling thread, and is not
+		 * cached. Without an executor, the count query runs synchronously before
+		 * the query for the page, adding its full latency to the request.
+		 * @param executor the executor to query the count on, concurrently with
+		 * the query for the page, or {@code null} to use the calling thread
+		 * @param cacheTimeToLive how long to cache counts for the same
+		 * {@link Predicate}, or {@link Duration#ZERO} to not cache
+		 * @return a new {@link Builder} instance with all previously configured
+		 * options and the total count options applied
+		 * @since 1.4.0
+		 * @see org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer#setTotalCountEnabled(boolean)
+		 */
+		public Builder<T, R> totalCount(@Nullable Executor executor, Duration cacheTimeToLive) {
+			return new Builder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
+					this.sort, this.customizer, this.selectionProjections, new TotalCounter(executor, cacheTimeToLive));
 		}
 
 		/**
@@ -506,7 +682,8 @@ public abstract class QuerydslDataFetcher<T> {
 		 */
 		public DataFetcher<R> single() {
 			return new SingleEntityFetcher<>(
-					this.executor, this.domainType, this.resultType, this.sort, this.customizer);
+					this.executor, this.domainType, this.resultType, this.sort, this.customizer,
+					this.selectionProjections);
 		}
 
 		/**
@@ -514,7 +691,8 @@ public abstract class QuerydslDataFetcher<T> {
 		 */
 		public DataFetcher<Iterable<R>> many() {
 			return new ManyEntityFetcher<>(
-					this.executor, this.domainType, this.resultType, this.sort, this.customizer);
+					this.executor, this.domainType, this.resultType, this.sort, this.customizer,
+					this.selectionProjections);
 		}
 
 		/**
@@ -528,7 +706,66 @@ public abstract class QuerydslDataFetcher<T> {
 					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
 					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
 					(this.defaultScrollPosition != null) ? this.defaultScrollPosition : RepositoryUtils.defaultScrollPosition(),
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Build a {@link DataFetcher} for a nested field with a single object
+		 * for each parent. Keys obtained from parent objects are loaded in
+		 * batches through a {@link org.dataloader.DataLoader}, with one query per
+		 * batch that matches the given domain type property to any of the keys.
+		 * <p>The batch loader is registered with the given
+		 * {@link BatchLoaderRegistry}, under a {@code DataLoader} name that is
+		 * unique to the returned fetcher. GraphQL arguments of the nested field are
+		 * not used to query, since objects are shared by all parents with the
+		 * same key. Projections are not supported.
+		 * @param registry the registry for the batch loader
+		 * @param keyProperty the domain type property, or nested property path,
+		 * to match to parent keys, e.g. {@code "author.id"}
+		 * @param parentKeyFunction function to obtain the key from a parent
+		 * object, returning {@code null} if there is no key
+		 * @since 1.4.0
+		 */
+		public DataFetcher<CompletableFuture<R>> batchedSingle(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction) {
+
+			return createBatchedFetcher(registry, keyProperty, parentKeyFunction, false);
+		}
+
+		/**
+		 * Variant of {@link #batchedSingle(BatchLoaderRegistry, String, Function)}
+		 * for a nested field with a list of objects for each parent.
+		 * @param registry the registry for the batch loader
+		 * @param keyProperty the domain type property, or nested property path,
+		 * to match to parent keys, e.g. {@code "author.id"}
+		 * @param parentKeyFunction function to obtain the key from a parent
+		 * object, returning {@code null} if there is no key
+		 * @since 1.4.0
+		 */
+		public DataFetcher<CompletableFuture<List<R>>> batchedMany(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction) {
+
+			return createBatchedFetcher(registry, keyProperty, parentKeyFunction, true);
+		}
+
+		private <V> BatchedEntityFetcher<T, V> createBatchedFetcher(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction,
+				boolean many) {
+
+			Assert.notNull(registry, "BatchLoaderRegistry must not be null");
+			Assert.hasText(keyProperty, "Key property must not be empty");
+			Assert.notNull(parentKeyFunction, "Parent key function must not be null");
+			Assert.state(this.resultType.equals(this.domainType.getType()), "Batched loading does not support projections");
+
+			QuerydslPredicateExecutor<T> executor = this.executor;
+			Sort sort = this.sort;
+
+			BatchedEntityFetcher<T, V> fetcher = new BatchedEntityFetcher<>(
+					this.domainType, this.resultType, keyProperty, parentKeyFunction, many,
+					(predicate) -> Flux.defer(() -> Flux.fromIterable(executor.findAll(predicate, sort))));
+
+			fetcher.registerBatchLoader(registry);
+			return fetcher;
 		}
 
 	}
@@ -583,17 +820,23 @@ public abstract class QuerydslDataFetcher<T> {
 
 		private final QuerydslBinderCustomizer<? extends EntityPath<T>> customizer;
 
+		private final List<Class<?>> selectionProjections;
+
+		private final TotalCounter totalCounter;
+
 		@SuppressWarnings("unchecked")
 		ReactiveBuilder(ReactiveQuerydslPredicateExecutor<T> executor, Class<R> domainType) {
 			this(executor, TypeInformation.of((Class<T>) domainType),
-					domainType, null, null, null, Sort.unsorted(), NO_OP_BINDER_CUSTOMIZER);
+					domainType, null, null, null, Sort.unsorted(), NO_OP_BINDER_CUSTOMIZER, Collections.emptyList(),
+					TotalCounter.NONE);
 		}
 
 		ReactiveBuilder(
 				ReactiveQuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
 				@Nullable CursorStrategy<ScrollPosition> cursorStrategy,
 				@Nullable Integer defaultScrollCount, @Nullable Function<Boolean, ScrollPosition> defaultScrollPosition,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections, TotalCounter totalCounter) {
 
 			this.executor = executor;
 			this.domainType = domainType;
@@ -603,6 +846,8 @@ public abstract class QuerydslDataFetcher<T> {
 			this.defaultScrollPosition = defaultScrollPosition;
 			this.sort = sort;
 			this.customizer = customizer;
+			this.selectionProjections = selectionProjections;
+			this.totalCounter = totalCounter;
 		}
 
 		/**
@@ -619,7 +864,29 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(projectionType, "Projection type must not be null");
 			return new ReactiveBuilder<>(this.executor, this.domainType, projectionType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Configure projection types to choose from for each request, based on
+		 * the GraphQL selection set, when results are not otherwise projected
+		 * {@link #projectAs(Class) as} a single type. The first type, in the given
+		 * order, that declares all selected properties is used to query results,
+		 * which allows the underlying store to read only the columns or the fields
+		 * of the projection. If none match, the domain type is queried as usual.
+		 * <p>Declare projection types from the narrowest to the widest. Each type
+		 * needs to expose properties that are also named as properties of the
+		 * domain type, and that match GraphQL field names.
+		 * @param projectionTypes interface or DTO projection types
+		 * @return a new {@link ReactiveBuilder} instance with all previously configured
+		 * options and {@code projectionTypes} applied
+		 * @since 1.4.0
+		 */
+		public ReactiveBuilder<T, R> projectSelectionAs(Class<?>... projectionTypes) {
+			Assert.notNull(projectionTypes, "Projection types must not be null");
+			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
+					this.sort, this.customizer, List.of(projectionTypes), this.totalCounter);
 		}
 
 		/**
@@ -634,7 +901,7 @@ public abstract class QuerydslDataFetcher<T> {
 		public ReactiveBuilder<T, R> cursorStrategy(@Nullable CursorStrategy<ScrollPosition> cursorStrategy) {
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
 					cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -654,7 +921,8 @@ public abstract class QuerydslDataFetcher<T> {
 				int defaultCount, Function<Boolean, ScrollPosition> defaultPosition) {
 
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
-					this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.customizer);
+					this.cursorStrategy, defaultCount, defaultPosition, this.sort, this.customizer,
+					this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -673,7 +941,7 @@ public abstract class QuerydslDataFetcher<T> {
 					this.cursorStrategy,
 					(defaultSubrange != null) ? defaultSubrange.count().getAsInt() : null,
 					(defaultSubrange != null) ? (forward) -> defaultSubrange.position().get() : null,
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -686,7 +954,7 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(sort, "Sort must not be null");
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					sort, this.customizer);
+					sort, this.customizer, this.selectionProjections, this.totalCounter);
 		}
 
 		/**
@@ -705,7 +973,26 @@ public abstract class QuerydslDataFetcher<T> {
 			Assert.notNull(customizer, "QuerydslBinderCustomizer must not be null");
 			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
 					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
-					this.sort, customizer);
+					this.sort, customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Configure how long a {@link #scrollable() scrollable} data fetcher
+		 * caches counts for the {@code totalCount} field of a Connection type.
+		 * The count is only queried when the field is selected, concurrently
+		 * with the query for the page.
+		 * <p>By default, counts are not cached.
+		 * @param cacheTimeToLive how long to cache counts for the same
+		 * {@link Predicate}, or {@link Duration#ZERO} to not cache
+		 * @return a new {@link ReactiveBuilder} instance with all previously
+		 * configured options and the total count options applied
+		 * @since 1.4.0
+		 * @see org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer#setTotalCountEnabled(boolean)
+		 */
+		public ReactiveBuilder<T, R> totalCount(Duration cacheTimeToLive) {
+			return new ReactiveBuilder<>(this.executor, this.domainType, this.resultType,
+					this.cursorStrategy, this.defaultScrollCount, this.defaultScrollPosition,
+					this.sort, this.customizer, this.selectionProjections, new TotalCounter(null, cacheTimeToLive));
 		}
 
 		/**
@@ -713,7 +1000,8 @@ public abstract class QuerydslDataFetcher<T> {
 		 */
 		public DataFetcher<Mono<R>> single() {
 			return new ReactiveSingleEntityFetcher<>(
-					this.executor, this.domainType, this.resultType, this.sort, this.customizer);
+					this.executor, this.domainType, this.resultType, this.sort, this.customizer,
+					this.selectionProjections);
 		}
 
 		/**
@@ -721,7 +1009,8 @@ public abstract class QuerydslDataFetcher<T> {
 		 */
 		public DataFetcher<Flux<R>> many() {
 			return new ReactiveManyEntityFetcher<>(
-					this.executor, this.domainType, this.resultType, this.sort, this.customizer);
+					this.executor, this.domainType, this.resultType, this.sort, this.customizer,
+					this.selectionProjections);
 		}
 
 		/**
@@ -735,7 +1024,93 @@ public abstract class QuerydslDataFetcher<T> {
 					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
 					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
 					(this.defaultScrollPosition != null) ? this.defaultScrollPosition : RepositoryUtils.defaultScrollPosition(),
-					this.sort, this.customizer);
+					this.sort, this.customizer, this.selectionProjections, this.totalCounter);
+		}
+
+		/**
+		 * Build a {@link DataFetcher} that streams the elements of a scroll
+		 * subrange, requested with the same arguments as for
+		 * {@link #scrollable()}, directly from the repository {@link Flux},
+		 * rather than collecting them into a {@code Window} first.
+		 * <p>GraphQL Java resolves list fields, such as the edges of a
+		 * Connection, in full, and does not support {@code @stream}. This is
+		 * therefore intended for subscription fields, where each element is
+		 * sent as it arrives.
+		 * <p>Only offset scrolling is supported, since keyset cursors are
+		 * created from a complete {@code Window}. From the initial position,
+		 * elements are streamed with demand from the transport propagated to
+		 * the repository, and the subrange is never held in memory as a whole.
+		 * For a later position, the store applies the offset through a scroll
+		 * query, and the resulting {@code Window} of the requested count is
+		 * held in memory before its elements are emitted.
+		 * @since 1.4.0
+		 */
+		public DataFetcher<Flux<R>> stream() {
+			return new ReactiveStreamingEntityFetcher<>(
+					this.executor, this.domainType, this.resultType,
+					(this.cursorStrategy != null) ? this.cursorStrategy : RepositoryUtils.defaultCursorStrategy(),
+					(this.defaultScrollCount != null) ? this.defaultScrollCount : RepositoryUtils.defaultScrollCount(),
+					(this.defaultScrollPosition != null) ? this.defaultScrollPosition : RepositoryUtils.defaultScrollPosition(),
+					this.sort, this.customizer, this.selectionProjections);
+		}
+
+		/**
+		 * Build a {@link DataFetcher} for a nested field with a single object
+		 * for each parent. Keys obtained from parent objects are loaded in
+		 * batches through a {@link org.dataloader.DataLoader}, with one query per
+		 * batch that matches the given domain type property to any of the keys.
+		 * <p>The batch loader is registered with the given
+		 * {@link BatchLoaderRegistry}, under a {@code DataLoader} name that is
+		 * unique to the returned fetcher. GraphQL arguments of the nested field are
+		 * not used to query, since objects are shared by all parents with the
+		 * same key. Projections are not supported.
+		 * @param registry the registry for the batch loader
+		 * @param keyProperty the domain type property, or nested property path,
+		 * to match to parent keys, e.g. {@code "author.id"}
+		 * @param parentKeyFunction function to obtain the key from a parent
+		 * object, returning {@code null} if there is no key
+		 * @since 1.4.0
+		 */
+		public DataFetcher<CompletableFuture<R>> batchedSingle(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction) {
+
+			return createBatchedFetcher(registry, keyProperty, parentKeyFunction, false);
+		}
+
+		/**
+		 * Variant of {@link #batchedSingle(BatchLoaderRegistry, String, Function)}
+		 * for a nested field with a list of objects for each parent.
+		 * @param registry the registry for the batch loader
+		 * @param keyProperty the domain type property, or nested property path,
+		 * to match to parent keys, e.g. {@code "author.id"}
+		 * @param parentKeyFunction function to obtain the key from a parent
+		 * object, returning {@code null} if there is no key
+		 * @since 1.4.0
+		 */
+		public DataFetcher<CompletableFuture<List<R>>> batchedMany(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction) {
+
+			return createBatchedFetcher(registry, keyProperty, parentKeyFunction, true);
+		}
+
+		private <V> BatchedEntityFetcher<T, V> createBatchedFetcher(
+				BatchLoaderRegistry registry, String keyProperty, Function<Object, ?> parentKeyFunction,
+				boolean many) {
+
+			Assert.notNull(registry, "BatchLoaderRegistry must not be null");
+			Assert.hasText(keyProperty, "Key property must not be empty");
+			Assert.notNull(parentKeyFunction, "Parent key function must not be null");
+			Assert.state(this.resultType.equals(this.domainType.getType()), "Batched loading does not support projections");
+
+			ReactiveQuerydslPredicateExecutor<T> executor = this.executor;
+			Sort sort = this.sort;
+
+			BatchedEntityFetcher<T, V> fetcher = new BatchedEntityFetcher<>(
+					this.domainType, this.resultType, keyProperty, parentKeyFunction, many,
+					(predicate) -> executor.findAll(predicate, sort));
+
+			fetcher.registerBatchLoader(registry);
+			return fetcher;
 		}
 
 	}
@@ -773,9 +1148,10 @@ public abstract class QuerydslDataFetcher<T> {
 		@SuppressWarnings({"unchecked", "rawtypes"})
 		SingleEntityFetcher(
 				QuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections) {
 
-			super(domainType, (QuerydslBinderCustomizer) customizer);
+			super(domainType, (QuerydslBinderCustomizer) customizer, selectionProjections);
 			this.executor = executor;
 			this.resultType = resultType;
 			this.sort = sort;
@@ -796,13 +1172,7 @@ public abstract class QuerydslDataFetcher<T> {
 					queryToUse = queryToUse.sortBy(this.sort);
 				}
 
-				Class<R> resultType = this.resultType;
-				if (requiresProjection(resultType)) {
-					queryToUse = queryToUse.as(resultType);
-				}
-				else {
-					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), resultType));
-				}
+				queryToUse = applyProjection(queryToUse, this.resultType, env.getSelectionSet());
 
 				return queryToUse.first();
 			}).orElse(null);
@@ -823,9 +1193,10 @@ public abstract class QuerydslDataFetcher<T> {
 		@SuppressWarnings({"unchecked", "rawtypes"})
 		ManyEntityFetcher(
 				QuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections) {
 
-			super(domainType, (QuerydslBinderCustomizer) customizer);
+			super(domainType, (QuerydslBinderCustomizer) customizer, selectionProjections);
 			this.executor = executor;
 			this.resultType = resultType;
 			this.sort = sort;
@@ -837,21 +1208,20 @@ public abstract class QuerydslDataFetcher<T> {
 		}
 
 		@Override
-		@SuppressWarnings("unchecked")
 		public Iterable<R> get(DataFetchingEnvironment env) {
-			return this.executor.findBy(buildPredicate(env), (query) -> {
+			return fetch(buildPredicate(env), env);
+		}
+
+		@SuppressWarnings("unchecked")
+		protected Iterable<R> fetch(Predicate predicate, DataFetchingEnvironment env) {
+			return this.executor.findBy(predicate, (query) -> {
 				FetchableFluentQuery<R> queryToUse = (FetchableFluentQuery<R>) query;
 
 				if (this.sort.isSorted()) {
 					queryToUse = queryToUse.sortBy(this.sort);
 				}
 
-				if (requiresProjection(this.resultType)) {
-					queryToUse = queryToUse.as(this.resultType);
-				}
-				else {
-					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), this.resultType));
-				}
+				queryToUse = applyProjection(queryToUse, this.resultType, env.getSelectionSet());
 
 				return getResult(queryToUse, env);
 			});
@@ -861,6 +1231,10 @@ public abstract class QuerydslDataFetcher<T> {
 			return queryToUse.all();
 		}
 
+		protected long count(Predicate predicate) {
+			return this.executor.count(predicate);
+		}
+
 	}
 
 
@@ -872,6 +1246,8 @@ public abstract class QuerydslDataFetcher<T> {
 
 		private final Function<Boolean, ScrollPosition> defaultPosition;
 
+		private final TotalCounter totalCounter;
+
 		ScrollableEntityFetcher(QuerydslPredicateExecutor<T> executor,
 				TypeInformation<T> domainType,
 				Class<R> resultType,
@@ -879,9 +1255,11 @@ public abstract class QuerydslDataFetcher<T> {
 				int defaultCount,
 				Function<Boolean, ScrollPosition> defaultPosition,
 				Sort sort,
-				QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections,
+				TotalCounter totalCounter) {
 
-			super(executor, domainType, resultType, sort, customizer);
+			super(executor, domainType, resultType, sort, customizer, selectionProjections);
 
 			Assert.notNull(cursorStrategy, "CursorStrategy is required");
 			Assert.notNull(defaultPosition, "'defaultPosition' is required");
@@ -889,6 +1267,18 @@ public abstract class QuerydslDataFetcher<T> {
 			this.cursorStrategy = cursorStrategy;
 			this.defaultCount = defaultCount;
 			this.defaultPosition = defaultPosition;
+			this.totalCounter = totalCounter;
+		}
+
+		@Override
+		public Iterable<R> get(DataFetchingEnvironment env) {
+			if (!TotalCounter.isSelected(env)) {
+				return super.get(env);
+			}
+			Predicate predicate = buildPredicate(env);
+			CompletableFuture<Long> totalCount = this.totalCounter.count(predicate, () -> count(predicate));
+			Iterable<R> result = fetch(predicate, env);
+			return (result instanceof Window<R> window) ? new TotalCountWindow<>(window, totalCount) : result;
 		}
 
 		@Override
@@ -915,9 +1305,10 @@ public abstract class QuerydslDataFetcher<T> {
 		@SuppressWarnings({"unchecked", "rawtypes"})
 		ReactiveSingleEntityFetcher(
 				ReactiveQuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections) {
 
-			super(domainType, (QuerydslBinderCustomizer) customizer);
+			super(domainType, (QuerydslBinderCustomizer) customizer, selectionProjections);
 
 			this.executor = executor;
 			this.resultType = resultType;
@@ -939,12 +1330,7 @@ public abstract class QuerydslDataFetcher<T> {
 					queryToUse = queryToUse.sortBy(this.sort);
 				}
 
-				if (requiresProjection(this.resultType)) {
-					queryToUse = queryToUse.as(this.resultType);
-				}
-				else {
-					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), this.resultType));
-				}
+				queryToUse = applyProjection(queryToUse, this.resultType, env.getSelectionSet());
 
 				return queryToUse.first();
 			});
@@ -965,9 +1351,10 @@ public abstract class QuerydslDataFetcher<T> {
 		@SuppressWarnings({"unchecked", "rawtypes"})
 		ReactiveManyEntityFetcher(
 				ReactiveQuerydslPredicateExecutor<T> executor, TypeInformation<T> domainType, Class<R> resultType,
-				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				Sort sort, QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections) {
 
-			super(domainType, (QuerydslBinderCustomizer) customizer);
+			super(domainType, (QuerydslBinderCustomizer) customizer, selectionProjections);
 
 			this.executor = executor;
 			this.resultType = resultType;
@@ -989,17 +1376,60 @@ public abstract class QuerydslDataFetcher<T> {
 					queryToUse = queryToUse.sortBy(this.sort);
 				}
 
-				if (requiresProjection(this.resultType)) {
-					queryToUse = queryToUse.as(this.resultType);
-				}
-				else {
-					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), this.resultType));
-				}
+				queryToUse = applyProjection(queryToUse, this.resultType, env.getSelectionSet());
 
-				return queryToUse.all();
+				return getResult(queryToUse, env);
 			});
 		}
 
+		protected Flux<R> getResult(FluentQuery.ReactiveFluentQuery<R> queryToUse, DataFetchingEnvironment env) {
+			return queryToUse.all();
+		}
+
+	}
+
+
+	private static class ReactiveStreamingEntityFetcher<T, R> extends ReactiveManyEntityFetcher<T, R> {
+
+		private final CursorStrategy<ScrollPosition> cursorStrategy;
+
+		private final int defaultCount;
+
+		private final Function<Boolean, ScrollPosition> defaultPosition;
+
+		ReactiveStreamingEntityFetcher(ReactiveQuerydslPredicateExecutor<T> executor,
+				TypeInformation<T> domainType,
+				Class<R> resultType,
+				CursorStrategy<ScrollPosition> cursorStrategy,
+				int defaultCount,
+				Function<Boolean, ScrollPosition> defaultPosition,
+				Sort sort,
+				QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections) {
+
+			super(executor, domainType, resultType, sort, customizer, selectionProjections);
+
+			Assert.notNull(cursorStrategy, "CursorStrategy is required");
+			Assert.notNull(defaultPosition, "'defaultPosition' is required");
+
+			this.cursorStrategy = cursorStrategy;
+			this.defaultCount = defaultCount;
+			this.defaultPosition = defaultPosition;
+		}
+
+		@Override
+		protected Flux<R> getResult(FluentQuery.ReactiveFluentQuery<R> queryToUse, DataFetchingEnvironment env) {
+			ScrollSubrange range = RepositoryUtils.getScrollSubrange(env, this.cursorStrategy);
+			int count = range.count().orElse(this.defaultCount);
+			ScrollPosition position = (range.position().isPresent() ?
+					range.position().get() : this.defaultPosition.apply(range.forward()));
+			if (RepositoryUtils.getStreamOffset(position) == 0) {
+				return queryToUse.limit(count).all();
+			}
+			// Let the store apply the offset, rather than read and skip the elements before it
+			return queryToUse.limit(count).scroll(position).flatMapIterable((window) -> window);
+		}
+
 	}
 
 
@@ -1020,6 +1450,8 @@ public abstract class QuerydslDataFetcher<T> {
 
 		private final Sort sort;
 
+		private final TotalCounter totalCounter;
+
 		@SuppressWarnings({"unchecked", "rawtypes"})
 		ReactiveScrollableEntityFetcher(ReactiveQuerydslPredicateExecutor<T> executor,
 				TypeInformation<T> domainType,
@@ -1028,9 +1460,11 @@ public abstract class QuerydslDataFetcher<T> {
 				int defaultCount,
 				Function<Boolean, ScrollPosition> defaultPosition,
 				Sort sort,
-				QuerydslBinderCustomizer<? extends EntityPath<T>> customizer) {
+				QuerydslBinderCustomizer<? extends EntityPath<T>> customizer,
+				List<Class<?>> selectionProjections,
+				TotalCounter totalCounter) {
 
-			super(domainType, (QuerydslBinderCustomizer) customizer);
+			super(domainType, (QuerydslBinderCustomizer) customizer, selectionProjections);
 
 			Assert.notNull(cursorStrategy, "CursorStrategy is required");
 			Assert.notNull(defaultPosition, "'defaultPosition' is required");
@@ -1042,6 +1476,7 @@ public abstract class QuerydslDataFetcher<T> {
 			this.defaultCount = defaultCount;
 			this.defaultPosition = defaultPosition;
 			this.sort = sort;
+			this.totalCounter = totalCounter;
 		}
 
 		@Override
@@ -1052,28 +1487,130 @@ public abstract class QuerydslDataFetcher<T> {
 		@Override
 		@SuppressWarnings("unchecked")
 		public Mono<Iterable<R>> get(DataFetchingEnvironment env) {
-			return this.executor.findBy(buildPredicate(env), (query) -> {
+			Predicate predicate = buildPredicate(env);
+			CompletableFuture<Long> totalCount = (TotalCounter.isSelected(env)) ?
+					this.totalCounter.countAsync(predicate, () -> this.executor.count(predicate)) : null;
+
+			return this.executor.findBy(predicate, (query) -> {
 				FluentQuery.ReactiveFluentQuery<R> queryToUse = (FluentQuery.ReactiveFluentQuery<R>) query;
 
 				if (this.sort.isSorted()) {
 					queryToUse = queryToUse.sortBy(this.sort);
 				}
 
-				if (requiresProjection(this.resultType)) {
-					queryToUse = queryToUse.as(this.resultType);
-				}
-				else {
-					queryToUse = queryToUse.project(buildPropertyPaths(env.getSelectionSet(), this.resultType));
-				}
+				queryToUse = applyProjection(queryToUse, this.resultType, env.getSelectionSet());
 
 				ScrollSubrange range = RepositoryUtils.getScrollSubrange(env, this.cursorStrategy);
 				int count = range.count().orElse(this.defaultCount);
 				ScrollPosition position = (range.position().isPresent() ?
 						range.position().get() : this.defaultPosition.apply(range.forward()));
-				return queryToUse.limit(count).scroll(position).map(Function.identity());
+				return queryToUse.limit(count).scroll(position)
+						.<Iterable<R>>map((window) -> (totalCount != null) ? new TotalCountWindow<>(window, totalCount) : window);
 			});
 		}
 
 	}
 
+
+	/**
+	 * {@link DataFetcher} for a nested field that loads objects for the key of
+	 * each parent through a {@link DataLoader}, and a batch loader that queries
+	 * objects for a batch of keys at once, and maps them back to their keys.
+	 */
+	private static class BatchedEntityFetcher<T, V>
+			extends QuerydslDataFetcher<T> implements SelfDescribingDataFetcher<CompletableFuture<V>> {
+
+		// Distinguishes DataLoader names of fetchers for the same type and key property
+		private static final AtomicInteger counter = new AtomicInteger();
+
+		private final ResolvableType returnType;
+
+		private final EntityPath<?> entityPath;
+
+		private final String keyProperty;
+
+		private final Function<Object, ?> parentKeyFunction;
+
+		private final boolean many;
+
+		private final Function<Predicate, Flux<T>> query;
+
+		private final String dataLoaderName;
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		BatchedEntityFetcher(
+				TypeInformation<T> domainType, Class<?> resultType, String keyProperty,
+				Function<Object, ?> parentKeyFunction, boolean many, Function<Predicate, Flux<T>> query) {
+
+			super(domainType, (QuerydslBinderCustomizer) NO_OP_BINDER_CUSTOMIZER, Collections.emptyList());
+			this.returnType = ResolvableType.forClassWithGenerics(CompletableFuture.class, (many ?
+					ResolvableType.forClassWithGenerics(List.class, resultType) : ResolvableType.forClass(resultType)));
+			this.entityPath = SimpleEntityPathResolver.INSTANCE.createPath(domainType.getType());
+			this.keyProperty = keyProperty;
+			this.parentKeyFunction = parentKeyFunction;
+			this.many = many;
+			this.query = query;
+			this.dataLoaderName = getDescription() + "." + keyProperty + (many ? "[]" : "") +
+					"#" + counter.incrementAndGet();
+		}
+
+		@Override
+		public ResolvableType getReturnType() {
+			return this.returnType;
+		}
+
+		void registerBatchLoader(BatchLoaderRegistry registry) {
+			registry.<Object, Object>forName(this.dataLoaderName).registerMappedBatchLoader((keys, environment) ->
+					this.query.apply(createKeyPredicate(keys)).collectList().map((entities) -> mapToKeys(keys, entities)));
+		}
+
+		@SuppressWarnings("unchecked")
+		private Predicate createKeyPredicate(Set<Object> keys) {
+			PathBuilder<Object> path =
+					new PathBuilder<>((Class<Object>) this.entityPath.getType(), this.entityPath.getMetadata());
+			for (String name : StringUtils.delimitedListToStringArray(this.keyProperty, ".")) {
+				path = path.get(name);
+			}
+			return path.in(keys);
+		}
+
+		private Map<Object, Object> mapToKeys(Set<Object> keys, List<T> entities) {
+			Map<Object, Object> result = new HashMap<>(keys.size());
+			for (T entity : entities) {
+				Object key = PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(this.keyProperty);
+				if (key == null || !keys.contains(key)) {
+					continue;
+				}
+				if (this.many) {
+					getEntityList(result, key).add(entity);
+				}
+				else {
+					result.putIfAbsent(key, entity);
+				}
+			}
+			if (this.many) {
+				keys.forEach((key) -> result.putIfAbsent(key, Collections.emptyList()));
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static List<Object> getEntityList(Map<Object, Object> result, Object key) {
+			return (List<Object>) result.computeIfAbsent(key, (k) -> new ArrayList<>());
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public CompletableFuture<V> get(DataFetchingEnvironment env) {
+			Object key = (env.getSource() != null) ? this.parentKeyFunction.apply(env.getSource()) : null;
+			if (key == null) {
+				return CompletableFuture.completedFuture(this.many ? (V) Collections.emptyList() : null);
+			}
+			DataLoader<Object, V> dataLoader = env.getDataLoader(this.dataLoaderName);
+			Assert.state(dataLoader != null, "No DataLoader for key '" + this.dataLoaderName + "'");
+			return dataLoader.load(key);
+		}
+
+	}
+
 }
@@ -24,6 +24,7 @@ import graphql.schema.DataFetchingEnvironment;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.data.domain.OffsetScrollPosition;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.Repository;
@@ -114,4 +115,15 @@ final class RepositoryUtils {
 		return ScrollSubrange.create(pos, count, forward);
 	}
 
+	/**
+	 * Return the index of the first element to stream from the given position,
+	 * which must be an offset position, and is exclusive of the element it
+	 * references, as for scrolling.
+	 */
+	static long getStreamOffset(ScrollPosition position) {
+		Assert.isInstanceOf(OffsetScrollPosition.class, position, "Streaming supports only offset scrolling");
+		OffsetScrollPosition offsetPosition = (OffsetScrollPosition) position;
+		return (offsetPosition.isInitial() ? 0 : offsetPosition.getOffset() + 1);
+	}
+
 }
@@ -17,12 +17,16 @@
 package org.springframework.graphql.data.query;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
 import org.springframework.graphql.data.pagination.ConnectionAdapter;
 import org.springframework.graphql.data.pagination.ConnectionAdapterSupport;
 import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.lang.Nullable;
 
 /**
  * Adapter for {@link Slice} to {@link graphql.relay.Connection}.
@@ -73,6 +77,16 @@ public final class SliceConnectionAdapter
 		return getCursorStrategy().toCursor(position);
 	}
 
+	/**
+	 * Return the total count of elements for a {@link Page}, which is
+	 * already known, or {@code null} for any other {@link Slice}.
+	 */
+	@Override
+	@Nullable
+	public CompletionStage<Long> getTotalCount(Object container) {
+		return (container instanceof Page<?> page) ? CompletableFuture.completedFuture(page.getTotalElements()) : null;
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T> Slice<T> slice(Object container) {
 		return (Slice<T>) container;
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.query;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+/**
+ * {@link Window} decorator with the total count of elements across all
+ * windows, which {@link WindowConnectionAdapter} exposes for the
+ * {@code totalCount} field of a Connection type.
+ *
+ * @param <T> the type of elements in the window
+ * @since 1.4.0
+ */
+final class TotalCountWindow<T> implements Window<T> {
+
+	private final Window<T> delegate;
+
+	private final CompletableFuture<Long> totalCount;
+
+
+	TotalCountWindow(Window<T> delegate, CompletableFuture<Long> totalCount) {
+		this.delegate = delegate;
+		this.totalCount = totalCount;
+	}
+
+
+	/**
+	 * Return the total count, possibly not yet complete.
+	 */
+	CompletableFuture<Long> getTotalCount() {
+		return this.totalCount;
+	}
+
+	@Override
+	public int size() {
+		return this.delegate.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.delegate.isEmpty();
+	}
+
+	@Override
+	public List<T> getContent() {
+		return this.delegate.getContent();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.delegate.hasNext();
+	}
+
+	@Override
+	public ScrollPosition positionAt(int index) {
+		return this.delegate.positionAt(index);
+	}
+
+	@Override
+	public <U> Window<U> map(Function<? super T, ? extends U> converter) {
+		return new TotalCountWindow<>(this.delegate.map(converter), this.totalCount);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return this.delegate.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return this.delegate.toString();
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.query;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Runs count queries for the {@code totalCount} field of a Connection type,
+ * optionally on an {@link Executor} to run concurrently with the query for
+ * the page, and optionally caching counts for a short time, keyed by the
+ * query criteria such as a Querydsl {@code Predicate}, or the arguments that
+ * an {@code Example} is bound from. Keys must implement {@code equals}.
+ *
+ * @since 1.4.0
+ */
+final class TotalCounter {
+
+	static final TotalCounter NONE = new TotalCounter(null, Duration.ZERO);
+
+	private static final String TOTAL_COUNT_FIELD = "totalCount";
+
+	private static final int MAX_CACHE_SIZE = 256;
+
+
+	@Nullable
+	private final Executor executor;
+
+	private final long timeToLiveNanos;
+
+	private final Map<Object, CachedCount> cache = new ConcurrentHashMap<>();
+
+
+	TotalCounter(@Nullable Executor executor, Duration timeToLive) {
+		Assert.notNull(timeToLive, "Time to live is required");
+		Assert.isTrue(!timeToLive.isNegative(), "Time to live must not be negative");
+		this.executor = executor;
+		this.timeToLiveNanos = timeToLive.toNanos();
+	}
+
+
+	/**
+	 * Whether the {@code totalCount} field of the Connection is selected.
+	 */
+	static boolean isSelected(DataFetchingEnvironment env) {
+		DataFetchingFieldSelectionSet selectionSet = env.getSelectionSet();
+		return (selectionSet != null && selectionSet.contains(TOTAL_COUNT_FIELD));
+	}
+
+	/**
+	 * Count with a blocking query, on the configured {@code Executor} if any,
+	 * or otherwise in the calling thread.
+	 * @param key the query criteria to cache the count under
+	 * @param countQuery the query to run
+	 */
+	CompletableFuture<Long> count(Object key, Supplier<Long> countQuery) {
+		return getCount(key, () -> (this.executor != null) ?
+				CompletableFuture.supplyAsync(countQuery, this.executor) :
+				CompletableFuture.completedFuture(countQuery.get()));
+	}
+
+	/**
+	 * Count with a non-blocking query, subscribing to it immediately.
+	 * @param key the query criteria to cache the count under
+	 * @param countQuery the query to run
+	 */
+	CompletableFuture<Long> countAsync(Object key, Supplier<Mono<Long>> countQuery) {
+		return getCount(key, () -> countQuery.get().toFuture());
+	}
+
+	private CompletableFuture<Long> getCount(Object key, Supplier<CompletableFuture<Long>> countFunction) {
+		if (this.timeToLiveNanos == 0) {
+			return countFunction.get();
+		}
+		long now = System.nanoTime();
+		CachedCount cachedCount = this.cache.get(key);
+		if (cachedCount != null && !cachedCount.isExpired(now)) {
+			return cachedCount.count();
+		}
+		if (this.cache.size() >= MAX_CACHE_SIZE) {
+			this.cache.values().removeIf((count) -> count.isExpired(now));
+			if (this.cache.size() >= MAX_CACHE_SIZE) {
+				return countFunction.get();
+			}
+		}
+		CachedCount newCount = new CachedCount(countFunction.get(), now + this.timeToLiveNanos);
+		this.cache.put(key, newCount);
+		newCount.count().whenComplete((count, ex) -> {
+			if (ex != null) {
+				this.cache.remove(key, newCount);
+			}
+		});
+		return newCount.count();
+	}
+
+
+	private record CachedCount(CompletableFuture<Long> count, long expiresAt) {
+
+		boolean isExpired(long now) {
+			return (now - this.expiresAt >= 0);
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.graphql.data.query;
 
 import java.util.Collection;
+import java.util.concurrent.CompletionStage;
 
 import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.OffsetScrollPosition;
@@ -25,6 +26,7 @@ import org.springframework.data.domain.Window;
 import org.springframework.graphql.data.pagination.ConnectionAdapter;
 import org.springframework.graphql.data.pagination.ConnectionAdapterSupport;
 import org.springframework.graphql.data.pagination.CursorStrategy;
+import org.springframework.lang.Nullable;
 
 /**
  * Adapter for {@link Window} to {@link graphql.relay.Connection}.
@@ -91,6 +93,12 @@ public final class WindowConnectionAdapter
 		return getCursorStrategy().toCursor(position);
 	}
 
+	@Override
+	@Nullable
+	public CompletionStage<Long> getTotalCount(Object container) {
+		return (container instanceof TotalCountWindow<?> window) ? window.getTotalCount() : null;
+	}
+
 	@SuppressWarnings("unchecked")
 	private <T> Window<T> window(Object container) {
 		return (Window<T>) container;
@@ -25,6 +25,7 @@ import java.util.function.Consumer;
 import graphql.GraphQL;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLTypeVisitor;
@@ -58,6 +59,12 @@ public abstract class AbstractGraphQlSourceBuilder<B extends GraphQlSource.Build
 	@Nullable
 	private Consumer<GraphQL.Builder> graphQlConfigurer;
 
+	@Nullable
+	private CachingPreparsedDocumentProvider documentCache;
+
+	@Nullable
+	private TrustedDocumentRegistry trustedDocuments;
+
 
 	@Override
 	public B exceptionResolvers(List<DataFetcherExceptionResolver> resolvers) {
@@ -96,6 +103,18 @@ public abstract class AbstractGraphQlSourceBuilder<B extends GraphQlSource.Build
 		return self();
 	}
 
+	@Override
+	public B documentCache(CachingPreparsedDocumentProvider documentCache) {
+		this.documentCache = documentCache;
+		return self();
+	}
+
+	@Override
+	public B trustedDocuments(TrustedDocumentRegistry registry) {
+		this.trustedDocuments = registry;
+		return self();
+	}
+
 	@SuppressWarnings("unchecked")
 	private  <T extends B> T self() {
 		return (T) this;
@@ -116,6 +135,17 @@ public abstract class AbstractGraphQlSourceBuilder<B extends GraphQlSource.Build
 			builder = builder.instrumentation(new ChainedInstrumentation(this.instrumentations));
 		}
 
+		PreparsedDocumentProvider documentProvider =
+				(this.documentCache != null) ? this.documentCache.forNewSchema() : null;
+
+		if (this.trustedDocuments != null) {
+			this.trustedDocuments.initialize(schema, documentProvider);
+			builder = builder.preparsedDocumentProvider(this.trustedDocuments);
+		}
+		else if (documentProvider != null) {
+			builder = builder.preparsedDocumentProvider(documentProvider);
+		}
+
 		applyGraphQlConfigurers(builder);
 
 		return new FixedGraphQlSource(builder.build(), schema);
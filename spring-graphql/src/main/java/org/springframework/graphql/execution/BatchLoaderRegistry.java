@@ -16,19 +16,24 @@
 
 package org.springframework.graphql.execution;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import graphql.ExecutionInput;
+import graphql.GraphQLContext;
 import org.dataloader.BatchLoaderContextProvider;
 import org.dataloader.BatchLoaderEnvironment;
 import org.dataloader.DataLoaderOptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cache.Cache;
+
 /**
  * Registry for functions to batch load data values, given a set of keys.
  *
@@ -124,6 +129,57 @@ public interface BatchLoaderRegistry extends DataLoaderRegistrar {
 		 */
 		RegistrationSpec<K, V> withOptions(DataLoaderOptions options);
 
+		/**
+		 * Merge the keys of batch loading calls from concurrent requests into a
+		 * single call to the batch loading function. Keys are collected for up to
+		 * the given window after the first key, or until the given maximum batch
+		 * size is reached, and each request is then completed with the values
+		 * for its own keys.
+		 * <p>Keys are merged only across requests for which the given function
+		 * returns equal context keys, e.g. the same tenant or the same user, and
+		 * requests for which it returns {@code null} are not merged. The merged
+		 * call is made with the {@link GraphQLContext}, and therefore also with
+		 * the propagated context such as the security context, of one of the
+		 * requests with that context key. Return a constant only if the batch
+		 * loading function does not depend on the request context at all.
+		 * <p>Keys must implement {@code equals} and {@code hashCode}.
+		 * @param window how long to wait for more keys after the first key
+		 * @param maxBatchSize the number of keys at which to load immediately
+		 * @param contextKeyFunction function to extract a key from the
+		 * {@link ExecutionInput#getGraphQLContext() GraphQLContext} of a request
+		 * @return a spec to complete the registration
+		 * @since 1.4.0
+		 */
+		RegistrationSpec<K, V> withCrossRequestBatching(
+				Duration window, int maxBatchSize, Function<GraphQLContext, ?> contextKeyFunction);
+
+		/**
+		 * Add a cache for loaded values that is shared across requests, and
+		 * consulted after the per-request {@code DataLoader} cache. The batch
+		 * loading function is then invoked only for keys not in either cache.
+		 * <p>This variant uses a local in-memory cache. To use a cache from a
+		 * {@link org.springframework.cache.CacheManager}, see
+		 * {@link #withSharedCache(Cache)}.
+		 * <p>Keys must implement {@code equals} and {@code hashCode}.
+		 * @param timeToLive how long to keep a value after it is loaded
+		 * @param maxEntries the maximum number of values to keep
+		 * @return a spec to complete the registration
+		 * @since 1.4.0
+		 * @see DefaultBatchLoaderRegistry#getSharedCaches()
+		 */
+		RegistrationSpec<K, V> withSharedCache(Duration timeToLive, int maxEntries);
+
+		/**
+		 * Variant of {@link #withSharedCache(Duration, int)} with the Spring
+		 * {@link Cache} to use, e.g. obtained from a
+		 * {@link org.springframework.cache.CacheManager}, which controls
+		 * expiration and eviction.
+		 * @param cache the cache to store values in
+		 * @return a spec to complete the registration
+		 * @since 1.4.0
+		 */
+		RegistrationSpec<K, V> withSharedCache(Cache cache);
+
 		/**
 		 * Register the give batch loading function.
 		 * <p>The values returned from the function must match the order and
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.util.concurrent.CompletableFuture;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link graphql.execution.instrumentation.Instrumentation} that computes a
+ * cache policy for the response from {@code @cacheControl} hints on the fields
+ * resolved during execution, and makes it available through
+ * {@link #getHint(GraphQLContext)} once execution completes.
+ *
+ * <p>The schema must declare the directive, for example:
+ * <pre class="code">
+ * enum CacheControlScope { PUBLIC PRIVATE }
+ * directive &#064;cacheControl(maxAge: Int, scope: CacheControlScope) on FIELD_DEFINITION | OBJECT | INTERFACE | UNION
+ * </pre>
+ *
+ * <p>The {@code maxAge} for the response is the minimum across resolved fields,
+ * taking the hint on a field, or otherwise on its object, interface, or union
+ * type. Root fields and fields of a composite type without a hint have a
+ * {@code maxAge} of 0, while other fields without a hint do not affect the
+ * result. The scope is private if any resolved field has a private scope.
+ * Responses with errors, and operations other than queries, are not cacheable.
+ *
+ * @since 1.4.0
+ * @see org.springframework.graphql.server.support.ResponseCacheInterceptor
+ */
+public class CacheControlInstrumentation extends SimplePerformantInstrumentation {
+
+	/**
+	 * The name of the directive for cache hints.
+	 */
+	public static final String DIRECTIVE_NAME = "cacheControl";
+
+	private static final String HINT_KEY = CacheControlInstrumentation.class.getName() + ".HINT";
+
+
+	@Override
+	public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
+		return CompletableFuture.completedFuture(new HintState());
+	}
+
+	@Override
+	public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+			InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+
+		if (state instanceof HintState hintState) {
+			OperationDefinition operation = parameters.getExecutionContext().getOperationDefinition();
+			if (operation.getOperation() != OperationDefinition.Operation.QUERY) {
+				hintState.restrictMaxAge(0);
+			}
+		}
+		return super.beginExecuteOperation(parameters, state);
+	}
+
+	@Override
+	public InstrumentationContext<Object> beginFieldFetch(
+			InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+
+		if (state instanceof HintState hintState) {
+			hintState.apply(parameters.getEnvironment());
+		}
+		return super.beginFieldFetch(parameters, state);
+	}
+
+	@Override
+	public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+			ExecutionResult result, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+
+		if (state instanceof HintState hintState) {
+			parameters.getGraphQLContext().put(HINT_KEY, hintState.toHint(result));
+		}
+		return super.instrumentExecutionResult(result, parameters, state);
+	}
+
+
+	/**
+	 * Return the cache policy computed for an execution.
+	 * @param context the context of the execution
+	 * @return the hint, or {@code null} if the instrumentation did not apply
+	 */
+	@Nullable
+	public static Hint getHint(GraphQLContext context) {
+		return context.get(HINT_KEY);
+	}
+
+
+	/**
+	 * The scope of a cache hint.
+	 */
+	public enum Scope {
+
+		/**
+		 * The response may be cached and shared across users.
+		 */
+		PUBLIC,
+
+		/**
+		 * The response is specific to a user, and must not be shared.
+		 */
+		PRIVATE
+
+	}
+
+
+	/**
+	 * Cache policy for a response.
+	 * @param maxAge the maximum age in seconds, where 0 means not cacheable
+	 * @param scope the scope of the response
+	 */
+	public record Hint(int maxAge, Scope scope) {
+
+		/**
+		 * Whether the response can be cached.
+		 */
+		public boolean isCacheable() {
+			return (this.maxAge > 0);
+		}
+	}
+
+
+	/**
+	 * Accumulates hints from resolved fields.
+	 */
+	private static final class HintState implements InstrumentationState {
+
+		private int maxAge = Integer.MAX_VALUE;
+
+		private Scope scope = Scope.PUBLIC;
+
+		void apply(DataFetchingEnvironment environment) {
+			GraphQLType type = GraphQLTypeUtil.unwrapAll(environment.getFieldType());
+			GraphQLAppliedDirective directive = environment.getFieldDefinition().getAppliedDirective(DIRECTIVE_NAME);
+			if (directive == null && type instanceof GraphQLCompositeType) {
+				directive = ((GraphQLDirectiveContainer) type).getAppliedDirective(DIRECTIVE_NAME);
+			}
+			Integer maxAge = null;
+			if (directive != null) {
+				maxAge = getArgumentValue(directive, "maxAge");
+				Object scope = getArgumentValue(directive, "scope");
+				if (scope != null && Scope.PRIVATE.name().equals(scope.toString())) {
+					restrictScope();
+				}
+			}
+			if (maxAge != null) {
+				restrictMaxAge(maxAge);
+			}
+			else if (type instanceof GraphQLCompositeType || environment.getExecutionStepInfo().getPath().getLevel() == 1) {
+				restrictMaxAge(0);
+			}
+		}
+
+		@Nullable
+		private static <T> T getArgumentValue(GraphQLAppliedDirective directive, String name) {
+			GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+			return (argument != null) ? argument.getValue() : null;
+		}
+
+		synchronized void restrictMaxAge(int maxAge) {
+			this.maxAge = Math.min(this.maxAge, maxAge);
+		}
+
+		synchronized void restrictScope() {
+			this.scope = Scope.PRIVATE;
+		}
+
+		synchronized Hint toHint(ExecutionResult result) {
+			boolean cacheable = (result.getErrors().isEmpty() && this.maxAge != Integer.MAX_VALUE);
+			return new Hint((cacheable ? Math.max(this.maxAge, 0) : 0), this.scope);
+		}
+	}
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import org.springframework.graphql.support.ConcurrentLruMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PreparsedDocumentProvider} that caches parsed and validated documents
+ * in memory, keyed by a SHA-256 hash of the document text and the operation
+ * name, so that repeated executions of the same operation skip parsing and
+ * validation.
+ *
+ * <p>The cache is bounded by both the number of entries and the total weight,
+ * measured as the sum of the lengths of cached documents. Least recently used
+ * entries are evicted first when either bound is exceeded. Documents that fail
+ * to parse or validate are not cached.
+ *
+ * <p>Lookups do not lock, see {@link ConcurrentLruMap}. Adding a document
+ * and evicting entries to stay within the bounds is serialized, which affects
+ * only requests that parse a new document, and takes constant time for each
+ * evicted entry.
+ *
+ * <p>Hit, miss, put, and eviction counts are tracked and can be published as
+ * metrics through {@link PreparsedDocumentCacheMetrics}.
+ *
+ * <p>Cached documents are validated against a specific schema, and therefore
+ * an instance should not be shared across {@link GraphQlSource}s. When
+ * configured through {@link GraphQlSource.Builder#documentCache}, each build
+ * of a {@code GraphQlSource} clears the cache and uses it through a
+ * {@link #forNewSchema() provider for the new schema}, so that requests still
+ * executing against a previously built source neither use nor populate it.
+ *
+ * @since 1.4.0
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	private static final long DEFAULT_MAX_WEIGHT = 10 * 1024 * 1024;
+
+
+	private final int maxEntries;
+
+	private final long maxWeight;
+
+	private final ConcurrentLruMap<CacheKey, CachedDocument> cache;
+
+	private final Object writeLock = new Object();
+
+	private volatile long generation;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder putCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create an instance with default bounds of 1000 entries, and a maximum
+	 * weight of 10 MB of document text.
+	 */
+	public CachingPreparsedDocumentProvider() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+	}
+
+	/**
+	 * Create an instance with the given bounds.
+	 * @param maxEntries the maximum number of documents to cache
+	 * @param maxWeight the maximum total length of cached document text
+	 */
+	public CachingPreparsedDocumentProvider(int maxEntries, long maxWeight) {
+		Assert.isTrue(maxEntries > 0, "'maxEntries' must be greater than 0");
+		Assert.isTrue(maxWeight > 0, "'maxWeight' must be greater than 0");
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		this.cache = new ConcurrentLruMap<>(maxEntries, maxWeight, CachedDocument::weight);
+	}
+
+
+	/**
+	 * Return the maximum number of cached documents.
+	 */
+	public int getMaxEntries() {
+		return this.maxEntries;
+	}
+
+	/**
+	 * Return the maximum total length of cached document text.
+	 */
+	public long getMaxWeight() {
+		return this.maxWeight;
+	}
+
+	/**
+	 * Return the number of cached documents.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the current total length of cached document text.
+	 */
+	public long weight() {
+		return this.cache.weight();
+	}
+
+	/**
+	 * Return the number of lookups that found a cached document.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that required parsing and validation.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of documents added to the cache.
+	 */
+	public long getPutCount() {
+		return this.putCount.sum();
+	}
+
+	/**
+	 * Return the number of documents evicted to stay within the bounds.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Remove all cached documents, e.g. when the schema has changed.
+	 * Documents that were being parsed and validated at the time of the call
+	 * are not added to the cache afterwards.
+	 */
+	public void clear() {
+		synchronized (this.writeLock) {
+			this.generation++;
+			this.cache.clear();
+		}
+	}
+
+	/**
+	 * {@link #clear() Clear} the cache, and return a provider to use with a
+	 * newly built schema. The returned provider uses the cache until the next
+	 * time it is cleared, and from then on it parses and validates every
+	 * document without using the cache. This ensures that requests still
+	 * executing against the previous schema neither see documents validated
+	 * against a newer schema, nor add documents validated against theirs.
+	 * @return the provider to configure on the {@link graphql.GraphQL} instance
+	 */
+	public PreparsedDocumentProvider forNewSchema() {
+		long generation;
+		synchronized (this.writeLock) {
+			clear();
+			generation = this.generation;
+		}
+		return new SchemaDocumentProvider(generation);
+	}
+
+
+	@Override
+	public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+			ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+
+		return getDocumentAsync(executionInput, parseAndValidateFunction, this.generation);
+	}
+
+	private CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+			ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction,
+			long generation) {
+
+		if (generation != this.generation) {
+			// Cleared since, for a newer schema
+			this.missCount.increment();
+			return CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+		}
+
+		String document = executionInput.getQuery();
+		CacheKey key = CacheKey.create(document, executionInput.getOperationName());
+
+		CachedDocument cachedDocument = this.cache.get(key);
+		if (cachedDocument != null) {
+			this.hitCount.increment();
+			return CompletableFuture.completedFuture(cachedDocument.entry());
+		}
+
+		this.missCount.increment();
+		PreparsedDocumentEntry entry = parseAndValidateFunction.apply(executionInput);
+		if (!entry.hasErrors()) {
+			put(key, new CachedDocument(entry, document.length()), generation);
+		}
+		return CompletableFuture.completedFuture(entry);
+	}
+
+	private void put(CacheKey key, CachedDocument cachedDocument, long generation) {
+		if (cachedDocument.weight() > this.maxWeight) {
+			return;
+		}
+		synchronized (this.writeLock) {
+			if (generation != this.generation) {
+				// Cleared while parsing, possibly validated against a previous schema
+				return;
+			}
+			int evicted = this.cache.put(key, cachedDocument);
+			this.putCount.increment();
+			this.evictionCount.add(evicted);
+		}
+	}
+
+
+	/**
+	 * Provider for a specific schema that uses the cache only as long as it is
+	 * not cleared.
+	 */
+	private final class SchemaDocumentProvider implements PreparsedDocumentProvider {
+
+		private final long generation;
+
+		SchemaDocumentProvider(long generation) {
+			this.generation = generation;
+		}
+
+		@Override
+		public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+				ExecutionInput executionInput,
+				Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+
+			return CachingPreparsedDocumentProvider.this.getDocumentAsync(
+					executionInput, parseAndValidateFunction, this.generation);
+		}
+	}
+
+
+	/**
+	 * Cache key with a hash of the document rather than the document itself.
+	 */
+	private static final class CacheKey {
+
+		private final byte[] documentHash;
+
+		@Nullable
+		private final String operationName;
+
+		private final int hashCode;
+
+		private CacheKey(byte[] documentHash, @Nullable String operationName) {
+			this.documentHash = documentHash;
+			this.operationName = operationName;
+			this.hashCode = 31 * Arrays.hashCode(documentHash) + Objects.hashCode(operationName);
+		}
+
+		static CacheKey create(String document, @Nullable String operationName) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				return new CacheKey(digest.digest(document.getBytes(StandardCharsets.UTF_8)), operationName);
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof CacheKey that &&
+					Arrays.equals(this.documentHash, that.documentHash) &&
+					Objects.equals(this.operationName, that.operationName)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Cached document with its weight.
+	 */
+	private record CachedDocument(PreparsedDocumentEntry entry, int weight) {
+	}
+
+}
@@ -31,6 +31,8 @@ import graphql.language.Type;
 import graphql.language.TypeName;
 import graphql.schema.idl.TypeDefinitionRegistry;
 
+import org.springframework.util.Assert;
+
 /**
  * {@link TypeDefinitionConfigurer} that generates "Connection" types by looking
  * for fields whose type definition name ends in "Connection", considered by the
@@ -53,6 +55,55 @@ public class ConnectionTypeDefinitionConfigurer implements TypeDefinitionConfigu
 
 	private static final TypeName PAGE_INFO_TYPE = new TypeName("PageInfo");
 
+	private boolean totalCountEnabled;
+
+	private String totalCountTypeName = "Int";
+
+
+	/**
+	 * Whether to add a nullable {@code totalCount} field to generated
+	 * Connection types. Repository data fetchers that support it only query
+	 * the count when the field is selected, and {@code Page} results expose
+	 * the total number of elements they already have.
+	 * <p>By default this is set to {@code false}.
+	 * @param totalCountEnabled whether to add the {@code totalCount} field
+	 * @since 1.4.0
+	 */
+	public void setTotalCountEnabled(boolean totalCountEnabled) {
+		this.totalCountEnabled = totalCountEnabled;
+	}
+
+	/**
+	 * Whether a {@code totalCount} field is added to generated Connection types.
+	 * @since 1.4.0
+	 */
+	public boolean isTotalCountEnabled() {
+		return this.totalCountEnabled;
+	}
+
+	/**
+	 * Set the name of the scalar type to declare for the {@code totalCount}
+	 * field. Counts are {@code long} values, and the built-in {@code Int}
+	 * scalar rejects those outside the 32-bit range with a field error, so
+	 * use this to declare a wider scalar, e.g. {@code Long} from
+	 * graphql-java-extended-scalars, when counts can exceed that range.
+	 * <p>By default this is set to {@code "Int"}.
+	 * @param totalCountTypeName the scalar type name to use
+	 * @since 1.4.0
+	 */
+	public void setTotalCountTypeName(String totalCountTypeName) {
+		Assert.hasText(totalCountTypeName, "'totalCountTypeName' is required");
+		this.totalCountTypeName = totalCountTypeName;
+	}
+
+	/**
+	 * Return the configured {@link #setTotalCountTypeName(String) totalCount type name}.
+	 * @since 1.4.0
+	 */
+	public String getTotalCountTypeName() {
+		return this.totalCountTypeName;
+	}
+
 
 	@Override
 	public void configure(TypeDefinitionRegistry registry) {
@@ -72,11 +123,17 @@ public class ConnectionTypeDefinitionConfigurer implements TypeDefinitionConfigu
 				String connectionTypeName = typeName + "Connection";
 				String edgeTypeName = typeName + "Edge";
 
-				registry.add(ObjectTypeDefinition.newObjectTypeDefinition()
+				ObjectTypeDefinition.Builder connectionTypeBuilder = ObjectTypeDefinition.newObjectTypeDefinition()
 						.name(connectionTypeName)
 						.fieldDefinition(initFieldDefinition("edges", new NonNullType(new ListType(new TypeName(edgeTypeName)))))
-						.fieldDefinition(initFieldDefinition("pageInfo", new NonNullType(PAGE_INFO_TYPE)))
-						.build());
+						.fieldDefinition(initFieldDefinition("pageInfo", new NonNullType(PAGE_INFO_TYPE)));
+
+				if (this.totalCountEnabled) {
+					TypeName totalCountType = new TypeName(this.totalCountTypeName);
+					connectionTypeBuilder.fieldDefinition(initFieldDefinition("totalCount", totalCountType));
+				}
+
+				registry.add(connectionTypeBuilder.build());
 
 				registry.add(ObjectTypeDefinition.newObjectTypeDefinition()
 						.name(edgeTypeName)
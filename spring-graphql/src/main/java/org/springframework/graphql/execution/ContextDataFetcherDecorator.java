@@ -77,13 +77,7 @@ final class ContextDataFetcherDecorator implements DataFetcher<Object> {
 	@Override
 	public Object get(DataFetchingEnvironment env) throws Exception {
 
-		GraphQLContext graphQlContext = env.getGraphQlContext();
-		ContextSnapshotFactory snapshotFactory = ContextSnapshotFactoryHelper.getInstance(graphQlContext);
-
-		ContextSnapshot snapshot = (env.getLocalContext() instanceof GraphQLContext localContext) ?
-				snapshotFactory.captureFrom(graphQlContext, localContext) :
-				snapshotFactory.captureFrom(graphQlContext);
-
+		ContextSnapshot snapshot = getSnapshot(env);
 		Object value = snapshot.wrap(() -> this.delegate.get(env)).call();
 
 		if (this.subscription) {
@@ -108,6 +102,21 @@ final class ContextDataFetcherDecorator implements DataFetcher<Object> {
 		return value;
 	}
 
+	/**
+	 * Use the snapshot captured once per request on the first field, after
+	 * instrumentation has added to the context when execution began, unless
+	 * there is a local context with entries, in which case capture from both.
+	 */
+	private static ContextSnapshot getSnapshot(DataFetchingEnvironment env) {
+		GraphQLContext graphQlContext = env.getGraphQlContext();
+		if (env.getLocalContext() instanceof GraphQLContext localContext &&
+				!ContextSnapshotFactoryHelper.isEmpty(localContext)) {
+			ContextSnapshotFactory snapshotFactory = ContextSnapshotFactoryHelper.getInstance(graphQlContext);
+			return snapshotFactory.captureFrom(graphQlContext, localContext);
+		}
+		return ContextSnapshotFactoryHelper.getOrCaptureSnapshot(graphQlContext);
+	}
+
 
 	/**
 	 * Static factory method to create {@link GraphQLTypeVisitor} that wraps
@@ -140,8 +149,8 @@ final class ContextDataFetcherDecorator implements DataFetcher<Object> {
 			FieldCoordinates fieldCoordinates = FieldCoordinates.coordinates(parent, fieldDefinition);
 			DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(fieldCoordinates, fieldDefinition);
 
-			if (applyDecorator(dataFetcher)) {
-				boolean handlesSubscription = visitorHelper.isSubscriptionType(parent);
+			boolean handlesSubscription = visitorHelper.isSubscriptionType(parent);
+			if (applyDecorator(dataFetcher, handlesSubscription)) {
 				dataFetcher = new ContextDataFetcherDecorator(dataFetcher, handlesSubscription, this.exceptionResolver);
 				codeRegistry.dataFetcher(fieldCoordinates, dataFetcher);
 			}
@@ -149,10 +158,14 @@ final class ContextDataFetcherDecorator implements DataFetcher<Object> {
 			return TraversalControl.CONTINUE;
 		}
 
-		private boolean applyDecorator(DataFetcher<?> dataFetcher) {
+		private boolean applyDecorator(DataFetcher<?> dataFetcher, boolean handlesSubscription) {
 			if (dataFetcher instanceof TrivialDataFetcher) {
 				return false;
 			}
+			if (dataFetcher instanceof SelfDescribingDataFetcher<?> selfDescribing &&
+					selfDescribing.isContextFree() && !handlesSubscription) {
+				return false;
+			}
 			Class<?> type = dataFetcher.getClass();
 			String packageName = type.getPackage().getName();
 			if (packageName.startsWith("graphql.")) {
@@ -37,6 +37,10 @@ public abstract class ContextSnapshotFactoryHelper {
 
 	private static final String CONTEXT_SNAPSHOT_FACTORY_KEY = ContextSnapshotFactoryHelper.class.getName() + ".KEY";
 
+	private static final String SNAPSHOT_HOLDER_KEY = ContextSnapshotFactoryHelper.class.getName() + ".SNAPSHOT";
+
+	private static final GraphQLContext EMPTY_CONTEXT = GraphQLContext.getDefault();
+
 
 	/**
 	 * Select a {@code ContextSnapshotFactory} instance to use, either the one
@@ -114,4 +118,44 @@ public abstract class ContextSnapshotFactoryHelper {
 		return selectInstance(factory).captureFrom(context);
 	}
 
+	/**
+	 * Return the snapshot captured for the current request, or capture it from
+	 * the given {@link GraphQLContext} if this is the first call. The snapshot
+	 * is kept in a {@link SnapshotHolder} that {@link GraphQlContextAccessor}
+	 * does not read, so it is not copied into other snapshots.
+	 * @param context the context of the current request
+	 */
+	static ContextSnapshot getOrCaptureSnapshot(GraphQLContext context) {
+		SnapshotHolder holder = context.computeIfAbsent(SNAPSHOT_HOLDER_KEY, (key) -> new SnapshotHolder());
+		return holder.getOrCapture(context);
+	}
+
+	/**
+	 * Whether the given {@link GraphQLContext} has no entries, without
+	 * creating a {@code Stream} to check.
+	 * @param context the context to check
+	 */
+	static boolean isEmpty(GraphQLContext context) {
+		return EMPTY_CONTEXT.equals(context);
+	}
+
+
+	/**
+	 * Request-scoped holder for a snapshot captured on first access.
+	 */
+	static final class SnapshotHolder {
+
+		@Nullable
+		private volatile ContextSnapshot snapshot;
+
+		ContextSnapshot getOrCapture(GraphQLContext context) {
+			ContextSnapshot snapshot = this.snapshot;
+			if (snapshot == null) {
+				snapshot = captureFrom(context);
+				this.snapshot = snapshot;
+			}
+			return snapshot;
+		}
+	}
+
 }
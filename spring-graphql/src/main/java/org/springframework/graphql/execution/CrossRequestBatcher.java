@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import graphql.GraphQLContext;
+import org.dataloader.BatchLoaderEnvironment;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Merges the keys of concurrent batch loading calls, typically from the
+ * {@code DataLoader}s of different requests, into a single call to the batch
+ * loading function, and completes each call from the combined result.
+ *
+ * <p>Keys are collected until the configured window elapses, or until the
+ * maximum batch size is reached, whichever comes first. Only calls with equal
+ * context keys, as returned from the context key function, are merged, and
+ * calls without a context key are loaded individually, without merging. The
+ * merged call is made with the context of the first call in the batch, and
+ * with the key contexts of all calls for the merged keys.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 1.4.0
+ */
+final class CrossRequestBatcher<K, V> {
+
+	private final Config config;
+
+	private final BiFunction<List<K>, BatchLoaderEnvironment, CompletionStage<Map<K, V>>> batchFunction;
+
+	private final Scheduler scheduler = Schedulers.parallel();
+
+	private final Map<Object, Batch> batches = new HashMap<>();
+
+
+	CrossRequestBatcher(
+			Config config, BiFunction<List<K>, BatchLoaderEnvironment, CompletionStage<Map<K, V>>> batchFunction) {
+
+		this.config = config;
+		this.batchFunction = batchFunction;
+	}
+
+
+	/**
+	 * Add the given keys to the pending batch for the context of the given
+	 * environment, and return the values for the keys once the batch is loaded.
+	 * @param keys the keys to load
+	 * @param environment the environment for the call
+	 * @return the values by key, with {@code null} for keys without a value
+	 */
+	CompletableFuture<Map<K, V>> load(Collection<K> keys, BatchLoaderEnvironment environment) {
+		Object contextKey = this.config.contextKeyFunction().apply(environment.getContext());
+		if (contextKey == null) {
+			return this.batchFunction.apply(new ArrayList<>(keys), environment).toCompletableFuture();
+		}
+		Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>(keys.size());
+		Batch batchToLoad = null;
+		synchronized (this.batches) {
+			Batch batch = this.batches.get(contextKey);
+			if (batch == null) {
+				batch = new Batch(contextKey, environment.getContext());
+				this.batches.put(contextKey, batch);
+				Batch batchToSchedule = batch;
+				batch.flushTask = this.scheduler.schedule(
+						() -> flush(batchToSchedule), this.config.window().toNanos(), TimeUnit.NANOSECONDS);
+			}
+			Map<Object, Object> keyContexts = environment.getKeyContexts();
+			for (K key : keys) {
+				futures.put(key, batch.futures.computeIfAbsent(key, (k) -> new CompletableFuture<>()));
+				Object keyContext = keyContexts.get(key);
+				if (keyContext != null) {
+					batch.keyContexts.putIfAbsent(key, keyContext);
+				}
+			}
+			if (batch.futures.size() >= this.config.maxBatchSize()) {
+				this.batches.remove(contextKey);
+				batchToLoad = batch;
+			}
+		}
+		if (batchToLoad != null) {
+			if (batchToLoad.flushTask != null) {
+				batchToLoad.flushTask.dispose();
+			}
+			loadBatch(batchToLoad);
+		}
+		return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+				.thenApply((result) -> {
+					Map<K, V> values = new LinkedHashMap<>(futures.size());
+					futures.forEach((key, future) -> values.put(key, future.join()));
+					return values;
+				});
+	}
+
+	private void flush(Batch batch) {
+		synchronized (this.batches) {
+			if (this.batches.get(batch.contextKey) != batch) {
+				// Already loaded after reaching the maximum batch size
+				return;
+			}
+			this.batches.remove(batch.contextKey);
+		}
+		loadBatch(batch);
+	}
+
+	private void loadBatch(Batch batch) {
+		List<K> keys = new ArrayList<>(batch.futures.keySet());
+		List<Object> keyContexts = new ArrayList<>(keys.size());
+		for (K key : keys) {
+			keyContexts.add(batch.keyContexts.get(key));
+		}
+		BatchLoaderEnvironment environment = BatchLoaderEnvironment.newBatchLoaderEnvironment()
+				.context(batch.context)
+				.keyContexts(keys, keyContexts)
+				.build();
+
+		CompletionStage<Map<K, V>> stage;
+		try {
+			stage = this.batchFunction.apply(keys, environment);
+		}
+		catch (Throwable ex) {
+			stage = CompletableFuture.failedFuture(ex);
+		}
+		stage.whenComplete((values, ex) -> batch.futures.forEach((key, future) -> {
+			if (ex != null) {
+				future.completeExceptionally(ex);
+			}
+			else {
+				future.complete(values.get(key));
+			}
+		}));
+	}
+
+
+	/**
+	 * Configuration for cross-request batching.
+	 * @param window how long to wait for more keys after the first key of a batch
+	 * @param maxBatchSize the number of keys at which to load a batch immediately
+	 * @param contextKeyFunction function to partition batches by context; calls
+	 * for which it returns {@code null} are not merged
+	 */
+	record Config(Duration window, int maxBatchSize, Function<GraphQLContext, ?> contextKeyFunction) {
+
+		Config {
+			Assert.isTrue(!window.isNegative() && !window.isZero(), "'window' must be positive");
+			Assert.isTrue(maxBatchSize > 0, "'maxBatchSize' must be greater than 0");
+			Assert.notNull(contextKeyFunction, "'contextKeyFunction' is required");
+		}
+	}
+
+
+	/**
+	 * Pending keys for a context key, along with the futures to complete.
+	 */
+	private final class Batch {
+
+		private final Object contextKey;
+
+		@Nullable
+		private final Object context;
+
+		private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+
+		private final Map<K, Object> keyContexts = new HashMap<>();
+
+		@Nullable
+		private Disposable flushTask;
+
+		Batch(Object contextKey, @Nullable Object context) {
+			this.contextKey = contextKey;
+			this.context = context;
+		}
+	}
+
+}
@@ -16,7 +16,11 @@
 
 package org.springframework.graphql.execution;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,6 +28,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import graphql.GraphQLContext;
@@ -39,6 +44,7 @@ import org.dataloader.MappedBatchLoaderWithContext;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -95,28 +101,74 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 		return (!this.loaders.isEmpty() || !this.mappedLoaders.isEmpty());
 	}
 
+	/**
+	 * Return the {@link BatchLoaderRegistry.RegistrationSpec#withSharedCache(Cache)
+	 * shared caches} of registered batch loaders, keyed by {@code DataLoader}
+	 * name, e.g. to monitor hit ratios.
+	 * @since 1.4.0
+	 */
+	public Map<String, SharedValueCache<?, ?>> getSharedCaches() {
+		Map<String, SharedValueCache<?, ?>> caches = new LinkedHashMap<>();
+		for (ReactorBatchLoader<?, ?> loader : this.loaders) {
+			if (loader.getSharedCache() != null) {
+				caches.put(loader.getName(), loader.getSharedCache());
+			}
+		}
+		for (ReactorMappedBatchLoader<?, ?> loader : this.mappedLoaders) {
+			if (loader.getSharedCache() != null) {
+				caches.put(loader.getName(), loader.getSharedCache());
+			}
+		}
+		return caches;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>If the given registry is a {@link LazyDataLoaderRegistry}, then
+	 * {@code DataLoader}s are registered to be created on first access.
+	 */
 	@Override
 	public void registerDataLoaders(DataLoaderRegistry registry, GraphQLContext context) {
 		BatchLoaderContextProvider contextProvider = () -> context;
+		if (registry instanceof LazyDataLoaderRegistry lazyRegistry) {
+			for (ReactorBatchLoader<?, ?> loader : this.loaders) {
+				assertNotRegistered(loader.getName(), lazyRegistry.isRegistered(loader.getName()));
+				lazyRegistry.register(loader.getName(), () -> createDataLoader(loader, contextProvider));
+			}
+			for (ReactorMappedBatchLoader<?, ?> loader : this.mappedLoaders) {
+				assertNotRegistered(loader.getName(), lazyRegistry.isRegistered(loader.getName()));
+				lazyRegistry.register(loader.getName(), () -> createDataLoader(loader, contextProvider));
+			}
+			return;
+		}
 		for (ReactorBatchLoader<?, ?> loader : this.loaders) {
-			DataLoaderOptions options = loader.getOptions();
-			options = options.setBatchLoaderContextProvider(contextProvider);
-			DataLoader<?, ?> dataLoader = DataLoaderFactory.newDataLoader(loader, options);
-			registerDataLoader(loader.getName(), dataLoader, registry);
+			assertNotRegistered(loader.getName(), registry.getDataLoader(loader.getName()) != null);
+			registry.register(loader.getName(), createDataLoader(loader, contextProvider));
 		}
 		for (ReactorMappedBatchLoader<?, ?> loader : this.mappedLoaders) {
-			DataLoaderOptions options = loader.getOptions();
-			options = options.setBatchLoaderContextProvider(contextProvider);
-			DataLoader<?, ?> dataLoader = DataLoaderFactory.newMappedDataLoader(loader, options);
-			registerDataLoader(loader.getName(), dataLoader, registry);
+			assertNotRegistered(loader.getName(), registry.getDataLoader(loader.getName()) != null);
+			registry.register(loader.getName(), createDataLoader(loader, contextProvider));
 		}
 	}
 
-	private void registerDataLoader(String name, DataLoader<?, ?> dataLoader, DataLoaderRegistry registry) {
-		if (registry.getDataLoader(name) != null) {
+	private static void assertNotRegistered(String name, boolean registered) {
+		if (registered) {
 			throw new IllegalStateException("More than one DataLoader named '" + name + "'");
 		}
-		registry.register(name, dataLoader);
+	}
+
+	private static DataLoader<?, ?> createDataLoader(
+			ReactorBatchLoader<?, ?> loader, BatchLoaderContextProvider contextProvider) {
+
+		DataLoaderOptions options = loader.getOptions().setBatchLoaderContextProvider(contextProvider);
+		return DataLoaderFactory.newDataLoader(loader, options);
+	}
+
+	private static DataLoader<?, ?> createDataLoader(
+			ReactorMappedBatchLoader<?, ?> loader, BatchLoaderContextProvider contextProvider) {
+
+		DataLoaderOptions options = loader.getOptions().setBatchLoaderContextProvider(contextProvider);
+		return DataLoaderFactory.newMappedDataLoader(loader, options);
 	}
 
 
@@ -134,6 +186,12 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 		@Nullable
 		private Consumer<DataLoaderOptions> optionsConsumer;
 
+		@Nullable
+		private CrossRequestBatcher.Config batcherConfig;
+
+		@Nullable
+		private Function<String, Cache> sharedCacheFactory;
+
 		DefaultRegistrationSpec(Class<V> valueType) {
 			this.valueType = valueType;
 		}
@@ -162,16 +220,45 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 			return this;
 		}
 
+		@Override
+		public RegistrationSpec<K, V> withCrossRequestBatching(
+				Duration window, int maxBatchSize, Function<GraphQLContext, ?> contextKeyFunction) {
+
+			this.batcherConfig = new CrossRequestBatcher.Config(window, maxBatchSize, contextKeyFunction);
+			return this;
+		}
+
+		@Override
+		public RegistrationSpec<K, V> withSharedCache(Duration timeToLive, int maxEntries) {
+			this.sharedCacheFactory = (name) -> new ExpiringMapCache(name, timeToLive, maxEntries);
+			return this;
+		}
+
+		@Override
+		public RegistrationSpec<K, V> withSharedCache(Cache cache) {
+			Assert.notNull(cache, "Cache is required");
+			this.sharedCacheFactory = (name) -> cache;
+			return this;
+		}
+
 		@Override
 		public void registerBatchLoader(BiFunction<List<K>, BatchLoaderEnvironment, Flux<V>> loader) {
-			DefaultBatchLoaderRegistry.this.loaders.add(
-					new ReactorBatchLoader<>(initName(), loader, initOptionsSupplier()));
+			String name = initName();
+			DefaultBatchLoaderRegistry.this.loaders.add(new ReactorBatchLoader<>(
+					name, loader, initOptionsSupplier(), this.batcherConfig, initSharedCache(name)));
 		}
 
 		@Override
 		public void registerMappedBatchLoader(BiFunction<Set<K>, BatchLoaderEnvironment, Mono<Map<K, V>>> loader) {
-			DefaultBatchLoaderRegistry.this.mappedLoaders.add(
-					new ReactorMappedBatchLoader<>(initName(), loader, initOptionsSupplier()));
+			String name = initName();
+			DefaultBatchLoaderRegistry.this.mappedLoaders.add(new ReactorMappedBatchLoader<>(
+					name, loader, initOptionsSupplier(), this.batcherConfig, initSharedCache(name)));
+		}
+
+		@Nullable
+		private SharedValueCache<K, V> initSharedCache(String name) {
+			return (this.sharedCacheFactory != null) ?
+					new SharedValueCache<>(name, this.sharedCacheFactory.apply(name)) : null;
 		}
 
 		private String initName() {
@@ -201,6 +288,45 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 	}
 
 
+	/**
+	 * Holds {@link DataLoaderOptions} prepared once from the options supplier
+	 * of a registration, and returns a copy for each {@code DataLoader}, which
+	 * avoids re-applying options callbacks on every request. Options with a
+	 * {@link org.dataloader.CacheMap} or {@link org.dataloader.ValueCache}
+	 * instance are not shared, and are obtained from the supplier every time.
+	 */
+	private static final class OptionsTemplate {
+
+		private final Supplier<DataLoaderOptions> optionsSupplier;
+
+		@Nullable
+		private volatile DataLoaderOptions template;
+
+		private volatile boolean shareable = true;
+
+		OptionsTemplate(Supplier<DataLoaderOptions> optionsSupplier) {
+			this.optionsSupplier = optionsSupplier;
+		}
+
+		DataLoaderOptions getOptions() {
+			DataLoaderOptions template = this.template;
+			if (template != null) {
+				return new DataLoaderOptions(template);
+			}
+			DataLoaderOptions options = this.optionsSupplier.get();
+			if (this.shareable) {
+				if (options.cacheMap().isPresent() || options.valueCache().isPresent()) {
+					this.shareable = false;
+				}
+				else {
+					this.template = new DataLoaderOptions(options);
+				}
+			}
+			return options;
+		}
+	}
+
+
 	/**
 	 * {@link BatchLoaderWithContext} that delegates to a {@link Flux} batch
 	 * loading function and exposes Reactor context to it.
@@ -211,15 +337,24 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 
 		private final BiFunction<List<K>, BatchLoaderEnvironment, Flux<V>> loader;
 
-		private final Supplier<DataLoaderOptions> optionsSupplier;
+		private final OptionsTemplate optionsTemplate;
+
+		@Nullable
+		private final CrossRequestBatcher<K, V> batcher;
+
+		@Nullable
+		private final SharedValueCache<K, V> sharedCache;
 
 		private ReactorBatchLoader(String name,
 				BiFunction<List<K>, BatchLoaderEnvironment, Flux<V>> loader,
-				Supplier<DataLoaderOptions> optionsSupplier) {
+				Supplier<DataLoaderOptions> optionsSupplier, @Nullable CrossRequestBatcher.Config batcherConfig,
+				@Nullable SharedValueCache<K, V> sharedCache) {
 
 			this.name = name;
 			this.loader = loader;
-			this.optionsSupplier = optionsSupplier;
+			this.optionsTemplate = new OptionsTemplate(optionsSupplier);
+			this.sharedCache = sharedCache;
+			this.batcher = (batcherConfig != null) ? new CrossRequestBatcher<>(batcherConfig, this::loadMap) : null;
 		}
 
 		String getName() {
@@ -227,11 +362,44 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 		}
 
 		DataLoaderOptions getOptions() {
-			return this.optionsSupplier.get();
+			DataLoaderOptions options = this.optionsTemplate.getOptions();
+			return (this.sharedCache != null) ? options.setValueCache(this.sharedCache) : options;
+		}
+
+		@Nullable
+		SharedValueCache<K, V> getSharedCache() {
+			return this.sharedCache;
 		}
 
 		@Override
 		public CompletionStage<List<V>> load(List<K> keys, BatchLoaderEnvironment environment) {
+			if (this.batcher != null) {
+				return this.batcher.load(keys, environment).thenApply((values) -> {
+					List<V> result = new ArrayList<>(keys.size());
+					for (K key : keys) {
+						result.add(values.get(key));
+					}
+					return result;
+				});
+			}
+			return loadList(keys, environment);
+		}
+
+		private CompletionStage<Map<K, V>> loadMap(List<K> keys, BatchLoaderEnvironment environment) {
+			return loadList(keys, environment).thenApply((values) -> {
+				if (values.size() != keys.size()) {
+					throw new IllegalStateException("Batch loader '" + this.name + "' returned " +
+							values.size() + " values for " + keys.size() + " keys");
+				}
+				Map<K, V> result = new HashMap<>(keys.size());
+				for (int i = 0; i < keys.size(); i++) {
+					result.put(keys.get(i), values.get(i));
+				}
+				return result;
+			});
+		}
+
+		private CompletionStage<List<V>> loadList(List<K> keys, BatchLoaderEnvironment environment) {
 			GraphQLContext graphQLContext = environment.getContext();
 			ContextSnapshot snapshot = ContextSnapshotFactoryHelper.captureFrom(graphQLContext);
 			try {
@@ -259,15 +427,26 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 
 		private final BiFunction<Set<K>, BatchLoaderEnvironment, Mono<Map<K, V>>> loader;
 
-		private final Supplier<DataLoaderOptions> optionsSupplier;
+		private final OptionsTemplate optionsTemplate;
+
+		@Nullable
+		private final CrossRequestBatcher<K, V> batcher;
+
+		@Nullable
+		private final SharedValueCache<K, V> sharedCache;
 
 		private ReactorMappedBatchLoader(String name,
 				BiFunction<Set<K>, BatchLoaderEnvironment, Mono<Map<K, V>>> loader,
-				Supplier<DataLoaderOptions> optionsSupplier) {
+				Supplier<DataLoaderOptions> optionsSupplier, @Nullable CrossRequestBatcher.Config batcherConfig,
+				@Nullable SharedValueCache<K, V> sharedCache) {
 
 			this.name = name;
 			this.loader = loader;
-			this.optionsSupplier = optionsSupplier;
+			this.optionsTemplate = new OptionsTemplate(optionsSupplier);
+			this.sharedCache = sharedCache;
+			this.batcher = (batcherConfig != null) ?
+					new CrossRequestBatcher<>(batcherConfig, (keys, env) -> loadMap(new LinkedHashSet<>(keys), env)) :
+					null;
 		}
 
 		String getName() {
@@ -275,11 +454,24 @@ public class DefaultBatchLoaderRegistry implements BatchLoaderRegistry {
 		}
 
 		DataLoaderOptions getOptions() {
-			return this.optionsSupplier.get();
+			DataLoaderOptions options = this.optionsTemplate.getOptions();
+			return (this.sharedCache != null) ? options.setValueCache(this.sharedCache) : options;
+		}
+
+		@Nullable
+		SharedValueCache<K, V> getSharedCache() {
+			return this.sharedCache;
 		}
 
 		@Override
 		public CompletionStage<Map<K, V>> load(Set<K> keys, BatchLoaderEnvironment environment) {
+			if (this.batcher != null) {
+				return this.batcher.load(keys, environment);
+			}
+			return loadMap(keys, environment);
+		}
+
+		private CompletionStage<Map<K, V>> loadMap(Set<K> keys, BatchLoaderEnvironment environment) {
 			GraphQLContext graphQLContext = environment.getContext();
 			ContextSnapshot snapshot = ContextSnapshotFactoryHelper.captureFrom(graphQLContext);
 			try {
@@ -114,7 +114,7 @@ public class DefaultExecutionGraphQlService implements ExecutionGraphQlService {
 			GraphQLContext graphQLContext = executionInput.getGraphQLContext();
 			DataLoaderRegistry existingRegistry = executionInput.getDataLoaderRegistry();
 			if (existingRegistry == this.emptyDataLoaderRegistryInstance) {
-				DataLoaderRegistry newRegistry = DataLoaderRegistry.newRegistry().build();
+				DataLoaderRegistry newRegistry = new LazyDataLoaderRegistry();
 				applyDataLoaderRegistrars(newRegistry, graphQLContext);
 				executionInput = executionInput.transform((builder) -> builder.dataLoaderRegistry(newRegistry));
 			}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +66,9 @@ final class DefaultSchemaResourceGraphQlSourceBuilder
 
 	private final Set<Resource> schemaResources = new LinkedHashSet<>();
 
+	@Nullable
+	private Resource serializedRegistry;
+
 	private final List<TypeDefinitionConfigurer> typeDefinitionConfigurers = new ArrayList<>();
 
 	private final List<RuntimeWiringConfigurer> runtimeWiringConfigurers = new ArrayList<>();
@@ -91,6 +95,12 @@ final class DefaultSchemaResourceGraphQlSourceBuilder
 		return this;
 	}
 
+	@Override
+	public GraphQlSource.SchemaResourceBuilder serializedTypeDefinitionRegistry(Resource resource) {
+		this.serializedRegistry = resource;
+		return this;
+	}
+
 	@Override
 	public GraphQlSource.SchemaResourceBuilder configureTypeDefinitions(TypeDefinitionConfigurer configurer) {
 		this.typeDefinitionConfigurers.add(configurer);
@@ -135,23 +145,28 @@ final class DefaultSchemaResourceGraphQlSourceBuilder
 	@Override
 	protected GraphQLSchema initGraphQlSchema() {
 
-		TypeDefinitionRegistry registry = this.schemaResources.stream()
-				.map(this::parse)
-				.reduce(TypeDefinitionRegistry::merge)
-				.orElseThrow(MissingSchemaException::new);
+		TypeDefinitionRegistry registry = null;
+		if (this.serializedRegistry != null && this.serializedRegistry.exists()) {
+			registry = TypeDefinitionRegistrySerializer.read(this.serializedRegistry, this.schemaResources);
+			if (registry != null) {
+				logger.info("Loaded GraphQL schema from " + this.serializedRegistry.getDescription());
+			}
+		}
+		if (registry == null) {
+			registry = parseSchemaResources(this.schemaResources);
+			logger.info("Loaded " + this.schemaResources.size() + " resource(s) in the GraphQL schema.");
+			if (logger.isDebugEnabled()) {
+				String resources = this.schemaResources.stream()
+						.map(Resource::getDescription)
+						.collect(Collectors.joining(","));
+				logger.debug("Loaded GraphQL schema resources: (" + resources + ")");
+			}
+		}
 
 		for (TypeDefinitionConfigurer configurer : this.typeDefinitionConfigurers) {
 			configurer.configure(registry);
 		}
 
-		logger.info("Loaded " + this.schemaResources.size() + " resource(s) in the GraphQL schema.");
-		if (logger.isDebugEnabled()) {
-			String resources = this.schemaResources.stream()
-					.map(Resource::getDescription)
-					.collect(Collectors.joining(","));
-			logger.debug("Loaded GraphQL schema resources: (" + resources + ")");
-		}
-
 		RuntimeWiring runtimeWiring = initRuntimeWiring(registry);
 		updateForCustomRootOperationTypeNames(registry, runtimeWiring);
 
@@ -175,7 +190,21 @@ final class DefaultSchemaResourceGraphQlSourceBuilder
 				new SchemaGenerator().makeExecutableSchema(registry, runtimeWiring);
 	}
 
-	private TypeDefinitionRegistry parse(Resource schemaResource) {
+	/**
+	 * Parse the given resources, in parallel on the common fork-join pool if
+	 * there is more than one, and merge the registries in the given order.
+	 */
+	static TypeDefinitionRegistry parseSchemaResources(Collection<Resource> schemaResources) {
+		List<TypeDefinitionRegistry> registries = ((schemaResources.size() > 1) ?
+				schemaResources.parallelStream() : schemaResources.stream())
+				.map(DefaultSchemaResourceGraphQlSourceBuilder::parse)
+				.toList();
+		return registries.stream()
+				.reduce(TypeDefinitionRegistry::merge)
+				.orElseThrow(MissingSchemaException::new);
+	}
+
+	private static TypeDefinitionRegistry parse(Resource schemaResource) {
 		Assert.notNull(schemaResource, "'schemaResource' not provided");
 		Assert.isTrue(schemaResource.exists(), "'schemaResource' must exist: " + schemaResource);
 		try {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.graphql.support.ConcurrentLruMap;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Local in-memory {@link org.springframework.cache.Cache} with a time-to-live
+ * for entries and a maximum number of entries, evicting the least recently
+ * used entry when full. Lookups do not lock, see {@link ConcurrentLruMap}.
+ *
+ * @since 1.4.0
+ * @see BatchLoaderRegistry.RegistrationSpec#withSharedCache(Duration, int)
+ */
+final class ExpiringMapCache extends AbstractValueAdaptingCache {
+
+	private final String name;
+
+	private final long timeToLiveNanos;
+
+	private final ConcurrentLruMap<Object, Entry> entries;
+
+
+	ExpiringMapCache(String name, Duration timeToLive, int maxEntries) {
+		super(true);
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "'timeToLive' must be positive");
+		Assert.isTrue(maxEntries > 0, "'maxEntries' must be greater than 0");
+		this.name = name;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.entries = new ConcurrentLruMap<>(maxEntries);
+	}
+
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.entries;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Entry entry = this.entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt() - System.nanoTime() <= 0) {
+			this.entries.remove(key, entry);
+			return null;
+		}
+		return entry.value();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		T value;
+		try {
+			value = valueLoader.call();
+		}
+		catch (Throwable ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		put(key, value);
+		return value;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		Entry entry = new Entry(toStoreValue(value), System.nanoTime() + this.timeToLiveNanos);
+		this.entries.put(key, entry);
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.entries.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		this.entries.clear();
+	}
+
+
+	private record Entry(Object value, long expiresAt) {
+	}
+
+}
@@ -41,7 +41,8 @@ public class GraphQlContextAccessor implements ContextAccessor<GraphQLContext, G
 	@Override
 	public void readValues(GraphQLContext context, Predicate<Object> keyPredicate, Map<Object, Object> readValues) {
 		context.stream().forEach((entry) -> {
-			if (keyPredicate.test(entry.getKey())) {
+			if (!(entry.getValue() instanceof ContextSnapshotFactoryHelper.SnapshotHolder) &&
+					keyPredicate.test(entry.getKey())) {
 				readValues.put(entry.getKey(), entry.getValue());
 			}
 		});
@@ -149,6 +149,34 @@ public interface GraphQlSource {
 		 */
 		B configureGraphQl(Consumer<GraphQL.Builder> configurer);
 
+		/**
+		 * Configure a cache for parsed and validated documents that is used as
+		 * the {@link graphql.execution.preparsed.PreparsedDocumentProvider} for
+		 * the {@link GraphQL} instance. The cache is cleared each time a
+		 * {@link GraphQlSource} is built, since cached documents are validated
+		 * against a specific schema, and previously built sources stop using it,
+		 * see {@link CachingPreparsedDocumentProvider#forNewSchema()}.
+		 * <p>By default, no cache is configured.
+		 * @param documentCache the cache to use
+		 * @return the current builder
+		 * @since 1.4.0
+		 * @see PreparsedDocumentCacheMetrics
+		 */
+		B documentCache(CachingPreparsedDocumentProvider documentCache);
+
+		/**
+		 * Configure a registry of trusted documents that are parsed and
+		 * validated against the schema when the {@link GraphQlSource} is built,
+		 * and then resolved by id without parsing or validation at request time.
+		 * <p>If a {@link #documentCache(CachingPreparsedDocumentProvider) document cache}
+		 * is also configured, it is used for unregistered documents, provided
+		 * that the registry is configured to allow them.
+		 * @param registry the registry to use
+		 * @return the current builder
+		 * @since 1.4.0
+		 */
+		B trustedDocuments(TrustedDocumentRegistry registry);
+
 		/**
 		 * Build the {@link GraphQlSource} instance.
 		 */
@@ -173,6 +201,19 @@ public interface GraphQlSource {
 		 */
 		SchemaResourceBuilder schemaResources(Resource... resources);
 
+		/**
+		 * Load the {@link TypeDefinitionRegistry} from a binary artifact created
+		 * at build time with {@link TypeDefinitionRegistrySerializer}, instead of
+		 * parsing {@link #schemaResources(Resource...) schema resources}, which
+		 * reduces startup time for large schemas. If the resource does not exist,
+		 * was created with a different GraphQL Java version or from different
+		 * schema resources, or cannot be read, schema resources are parsed as usual.
+		 * @param resource the serialized registry
+		 * @return the current builder
+		 * @since 1.4.0
+		 */
+		SchemaResourceBuilder serializedTypeDefinitionRegistry(Resource resource);
+
 		/**
 		 * Customize the {@link TypeDefinitionRegistry} created from parsed
 		 * schema files, adding or changing schema type definitions before the
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link DataLoaderRegistry} that accepts {@link DataLoader} suppliers in
+ * addition to {@code DataLoader} instances, and creates a {@code DataLoader}
+ * only when it is first requested through {@link #getDataLoader(String)}.
+ *
+ * <p>{@link #getDataLoaders()} and {@link #dispatchAll()} operate only on
+ * {@code DataLoader}s created so far, which are the only ones that can have
+ * pending loads. {@link #getKeys()} includes the keys of all registrations.
+ *
+ * @since 1.4.0
+ * @see DefaultBatchLoaderRegistry
+ */
+public class LazyDataLoaderRegistry extends DataLoaderRegistry {
+
+	private final Map<String, Supplier<DataLoader<?, ?>>> dataLoaderSuppliers = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Register a supplier to create the {@link DataLoader} for the given key
+	 * on first access.
+	 * @param key the key to register the {@code DataLoader} under
+	 * @param dataLoaderSupplier the supplier to create the {@code DataLoader}
+	 * @return this registry
+	 */
+	public LazyDataLoaderRegistry register(String key, Supplier<DataLoader<?, ?>> dataLoaderSupplier) {
+		this.dataLoaderSuppliers.put(key, dataLoaderSupplier);
+		return this;
+	}
+
+	/**
+	 * Whether there is a {@link DataLoader} or a {@code DataLoader} supplier
+	 * registered for the given key. Unlike {@link #getDataLoader(String)},
+	 * this does not create the {@code DataLoader}.
+	 * @param key the key to check
+	 */
+	public boolean isRegistered(String key) {
+		return (this.dataLoaders.containsKey(key) || this.dataLoaderSuppliers.containsKey(key));
+	}
+
+	@Override
+	@Nullable
+	public <K, V> DataLoader<K, V> getDataLoader(String key) {
+		DataLoader<K, V> dataLoader = super.getDataLoader(key);
+		if (dataLoader == null) {
+			Supplier<DataLoader<?, ?>> supplier = this.dataLoaderSuppliers.get(key);
+			if (supplier != null) {
+				dataLoader = computeIfAbsent(key, (name) -> supplier.get());
+			}
+		}
+		return dataLoader;
+	}
+
+	@Override
+	public DataLoaderRegistry unregister(String key) {
+		this.dataLoaderSuppliers.remove(key);
+		return super.unregister(key);
+	}
+
+	@Override
+	public Set<String> getKeys() {
+		Set<String> keys = new LinkedHashSet<>(super.getKeys());
+		keys.addAll(this.dataLoaderSuppliers.keySet());
+		return keys;
+	}
+
+}
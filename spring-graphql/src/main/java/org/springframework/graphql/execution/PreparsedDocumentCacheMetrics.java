@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Micrometer {@link io.micrometer.core.instrument.binder.MeterBinder} that
+ * publishes the standard cache metrics, including hit, miss, and eviction
+ * counts, for a {@link CachingPreparsedDocumentProvider}.
+ *
+ * @since 1.4.0
+ */
+public class PreparsedDocumentCacheMetrics extends CacheMeterBinder<CachingPreparsedDocumentProvider> {
+
+	private static final String DEFAULT_CACHE_NAME = "graphql.documents";
+
+
+	private final Iterable<Tag> tags;
+
+
+	/**
+	 * Create an instance for the given provider with the cache name
+	 * {@code "graphql.documents"}.
+	 * @param provider the provider to publish metrics for
+	 */
+	public PreparsedDocumentCacheMetrics(CachingPreparsedDocumentProvider provider) {
+		this(provider, DEFAULT_CACHE_NAME, Tags.empty());
+	}
+
+	/**
+	 * Create an instance for the given provider.
+	 * @param provider the provider to publish metrics for
+	 * @param cacheName the value for the "cache" tag
+	 * @param tags additional tags to apply to all metrics
+	 */
+	public PreparsedDocumentCacheMetrics(
+			CachingPreparsedDocumentProvider provider, String cacheName, Iterable<Tag> tags) {
+
+		super(provider, cacheName, tags);
+		this.tags = Tags.concat(tags, "cache", cacheName);
+	}
+
+
+	@Override
+	@Nullable
+	protected Long size() {
+		CachingPreparsedDocumentProvider provider = getCache();
+		return (provider != null) ? (long) provider.size() : null;
+	}
+
+	@Override
+	protected long hitCount() {
+		CachingPreparsedDocumentProvider provider = getCache();
+		return (provider != null) ? provider.getHitCount() : 0L;
+	}
+
+	@Override
+	@Nullable
+	protected Long missCount() {
+		CachingPreparsedDocumentProvider provider = getCache();
+		return (provider != null) ? provider.getMissCount() : null;
+	}
+
+	@Override
+	@Nullable
+	protected Long evictionCount() {
+		CachingPreparsedDocumentProvider provider = getCache();
+		return (provider != null) ? provider.getEvictionCount() : null;
+	}
+
+	@Override
+	protected long putCount() {
+		CachingPreparsedDocumentProvider provider = getCache();
+		return (provider != null) ? provider.getPutCount() : 0L;
+	}
+
+	@Override
+	protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+		CachingPreparsedDocumentProvider provider = getCache();
+		if (provider != null) {
+			Gauge.builder("cache.weight", provider, CachingPreparsedDocumentProvider::weight)
+					.tags(this.tags)
+					.description("The total length of cached document text")
+					.register(registry);
+		}
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * {@link GraphQlSource} that delegates to a {@code GraphQlSource} that can be
+ * rebuilt at runtime, e.g. when schema files change, without a restart.
+ *
+ * <p>A rebuild creates a new {@code GraphQlSource} through the given
+ * {@link Supplier}, typically {@link GraphQlSource.Builder#build()}, and then
+ * atomically switches to it. Requests that are already executing, including
+ * subscriptions, continue with the {@link GraphQL} instance they started with,
+ * while new requests use the rebuilt one. The current source is held in a
+ * volatile field, and {@link #graphQl()} does not lock, also while a rebuild
+ * is in progress. If a rebuild fails, the current source remains in use.
+ *
+ * <p>A {@link CachingPreparsedDocumentProvider} configured through
+ * {@link GraphQlSource.Builder#documentCache} is invalidated as part of each
+ * build, and requests that are still executing on the previous source no
+ * longer use or populate it. Other caches that depend on the schema, such as
+ * a response cache, can be cleared through a
+ * {@link #addReloadListener reload listener} once the new source is in use.
+ *
+ * @since 1.4.0
+ */
+public class ReloadableGraphQlSource implements GraphQlSource {
+
+	private static final Log logger = LogFactory.getLog(ReloadableGraphQlSource.class);
+
+
+	private final Supplier<GraphQlSource> sourceSupplier;
+
+	private volatile GraphQlSource source;
+
+	private final List<Consumer<GraphQlSource>> reloadListeners = new CopyOnWriteArrayList<>();
+
+	private final List<Resource> watchedResources = new ArrayList<>();
+
+	private Map<Resource, Long> lastModified = Map.of();
+
+	private final Object reloadMonitor = new Object();
+
+
+	/**
+	 * Create an instance, and build the initial {@code GraphQlSource}.
+	 * @param sourceSupplier supplier to build a {@code GraphQlSource} initially
+	 * and on every reload
+	 */
+	public ReloadableGraphQlSource(Supplier<GraphQlSource> sourceSupplier) {
+		Assert.notNull(sourceSupplier, "GraphQlSource supplier is required");
+		this.sourceSupplier = sourceSupplier;
+		this.source = buildSource();
+	}
+
+
+	/**
+	 * Set the resources to check for changes in {@link #reloadIfModified()},
+	 * typically the schema files the {@code GraphQlSource} is built from.
+	 * @param resources the resources to watch
+	 */
+	public void setWatchedResources(Collection<Resource> resources) {
+		synchronized (this.reloadMonitor) {
+			this.watchedResources.clear();
+			this.watchedResources.addAll(resources);
+			this.lastModified = getLastModified();
+		}
+	}
+
+	/**
+	 * Return the {@link #setWatchedResources(Collection) watched} resources.
+	 */
+	public List<Resource> getWatchedResources() {
+		synchronized (this.reloadMonitor) {
+			return List.copyOf(this.watchedResources);
+		}
+	}
+
+	/**
+	 * Add a listener to be called with the new {@code GraphQlSource} after a
+	 * reload, once it is in use, e.g. to clear caches that depend on the schema.
+	 * @param listener the listener to add
+	 */
+	public void addReloadListener(Consumer<GraphQlSource> listener) {
+		this.reloadListeners.add(listener);
+	}
+
+
+	@Override
+	public GraphQL graphQl() {
+		return this.source.graphQl();
+	}
+
+	@Override
+	public GraphQLSchema schema() {
+		return this.source.schema();
+	}
+
+	/**
+	 * Build a new {@code GraphQlSource}, switch to it, and notify listeners.
+	 * Concurrent reloads are serialized.
+	 * @return the new {@code GraphQlSource}
+	 * @throws RuntimeException if the build fails, in which case the current
+	 * source remains in use
+	 */
+	public GraphQlSource reload() {
+		synchronized (this.reloadMonitor) {
+			// Check before the build so changes made during it are seen next time
+			this.lastModified = getLastModified();
+			GraphQlSource newSource = buildSource();
+			this.source = newSource;
+			for (Consumer<GraphQlSource> listener : this.reloadListeners) {
+				try {
+					listener.accept(newSource);
+				}
+				catch (Throwable ex) {
+					logger.warn("Failure in GraphQlSource reload listener", ex);
+				}
+			}
+			if (logger.isInfoEnabled()) {
+				logger.info("Reloaded GraphQlSource");
+			}
+			return newSource;
+		}
+	}
+
+	/**
+	 * Variant of {@link #reload()} that builds the new {@code GraphQlSource}
+	 * on the given {@link Executor}.
+	 * @param executor the executor to build with
+	 * @return future that completes with the new source, or with the build
+	 * failure, in which case the current source remains in use
+	 */
+	public CompletableFuture<GraphQlSource> reloadAsync(Executor executor) {
+		return CompletableFuture.supplyAsync(this::reload, executor);
+	}
+
+	/**
+	 * {@link #reload() Reload} if any of the
+	 * {@link #setWatchedResources(Collection) watched resources} was modified,
+	 * added, or removed since the last check. Applications can call this
+	 * periodically, e.g. from a scheduled task.
+	 * @return {@code true} if the source was reloaded
+	 * @throws RuntimeException if the build fails, in which case the current
+	 * source remains in use
+	 */
+	public boolean reloadIfModified() {
+		synchronized (this.reloadMonitor) {
+			if (getLastModified().equals(this.lastModified)) {
+				return false;
+			}
+			reload();
+			return true;
+		}
+	}
+
+	private GraphQlSource buildSource() {
+		GraphQlSource newSource = this.sourceSupplier.get();
+		Assert.state(newSource != null, "GraphQlSource supplier returned null");
+		return newSource;
+	}
+
+	private Map<Resource, Long> getLastModified() {
+		Map<Resource, Long> result = new LinkedHashMap<>(this.watchedResources.size());
+		for (Resource resource : this.watchedResources) {
+			long time;
+			try {
+				time = (resource.exists() ? resource.lastModified() : -1);
+			}
+			catch (IOException ex) {
+				time = -1;
+			}
+			result.put(resource, time);
+		}
+		return result;
+	}
+
+}
@@ -59,4 +59,17 @@ public interface SelfDescribingDataFetcher<T> extends DataFetcher<T> {
 		return Collections.emptyMap();
 	}
 
+	/**
+	 * Whether this {@link DataFetcher} neither relies on context propagation,
+	 * i.e. Reactor context or {@code ThreadLocal} values from the transport,
+	 * nor returns reactive types, in which case it is not decorated to
+	 * propagate context and adapt return values. This does not apply to
+	 * subscription fields.
+	 * <p>By default, this returns {@code false}.
+	 * @since 1.4.0
+	 */
+	default boolean isContextFree() {
+		return false;
+	}
+
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.dataloader.Try;
+import org.dataloader.ValueCache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ValueCache} that stores values in a Spring {@link Cache} shared across
+ * requests, and keeps track of hits and misses.
+ *
+ * <p>A {@code DataLoader} consults its {@code ValueCache} after its own
+ * per-request cache, and invokes the batch loading function only for the keys
+ * that are missing, after which it stores the loaded values.
+ *
+ * <p>Keys are stored in the {@code Cache} along with the {@code DataLoader}
+ * name, so that loaders can use the same cache without reading each other's
+ * values. Note that {@link #clear()} clears the entire {@code Cache}.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 1.4.0
+ * @see BatchLoaderRegistry.RegistrationSpec#withSharedCache(Cache)
+ */
+public class SharedValueCache<K, V> implements ValueCache<K, V> {
+
+	// Shared to avoid creating an exception for every miss
+	private static final IllegalStateException MISS = new IllegalStateException("Value not present in cache");
+
+
+	private final String dataLoaderName;
+
+	private final Cache cache;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+
+	/**
+	 * Create an instance that stores values in the given cache.
+	 * @param dataLoaderName the name of the {@code DataLoader}, used to
+	 * qualify keys in the cache
+	 * @param cache the cache to use
+	 */
+	public SharedValueCache(String dataLoaderName, Cache cache) {
+		Assert.notNull(dataLoaderName, "DataLoader name is required");
+		Assert.notNull(cache, "Cache is required");
+		this.dataLoaderName = dataLoaderName;
+		this.cache = cache;
+	}
+
+
+	/**
+	 * Return the name of the {@code DataLoader} that keys are qualified with.
+	 */
+	public String getDataLoaderName() {
+		return this.dataLoaderName;
+	}
+
+	/**
+	 * Return the underlying cache.
+	 */
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Return the number of keys found in the cache.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of keys not found in the cache.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the ratio of hits to all lookups, or {@code 0} if there have not
+	 * been any lookups yet.
+	 */
+	public double getHitRatio() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return (total != 0) ? ((double) hits / total) : 0;
+	}
+
+
+	@Override
+	public CompletableFuture<V> get(K key) {
+		Cache.ValueWrapper wrapper = this.cache.get(cacheKey(key));
+		if (wrapper == null) {
+			this.missCount.increment();
+			return CompletableFuture.failedFuture(MISS);
+		}
+		this.hitCount.increment();
+		return CompletableFuture.completedFuture(getValue(wrapper));
+	}
+
+	@Override
+	public CompletableFuture<List<Try<V>>> getValues(List<K> keys) {
+		List<Try<V>> result = new ArrayList<>(keys.size());
+		for (K key : keys) {
+			Cache.ValueWrapper wrapper = this.cache.get(cacheKey(key));
+			if (wrapper == null) {
+				this.missCount.increment();
+				result.add(Try.failed(MISS));
+			}
+			else {
+				this.hitCount.increment();
+				result.add(Try.succeeded(getValue(wrapper)));
+			}
+		}
+		return CompletableFuture.completedFuture(result);
+	}
+
+	private Object cacheKey(K key) {
+		return new SimpleKey(this.dataLoaderName, key);
+	}
+
+	@SuppressWarnings("unchecked")
+	private V getValue(Cache.ValueWrapper wrapper) {
+		return (V) wrapper.get();
+	}
+
+	@Override
+	public CompletableFuture<V> set(K key, V value) {
+		this.cache.put(cacheKey(key), value);
+		return CompletableFuture.completedFuture(value);
+	}
+
+	@Override
+	public CompletableFuture<List<V>> setValues(List<K> keys, List<V> values) {
+		for (int i = 0; i < keys.size(); i++) {
+			this.cache.put(cacheKey(keys.get(i)), values.get(i));
+		}
+		return CompletableFuture.completedFuture(values);
+	}
+
+	@Override
+	public CompletableFuture<Void> delete(K key) {
+		this.cache.evict(cacheKey(key));
+		return CompletableFuture.completedFuture(null);
+	}
+
+	@Override
+	public CompletableFuture<Void> clear() {
+		this.cache.clear();
+		return CompletableFuture.completedFuture(null);
+	}
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.ParseAndValidate;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.Resource;
+import org.springframework.graphql.support.DocumentSource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of trusted documents, also known as persisted operations, that are
+ * parsed and validated up front, and resolved by id at request time without
+ * any further parsing or validation.
+ *
+ * <p>Clients refer to a trusted document by sending its id in the
+ * {@code "extensions.persistedQuery.sha256Hash"} request extension, or by
+ * sending the exact document text. By default, other documents are rejected,
+ * which allows running in an allow-list only mode. This can be relaxed through
+ * {@link #setAllowUnregisteredDocuments(boolean)}.
+ *
+ * <p>Documents can be loaded from a manifest through
+ * {@link #fromManifest(Resource)}, or by name from a {@link DocumentSource}
+ * through {@link #fromDocumentSource(DocumentSource, Collection)}. The
+ * registry is initialized when configured on
+ * {@link GraphQlSource.Builder#trustedDocuments(TrustedDocumentRegistry)},
+ * and can be reloaded at runtime through {@link #reload()}.
+ *
+ * @since 1.4.0
+ */
+public final class TrustedDocumentRegistry implements PreparsedDocumentProvider, DocumentSource {
+
+	private static final String PERSISTED_QUERY_KEY = "persistedQuery";
+
+	private static final String HASH_KEY = "sha256Hash";
+
+
+	private final Supplier<Map<String, String>> documentLoader;
+
+	private boolean allowUnregisteredDocuments;
+
+	@Nullable
+	private volatile GraphQLSchema schema;
+
+	@Nullable
+	private volatile PreparsedDocumentProvider unregisteredDocumentProvider;
+
+	private volatile Documents documents =
+			new Documents(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+
+	private TrustedDocumentRegistry(Supplier<Map<String, String>> documentLoader) {
+		this.documentLoader = documentLoader;
+	}
+
+
+	/**
+	 * Whether to execute documents that are not registered, parsing and
+	 * validating them as usual.
+	 * <p>By default, this is set to {@code false}, and such documents are
+	 * rejected with an error.
+	 * @param allowUnregisteredDocuments whether to allow unregistered documents
+	 */
+	public void setAllowUnregisteredDocuments(boolean allowUnregisteredDocuments) {
+		this.allowUnregisteredDocuments = allowUnregisteredDocuments;
+	}
+
+	/**
+	 * Whether {@link #setAllowUnregisteredDocuments(boolean) unregistered documents}
+	 * are allowed.
+	 */
+	public boolean isAllowUnregisteredDocuments() {
+		return this.allowUnregisteredDocuments;
+	}
+
+	/**
+	 * Return the ids of the currently registered documents.
+	 */
+	public Collection<String> getDocumentIds() {
+		return this.documents.byId().keySet();
+	}
+
+	/**
+	 * Return the parsed and validated document for the given id.
+	 * @param id the document id
+	 * @return the document, or {@code null} if not registered
+	 */
+	@Nullable
+	public Document getParsedDocument(String id) {
+		PreparsedDocumentEntry entry = this.documents.byId().get(id);
+		return (entry != null) ? entry.getDocument() : null;
+	}
+
+	@Override
+	public Mono<String> getDocument(String id) {
+		return Mono.justOrEmpty(this.documents.text().get(id))
+				.switchIfEmpty(Mono.error(() ->
+						new IllegalStateException("No trusted document with id '" + id + "'")));
+	}
+
+
+	/**
+	 * Load, parse, and validate all documents against the given schema.
+	 * This is invoked from {@link GraphQlSource.Builder#build()}.
+	 * @param schema the schema to validate documents against
+	 * @param unregisteredDocumentProvider a provider for unregistered
+	 * documents, if they are allowed, or otherwise {@code null} to parse and
+	 * validate them on every request
+	 * @throws IllegalStateException if any document fails to parse or validate
+	 */
+	void initialize(GraphQLSchema schema, @Nullable PreparsedDocumentProvider unregisteredDocumentProvider) {
+		this.documents = loadDocuments(schema);
+		this.schema = schema;
+		this.unregisteredDocumentProvider = unregisteredDocumentProvider;
+	}
+
+	/**
+	 * Re-load, parse, and validate all documents, and then switch to the new
+	 * set of documents. If any document fails, the current documents remain
+	 * in use.
+	 * @throws IllegalStateException if any document fails to parse or
+	 * validate, or if the registry has not been initialized yet
+	 */
+	public void reload() {
+		GraphQLSchema schema = this.schema;
+		Assert.state(schema != null, "TrustedDocumentRegistry has not been initialized");
+		this.documents = loadDocuments(schema);
+	}
+
+	private Documents loadDocuments(GraphQLSchema schema) {
+		Map<String, String> text = Collections.unmodifiableMap(new LinkedHashMap<>(this.documentLoader.get()));
+		Map<String, PreparsedDocumentEntry> byId = new HashMap<>(text.size());
+		Map<String, PreparsedDocumentEntry> byText = new HashMap<>(text.size());
+		for (Map.Entry<String, String> entry : text.entrySet()) {
+			PreparsedDocumentEntry documentEntry = byText.get(entry.getValue());
+			if (documentEntry == null) {
+				Document document = parseAndValidate(entry.getKey(), entry.getValue(), schema);
+				documentEntry = new PreparsedDocumentEntry(document);
+				byText.put(entry.getValue(), documentEntry);
+			}
+			byId.put(entry.getKey(), documentEntry);
+		}
+		return new Documents(Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byText), text);
+	}
+
+	private static Document parseAndValidate(String id, String text, GraphQLSchema schema) {
+		Document document;
+		try {
+			document = Parser.parse(text);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Failed to parse trusted document '" + id + "'", ex);
+		}
+		List<ValidationError> errors = ParseAndValidate.validate(schema, document);
+		if (!errors.isEmpty()) {
+			throw new IllegalStateException("Trusted document '" + id + "' is not valid: " + errors);
+		}
+		return document;
+	}
+
+
+	@Override
+	public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+			ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+
+		Documents documents = this.documents;
+
+		String id = getDocumentId(executionInput);
+		if (id != null) {
+			PreparsedDocumentEntry entry = documents.byId().get(id);
+			return CompletableFuture.completedFuture((entry != null) ? entry :
+					new PreparsedDocumentEntry(new PersistedQueryNotFound(id)));
+		}
+
+		PreparsedDocumentEntry entry = documents.byText().get(executionInput.getQuery());
+		if (entry != null) {
+			return CompletableFuture.completedFuture(entry);
+		}
+
+		if (this.allowUnregisteredDocuments) {
+			PreparsedDocumentProvider provider = this.unregisteredDocumentProvider;
+			return (provider != null) ?
+					provider.getDocumentAsync(executionInput, parseAndValidateFunction) :
+					CompletableFuture.completedFuture(parseAndValidateFunction.apply(executionInput));
+		}
+
+		GraphQLError error = GraphqlErrorBuilder.newError()
+				.message("Document is not in the trusted documents registry")
+				.errorType(ErrorType.FORBIDDEN)
+				.build();
+		return CompletableFuture.completedFuture(new PreparsedDocumentEntry(error));
+	}
+
+	@Nullable
+	private static String getDocumentId(ExecutionInput executionInput) {
+		if (executionInput.getExtensions().get(PERSISTED_QUERY_KEY) instanceof Map<?, ?> persistedQuery &&
+				persistedQuery.get(HASH_KEY) instanceof String hash) {
+			return hash;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Create a registry that loads documents from a JSON manifest. The manifest
+	 * may be in the Apollo persisted query manifest format, i.e. an object with
+	 * an {@code "operations"} array of objects with {@code "id"} and
+	 * {@code "body"} properties, or a JSON object that maps ids to document
+	 * text as generated by Relay.
+	 * @param manifest the manifest resource, read on initialization and reload
+	 * @return the created registry
+	 */
+	public static TrustedDocumentRegistry fromManifest(Resource manifest) {
+		Assert.notNull(manifest, "Manifest Resource is required");
+		return new TrustedDocumentRegistry(() -> ManifestReader.read(manifest));
+	}
+
+	/**
+	 * Create a registry that loads documents by name from a
+	 * {@link DocumentSource}, e.g. a
+	 * {@link org.springframework.graphql.support.ResourceDocumentSource},
+	 * and uses the names as ids.
+	 * @param documentSource the source to load documents from
+	 * @param names the names of the documents to load
+	 * @return the created registry
+	 */
+	public static TrustedDocumentRegistry fromDocumentSource(DocumentSource documentSource, Collection<String> names) {
+		Assert.notNull(documentSource, "DocumentSource is required");
+		return new TrustedDocumentRegistry(() -> {
+			Map<String, String> documents = new LinkedHashMap<>(names.size());
+			for (String name : names) {
+				String document = documentSource.getDocument(name).block();
+				Assert.state(document != null, "No document for name '" + name + "'");
+				documents.put(name, document);
+			}
+			return documents;
+		});
+	}
+
+
+	private record Documents(
+			Map<String, PreparsedDocumentEntry> byId, Map<String, PreparsedDocumentEntry> byText,
+			Map<String, String> text) {
+	}
+
+
+	/**
+	 * Reads a JSON manifest with Jackson, which is an optional dependency.
+	 */
+	private static final class ManifestReader {
+
+		static Map<String, String> read(Resource manifest) {
+			JsonNode root;
+			try (InputStream inputStream = manifest.getInputStream()) {
+				root = new ObjectMapper().readTree(inputStream);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to read trusted documents manifest " + manifest, ex);
+			}
+			Map<String, String> documents = new LinkedHashMap<>();
+			JsonNode operations = root.get("operations");
+			if (operations != null && operations.isArray()) {
+				for (JsonNode operation : operations) {
+					documents.put(operation.path("id").asText(), operation.path("body").asText());
+				}
+			}
+			else {
+				Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+				while (fields.hasNext()) {
+					Map.Entry<String, JsonNode> field = fields.next();
+					documents.put(field.getKey(), field.getValue().asText());
+				}
+			}
+			return documents;
+		}
+	}
+
+}
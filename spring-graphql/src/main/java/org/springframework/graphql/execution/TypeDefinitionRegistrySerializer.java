@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import graphql.GraphQL;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.lang.Nullable;
+
+/**
+ * Writes and reads a merged {@link TypeDefinitionRegistry} as a compact binary
+ * artifact, so that it can be created from schema files at build time, and
+ * loaded at runtime through
+ * {@link GraphQlSource.SchemaResourceBuilder#serializedTypeDefinitionRegistry(Resource)}
+ * instead of parsing the schema files on startup.
+ *
+ * <p>The artifact is a GZIP compressed Java serialization of the registry,
+ * preceded by a header with the GraphQL Java version that created it, and a
+ * hash of the content of the schema files it was created from. An artifact
+ * whose header does not match the GraphQL Java version and schema files at
+ * runtime is considered stale, and not used. It should be created as part of
+ * the build, for example by running {@link #main(String[])} with the output
+ * file followed by schema resource locations:
+ * <pre class="code">
+ * java org.springframework.graphql.execution.TypeDefinitionRegistrySerializer \
+ *     build/resources/main/graphql/schema.bin "classpath*:graphql/**&#47;*.graphqls"
+ * </pre>
+ *
+ * <p>{@link TypeDefinitionConfigurer}s are applied to the loaded registry at
+ * runtime as they are for parsed schema files.
+ *
+ * @since 1.4.0
+ */
+public final class TypeDefinitionRegistrySerializer {
+
+	private static final Log logger = LogFactory.getLog(TypeDefinitionRegistrySerializer.class);
+
+	private static final ObjectInputFilter FILTER =
+			ObjectInputFilter.Config.createFilter("graphql.**;java.**;!*");
+
+	private static final String GRAPHQL_JAVA_VERSION = initGraphQlJavaVersion();
+
+
+	private TypeDefinitionRegistrySerializer() {
+	}
+
+
+	/**
+	 * Write the given registry to the given stream.
+	 * @param registry the registry to write
+	 * @param schemaResources the schema files the registry was created from
+	 * @param outputStream the stream to write to, which is not closed
+	 * @throws IOException if reading the schema files, or writing fails
+	 */
+	public static void write(
+			TypeDefinitionRegistry registry, Collection<Resource> schemaResources,
+			OutputStream outputStream) throws IOException {
+
+		GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream);
+		ObjectOutputStream objectStream = new ObjectOutputStream(gzipStream);
+		objectStream.writeUTF(GRAPHQL_JAVA_VERSION);
+		objectStream.writeUTF(hash(schemaResources));
+		objectStream.writeObject(registry);
+		objectStream.flush();
+		gzipStream.finish();
+	}
+
+	/**
+	 * Read a registry from the given resource, if it was created with the
+	 * current GraphQL Java version, and from the given schema files.
+	 * @param resource a resource created with
+	 * {@link #write(TypeDefinitionRegistry, Collection, OutputStream)}
+	 * @param schemaResources the schema files to check the registry was
+	 * created from, or an empty collection to skip the check
+	 * @return the registry, or {@code null} if the resource is stale, or
+	 * cannot be read, and the schema files should be parsed instead
+	 */
+	@Nullable
+	public static TypeDefinitionRegistry read(Resource resource, Collection<Resource> schemaResources) {
+		try (InputStream inputStream = resource.getInputStream()) {
+			ObjectInputStream objectStream = new ObjectInputStream(
+					new GZIPInputStream(new BufferedInputStream(inputStream)));
+			objectStream.setObjectInputFilter(FILTER);
+			String version = objectStream.readUTF();
+			if (!GRAPHQL_JAVA_VERSION.equals(version)) {
+				logger.info("Ignoring " + resource.getDescription() + " created with GraphQL Java " + version +
+						" rather than " + GRAPHQL_JAVA_VERSION);
+				return null;
+			}
+			String hash = objectStream.readUTF();
+			if (!schemaResources.isEmpty() && !hash(schemaResources).equals(hash)) {
+				logger.info("Ignoring " + resource.getDescription() + " created from other schema files");
+				return null;
+			}
+			return (TypeDefinitionRegistry) objectStream.readObject();
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException ex) {
+			logger.warn("Failed to read TypeDefinitionRegistry from " + resource.getDescription(), ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Hash the content of the given schema files, independent of their order,
+	 * since resource location patterns may not resolve them in the same order.
+	 */
+	private static String hash(Collection<Resource> schemaResources) throws IOException {
+		List<String> digests = new ArrayList<>(schemaResources.size());
+		for (Resource resource : schemaResources) {
+			try (InputStream inputStream = resource.getInputStream()) {
+				digests.add(HexFormat.of().formatHex(createDigest().digest(inputStream.readAllBytes())));
+			}
+		}
+		Collections.sort(digests);
+		MessageDigest digest = createDigest();
+		digests.forEach((value) -> digest.update(value.getBytes(StandardCharsets.US_ASCII)));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+	private static String initGraphQlJavaVersion() {
+		String version = GraphQL.class.getPackage().getImplementationVersion();
+		return (version != null) ? version : "unknown";
+	}
+
+	/**
+	 * Parse and merge schema files, and write the registry to a file.
+	 * @param args the output file, followed by one or more schema resource
+	 * locations, or location patterns
+	 * @throws IOException if resolving resources or writing fails
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException("Expected output file and schema resource locations");
+		}
+		PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+		List<Resource> resources = new ArrayList<>();
+		for (String location : Arrays.copyOfRange(args, 1, args.length)) {
+			resources.addAll(Arrays.asList(resolver.getResources(location)));
+		}
+		TypeDefinitionRegistry registry = DefaultSchemaResourceGraphQlSourceBuilder.parseSchemaResources(resources);
+		Path output = Path.of(args[0]);
+		if (output.getParent() != null) {
+			Files.createDirectories(output.getParent());
+		}
+		try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(output))) {
+			write(registry, resources, outputStream);
+		}
+	}
+
+}
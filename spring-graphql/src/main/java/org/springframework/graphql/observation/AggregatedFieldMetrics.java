@@ -0,0 +1,285 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.observation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Aggregated latency and error metrics for data fetching operations, kept
+ * per field coordinate, e.g. {@code "Book.author"}, as an alternative to
+ * creating an {@link io.micrometer.observation.Observation} for every
+ * field invocation.
+ *
+ * <p>Metrics are preallocated for all fields of a schema when the schema is
+ * {@link #register(GraphQLSchema) registered}, and recorded into striped
+ * counters and a histogram with power of 2 microsecond buckets, so that
+ * recording a field invocation does not create any objects. Register with
+ * {@link GraphQlObservationInstrumentation#setFieldMetrics(AggregatedFieldMetrics)}
+ * to record metrics for all requests.
+ *
+ * @since 1.4.0
+ */
+public class AggregatedFieldMetrics {
+
+	/**
+	 * The number of histogram buckets. Bucket {@code 0} is for invocations
+	 * under 1 microsecond, bucket {@code n} is for invocations under
+	 * {@code 2^n} microseconds, and the last bucket is for all other invocations.
+	 */
+	public static final int BUCKET_COUNT = 32;
+
+
+	@Nullable
+	private volatile Registration registration;
+
+
+	/**
+	 * Preallocate metrics for the fields of the given schema, keeping the
+	 * metrics for fields that were registered for a previous schema.
+	 * @param schema the schema to register
+	 */
+	public synchronized void register(GraphQLSchema schema) {
+		Registration existing = this.registration;
+		if (existing != null && existing.schema() == schema) {
+			return;
+		}
+		Map<String, Map<String, FieldMetrics>> metrics = new HashMap<>();
+		for (GraphQLNamedType type : schema.getAllTypesAsList()) {
+			if (type instanceof GraphQLObjectType objectType && !objectType.getName().startsWith("__")) {
+				Map<String, FieldMetrics> fieldMetrics = new HashMap<>();
+				for (GraphQLFieldDefinition field : objectType.getFieldDefinitions()) {
+					FieldMetrics previous = (existing != null) ?
+							existing.getFieldMetrics(objectType.getName(), field.getName()) : null;
+					fieldMetrics.put(field.getName(), (previous != null) ?
+							previous : new FieldMetrics(FieldCoordinates.coordinates(objectType, field)));
+				}
+				metrics.put(objectType.getName(), Map.copyOf(fieldMetrics));
+			}
+		}
+		this.registration = new Registration(schema, Map.copyOf(metrics));
+	}
+
+	/**
+	 * Whether the given schema is the one that is currently registered.
+	 * @param schema the schema to check
+	 */
+	public boolean isRegistered(GraphQLSchema schema) {
+		Registration registration = this.registration;
+		return (registration != null && registration.schema() == schema);
+	}
+
+	/**
+	 * Return the metrics for the given field coordinate.
+	 * @param typeName the name of the object type
+	 * @param fieldName the name of the field
+	 * @return the metrics, or {@code null} if the field is not registered
+	 */
+	@Nullable
+	public FieldMetrics getFieldMetrics(String typeName, String fieldName) {
+		Registration registration = this.registration;
+		return (registration != null) ? registration.getFieldMetrics(typeName, fieldName) : null;
+	}
+
+	/**
+	 * Return the metrics for all registered fields.
+	 */
+	public List<FieldMetrics> getFieldMetrics() {
+		Registration registration = this.registration;
+		if (registration == null) {
+			return Collections.emptyList();
+		}
+		List<FieldMetrics> result = new ArrayList<>();
+		registration.metrics().values().forEach((fieldMetrics) -> result.addAll(fieldMetrics.values()));
+		return result;
+	}
+
+
+	private record Registration(GraphQLSchema schema, Map<String, Map<String, FieldMetrics>> metrics) {
+
+		@Nullable
+		FieldMetrics getFieldMetrics(String typeName, String fieldName) {
+			Map<String, FieldMetrics> fieldMetrics = this.metrics.get(typeName);
+			return (fieldMetrics != null) ? fieldMetrics.get(fieldName) : null;
+		}
+	}
+
+
+	/**
+	 * Latency and error metrics for a single field coordinate.
+	 */
+	public static final class FieldMetrics {
+
+		private final FieldCoordinates coordinates;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final LongAdder totalTime = new LongAdder();
+
+		private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+		private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+		@Nullable
+		private volatile DataFetcher<?> dataFetcher;
+
+		FieldMetrics(FieldCoordinates coordinates) {
+			this.coordinates = coordinates;
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				this.buckets[i] = new LongAdder();
+			}
+		}
+
+		/**
+		 * Return the coordinates of the field.
+		 */
+		public FieldCoordinates getCoordinates() {
+			return this.coordinates;
+		}
+
+		/**
+		 * Return the number of recorded invocations.
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/**
+		 * Return the number of recorded invocations that failed.
+		 */
+		public long getErrorCount() {
+			return this.errorCount.sum();
+		}
+
+		/**
+		 * Return the total time of all recorded invocations.
+		 */
+		public Duration getTotalTime() {
+			return Duration.ofNanos(this.totalTime.sum());
+		}
+
+		/**
+		 * Return the maximum time of a recorded invocation.
+		 */
+		public Duration getMaxTime() {
+			return Duration.ofNanos(this.maxTime.get());
+		}
+
+		/**
+		 * Return the number of recorded invocations in each histogram bucket.
+		 * @see #BUCKET_COUNT
+		 * @see #getBucketUpperBound(int)
+		 */
+		public long[] getHistogram() {
+			long[] histogram = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				histogram[i] = this.buckets[i].sum();
+			}
+			return histogram;
+		}
+
+		/**
+		 * Return an estimate of the time within which the given percentage
+		 * of recorded invocations completed, as the upper bound of the
+		 * histogram bucket the percentile falls into.
+		 * @param percentile the percentile, between 0 and 1
+		 */
+		public Duration getPercentile(double percentile) {
+			long[] histogram = getHistogram();
+			long total = 0;
+			for (long bucketCount : histogram) {
+				total += bucketCount;
+			}
+			if (total == 0) {
+				return Duration.ZERO;
+			}
+			long rank = (long) Math.ceil(total * percentile);
+			long seen = 0;
+			for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+				seen += histogram[i];
+				if (seen >= rank) {
+					return getBucketUpperBound(i);
+				}
+			}
+			return getMaxTime();
+		}
+
+		/**
+		 * Return the exclusive upper bound of the histogram bucket at the given index.
+		 * @param index the bucket index
+		 */
+		public static Duration getBucketUpperBound(int index) {
+			return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(1L << index));
+		}
+
+		/**
+		 * Record an invocation.
+		 * @param nanos the time the invocation took, in nanoseconds
+		 * @param error whether the invocation failed
+		 */
+		public void record(long nanos, boolean error) {
+			this.count.increment();
+			if (error) {
+				this.errorCount.increment();
+			}
+			this.totalTime.add(nanos);
+			this.maxTime.accumulate(nanos);
+			long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+			int index = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+			this.buckets[index].increment();
+		}
+
+		/**
+		 * Return the cached instrumented data fetcher, if any.
+		 */
+		@Nullable
+		DataFetcher<?> getDataFetcher() {
+			return this.dataFetcher;
+		}
+
+		/**
+		 * Cache the instrumented data fetcher to reuse for subsequent invocations.
+		 */
+		void setDataFetcher(DataFetcher<?> dataFetcher) {
+			this.dataFetcher = dataFetcher;
+		}
+
+		@Override
+		public String toString() {
+			return this.coordinates + "[count=" + getCount() + ", errors=" + getErrorCount() + "]";
+		}
+	}
+
+}
@@ -19,9 +19,12 @@ package org.springframework.graphql.observation;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
 
 import graphql.ExecutionResult;
 import graphql.GraphQLContext;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.ExecutionStepInfo;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.InstrumentationState;
 import graphql.execution.instrumentation.SimpleInstrumentationContext;
@@ -36,7 +39,9 @@ import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
 
+import org.springframework.graphql.observation.AggregatedFieldMetrics.FieldMetrics;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * {@link graphql.execution.instrumentation.Instrumentation} that creates
@@ -51,6 +56,10 @@ import org.springframework.lang.Nullable;
  * Information is collected from the {@link DataFetcherObservationContext}.
  * The configured {@link DataFetcherObservationConvention} will be used,
  * or the {@link DefaultDataFetcherObservationConvention} if none was provided.
+ * <p>Data fetcher observations can be limited to a fraction of requests through
+ * {@link #setDataFetcherSamplingProbability(double)}. In addition, or instead,
+ * {@link #setFieldMetrics(AggregatedFieldMetrics) aggregated field metrics} can
+ * be recorded for all requests, without creating objects per field invocation.
  *
  * @author Brian Clozel
  * @since 1.1.0
@@ -71,6 +80,11 @@ public class GraphQlObservationInstrumentation extends SimplePerformantInstrumen
 	@Nullable
 	private final DataFetcherObservationConvention dataFetcherObservationConvention;
 
+	private double dataFetcherSamplingProbability = 1.0;
+
+	@Nullable
+	private AggregatedFieldMetrics fieldMetrics;
+
 	/**
 	 * Create an {@code GraphQlObservationInstrumentation} that records observations
 	 * against the given {@link ObservationRegistry}. The default observation
@@ -96,15 +110,53 @@ public class GraphQlObservationInstrumentation extends SimplePerformantInstrumen
 		this.dataFetcherObservationConvention = dateFetcherObservationConvention;
 	}
 
+
+	/**
+	 * Configure the probability that a request is sampled for data fetcher
+	 * observations, with the decision made once per request. Requests that
+	 * are not sampled still have a request observation, and still record
+	 * {@link #setFieldMetrics(AggregatedFieldMetrics) field metrics}.
+	 * <p>By default, this is set to 1.0, and all requests are sampled.
+	 * @param probability the probability, between 0.0 and 1.0
+	 * @since 1.4.0
+	 */
+	public void setDataFetcherSamplingProbability(double probability) {
+		Assert.isTrue(probability >= 0.0 && probability <= 1.0, "'probability' must be between 0.0 and 1.0");
+		this.dataFetcherSamplingProbability = probability;
+	}
+
+	/**
+	 * Configure aggregated metrics to record the latency and errors of
+	 * non-trivial data fetching operations into, for all requests. This is
+	 * typically combined with a low
+	 * {@link #setDataFetcherSamplingProbability(double) sampling probability}.
+	 * <p>By default, this is not set.
+	 * @param fieldMetrics the metrics to record into
+	 * @since 1.4.0
+	 */
+	public void setFieldMetrics(@Nullable AggregatedFieldMetrics fieldMetrics) {
+		this.fieldMetrics = fieldMetrics;
+	}
+
+
 	@Override
 	public CompletableFuture<InstrumentationState> createStateAsync(InstrumentationCreateStateParameters parameters) {
-		return CompletableFuture.completedFuture(RequestObservationInstrumentationState.INSTANCE);
+		if (this.fieldMetrics != null && !this.fieldMetrics.isRegistered(parameters.getSchema())) {
+			this.fieldMetrics.register(parameters.getSchema());
+		}
+		return CompletableFuture.completedFuture(isSampled() ?
+				RequestObservationInstrumentationState.INSTANCE : RequestObservationInstrumentationState.NOT_SAMPLED);
+	}
+
+	private boolean isSampled() {
+		double probability = this.dataFetcherSamplingProbability;
+		return (probability >= 1.0 || (probability > 0.0 && ThreadLocalRandom.current().nextDouble() < probability));
 	}
 
 	@Override
 	public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
 			InstrumentationState state) {
-		if (state == RequestObservationInstrumentationState.INSTANCE) {
+		if (state instanceof RequestObservationInstrumentationState) {
 			ExecutionRequestObservationContext observationContext = new ExecutionRequestObservationContext(parameters.getExecutionInput());
 			Observation requestObservation = GraphQlObservationDocumentation.EXECUTION_REQUEST.observation(this.requestObservationConvention,
 					DEFAULT_REQUEST_CONVENTION, () -> observationContext, this.observationRegistry);
@@ -137,51 +189,62 @@ public class GraphQlObservationInstrumentation extends SimplePerformantInstrumen
 	@Override
 	public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
 			InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
-		if (!parameters.isTrivialDataFetcher()
-				&& state == RequestObservationInstrumentationState.INSTANCE) {
-			return (environment) -> {
-				DataFetcherObservationContext observationContext = new DataFetcherObservationContext(environment);
-				Observation dataFetcherObservation = GraphQlObservationDocumentation.DATA_FETCHER.observation(this.dataFetcherObservationConvention,
-						DEFAULT_DATA_FETCHER_CONVENTION, () -> observationContext, this.observationRegistry);
-				dataFetcherObservation.parentObservation(getCurrentObservation(environment));
-				dataFetcherObservation.start();
-
-				DataFetchingEnvironment dataFetchingEnvironment = wrapDataFetchingEnvironment(environment, dataFetcherObservation);
-				try {
-					Object value = dataFetcher.get(dataFetchingEnvironment);
-					if (value instanceof CompletionStage<?> completion) {
-						return completion.handle((result, error) -> {
-							observationContext.setValue(result);
-							if (error != null) {
-								if (error instanceof CompletionException completionException) {
-									dataFetcherObservation.error(error.getCause());
-									dataFetcherObservation.stop();
-									throw completionException;
-								}
-								else {
-									dataFetcherObservation.error(error);
-									dataFetcherObservation.stop();
-									throw new CompletionException(error);
-								}
+		if (parameters.isTrivialDataFetcher()
+				|| !(state instanceof RequestObservationInstrumentationState observationState)) {
+			return dataFetcher;
+		}
+		DataFetcher<?> result = dataFetcher;
+		if (observationState.isSampled()) {
+			result = observeDataFetcher(dataFetcher);
+		}
+		if (this.fieldMetrics != null) {
+			result = recordFieldMetrics(this.fieldMetrics, result, parameters, (result == dataFetcher));
+		}
+		return result;
+	}
+
+	private DataFetcher<?> observeDataFetcher(DataFetcher<?> dataFetcher) {
+		return (environment) -> {
+			DataFetcherObservationContext observationContext = new DataFetcherObservationContext(environment);
+			Observation dataFetcherObservation = GraphQlObservationDocumentation.DATA_FETCHER.observation(this.dataFetcherObservationConvention,
+					DEFAULT_DATA_FETCHER_CONVENTION, () -> observationContext, this.observationRegistry);
+			dataFetcherObservation.parentObservation(getCurrentObservation(environment));
+			dataFetcherObservation.start();
+
+			DataFetchingEnvironment dataFetchingEnvironment = wrapDataFetchingEnvironment(environment, dataFetcherObservation);
+			try {
+				Object value = dataFetcher.get(dataFetchingEnvironment);
+				if (value instanceof CompletionStage<?> completion) {
+					return completion.handle((result, error) -> {
+						observationContext.setValue(result);
+						if (error != null) {
+							if (error instanceof CompletionException completionException) {
+								dataFetcherObservation.error(error.getCause());
+								dataFetcherObservation.stop();
+								throw completionException;
 							}
-							dataFetcherObservation.stop();
-							return result;
-						});
-					}
-					else {
-						observationContext.setValue(value);
+							else {
+								dataFetcherObservation.error(error);
+								dataFetcherObservation.stop();
+								throw new CompletionException(error);
+							}
+						}
 						dataFetcherObservation.stop();
-						return value;
-					}
+						return result;
+					});
 				}
-				catch (Throwable throwable) {
-					dataFetcherObservation.error(throwable);
+				else {
+					observationContext.setValue(value);
 					dataFetcherObservation.stop();
-					throw throwable;
+					return value;
 				}
-			};
-		}
-		return dataFetcher;
+			}
+			catch (Throwable throwable) {
+				dataFetcherObservation.error(throwable);
+				dataFetcherObservation.stop();
+				throw throwable;
+			}
+		};
 	}
 
 	@Nullable
@@ -212,11 +275,76 @@ public class GraphQlObservationInstrumentation extends SimplePerformantInstrumen
 		return environment;
 	}
 
+	private static DataFetcher<?> recordFieldMetrics(AggregatedFieldMetrics metrics, DataFetcher<?> dataFetcher,
+			InstrumentationFieldFetchParameters parameters, boolean reuse) {
+
+		ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+		FieldMetrics fieldMetrics = metrics.getFieldMetrics(
+				stepInfo.getObjectType().getName(), stepInfo.getFieldDefinition().getName());
+		if (fieldMetrics == null) {
+			return dataFetcher;
+		}
+		if (!reuse) {
+			return new FieldMetricsDataFetcher(dataFetcher, fieldMetrics);
+		}
+		// reuse across invocations to avoid creating objects per field invocation
+		if (fieldMetrics.getDataFetcher() instanceof FieldMetricsDataFetcher cached && cached.delegate() == dataFetcher) {
+			return cached;
+		}
+		FieldMetricsDataFetcher metricsDataFetcher = new FieldMetricsDataFetcher(dataFetcher, fieldMetrics);
+		fieldMetrics.setDataFetcher(metricsDataFetcher);
+		return metricsDataFetcher;
+	}
+
 
 	static class RequestObservationInstrumentationState implements InstrumentationState {
 
-		static final RequestObservationInstrumentationState INSTANCE = new RequestObservationInstrumentationState();
+		static final RequestObservationInstrumentationState INSTANCE = new RequestObservationInstrumentationState(true);
+
+		static final RequestObservationInstrumentationState NOT_SAMPLED = new RequestObservationInstrumentationState(false);
+
+		private final boolean sampled;
 
+		RequestObservationInstrumentationState(boolean sampled) {
+			this.sampled = sampled;
+		}
+
+		boolean isSampled() {
+			return this.sampled;
+		}
+
+	}
+
+
+	/**
+	 * DataFetcher that records the latency and outcome of invocations into
+	 * the {@link FieldMetrics} for the field.
+	 */
+	private record FieldMetricsDataFetcher(DataFetcher<?> delegate, FieldMetrics fieldMetrics)
+			implements DataFetcher<Object> {
+
+		@Override
+		public Object get(DataFetchingEnvironment environment) throws Exception {
+			long start = System.nanoTime();
+			Object value;
+			try {
+				value = this.delegate.get(environment);
+			}
+			catch (Throwable ex) {
+				this.fieldMetrics.record(System.nanoTime() - start, true);
+				throw ex;
+			}
+			if (value instanceof CompletionStage<?> completion) {
+				return completion.whenComplete((result, ex) ->
+						this.fieldMetrics.record(System.nanoTime() - start, (ex != null || hasErrors(result))));
+			}
+			this.fieldMetrics.record(System.nanoTime() - start, hasErrors(value));
+			return value;
+		}
+
+		private static boolean hasErrors(@Nullable Object value) {
+			return (value instanceof DataFetcherResult<?> result && result.hasErrors());
+		}
 	}
 
 }
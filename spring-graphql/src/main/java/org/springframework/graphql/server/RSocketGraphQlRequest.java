@@ -19,6 +19,7 @@ package org.springframework.graphql.server;
 import java.util.Locale;
 import java.util.Map;
 
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
 import io.rsocket.exceptions.RejectedException;
 
 import org.springframework.graphql.ExecutionGraphQlRequest;
@@ -49,7 +50,11 @@ public class RSocketGraphQlRequest extends DefaultExecutionGraphQlRequest implem
 
 	@SuppressWarnings("unchecked")
 	private static <T> T getKey(String key, Map<String, Object> body) {
-		if (key.equals("query") && !StringUtils.hasText((String) body.get(key))) {
+		if (key.equals(QUERY_KEY) && body.get(key) == null &&
+				body.get(EXTENSIONS_KEY) instanceof Map<?, ?> extensions && extensions.get("persistedQuery") != null) {
+			return (T) PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+		}
+		if (key.equals(QUERY_KEY) && !StringUtils.hasText((String) body.get(key))) {
 			throw new RejectedException("No \"query\" in the request document");
 		}
 		return (T) body.get(key);
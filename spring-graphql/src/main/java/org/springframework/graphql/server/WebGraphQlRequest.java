@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
 import org.springframework.graphql.ExecutionGraphQlRequest;
 import org.springframework.graphql.GraphQlRequest;
 import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
@@ -150,6 +152,12 @@ public class WebGraphQlRequest extends DefaultExecutionGraphQlRequest implements
 
 	private static String getQuery(Map<String, Object> body) {
 		Object value = body.get(QUERY_KEY);
+		if (value == null) {
+			Map<String, Object> extensions = getMap(EXTENSIONS_KEY, body);
+			if (extensions != null && extensions.get("persistedQuery") != null) {
+				return PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+			}
+		}
 		if (!(value instanceof String query) || !StringUtils.hasText(query)) {
 			throw new ServerWebInputException("Invalid value for '" + QUERY_KEY + "'");
 		}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.graphql.data.federation.FederatedTracingInstrumentation;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+
+/**
+ * Interceptor that enables Apollo federated tracing for requests from a
+ * federation router with the
+ * {@value FederatedTracingInstrumentation#TRACING_HEADER_NAME} header set to
+ * {@value FederatedTracingInstrumentation#TRACING_HEADER_VALUE}. A
+ * {@link FederatedTracingInstrumentation} must be configured on the
+ * {@link org.springframework.graphql.execution.GraphQlSource} to record the trace.
+ *
+ * @since 1.4.0
+ */
+public class FederatedTracingInterceptor implements WebGraphQlInterceptor {
+
+	@Override
+	public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+		String value = request.getHeaders().getFirst(FederatedTracingInstrumentation.TRACING_HEADER_NAME);
+		if (FederatedTracingInstrumentation.TRACING_HEADER_VALUE.equals(value)) {
+			FederatedTracingInstrumentation.enableTracing(request);
+		}
+		return chain.next(request);
+	}
+
+}
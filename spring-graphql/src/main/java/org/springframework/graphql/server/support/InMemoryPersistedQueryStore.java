@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.graphql.support.ConcurrentLruMap;
+
+/**
+ * {@link PersistedQueryStore} that keeps documents in memory, evicting the
+ * least recently used document once the maximum number of entries is reached.
+ * Lookups do not lock, see {@link ConcurrentLruMap}.
+ *
+ * @since 1.4.0
+ */
+public class InMemoryPersistedQueryStore implements PersistedQueryStore {
+
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+
+	private final ConcurrentLruMap<String, String> documents;
+
+
+	/**
+	 * Create an instance that stores up to 1000 documents.
+	 */
+	public InMemoryPersistedQueryStore() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Create an instance that stores up to the given number of documents.
+	 * @param maxEntries the maximum number of documents to store
+	 */
+	public InMemoryPersistedQueryStore(int maxEntries) {
+		this.documents = new ConcurrentLruMap<>(maxEntries);
+	}
+
+
+	@Override
+	public Mono<String> getDocument(String hash) {
+		return Mono.fromSupplier(() -> this.documents.get(hash));
+	}
+
+	@Override
+	public Mono<Void> saveDocument(String hash, String document) {
+		return Mono.fromRunnable(() -> this.documents.put(hash, document));
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import java.util.List;
+import java.util.Map;
+
+import graphql.ExperimentalApi;
+import graphql.incremental.DelayedIncrementalPartialResult;
+import graphql.incremental.IncrementalExecutionResult;
+import reactor.core.publisher.Flux;
+
+import org.springframework.graphql.ExecutionGraphQlRequest;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.http.MediaType;
+
+/**
+ * Helper for transports that support incremental delivery of results for
+ * operations with {@code @defer}, sending the initial result followed by
+ * incremental payloads as they become available.
+ *
+ * <p>Incremental support in GraphQL Java is experimental, and is enabled per
+ * request through {@link #enableIncrementalDelivery(ExecutionGraphQlRequest)}.
+ * When not enabled, {@code @defer} is ignored and the full result is returned
+ * at once.
+ *
+ * @since 1.4.0
+ */
+public final class IncrementalDeliverySupport {
+
+	/**
+	 * Media type for an incremental response as a {@code multipart/mixed} body,
+	 * with one JSON part per payload, as expected by clients.
+	 */
+	public static final MediaType MULTIPART_MIXED =
+			MediaType.parseMediaType("multipart/mixed;boundary=\"-\";deferSpec=20220824");
+
+
+	private IncrementalDeliverySupport() {
+	}
+
+
+	/**
+	 * Whether any of the given accepted media types is {@code multipart/mixed}.
+	 * @param acceptedMediaTypes the media types from the "Accept" header
+	 */
+	public static boolean isMultipartAccepted(List<MediaType> acceptedMediaTypes) {
+		for (MediaType mediaType : acceptedMediaTypes) {
+			if (MediaType.MULTIPART_MIXED.equalsTypeAndSubtype(mediaType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Enable incremental delivery for the given request.
+	 * @param request the request to configure
+	 */
+	public static void enableIncrementalDelivery(ExecutionGraphQlRequest request) {
+		request.configureExecutionInput((input, builder) -> {
+			input.getGraphQLContext().put(ExperimentalApi.ENABLE_INCREMENTAL_SUPPORT, true);
+			return input;
+		});
+	}
+
+	/**
+	 * Whether the response has payloads that are yet to be delivered.
+	 * @param response the response to check
+	 */
+	public static boolean isIncremental(ExecutionGraphQlResponse response) {
+		return (response.getExecutionResult() instanceof IncrementalExecutionResult result && result.hasNext());
+	}
+
+	/**
+	 * Return the initial result, followed by any incremental payloads, each
+	 * as a map that follows the serialization format of the spec.
+	 * @param response the response to get the payloads from
+	 */
+	public static Flux<Map<String, Object>> getPayloads(ExecutionGraphQlResponse response) {
+		Flux<Map<String, Object>> initial = Flux.just(response.toMap());
+		if (response.getExecutionResult() instanceof IncrementalExecutionResult result && result.hasNext()) {
+			return initial.concatWith(Flux.from(result.getIncrementalItemPublisher())
+					.map(DelayedIncrementalPartialResult::toSpecification));
+		}
+		return initial;
+	}
+
+}
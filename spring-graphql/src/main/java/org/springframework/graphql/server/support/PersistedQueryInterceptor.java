@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import reactor.core.publisher.Mono;
+
+import org.springframework.graphql.ExecutionGraphQlRequest;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.RSocketGraphQlInterceptor;
+import org.springframework.graphql.server.RSocketGraphQlRequest;
+import org.springframework.graphql.server.RSocketGraphQlResponse;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Interceptor that implements the Apollo
+ * <a href="https://www.apollographql.com/docs/apollo-server/performance/apq/">Automatic
+ * Persisted Queries</a> protocol, allowing clients to send the SHA-256 hash of
+ * a document in the {@code "extensions.persistedQuery.sha256Hash"} request
+ * extension instead of the document itself.
+ *
+ * <p>If the request has a hash but no document, the document is looked up in
+ * the {@link PersistedQueryStore}, and if not found, a
+ * {@code "PersistedQueryNotFound"} error is returned without executing the
+ * request. The client then retries with both the hash and the document, and
+ * the document is registered in the store once its hash is verified.
+ *
+ * <p>Can be registered as a {@link WebGraphQlInterceptor} for HTTP, SSE, and
+ * WebSocket transports, and as an {@link RSocketGraphQlInterceptor} for RSocket.
+ * A document resolved from the store is applied through
+ * {@link ExecutionGraphQlRequest#configureExecutionInput}, and therefore
+ * {@link ExecutionGraphQlRequest#getDocument()} continues to return
+ * {@link PersistedQuerySupport#PERSISTED_QUERY_MARKER} for such requests.
+ *
+ * @since 1.4.0
+ */
+public class PersistedQueryInterceptor implements WebGraphQlInterceptor, RSocketGraphQlInterceptor {
+
+	private static final String PERSISTED_QUERY_KEY = "persistedQuery";
+
+	private static final String HASH_KEY = "sha256Hash";
+
+
+	private final PersistedQueryStore store;
+
+
+	/**
+	 * Create an instance with an {@link InMemoryPersistedQueryStore}.
+	 */
+	public PersistedQueryInterceptor() {
+		this(new InMemoryPersistedQueryStore());
+	}
+
+	/**
+	 * Create an instance with the given store.
+	 * @param store the store for registered documents
+	 */
+	public PersistedQueryInterceptor(PersistedQueryStore store) {
+		Assert.notNull(store, "PersistedQueryStore is required");
+		this.store = store;
+	}
+
+
+	/**
+	 * Return the configured store.
+	 */
+	public PersistedQueryStore getStore() {
+		return this.store;
+	}
+
+
+	@Override
+	public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, WebGraphQlInterceptor.Chain chain) {
+		return interceptInternal(request, () -> chain.next(request), WebGraphQlResponse::new);
+	}
+
+	@Override
+	public Mono<RSocketGraphQlResponse> intercept(RSocketGraphQlRequest request, RSocketGraphQlInterceptor.Chain chain) {
+		return interceptInternal(request, () -> chain.next(request), RSocketGraphQlResponse::new);
+	}
+
+	private <T> Mono<T> interceptInternal(
+			ExecutionGraphQlRequest request, Supplier<Mono<T>> next,
+			Function<ExecutionGraphQlResponse, T> responseFactory) {
+
+		String hash = getHash(request);
+		if (hash == null) {
+			return next.get();
+		}
+
+		String document = request.getDocument();
+		if (isMarker(document)) {
+			return this.store.getDocument(hash)
+					.flatMap((storedDocument) -> {
+						request.configureExecutionInput((input, builder) -> builder.query(storedDocument).build());
+						return next.get();
+					})
+					.switchIfEmpty(Mono.fromSupplier(() ->
+							errorResponse(request, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND", responseFactory)));
+		}
+
+		if (!hash.equalsIgnoreCase(sha256(document))) {
+			return Mono.just(errorResponse(
+					request, "provided sha does not match query", "INVALID_PERSISTED_QUERY", responseFactory));
+		}
+
+		return this.store.saveDocument(hash, document).then(Mono.defer(next));
+	}
+
+	@Nullable
+	private static String getHash(ExecutionGraphQlRequest request) {
+		if (request.getExtensions().get(PERSISTED_QUERY_KEY) instanceof Map<?, ?> persistedQuery &&
+				persistedQuery.get(HASH_KEY) instanceof String hash) {
+			return hash;
+		}
+		return null;
+	}
+
+	private static boolean isMarker(String document) {
+		return (document.isEmpty() || document.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER));
+	}
+
+	private static String sha256(String document) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(document.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static <T> T errorResponse(
+			ExecutionGraphQlRequest request, String message, String code,
+			Function<ExecutionGraphQlResponse, T> responseFactory) {
+
+		GraphQLError error = GraphqlErrorBuilder.newError()
+				.message(message)
+				.errorType(ErrorType.BAD_REQUEST)
+				.extensions(Map.<String, Object>of("code", code))
+				.build();
+
+		ExecutionResult result = ExecutionResult.newExecutionResult().addError(error).build();
+		return responseFactory.apply(new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+	}
+
+}
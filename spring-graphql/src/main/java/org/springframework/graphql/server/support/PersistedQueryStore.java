@@ -0,0 +1,46 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Store for documents registered through Automatic Persisted Queries, keyed
+ * by the SHA-256 hash of the document.
+ *
+ * @since 1.4.0
+ * @see PersistedQueryInterceptor
+ * @see InMemoryPersistedQueryStore
+ */
+public interface PersistedQueryStore {
+
+	/**
+	 * Look up the document for the given hash.
+	 * @param hash the hex-encoded SHA-256 hash of the document
+	 * @return a {@code Mono} with the document, or empty if not found
+	 */
+	Mono<String> getDocument(String hash);
+
+	/**
+	 * Register a document under the given hash.
+	 * @param hash the hex-encoded SHA-256 hash of the document
+	 * @param document the document to register
+	 * @return a {@code Mono} that completes when the document is stored
+	 */
+	Mono<Void> saveDocument(String hash, String document);
+
+}
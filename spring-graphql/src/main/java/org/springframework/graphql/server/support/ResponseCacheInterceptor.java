@@ -0,0 +1,377 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import reactor.core.publisher.Mono;
+
+import org.springframework.graphql.execution.CacheControlInstrumentation;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.ConcurrentLruMap;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Interceptor that caches the results of query operations, serving subsequent
+ * identical requests from the cache without executing them, and sets
+ * {@code Cache-Control} and {@code ETag} response headers.
+ *
+ * <p>The cache policy comes from {@code @cacheControl} hints, and therefore a
+ * {@link CacheControlInstrumentation} must be configured on the
+ * {@link org.springframework.graphql.execution.GraphQlSource}. Only responses
+ * without errors, and with a public scope and a {@code maxAge} greater than 0
+ * are stored, and kept for {@code maxAge}.
+ *
+ * <p>The cache key is made up of the document, with insignificant whitespace,
+ * commas, and comments removed, the operation name, and the variables, along
+ * with the values of any configured {@link #setVaryHeaders(String...) vary
+ * headers}, and the value from the {@link #setVaryKeyFunction(Function) vary
+ * key function}, e.g. for a value from request attributes. This interceptor
+ * should be ordered ahead of other interceptors that are not meant to apply
+ * to cached responses.
+ *
+ * <p>The {@code ETag} is a hash of the serialized response, see
+ * {@link #setResponseSerializer(Function)}. If the {@code If-None-Match}
+ * request header matches it, the response is marked as
+ * {@link #isNotModified(WebGraphQlResponse) not modified}, and the HTTP
+ * handlers then respond with status 304 and no body.
+ *
+ * @since 1.4.0
+ */
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+	private static final boolean jackson2Present = ClassUtils.isPresent(
+			"com.fasterxml.jackson.databind.ObjectMapper", ResponseCacheInterceptor.class.getClassLoader());
+
+	private static final String NOT_MODIFIED_KEY = ResponseCacheInterceptor.class.getName() + ".NOT_MODIFIED";
+
+
+	private final ConcurrentLruMap<CacheKey, CachedResponse> cache;
+
+	private List<String> varyHeaders = Collections.emptyList();
+
+	@Nullable
+	private Function<WebGraphQlRequest, ?> varyKeyFunction;
+
+	@Nullable
+	private Function<Map<String, Object>, byte[]> responseSerializer =
+			(jackson2Present ? JacksonResponseSerializer.create() : null);
+
+
+	/**
+	 * Create an instance with a maximum of 1000 cached responses.
+	 */
+	public ResponseCacheInterceptor() {
+		this(1000);
+	}
+
+	/**
+	 * Create an instance with the given maximum number of cached responses,
+	 * evicting the least recently used response when full. Lookups do not
+	 * lock, see {@link ConcurrentLruMap}.
+	 * @param maxEntries the maximum number of cached responses
+	 */
+	public ResponseCacheInterceptor(int maxEntries) {
+		Assert.isTrue(maxEntries > 0, "'maxEntries' must be greater than 0");
+		this.cache = new ConcurrentLruMap<>(maxEntries);
+	}
+
+
+	/**
+	 * Configure request headers whose values are part of the cache key, and
+	 * that are listed in the {@code Vary} response header.
+	 * @param headerNames the names of the headers
+	 */
+	public void setVaryHeaders(String... headerNames) {
+		this.varyHeaders = List.of(headerNames);
+	}
+
+	/**
+	 * Configure a function to extract a value from the request to add to the
+	 * cache key, e.g. a tenant or locale from request attributes.
+	 * @param varyKeyFunction the function to use, which may return {@code null}
+	 */
+	public void setVaryKeyFunction(@Nullable Function<WebGraphQlRequest, ?> varyKeyFunction) {
+		this.varyKeyFunction = varyKeyFunction;
+	}
+
+	/**
+	 * Configure how to serialize a response in order to compute its
+	 * {@code ETag}, e.g. with the same {@code ObjectMapper} that is used to
+	 * write responses.
+	 * <p>By default, Jackson is used if present, or otherwise no {@code ETag}
+	 * is set.
+	 * @param responseSerializer the serializer to use
+	 */
+	public void setResponseSerializer(@Nullable Function<Map<String, Object>, byte[]> responseSerializer) {
+		this.responseSerializer = responseSerializer;
+	}
+
+	/**
+	 * Remove all cached responses.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+
+	@Override
+	public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+		CacheKey key = createKey(request);
+		CachedResponse cachedResponse = getCachedResponse(key);
+		if (cachedResponse != null) {
+			WebGraphQlResponse response = cachedResponse.toResponse(request.toExecutionInput(), this.varyHeaders);
+			checkNotModified(request, response, cachedResponse.eTag());
+			return Mono.just(response);
+		}
+		return chain.next(request).map((response) -> {
+			CacheControlInstrumentation.Hint hint =
+					CacheControlInstrumentation.getHint(response.getExecutionInput().getGraphQLContext());
+			if (hint == null || !hint.isCacheable()) {
+				return response;
+			}
+			if (hint.scope() == CacheControlInstrumentation.Scope.PRIVATE) {
+				CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(hint.maxAge())).cachePrivate();
+				response.getResponseHeaders().setCacheControl(cacheControl);
+				return response;
+			}
+			CachedResponse newResponse =
+					CachedResponse.create(response.toMap(), hint.maxAge(), this.responseSerializer);
+			this.cache.put(key, newResponse);
+			newResponse.applyHeaders(response.getResponseHeaders(), this.varyHeaders);
+			checkNotModified(request, response, newResponse.eTag());
+			return response;
+		});
+	}
+
+	private CacheKey createKey(WebGraphQlRequest request) {
+		String document = request.getDocument();
+		boolean persistedQuery = (document.isEmpty() || document.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER));
+		List<String> headerValues = Collections.emptyList();
+		if (!this.varyHeaders.isEmpty()) {
+			headerValues = new ArrayList<>(this.varyHeaders.size());
+			for (String headerName : this.varyHeaders) {
+				headerValues.add(String.valueOf(request.getHeaders().get(headerName)));
+			}
+		}
+		return new CacheKey(normalize(document), request.getOperationName(), request.getVariables(),
+				(persistedQuery ? request.getExtensions() : null), headerValues,
+				(this.varyKeyFunction != null) ? this.varyKeyFunction.apply(request) : null);
+	}
+
+	@Nullable
+	private CachedResponse getCachedResponse(CacheKey key) {
+		CachedResponse response = this.cache.get(key);
+		if (response != null && response.isExpired()) {
+			this.cache.remove(key, response);
+			return null;
+		}
+		return response;
+	}
+
+	private static void checkNotModified(
+			WebGraphQlRequest request, WebGraphQlResponse response, @Nullable String eTag) {
+
+		if (eTag == null) {
+			return;
+		}
+		String eTagValue = stripWeakIndicator(eTag);
+		for (String candidate : request.getHeaders().getIfNoneMatch()) {
+			if (candidate.equals("*") || stripWeakIndicator(candidate).equals(eTagValue)) {
+				response.getExecutionInput().getGraphQLContext().put(NOT_MODIFIED_KEY, true);
+				return;
+			}
+		}
+	}
+
+	private static String stripWeakIndicator(String eTag) {
+		return (eTag.startsWith("W/") ? eTag.substring(2) : eTag);
+	}
+
+	/**
+	 * Whether the given response is not modified, because the
+	 * {@code If-None-Match} header of the request matches its {@code ETag}.
+	 * HTTP transports respond with status 304 and no body in that case.
+	 * @param response the response to check
+	 */
+	public static boolean isNotModified(WebGraphQlResponse response) {
+		return Boolean.TRUE.equals(response.getExecutionInput().getGraphQLContext().get(NOT_MODIFIED_KEY));
+	}
+
+	/**
+	 * Remove insignificant whitespace, commas, and comments from the document,
+	 * leaving string values as they are.
+	 */
+	static String normalize(String document) {
+		StringBuilder builder = new StringBuilder(document.length());
+		boolean separate = false;
+		int index = 0;
+		while (index < document.length()) {
+			char c = document.charAt(index);
+			if (c == '"') {
+				int end = (document.startsWith("\"\"\"", index) ?
+						endOfBlockString(document, index) : endOfString(document, index));
+				if (separate && !builder.isEmpty() && isNameChar(builder.charAt(builder.length() - 1))) {
+					builder.append(' ');
+				}
+				builder.append(document, index, end);
+				separate = false;
+				index = end;
+			}
+			else if (c == '#') {
+				while (index < document.length() && document.charAt(index) != '\n' && document.charAt(index) != '\r') {
+					index++;
+				}
+				separate = true;
+			}
+			else if (c == ',' || c == '\uFEFF' || Character.isWhitespace(c)) {
+				separate = true;
+				index++;
+			}
+			else {
+				if (separate && !builder.isEmpty() &&
+						isNameChar(c) && isNameChar(builder.charAt(builder.length() - 1))) {
+					builder.append(' ');
+				}
+				builder.append(c);
+				separate = false;
+				index++;
+			}
+		}
+		return builder.toString();
+	}
+
+	private static int endOfString(String document, int start) {
+		for (int i = start + 1; i < document.length(); i++) {
+			char c = document.charAt(i);
+			if (c == '\\') {
+				i++;
+			}
+			else if (c == '"' || c == '\n' || c == '\r') {
+				return i + 1;
+			}
+		}
+		return document.length();
+	}
+
+	private static int endOfBlockString(String document, int start) {
+		int index = start + 3;
+		while (index < document.length()) {
+			if (document.startsWith("\\\"\"\"", index)) {
+				index += 4;
+			}
+			else if (document.startsWith("\"\"\"", index)) {
+				return index + 3;
+			}
+			else {
+				index++;
+			}
+		}
+		return document.length();
+	}
+
+	private static boolean isNameChar(char c) {
+		return (Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '@' || c == '-' || c == '.');
+	}
+
+
+	private record CacheKey(
+			String document, @Nullable String operationName, Map<String, Object> variables,
+			@Nullable Map<String, Object> extensions, List<String> headerValues, @Nullable Object varyKey) {
+	}
+
+
+	/**
+	 * Cached result along with its expiration and entity tag.
+	 */
+	private record CachedResponse(Map<String, Object> result, long expiresAt, @Nullable String eTag) {
+
+		static CachedResponse create(
+				Map<String, Object> result, int maxAge, @Nullable Function<Map<String, Object>, byte[]> serializer) {
+
+			String eTag = null;
+			if (serializer != null) {
+				eTag = "W/\"" + DigestUtils.md5DigestAsHex(serializer.apply(result)) + "\"";
+			}
+			return new CachedResponse(result, System.currentTimeMillis() + maxAge * 1000L, eTag);
+		}
+
+		boolean isExpired() {
+			return (this.expiresAt <= System.currentTimeMillis());
+		}
+
+		@SuppressWarnings("unchecked")
+		WebGraphQlResponse toResponse(ExecutionInput input, List<String> varyHeaders) {
+			ExecutionResult executionResult = ExecutionResult.newExecutionResult()
+					.data(this.result.get("data"))
+					.extensions((Map<Object, Object>) this.result.get("extensions"))
+					.build();
+			WebGraphQlResponse response = new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(input, executionResult));
+			applyHeaders(response.getResponseHeaders(), varyHeaders);
+			return response;
+		}
+
+		void applyHeaders(HttpHeaders headers, List<String> varyHeaders) {
+			long remaining = Math.max(0, (this.expiresAt - System.currentTimeMillis()) / 1000);
+			headers.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(remaining)).cachePublic());
+			if (this.eTag != null) {
+				headers.setETag(this.eTag);
+			}
+			if (!varyHeaders.isEmpty()) {
+				headers.setVary(varyHeaders);
+			}
+		}
+	}
+
+
+	/**
+	 * Serializes responses with Jackson, which is an optional dependency.
+	 */
+	private static final class JacksonResponseSerializer {
+
+		static Function<Map<String, Object>, byte[]> create() {
+			ObjectMapper mapper = new ObjectMapper();
+			return (result) -> {
+				try {
+					return mapper.writeValueAsBytes(result);
+				}
+				catch (JsonProcessingException ex) {
+					throw new IllegalStateException("Failed to serialize response", ex);
+				}
+			};
+		}
+	}
+
+}
@@ -29,6 +29,7 @@ import org.springframework.graphql.ResponseError;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlRequest;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.graphql.server.support.SerializableGraphQlRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -82,6 +83,10 @@ public abstract class AbstractGraphQlHttpHandler {
 							request.exchange().getRequest().getId(),
 							request.exchange().getLocaleContext().getLocale());
 
+					if (supportsIncrementalDelivery(request)) {
+						IncrementalDeliverySupport.enableIncrementalDelivery(graphQlRequest);
+					}
+
 					if (this.logger.isDebugEnabled()) {
 						this.logger.debug("Executing: " + graphQlRequest);
 					}
@@ -131,6 +136,18 @@ public abstract class AbstractGraphQlHttpHandler {
 		return Mono.error(ex);
 	}
 
+	/**
+	 * Whether to enable incremental delivery of {@code @defer} results for the
+	 * given request, in which case the response may have payloads that are yet
+	 * to be delivered, see {@link IncrementalDeliverySupport}.
+	 * <p>By default, this returns {@code false}.
+	 * @param request the current request
+	 * @since 1.4.0
+	 */
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return false;
+	}
+
 	/**
 	 * Prepare the {@link ServerResponse} for the given GraphQL response.
 	 * @param request the current request
@@ -139,6 +156,14 @@ public abstract class AbstractGraphQlHttpHandler {
 	 */
 	protected abstract Mono<ServerResponse> prepareResponse(ServerRequest request, WebGraphQlResponse response);
 
+	/**
+	 * Return the delegate for the codecs provided to the constructor, if any.
+	 */
+	@Nullable
+	HttpCodecDelegate getCodecDelegate() {
+		return this.codecDelegate;
+	}
+
 	/**
 	 * Encode the GraphQL response if custom codecs were provided, or return the result map.
 	 * @param response the GraphQL response
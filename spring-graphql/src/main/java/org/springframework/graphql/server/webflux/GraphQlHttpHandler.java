@@ -16,14 +16,25 @@
 
 package org.springframework.graphql.server.webflux;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
+import org.springframework.graphql.server.support.ResponseCacheInterceptor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
@@ -40,6 +51,13 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 	private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
 			MediaType.APPLICATION_GRAPHQL_RESPONSE, MediaType.APPLICATION_JSON, MediaType.APPLICATION_GRAPHQL);
 
+	private static final byte[] DELIMITER = "\r\n---".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] PART_HEADERS =
+			"\r\nContent-Type: application/json; charset=utf-8\r\n\r\n".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] MULTIPART_END = "--\r\n".getBytes(StandardCharsets.UTF_8);
+
 
 	/**
 	 * Create a new instance.
@@ -59,9 +77,27 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 	}
 
 
+	/**
+	 * Enable incremental delivery of {@code @defer} results if the client
+	 * accepts {@code multipart/mixed}.
+	 */
+	@Override
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return IncrementalDeliverySupport.isMultipartAccepted(request.headers().accept());
+	}
+
 	protected Mono<ServerResponse> prepareResponse(ServerRequest request, WebGraphQlResponse response) {
+		if (ResponseCacheInterceptor.isNotModified(response)) {
+			return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+					.headers((headers) -> headers.putAll(response.getResponseHeaders()))
+					.build();
+		}
 		ServerResponse.BodyBuilder builder = ServerResponse.ok();
 		builder.headers((headers) -> headers.putAll(response.getResponseHeaders()));
+		if (IncrementalDeliverySupport.isIncremental(response)) {
+			builder.contentType(IncrementalDeliverySupport.MULTIPART_MIXED);
+			return builder.body(multipartInserter(IncrementalDeliverySupport.getPayloads(response)));
+		}
 		builder.contentType(selectResponseMediaType(request));
 		return builder.bodyValue(encodeResponseIfNecessary(response));
 	}
@@ -75,4 +111,23 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 		return MediaType.APPLICATION_JSON;
 	}
 
+	private BodyInserter<Flux<DataBuffer>, ReactiveHttpOutputMessage> multipartInserter(
+			Flux<Map<String, Object>> payloads) {
+
+		return (message, context) -> {
+			HttpCodecDelegate codecDelegate = getCodecDelegate();
+			Encoder<?> encoder = (codecDelegate != null) ?
+					codecDelegate.getEncoder() : HttpCodecDelegate.findJsonEncoder(context.messageWriters());
+			DataBufferFactory bufferFactory = message.bufferFactory();
+			// Flush each part as soon as it is written
+			Flux<Flux<DataBuffer>> parts = payloads.map((payload) -> Flux.just(
+					bufferFactory.wrap(PART_HEADERS),
+					HttpCodecDelegate.encode(encoder, payload, bufferFactory),
+					bufferFactory.wrap(DELIMITER)));
+			return message.writeAndFlushWith(Flux.concat(
+					Mono.just(Flux.just(bufferFactory.wrap(DELIMITER))), parts,
+					Mono.fromSupplier(() -> Flux.just(bufferFactory.wrap(MULTIPART_END)))));
+		};
+	}
+
 }
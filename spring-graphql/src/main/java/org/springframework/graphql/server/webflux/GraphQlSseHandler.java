@@ -30,6 +30,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.graphql.execution.SubscriptionPublisherException;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.reactive.function.BodyInserters;
@@ -52,11 +53,40 @@ public class GraphQlSseHandler extends AbstractGraphQlHttpHandler {
 			ServerSentEvent.<Map<String, Object>>builder(Collections.emptyMap()).event("complete").build());
 
 
+	private boolean incrementalDeliveryEnabled;
+
+
 	public GraphQlSseHandler(WebGraphQlHandler graphQlHandler) {
 		super(graphQlHandler, null);
 	}
 
 
+	/**
+	 * Whether to enable incremental delivery for operations with {@code @defer},
+	 * sending the initial result and each incremental payload as a separate
+	 * {@code "next"} event. Clients must be able to merge such payloads.
+	 * <p>By default this is set to {@code false}, in which case deferred
+	 * fields are included in a single, complete result.
+	 * @param incrementalDeliveryEnabled whether to enable incremental delivery
+	 * @since 1.4.0
+	 */
+	public void setIncrementalDeliveryEnabled(boolean incrementalDeliveryEnabled) {
+		this.incrementalDeliveryEnabled = incrementalDeliveryEnabled;
+	}
+
+	/**
+	 * Return whether incremental delivery is enabled.
+	 * @since 1.4.0
+	 */
+	public boolean isIncrementalDeliveryEnabled() {
+		return this.incrementalDeliveryEnabled;
+	}
+
+	@Override
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return this.incrementalDeliveryEnabled;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	protected Mono<ServerResponse> prepareResponse(ServerRequest request, WebGraphQlResponse response) {
@@ -67,6 +97,9 @@ public class GraphQlSseHandler extends AbstractGraphQlHttpHandler {
 					.map(ExecutionResult::toSpecification)
 					.onErrorResume(SubscriptionPublisherException.class, (ex) -> Mono.just(ex.toMap()));
 		}
+		else if (IncrementalDeliverySupport.isIncremental(response)) {
+			resultFlux = IncrementalDeliverySupport.getPayloads(response);
+		}
 		else {
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug("A subscription DataFetcher must return a Publisher: " + response.getData());
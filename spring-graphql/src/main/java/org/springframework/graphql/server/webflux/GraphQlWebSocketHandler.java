@@ -42,6 +42,7 @@ import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
 import org.springframework.graphql.server.WebSocketGraphQlRequest;
 import org.springframework.graphql.server.WebSocketSessionInfo;
 import org.springframework.graphql.server.support.GraphQlWebSocketMessage;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.codec.CodecConfigurer;
 import org.springframework.lang.Nullable;
@@ -80,6 +81,8 @@ public class GraphQlWebSocketHandler implements WebSocketHandler {
 	@Nullable
 	private final Duration keepAliveDuration;
 
+	private boolean incrementalDeliveryEnabled;
+
 
 	/**
 	 * Create a new instance.
@@ -118,6 +121,27 @@ public class GraphQlWebSocketHandler implements WebSocketHandler {
 	}
 
 
+	/**
+	 * Whether to enable incremental delivery for operations with {@code @defer},
+	 * sending the initial result and each incremental payload as a separate
+	 * {@code "next"} message. Clients must be able to merge such payloads.
+	 * <p>By default this is set to {@code false}, in which case deferred
+	 * fields are included in a single, complete result.
+	 * @param incrementalDeliveryEnabled whether to enable incremental delivery
+	 * @since 1.4.0
+	 */
+	public void setIncrementalDeliveryEnabled(boolean incrementalDeliveryEnabled) {
+		this.incrementalDeliveryEnabled = incrementalDeliveryEnabled;
+	}
+
+	/**
+	 * Return whether incremental delivery is enabled.
+	 * @since 1.4.0
+	 */
+	public boolean isIncrementalDeliveryEnabled() {
+		return this.incrementalDeliveryEnabled;
+	}
+
 	public List<String> getSubProtocols() {
 		return SUB_PROTOCOL_LIST;
 	}
@@ -174,6 +198,9 @@ public class GraphQlWebSocketHandler implements WebSocketHandler {
 							handshakeInfo.getUri(), handshakeInfo.getHeaders(), handshakeInfo.getCookies(),
 							handshakeInfo.getRemoteAddress(), handshakeInfo.getAttributes(),
 							payload, id, null, sessionInfo);
+					if (this.incrementalDeliveryEnabled) {
+						IncrementalDeliverySupport.enableIncrementalDelivery(request);
+					}
 					if (logger.isDebugEnabled()) {
 						logger.debug("Executing: " + request);
 					}
@@ -243,6 +270,10 @@ public class GraphQlWebSocketHandler implements WebSocketHandler {
 							}
 					});
 		}
+		else if (IncrementalDeliverySupport.isIncremental(response)) {
+			// Initial result and incremental payloads for @defer
+			responseFlux = IncrementalDeliverySupport.getPayloads(response);
+		}
 		else {
 			// Single response (query or mutation) that may contain errors
 			responseFlux = Flux.just(response.toMap());
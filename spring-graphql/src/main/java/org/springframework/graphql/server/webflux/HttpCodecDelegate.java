@@ -16,6 +16,7 @@
 
 package org.springframework.graphql.server.webflux;
 
+import java.util.List;
 import java.util.Map;
 
 import org.reactivestreams.Publisher;
@@ -25,12 +26,14 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.Decoder;
 import org.springframework.core.codec.Encoder;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.graphql.server.support.SerializableGraphQlRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.CodecConfigurer;
 import org.springframework.http.codec.DecoderHttpMessageReader;
 import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
 import org.springframework.util.Assert;
 import org.springframework.util.MimeTypeUtils;
 
@@ -55,7 +58,7 @@ final class HttpCodecDelegate {
 	HttpCodecDelegate(CodecConfigurer codecConfigurer) {
 		Assert.notNull(codecConfigurer, "CodecConfigurer is required");
 		this.decoder = findJsonDecoder(codecConfigurer);
-		this.encoder = findJsonEncoder(codecConfigurer);
+		this.encoder = findJsonEncoder(codecConfigurer.getWriters());
 	}
 
 	private static Decoder<?> findJsonDecoder(CodecConfigurer configurer) {
@@ -66,8 +69,9 @@ final class HttpCodecDelegate {
 				.orElseThrow(() -> new IllegalArgumentException("No JSON Decoder"));
 	}
 
-	private static Encoder<?> findJsonEncoder(CodecConfigurer configurer) {
-		return configurer.getWriters().stream()
+	static Encoder<?> findJsonEncoder(List<HttpMessageWriter<?>> writers) {
+		return writers.stream()
+				.filter((writer) -> writer instanceof EncoderHttpMessageWriter<?>)
 				.filter((writer) -> writer.canWrite(RESPONSE_TYPE, MediaType.APPLICATION_JSON))
 				.map((writer) -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
 				.findFirst()
@@ -75,10 +79,18 @@ final class HttpCodecDelegate {
 	}
 
 
-	@SuppressWarnings("unchecked")
+	Encoder<?> getEncoder() {
+		return this.encoder;
+	}
+
 	DataBuffer encode(Map<String, Object> resultMap) {
-		return ((Encoder<Map<String, Object>>) this.encoder).encodeValue(
-				resultMap, DefaultDataBufferFactory.sharedInstance, RESPONSE_TYPE, MimeTypeUtils.APPLICATION_JSON, null);
+		return encode(this.encoder, resultMap, DefaultDataBufferFactory.sharedInstance);
+	}
+
+	@SuppressWarnings("unchecked")
+	static DataBuffer encode(Encoder<?> encoder, Map<String, Object> resultMap, DataBufferFactory bufferFactory) {
+		return ((Encoder<Map<String, Object>>) encoder).encodeValue(
+				resultMap, bufferFactory, RESPONSE_TYPE, MimeTypeUtils.APPLICATION_JSON, null);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -34,6 +34,7 @@ import org.springframework.graphql.ResponseError;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlRequest;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.graphql.server.support.SerializableGraphQlRequest;
 import org.springframework.http.HttpCookie;
 import org.springframework.http.HttpHeaders;
@@ -102,6 +103,15 @@ public abstract class AbstractGraphQlHttpHandler {
 	}
 
 
+	/**
+	 * Return the {@code HttpMessageConverter} provided to the constructor, if any.
+	 */
+	@Nullable
+	HttpMessageConverter<Object> getMessageConverter() {
+		return this.messageConverter;
+	}
+
+
 	/**
 	 * Handle GraphQL over HTTP requests.
 	 * @param request the current request
@@ -117,6 +127,10 @@ public abstract class AbstractGraphQlHttpHandler {
 				request.attributes(), readBody(request), this.idGenerator.generateId().toString(),
 				LocaleContextHolder.getLocale());
 
+		if (supportsIncrementalDelivery(request)) {
+			IncrementalDeliverySupport.enableIncrementalDelivery(graphQlRequest);
+		}
+
 		if (this.logger.isDebugEnabled()) {
 			this.logger.debug("Executing: " + graphQlRequest);
 		}
@@ -192,6 +206,18 @@ public abstract class AbstractGraphQlHttpHandler {
 		throw ex;
 	}
 
+	/**
+	 * Whether to enable incremental delivery of {@code @defer} results for the
+	 * given request, in which case the response may have payloads that are yet
+	 * to be delivered, see {@link IncrementalDeliverySupport}.
+	 * <p>By default, this returns {@code false}.
+	 * @param request the current request
+	 * @since 1.4.0
+	 */
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return false;
+	}
+
 	/**
 	 * Prepare the {@link ServerResponse} for the given GraphQL response.
 	 * @param request the current request
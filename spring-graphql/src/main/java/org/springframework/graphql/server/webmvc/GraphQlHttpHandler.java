@@ -16,18 +16,38 @@
 
 package org.springframework.graphql.server.webmvc;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
+import org.springframework.graphql.server.support.ResponseCacheInterceptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
 
@@ -45,6 +65,20 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 	private static final List<MediaType> SUPPORTED_MEDIA_TYPES = List.of(
 			MediaType.APPLICATION_GRAPHQL_RESPONSE, MediaType.APPLICATION_JSON, MediaType.APPLICATION_GRAPHQL);
 
+	private static final boolean jackson2Present = ClassUtils.isPresent(
+			"com.fasterxml.jackson.databind.ObjectMapper", GraphQlHttpHandler.class.getClassLoader());
+
+	private static final byte[] DELIMITER = "\r\n---".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] PART_HEADERS =
+			"\r\nContent-Type: application/json; charset=utf-8\r\n\r\n".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] MULTIPART_END = "--\r\n".getBytes(StandardCharsets.UTF_8);
+
+
+	@Nullable
+	private volatile HttpMessageConverter<Object> multipartConverter;
+
 
 	/**
 	 * Create a new instance.
@@ -67,13 +101,33 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 	}
 
 
+	/**
+	 * Enable incremental delivery of {@code @defer} results if the client
+	 * accepts {@code multipart/mixed}.
+	 */
+	@Override
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return IncrementalDeliverySupport.isMultipartAccepted(request.headers().accept());
+	}
+
 	@Override
 	protected ServerResponse prepareResponse(ServerRequest request, Mono<WebGraphQlResponse> responseMono) {
 
 		CompletableFuture<ServerResponse> future = responseMono.map((response) -> {
-			MediaType contentType = selectResponseMediaType(request);
+			if (ResponseCacheInterceptor.isNotModified(response)) {
+				return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+						.headers((headers) -> headers.putAll(response.getResponseHeaders()))
+						.build();
+			}
 			ServerResponse.BodyBuilder builder = ServerResponse.ok();
 			builder.headers((headers) -> headers.putAll(response.getResponseHeaders()));
+			if (IncrementalDeliverySupport.isIncremental(response)) {
+				builder.contentType(IncrementalDeliverySupport.MULTIPART_MIXED);
+				return builder.build(new MultipartWriteFunction(
+						IncrementalDeliverySupport.getPayloads(response), getMultipartConverter()));
+			}
+
+			MediaType contentType = selectResponseMediaType(request);
 			builder.contentType(contentType);
 
 			Map<String, Object> resultMap = response.toMap();
@@ -105,4 +159,94 @@ public class GraphQlHttpHandler extends AbstractGraphQlHttpHandler {
 		return MediaType.APPLICATION_JSON;
 	}
 
+	private HttpMessageConverter<Object> getMultipartConverter() {
+		HttpMessageConverter<Object> converter = getMessageConverter();
+		if (converter != null) {
+			return converter;
+		}
+		HttpMessageConverter<Object> multipartConverter = this.multipartConverter;
+		if (multipartConverter == null) {
+			if (!jackson2Present) {
+				throw new IllegalStateException("An HttpMessageConverter is required for multipart responses");
+			}
+			multipartConverter = new MappingJackson2HttpMessageConverter();
+			this.multipartConverter = multipartConverter;
+		}
+		return multipartConverter;
+	}
+
+
+	/**
+	 * WriteFunction for a {@code multipart/mixed} body with one JSON part per
+	 * payload. The response is written asynchronously through Servlet async
+	 * processing, flushing each part as soon as the payload is emitted.
+	 */
+	private record MultipartWriteFunction(
+			Flux<Map<String, Object>> payloads, HttpMessageConverter<Object> converter)
+			implements ServerResponse.HeadersBuilder.WriteFunction {
+
+		@Override
+		public ModelAndView write(HttpServletRequest request, HttpServletResponse response) throws Exception {
+			DeferredResult<ServerResponse> result = new DeferredResult<>();
+			WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+			asyncManager.setAsyncWebRequest(WebAsyncUtils.createAsyncWebRequest(request, response));
+			asyncManager.startDeferredResultProcessing(result);
+
+			OutputStream body = response.getOutputStream();
+			HttpOutputMessage partMessage = new PartOutputMessage(body);
+			body.write(DELIMITER);
+			body.flush();
+
+			Disposable subscription = this.payloads.subscribe(
+					(payload) -> writePart(payload, body, partMessage),
+					result::setErrorResult,
+					() -> {
+						writeEnd(body);
+						result.setResult(null);
+					});
+
+			result.onCompletion(subscription::dispose);
+			return null;
+		}
+
+		private void writePart(Map<String, Object> payload, OutputStream body, HttpOutputMessage partMessage) {
+			try {
+				body.write(PART_HEADERS);
+				this.converter.write(payload, MediaType.APPLICATION_JSON, partMessage);
+				body.write(DELIMITER);
+				body.flush();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+
+		private static void writeEnd(OutputStream body) {
+			try {
+				body.write(MULTIPART_END);
+				body.flush();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		}
+	}
+
+
+	/**
+	 * HttpOutputMessage to write the body of a part, ignoring its headers.
+	 */
+	private record PartOutputMessage(OutputStream body) implements HttpOutputMessage {
+
+		@Override
+		public OutputStream getBody() {
+			return StreamUtils.nonClosing(this.body);
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return new HttpHeaders();
+		}
+	}
+
 }
@@ -31,6 +31,7 @@ import reactor.core.publisher.Mono;
 import org.springframework.graphql.execution.SubscriptionPublisherException;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.util.AlternativeJdkIdGenerator;
 import org.springframework.util.IdGenerator;
 import org.springframework.web.servlet.function.ServerRequest;
@@ -50,12 +51,40 @@ public class GraphQlSseHandler extends AbstractGraphQlHttpHandler {
 
 	private final IdGenerator idGenerator = new AlternativeJdkIdGenerator();
 
+	private boolean incrementalDeliveryEnabled;
+
 
 	public GraphQlSseHandler(WebGraphQlHandler graphQlHandler) {
 		super(graphQlHandler, null);
 	}
 
 
+	/**
+	 * Whether to enable incremental delivery for operations with {@code @defer},
+	 * sending the initial result and each incremental payload as a separate
+	 * {@code "next"} event. Clients must be able to merge such payloads.
+	 * <p>By default this is set to {@code false}, in which case deferred
+	 * fields are included in a single, complete result.
+	 * @param incrementalDeliveryEnabled whether to enable incremental delivery
+	 * @since 1.4.0
+	 */
+	public void setIncrementalDeliveryEnabled(boolean incrementalDeliveryEnabled) {
+		this.incrementalDeliveryEnabled = incrementalDeliveryEnabled;
+	}
+
+	/**
+	 * Return whether incremental delivery is enabled.
+	 * @since 1.4.0
+	 */
+	public boolean isIncrementalDeliveryEnabled() {
+		return this.incrementalDeliveryEnabled;
+	}
+
+	@Override
+	protected boolean supportsIncrementalDelivery(ServerRequest request) {
+		return this.incrementalDeliveryEnabled;
+	}
+
 	@Override
 	protected ServerResponse prepareResponse(
 			ServerRequest request, Mono<WebGraphQlResponse> responseMono) {
@@ -67,6 +96,10 @@ public class GraphQlSseHandler extends AbstractGraphQlHttpHandler {
 				return Flux.from(publisher).map(ExecutionResult::toSpecification);
 			}
 
+			if (IncrementalDeliverySupport.isIncremental(response)) {
+				return IncrementalDeliverySupport.getPayloads(response);
+			}
+
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug("A subscription DataFetcher must return a Publisher: " + response.getData());
 			}
@@ -56,6 +56,7 @@ import org.springframework.graphql.server.WebSocketGraphQlInterceptor;
 import org.springframework.graphql.server.WebSocketGraphQlRequest;
 import org.springframework.graphql.server.WebSocketSessionInfo;
 import org.springframework.graphql.server.support.GraphQlWebSocketMessage;
+import org.springframework.graphql.server.support.IncrementalDeliverySupport;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
@@ -107,6 +108,8 @@ public class GraphQlWebSocketHandler extends TextWebSocketHandler implements Sub
 	@Nullable
 	private final Duration keepAliveDuration;
 
+	private boolean incrementalDeliveryEnabled;
+
 	private final Map<String, SessionState> sessionInfoMap = new ConcurrentHashMap<>();
 
 
@@ -149,6 +152,27 @@ public class GraphQlWebSocketHandler extends TextWebSocketHandler implements Sub
 	}
 
 
+	/**
+	 * Whether to enable incremental delivery for operations with {@code @defer},
+	 * sending the initial result and each incremental payload as a separate
+	 * {@code "next"} message. Clients must be able to merge such payloads.
+	 * <p>By default this is set to {@code false}, in which case deferred
+	 * fields are included in a single, complete result.
+	 * @param incrementalDeliveryEnabled whether to enable incremental delivery
+	 * @since 1.4.0
+	 */
+	public void setIncrementalDeliveryEnabled(boolean incrementalDeliveryEnabled) {
+		this.incrementalDeliveryEnabled = incrementalDeliveryEnabled;
+	}
+
+	/**
+	 * Return whether incremental delivery is enabled.
+	 * @since 1.4.0
+	 */
+	public boolean isIncrementalDeliveryEnabled() {
+		return this.incrementalDeliveryEnabled;
+	}
+
 	@Override
 	public List<String> getSubProtocols() {
 		return SUB_PROTOCOL_LIST;
@@ -231,6 +255,9 @@ public class GraphQlWebSocketHandler extends TextWebSocketHandler implements Sub
 				HttpHeaders headers = session.getHandshakeHeaders();
 				WebSocketGraphQlRequest request = new WebSocketGraphQlRequest(
 						uri, headers, null, session.getRemoteAddress(), session.getAttributes(), payload, id, null, state.getSessionInfo());
+				if (this.incrementalDeliveryEnabled) {
+					IncrementalDeliverySupport.enableIncrementalDelivery(request);
+				}
 				if (logger.isDebugEnabled()) {
 					logger.debug("Executing: " + request);
 				}
@@ -333,6 +360,10 @@ public class GraphQlWebSocketHandler extends TextWebSocketHandler implements Sub
 							}
 					});
 		}
+		else if (IncrementalDeliverySupport.isIncremental(response)) {
+			// Initial result and incremental payloads for @defer
+			responseFlux = IncrementalDeliverySupport.getPayloads(response);
+		}
 		else {
 			// Single response (query or mutation) that may contain errors
 			responseFlux = Flux.just(response.toMap());
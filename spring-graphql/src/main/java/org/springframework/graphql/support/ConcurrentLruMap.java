@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Map bounded by a maximum number of entries and, optionally, a maximum total
+ * weight, that evicts the least recently used entries when either bound is
+ * exceeded.
+ *
+ * <p>Lookups go to a {@link ConcurrentHashMap} and never block. The access
+ * order is kept separately under a lock that lookups only try to acquire, so
+ * under contention some accesses are not recorded, and the order is then an
+ * approximation of the least recently used. Updates are serialized, and
+ * evict entries in constant time each.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 1.4.0
+ */
+public final class ConcurrentLruMap<K, V> {
+
+	private final int maxEntries;
+
+	private final long maxWeight;
+
+	private final ToLongFunction<V> weigher;
+
+	private final Map<K, V> map = new ConcurrentHashMap<>();
+
+	private final LinkedHashMap<K, V> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private volatile long weight;
+
+
+	/**
+	 * Create an instance bounded by the number of entries only.
+	 * @param maxEntries the maximum number of entries
+	 */
+	public ConcurrentLruMap(int maxEntries) {
+		this(maxEntries, Long.MAX_VALUE, (value) -> 0);
+	}
+
+	/**
+	 * Create an instance bounded by the number of entries and their total weight.
+	 * @param maxEntries the maximum number of entries
+	 * @param maxWeight the maximum total weight of entries
+	 * @param weigher function to return the weight of a value
+	 */
+	public ConcurrentLruMap(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+		Assert.isTrue(maxEntries > 0, "'maxEntries' must be greater than 0");
+		Assert.isTrue(maxWeight > 0, "'maxWeight' must be greater than 0");
+		Assert.notNull(weigher, "Weigher is required");
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+
+	/**
+	 * Return the number of entries.
+	 */
+	public int size() {
+		return this.map.size();
+	}
+
+	/**
+	 * Return the total weight of entries.
+	 */
+	public long weight() {
+		return this.weight;
+	}
+
+	/**
+	 * Return the value for the given key, and record the access if that does
+	 * not require waiting for another thread.
+	 * @param key the key to look up
+	 * @return the value, or {@code null} if not present
+	 */
+	@Nullable
+	public V get(K key) {
+		V value = this.map.get(key);
+		if (value != null && this.lock.tryLock()) {
+			try {
+				this.accessOrder.get(key);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Add or replace the value for the given key, and evict the least recently
+	 * used entries as necessary to stay within the bounds.
+	 * @param key the key to add
+	 * @param value the value to add
+	 * @return the number of entries evicted
+	 */
+	public int put(K key, V value) {
+		this.lock.lock();
+		try {
+			V previous = this.map.put(key, value);
+			this.accessOrder.put(key, value);
+			long newWeight = this.weight + this.weigher.applyAsLong(value);
+			if (previous != null) {
+				newWeight -= this.weigher.applyAsLong(previous);
+			}
+			int evicted = 0;
+			Iterator<Map.Entry<K, V>> iterator = this.accessOrder.entrySet().iterator();
+			while ((this.map.size() > this.maxEntries || newWeight > this.maxWeight) && iterator.hasNext()) {
+				Map.Entry<K, V> eldest = iterator.next();
+				iterator.remove();
+				this.map.remove(eldest.getKey());
+				newWeight -= this.weigher.applyAsLong(eldest.getValue());
+				evicted++;
+			}
+			this.weight = newWeight;
+			return evicted;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the entry for the given key, if it maps to the given value.
+	 * @param key the key to remove
+	 * @param value the expected value
+	 * @return whether the entry was removed
+	 */
+	public boolean remove(K key, V value) {
+		this.lock.lock();
+		try {
+			if (!this.map.remove(key, value)) {
+				return false;
+			}
+			this.accessOrder.remove(key);
+			this.weight -= this.weigher.applyAsLong(value);
+			return true;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the entry for the given key.
+	 * @param key the key to remove
+	 * @return the removed value, or {@code null} if not present
+	 */
+	@Nullable
+	public V remove(K key) {
+		this.lock.lock();
+		try {
+			V value = this.map.remove(key);
+			if (value != null) {
+				this.accessOrder.remove(key);
+				this.weight -= this.weigher.applyAsLong(value);
+			}
+			return value;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove all entries.
+	 */
+	public void clear() {
+		this.lock.lock();
+		try {
+			this.map.clear();
+			this.accessOrder.clear();
+			this.weight = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+}
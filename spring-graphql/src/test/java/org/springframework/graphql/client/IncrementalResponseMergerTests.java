@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.client;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.graphql.GraphQlResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IncrementalResponseMerger}.
+ */
+public class IncrementalResponseMergerTests {
+
+	@Test
+	void mergeDeferredData() {
+		List<GraphQlResponse> responses = merge(
+				Map.of("data", Map.of("book", Map.of("id", "1")), "hasNext", true),
+				Map.of("incremental", List.of(Map.of("path", List.of("book"), "data", Map.of("title", "Dune"))),
+						"hasNext", true),
+				Map.of("incremental", List.of(Map.of("path", List.of("book"), "data", Map.of("author", "Herbert"))),
+						"hasNext", false));
+
+		assertThat(responses).hasSize(3);
+		assertThat(responses.get(0).<Map<String, Object>>getData()).isEqualTo(Map.of("book", Map.of("id", "1")));
+		assertThat(responses.get(1).<Map<String, Object>>getData())
+				.isEqualTo(Map.of("book", Map.of("id", "1", "title", "Dune")));
+		assertThat(responses.get(2).<Map<String, Object>>getData())
+				.isEqualTo(Map.of("book", Map.of("id", "1", "title", "Dune", "author", "Herbert")));
+		assertThat(responses.get(2).toMap()).containsEntry("hasNext", false);
+	}
+
+	@Test
+	void mergeStreamedItems() {
+		List<GraphQlResponse> responses = merge(
+				Map.of("data", Map.of("books", List.of("a")), "hasNext", true),
+				Map.of("incremental", List.of(Map.of("path", List.of("books"), "items", List.of("b", "c"))),
+						"hasNext", false));
+
+		assertThat(responses.get(1).<Map<String, Object>>getData()).isEqualTo(Map.of("books", List.of("a", "b", "c")));
+	}
+
+	@Test
+	void mergeErrors() {
+		Map<String, Object> error = Map.of("message", "Failed", "path", List.of("book", "title"));
+		List<GraphQlResponse> responses = merge(
+				Map.of("data", Map.of("book", Map.of("id", "1")), "hasNext", true),
+				Map.of("incremental", List.of(Map.of("path", List.of("book"), "errors", List.of(error))),
+						"hasNext", false));
+
+		assertThat(responses.get(1).getErrors()).hasSize(1);
+		assertThat(responses.get(1).getErrors().get(0).getMessage()).isEqualTo("Failed");
+	}
+
+	@Test
+	void subscriptionResponsesPassedThrough() {
+		List<GraphQlResponse> responses = merge(Map.of("data", Map.of("a", 1)), Map.of("data", Map.of("a", 2)));
+		assertThat(responses.get(1).<Map<String, Object>>getData()).isEqualTo(Map.of("a", 2));
+	}
+
+	@SafeVarargs
+	private static List<GraphQlResponse> merge(Map<String, Object>... payloads) {
+		Flux<GraphQlResponse> responses = Flux.fromArray(payloads).map(ResponseMapGraphQlResponse::new);
+		return IncrementalResponseMerger.merge(responses).collectList().block();
+	}
+
+}
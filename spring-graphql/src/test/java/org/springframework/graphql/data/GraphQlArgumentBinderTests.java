@@ -132,6 +132,36 @@ class GraphQlArgumentBinderTests {
 		assertThat(holder.items).hasSize(2).extracting("name").containsExactly("first", "second");
 	}
 
+	@Test
+	void dataBindingWithDirectFieldAccessForPropertyWithoutSetter() throws Exception {
+		GraphQlArgumentBinder binder =
+				new GraphQlArgumentBinder(new DefaultFormattingConversionService(), true /* fallBackOnFieldAccess */);
+
+		for (int i = 0; i < 2; i++) {
+			Object result = bind(binder, "{\"name\":\"test\",\"age\":42}",
+					ResolvableType.forClass(NameSetterBean.class));
+
+			assertThat(result).isNotNull().isInstanceOf(NameSetterBean.class);
+			assertThat(((NameSetterBean) result).getName()).isEqualTo("test");
+			assertThat(((NameSetterBean) result).age).isEqualTo(42);
+		}
+
+		// Without the fallback, the field is not set
+		Object result = bind("{\"name\":\"test\",\"age\":42}", ResolvableType.forClass(NameSetterBean.class));
+		assertThat(((NameSetterBean) result).age).isEqualTo(0);
+	}
+
+	@Test
+	void dataBindingIgnoresUnknownKey() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			Object result = bind("{\"name\":\"test\",\"unknown\":\"value\"}",
+					ResolvableType.forClass(SimpleBean.class));
+
+			assertThat(result).isNotNull().isInstanceOf(SimpleBean.class);
+			assertThat(((SimpleBean) result).getName()).isEqualTo("test");
+		}
+	}
+
 	@Test // gh-349
 	void dataBindingToBeanWithEnumGenericType() throws Exception {
 
@@ -403,6 +433,30 @@ class GraphQlArgumentBinderTests {
 		assertThat(input.enums()).hasSize(2).containsExactly(FancyEnum.ONE, FancyEnum.TWO);
 	}
 
+	@Test
+	void primaryConstructorWithDifferentGenericArguments() throws Exception {
+
+		String json = "{\"values\":[\"1\",\"2\"]}";
+
+		Object result = bind(json, ResolvableType.forClassWithGenerics(ValueListInput.class, Integer.class));
+		assertThat(result).isEqualTo(new ValueListInput<>(List.of(1, 2)));
+
+		result = bind(json, ResolvableType.forClassWithGenerics(ValueListInput.class, String.class));
+		assertThat(result).isEqualTo(new ValueListInput<>(List.of("1", "2")));
+	}
+
+	@Test
+	void dataBindingRepeatedWithSameTargetType() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			Object result = bind(
+					"{\"items\":[{\"name\":\"first\"},{\"name\":\"second\"}]}",
+					ResolvableType.forClass(ItemListHolder.class));
+
+			assertThat(result).isNotNull().isInstanceOf(ItemListHolder.class);
+			assertThat(((ItemListHolder) result).getItems()).extracting("name").containsExactly("first", "second");
+		}
+	}
+
 	@Nullable
 	private Object bind(String json, ResolvableType targetType) throws Exception {
 		return bind(this.binder, json, targetType);
@@ -444,6 +498,23 @@ class GraphQlArgumentBinderTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	static class NameSetterBean {
+
+		private String name;
+
+		int age;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
 	static class PrimaryConstructorBean {
 
 		private final String name;
@@ -713,4 +784,8 @@ class GraphQlArgumentBinderTests {
 	record ConstructorEnumInput<E extends Enum<E>>(List<E> enums) {
 	}
 
+
+	record ValueListInput<T>(List<T> values) {
+	}
+
 }
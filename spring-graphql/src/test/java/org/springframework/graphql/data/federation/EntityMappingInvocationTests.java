@@ -16,9 +16,13 @@
 
 package org.springframework.graphql.data.federation;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import graphql.GraphQLError;
 import graphql.GraphqlErrorBuilder;
@@ -175,9 +179,54 @@ public class EntityMappingInvocationTests {
 		assertError(helper, 2, "INTERNAL_ERROR", "Entity fetcher returned null or completed empty");
 	}
 
+	@ValueSource(classes = {BookListController.class, BookFluxController.class})
+	@ParameterizedTest
+	void batchingWithWrongResultCount(Class<?> controllerClass) {
+		Map<String, Object> variables =
+				Map.of("representations", List.of(
+						Map.of("__typename", "Book", "id", "-98"),
+						Map.of("__typename", "Book", "id", "4"),
+						Map.of("__typename", "Book", "id", "5")));
+
+		ResponseHelper helper = executeWith(controllerClass, variables);
+
+		String msg = "Entities fetcher returned 4 results for 3 representations";
+		assertError(helper, 0, "INTERNAL_ERROR", msg);
+		assertError(helper, 1, "INTERNAL_ERROR", msg);
+		assertError(helper, 2, "INTERNAL_ERROR", msg);
+	}
+
+	@Test
+	void fetchEntitiesWithConcurrencyLimit() {
+		List<Map<String, Object>> representations = IntStream.range(0, 20)
+				.mapToObj((i) -> Map.<String, Object>of("__typename", "Book", "id", (i % 2 == 0) ? "3" : "5"))
+				.toList();
+
+		BookMonoController.activeCount.set(0);
+		BookMonoController.maxActiveCount.set(0);
+
+		ResponseHelper helper = executeWith(BookMonoController.class, Map.of("representations", representations), 2);
+
+		for (int i = 0; i < representations.size(); i++) {
+			if (i % 2 == 0) {
+				assertAuthor(i, "Joseph", "Heller", helper);
+			}
+			else {
+				assertAuthor(i, "George", "Orwell", helper);
+			}
+		}
+		assertThat(BookMonoController.maxActiveCount.get()).isEqualTo(2);
+	}
+
 	private static ResponseHelper executeWith(Class<?> controllerClass, Map<String, Object> variables) {
+		return executeWith(controllerClass, variables, EntitiesDataFetcher.DEFAULT_CONCURRENCY);
+	}
+
+	private static ResponseHelper executeWith(
+			Class<?> controllerClass, Map<String, Object> variables, int concurrency) {
+
 		ExecutionGraphQlRequest request = TestExecutionRequest.forDocumentAndVars(document, variables);
-		Mono<ExecutionGraphQlResponse> responseMono = graphQlService(controllerClass).execute(request);
+		Mono<ExecutionGraphQlResponse> responseMono = graphQlService(controllerClass, concurrency).execute(request);
 		return ResponseHelper.forResponse(responseMono);
 	}
 
@@ -195,7 +244,7 @@ public class EntityMappingInvocationTests {
 		assertThat(helper.<Object>rawValue(path)).isNull();
 	}
 
-	private static TestExecutionGraphQlService graphQlService(Class<?> controllerClass) {
+	private static TestExecutionGraphQlService graphQlService(Class<?> controllerClass, int concurrency) {
 		BatchLoaderRegistry registry = new DefaultBatchLoaderRegistry();
 
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
@@ -209,6 +258,7 @@ public class EntityMappingInvocationTests {
 
 		FederationSchemaFactory schemaFactory = new FederationSchemaFactory();
 		schemaFactory.setApplicationContext(context);
+		schemaFactory.setEntitiesConcurrency(concurrency);
 		schemaFactory.afterPropertiesSet();
 
 		return GraphQlSetup.schemaResource(federationSchema)
@@ -253,6 +303,29 @@ public class EntityMappingInvocationTests {
 		}
 	}
 
+	@SuppressWarnings("unused")
+	@Controller
+	private static class BookMonoController {
+
+		static final AtomicInteger activeCount = new AtomicInteger();
+
+		static final AtomicInteger maxActiveCount = new AtomicInteger();
+
+		@EntityMapping
+		public Mono<Book> book(@Argument int id) {
+			return Mono.delay(Duration.ofMillis(5))
+					.doOnSubscribe((subscription) ->
+							maxActiveCount.accumulateAndGet(activeCount.incrementAndGet(), Math::max))
+					.map((tick) -> new Book((long) id, null, (Long) null))
+					.doOnNext((book) -> activeCount.decrementAndGet());
+		}
+
+		@BatchMapping
+		public List<Author> author(List<Book> books) {
+			return books.stream().map(book -> BookSource.getBook(book.getId()).getAuthor()).toList();
+		}
+	}
+
 	@SuppressWarnings("unused")
 	@Controller
 	private static class BookListController {
@@ -311,6 +384,12 @@ public class EntityMappingInvocationTests {
 				return Collections.emptyList();
 			}
 
+			if (idList.get(0) == -98) {
+				return Stream.concat(idList.stream(), Stream.of(1))
+						.map(id -> new Book((long) id, null, (Long) null))
+						.toList();
+			}
+
 			assertThat(representations).hasSize(5).containsExactly(
 					Map.of("__typename", "Book", "id", "1"),
 					Map.of("__typename", "Book", "id", "4"),
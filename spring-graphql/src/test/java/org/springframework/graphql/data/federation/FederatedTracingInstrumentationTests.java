@@ -0,0 +1,198 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.federation;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.server.support.FederatedTracingInterceptor;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link FederatedTracingInstrumentation}.
+ */
+public class FederatedTracingInstrumentationTests {
+
+	private static final String SCHEMA = """
+			type Query {
+				books: [Book]
+				broken: String
+			}
+			type Book {
+				id: ID
+				title: String
+			}
+			""";
+
+	private static final String DOCUMENT = "{ books { id name: title } broken }";
+
+
+	private final WebGraphQlHandler handler = GraphQlSetup.schemaContent(SCHEMA)
+			.queryFetcher("books", (env) -> List.of(Map.of("id", "1", "title", "Dune"), Map.of("id", "2", "title", "Emma")))
+			.queryFetcher("broken", (env) -> {
+				throw new IllegalStateException("boom");
+			})
+			.instrumentation(new FederatedTracingInstrumentation())
+			.interceptor(new FederatedTracingInterceptor())
+			.toWebGraphQlHandler();
+
+
+	@Test
+	void traceTree() {
+		WebGraphQlResponse response = execute(true);
+		String encoded = (String) response.getExtensions().get(FederatedTracingInstrumentation.EXTENSION_KEY);
+		assertThat(encoded).isNotNull();
+
+		Map<Integer, List<Object>> trace = decode(Base64.getDecoder().decode(encoded));
+		assertThat(trace).containsKeys(3, 4, 11, 14);
+
+		Map<Integer, List<Object>> root = decode((byte[]) trace.get(14).get(0));
+		List<Map<Integer, List<Object>>> rootChildren = children(root);
+		assertThat(rootChildren).hasSize(2);
+
+		Map<Integer, List<Object>> books = rootChildren.get(0);
+		assertThat(string(books, 1)).isEqualTo("books");
+		assertThat(string(books, 3)).isEqualTo("[Book]");
+		assertThat(string(books, 13)).isEqualTo("Query");
+		assertThat((long) books.get(9).get(0)).isGreaterThanOrEqualTo((long) books.get(8).get(0));
+
+		List<Map<Integer, List<Object>>> items = children(books);
+		assertThat(items).hasSize(2);
+		assertThat(items.get(0).get(2)).containsExactly(0L);
+		assertThat(items.get(1).get(2)).containsExactly(1L);
+
+		List<Map<Integer, List<Object>>> bookFields = children(items.get(1));
+		assertThat(string(bookFields.get(0), 1)).isEqualTo("id");
+		assertThat(string(bookFields.get(1), 1)).isEqualTo("name");
+		assertThat(string(bookFields.get(1), 14)).isEqualTo("title");
+		assertThat(string(bookFields.get(1), 13)).isEqualTo("Book");
+
+		Map<Integer, List<Object>> broken = rootChildren.get(1);
+		assertThat(string(broken, 1)).isEqualTo("broken");
+		Map<Integer, List<Object>> error = decode((byte[]) broken.get(11).get(0));
+		assertThat(string(error, 1)).isNotEmpty();
+	}
+
+	@Test
+	void traceWithFederationSchemaFactory() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.refresh();
+
+		FederationSchemaFactory schemaFactory = new FederationSchemaFactory();
+		schemaFactory.setApplicationContext(context);
+		schemaFactory.setTracingEnabled(true);
+		schemaFactory.afterPropertiesSet();
+
+		WebGraphQlHandler federationHandler = GraphQlSetup
+				.schemaResource(new ClassPathResource("books/federation-schema.graphqls"))
+				.configureSourceBuilder(schemaFactory::configure)
+				.interceptor(new FederatedTracingInterceptor())
+				.toWebGraphQlHandler();
+
+		WebGraphQlResponse response = execute(federationHandler, "{ _service { sdl } }", true);
+		String encoded = (String) response.getExtensions().get(FederatedTracingInstrumentation.EXTENSION_KEY);
+		assertThat(encoded).isNotNull();
+
+		Map<Integer, List<Object>> trace = decode(Base64.getDecoder().decode(encoded));
+		Map<Integer, List<Object>> root = decode((byte[]) trace.get(14).get(0));
+		List<Map<Integer, List<Object>>> rootChildren = children(root);
+		assertThat(rootChildren).hasSize(1);
+		assertThat(string(rootChildren.get(0), 1)).isEqualTo("_service");
+	}
+
+	@Test
+	void noTraceWithoutHeader() {
+		WebGraphQlResponse response = execute(false);
+		assertThat(response.getExtensions()).doesNotContainKey(FederatedTracingInstrumentation.EXTENSION_KEY);
+	}
+
+	private WebGraphQlResponse execute(boolean includeTrace) {
+		return execute(this.handler, DOCUMENT, includeTrace);
+	}
+
+	private static WebGraphQlResponse execute(WebGraphQlHandler handler, String document, boolean includeTrace) {
+		HttpHeaders headers = new HttpHeaders();
+		if (includeTrace) {
+			headers.set(FederatedTracingInstrumentation.TRACING_HEADER_NAME, FederatedTracingInstrumentation.TRACING_HEADER_VALUE);
+		}
+		WebGraphQlRequest request = new WebGraphQlRequest(URI.create("/graphql"), headers, null, null,
+				Collections.emptyMap(), Map.of("query", document), "1", null);
+		return handler.handleRequest(request).block();
+	}
+
+	private static List<Map<Integer, List<Object>>> children(Map<Integer, List<Object>> node) {
+		List<Map<Integer, List<Object>>> children = new ArrayList<>();
+		for (Object child : node.getOrDefault(12, Collections.emptyList())) {
+			children.add(decode((byte[]) child));
+		}
+		return children;
+	}
+
+	private static String string(Map<Integer, List<Object>> message, int field) {
+		return new String((byte[]) message.get(field).get(0), StandardCharsets.UTF_8);
+	}
+
+	private static Map<Integer, List<Object>> decode(byte[] bytes) {
+		Map<Integer, List<Object>> fields = new LinkedHashMap<>();
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		while (buffer.hasRemaining()) {
+			int tag = (int) readVarint(buffer);
+			Object value = switch (tag & 7) {
+				case 0 -> readVarint(buffer);
+				case 2 -> {
+					byte[] content = new byte[(int) readVarint(buffer)];
+					buffer.get(content);
+					yield content;
+				}
+				default -> throw new IllegalStateException("Unexpected wire type in tag " + tag);
+			};
+			fields.computeIfAbsent(tag >>> 3, (key) -> new ArrayList<>()).add(value);
+		}
+		return fields;
+	}
+
+	private static long readVarint(ByteBuffer buffer) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		}
+		while ((b & 0x80) != 0);
+		return value;
+	}
+
+}
@@ -18,11 +18,17 @@ package org.springframework.graphql.data.method.annotation.support;
 
 import java.util.List;
 
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.idl.RuntimeWiring;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.graphql.data.method.HandlerMethodArgumentResolver;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.query.SortStrategy;
+import org.springframework.stereotype.Controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -78,4 +84,82 @@ public class AnnotatedControllerConfigurerTests {
 		assertThat(resolvers.stream().filter(r -> r instanceof SortMethodArgumentResolver).findFirst()).isNotPresent();
 	}
 
+	@Test
+	void controllerMethodsFromAotRegistrations() {
+		AnnotatedControllerMethods methods = new AnnotatedControllerMethods();
+		methods.add("Query.greeting", "greetingController", GreetingController.class.getName(), "greeting");
+
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerSingleton("greetingController", GreetingController.class);
+		context.getBeanFactory().registerSingleton(AnnotatedControllerMethods.BEAN_NAME, methods);
+
+		AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+		configurer.setApplicationContext(context);
+		configurer.afterPropertiesSet();
+
+		RuntimeWiring.Builder wiringBuilder = RuntimeWiring.newRuntimeWiring();
+		configurer.configure(wiringBuilder);
+
+		// Only registered methods are used, without scanning controllers
+		assertThat(wiringBuilder.build().getDataFetchers().get("Query")).containsOnlyKeys("greeting");
+	}
+
+	@Test
+	void invocableHandlerMethodReusedForSingletonController() throws Exception {
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerSingleton("greetingController", GreetingController.class);
+
+		AnnotatedControllerConfigurer.SchemaMappingDataFetcher dataFetcher = initDataFetcher(context, "greeting");
+		DataFetcherHandlerMethod handlerMethod = dataFetcher.getInvocableHandlerMethod();
+
+		assertThat(dataFetcher.getInvocableHandlerMethod()).isSameAs(handlerMethod);
+		assertThat(handlerMethod.getBean()).isSameAs(context.getBean("greetingController"));
+		DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build();
+		assertThat(dataFetcher.get(environment)).isEqualTo("hello");
+	}
+
+	@Test
+	void invocableHandlerMethodPerCallForPrototypeController() throws Exception {
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerPrototype("greetingController", GreetingController.class);
+
+		AnnotatedControllerConfigurer.SchemaMappingDataFetcher dataFetcher = initDataFetcher(context, "greeting");
+		DataFetcherHandlerMethod first = dataFetcher.getInvocableHandlerMethod();
+		DataFetcherHandlerMethod second = dataFetcher.getInvocableHandlerMethod();
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getBean()).isNotSameAs(first.getBean());
+		DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build();
+		assertThat(dataFetcher.get(environment)).isEqualTo("hello");
+	}
+
+	private static AnnotatedControllerConfigurer.SchemaMappingDataFetcher initDataFetcher(
+			StaticApplicationContext context, String field) {
+
+		AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+		configurer.setApplicationContext(context);
+		configurer.afterPropertiesSet();
+
+		RuntimeWiring.Builder wiringBuilder = RuntimeWiring.newRuntimeWiring();
+		configurer.configure(wiringBuilder);
+		DataFetcher<?> dataFetcher = wiringBuilder.build().getDataFetchers().get("Query").get(field);
+		return (AnnotatedControllerConfigurer.SchemaMappingDataFetcher) dataFetcher;
+	}
+
+
+	@Controller
+	static class GreetingController {
+
+		@QueryMapping
+		String greeting() {
+			return "hello";
+		}
+
+		@QueryMapping
+		String farewell() {
+			return "goodbye";
+		}
+
+	}
+
 }
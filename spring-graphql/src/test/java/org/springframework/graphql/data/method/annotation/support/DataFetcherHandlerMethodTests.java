@@ -28,6 +28,7 @@ import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingEnvironmentImpl;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.graphql.data.GraphQlArgumentBinder;
@@ -68,6 +69,42 @@ public class DataFetcherHandlerMethodTests {
 		assertThat(result).isEqualTo("Hello, Neil");
 	}
 
+	@Test
+	void reuseForMultipleInvocations() {
+
+		HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+		resolvers.addResolver(new ArgumentMethodArgumentResolver(new GraphQlArgumentBinder()));
+
+		DataFetcherHandlerMethod handlerMethod = new DataFetcherHandlerMethod(
+				handlerMethodFor(new TestController(), "hello"), resolvers, null, null, false, false);
+
+		for (String name : new String[] {"Neil", "Buzz"}) {
+			Object result = handlerMethod.invoke(
+					DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+							.arguments(Collections.singletonMap("name", name))
+							.build());
+
+			assertThat(result).isEqualTo("Hello, " + name);
+		}
+	}
+
+	@Test
+	void exceptionFromMethodIsNotTreatedAsArgumentMismatch() {
+
+		DataFetcherHandlerMethod handlerMethod = new DataFetcherHandlerMethod(
+				handlerMethodFor(new TestController(), "handleAndRaiseIllegalArgument"),
+				new HandlerMethodArgumentResolverComposite(), null, null, false, false);
+
+		Object result = handlerMethod.invoke(DataFetchingEnvironmentImpl.newDataFetchingEnvironment().build());
+
+		assertThat(result).isInstanceOf(Mono.class);
+		StepVerifier.create((Mono<?>) result)
+				.expectErrorSatisfies((ex) -> assertThat(ex)
+						.isExactlyInstanceOf(IllegalArgumentException.class)
+						.hasMessage("simulated exception"))
+				.verify();
+	}
+
 	@Test
 	void asyncInvocation() throws Exception {
 		testAsyncInvocation("handleSync", false, true, "A");
@@ -157,6 +194,10 @@ public class DataFetcherHandlerMethodTests {
 			return "A";
 		}
 
+		public String handleAndRaiseIllegalArgument() {
+			throw new IllegalArgumentException("simulated exception");
+		}
+
 		public Callable<String> handleAndReturnCallable(@Argument boolean raiseError) {
 			return () -> {
 				if (raiseError) {
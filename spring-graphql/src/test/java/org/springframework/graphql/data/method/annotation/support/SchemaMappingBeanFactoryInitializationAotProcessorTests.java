@@ -20,6 +20,7 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,7 +42,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.aop.SpringProxy;
+import org.springframework.aot.generate.GeneratedFiles;
 import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
 import org.springframework.aot.hint.MemberCategory;
 import org.springframework.aot.hint.RuntimeHints;
 import org.springframework.aot.hint.TypeReference;
@@ -92,6 +95,26 @@ class SchemaMappingBeanFactoryInitializationAotProcessorTests {
 				.anyMatch(SchemaMappingBeanFactoryInitializationAotProcessor.class::isInstance);
 	}
 
+	@Test
+	void generateControllerMethodsRegistration() throws IOException {
+		processBeanClasses(ArgumentTests.ReturnTypeController.class);
+
+		TestGenerationContext context = (TestGenerationContext) this.generationContext;
+		context.writeGeneratedContent();
+		StringBuilder sources = new StringBuilder();
+		InMemoryGeneratedFiles generatedFiles = context.getGeneratedFiles();
+		for (String path : generatedFiles.getGeneratedFiles(GeneratedFiles.Kind.SOURCE).keySet()) {
+			sources.append(generatedFiles.getGeneratedFileContent(GeneratedFiles.Kind.SOURCE, path));
+		}
+
+		String className = ArgumentTests.ReturnTypeController.class.getName();
+		assertThat(sources.toString())
+				.contains("registerControllerMethods(DefaultListableBeanFactory beanFactory)")
+				.contains("methods.add(\"Query.bookById\", \"" + className + "\", \"" + className + "\", \"bookById\", \"java.lang.Long\")")
+				.contains("beanFactory.registerSingleton(AnnotatedControllerMethods.BEAN_NAME, methods)");
+		assertThat(RuntimeHintsPredicates.reflection().onType(Long.class)).accepts(this.generationContext.getRuntimeHints());
+	}
+
 	@Nested
 	class ArgumentTests {
 
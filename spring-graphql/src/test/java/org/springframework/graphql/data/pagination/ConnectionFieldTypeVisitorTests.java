@@ -104,6 +104,45 @@ public class ConnectionFieldTypeVisitorTests {
 		testConsumer.accept(env -> DataFetcherResult.newResult().data(BookSource.books()).build());
 	}
 
+	@Test
+	void cursorsComputedOnlyWhenSelected() {
+		ListConnectionAdapter adapter = new ListConnectionAdapter();
+		adapter.setHasNext(true);
+
+		Mono<ExecutionGraphQlResponse> response = GraphQlSetup.schemaResource(BookSource.paginationSchema)
+				.dataFetcher("Query", "books", env -> BookSource.books())
+				.connectionSupport(adapter)
+				.toGraphQlService()
+				.execute("{ books { edges { node { id } } pageInfo { hasNextPage } } }");
+
+		ResponseHelper.forResponse(response).assertData(
+				"{\"books\":{" +
+						"\"edges\":[" +
+						"{\"node\":{\"id\":\"1\"}},{\"node\":{\"id\":\"2\"}},{\"node\":{\"id\":\"3\"}}," +
+						"{\"node\":{\"id\":\"4\"}},{\"node\":{\"id\":\"5\"}},{\"node\":{\"id\":\"53\"}}," +
+						"{\"node\":{\"id\":\"42\"}}" +
+						"]," +
+						"\"pageInfo\":{\"hasNextPage\":true}" +
+						"}}"
+		);
+		assertThat(adapter.getCursorCount()).isEqualTo(0);
+	}
+
+	@Test
+	void pageInfoWithoutEdges() {
+		ListConnectionAdapter adapter = new ListConnectionAdapter();
+
+		Mono<ExecutionGraphQlResponse> response = GraphQlSetup.schemaResource(BookSource.paginationSchema)
+				.dataFetcher("Query", "books", env -> BookSource.books())
+				.connectionSupport(adapter)
+				.toGraphQlService()
+				.execute("{ books { pageInfo { startCursor endCursor } } }");
+
+		ResponseHelper.forResponse(response).assertData(
+				"{\"books\":{\"pageInfo\":{\"startCursor\":\"O_0\",\"endCursor\":\"O_6\"}}}");
+		assertThat(adapter.getCursorCount()).isEqualTo(2);
+	}
+
 	@Test // gh-709
 	void customConnectionTypeIsPassedThrough() {
 
@@ -299,6 +338,8 @@ public class ConnectionFieldTypeVisitorTests {
 
 		private boolean hasNext = false;
 
+		private int cursorCount;
+
 		public void setInitialOffset(int initialOffset) {
 			this.initialOffset = initialOffset;
 		}
@@ -307,6 +348,10 @@ public class ConnectionFieldTypeVisitorTests {
 			this.hasNext = hasNext;
 		}
 
+		public int getCursorCount() {
+			return this.cursorCount;
+		}
+
 		@Override
 		public boolean supports(Class<?> containerType) {
 			return Collection.class.isAssignableFrom(containerType);
@@ -330,6 +375,7 @@ public class ConnectionFieldTypeVisitorTests {
 
 		@Override
 		public String cursorAt(Object container, int index) {
+			this.cursorCount++;
 			return "O_" + (this.initialOffset + index);
 		}
 
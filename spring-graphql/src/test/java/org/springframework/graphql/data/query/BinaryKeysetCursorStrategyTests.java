@@ -0,0 +1,215 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.query;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link BinaryKeysetCursorStrategy}.
+ */
+public class BinaryKeysetCursorStrategyTests {
+
+	private final BinaryKeysetCursorStrategy cursorStrategy = new BinaryKeysetCursorStrategy();
+
+
+	@Test
+	void toAndFromCursor() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("firstName", "Joseph");
+		keys.put("lastName", "Heller");
+		keys.put("id", 103);
+
+		String cursor = this.cursorStrategy.toCursor(keys);
+
+		assertThat(cursor).matches("[A-Za-z0-9_-]+");
+		assertThat(this.cursorStrategy.fromCursor(cursor)).containsExactlyEntriesOf(keys);
+	}
+
+	@Test
+	void toAndFromCursorWithValueTypes() {
+		LocalDateTime dateTime = LocalDateTime.of(2023, Month.MAY, 5, 10, 30, 15, 123_456_789);
+
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("null", null);
+		keys.put("boolean", true);
+		keys.put("byte", (byte) -7);
+		keys.put("short", (short) 300);
+		keys.put("int", -42);
+		keys.put("long", Long.MAX_VALUE);
+		keys.put("float", 1.5f);
+		keys.put("double", -2.25d);
+		keys.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+		keys.put("bigDecimal", new BigDecimal("-1234.5678"));
+		keys.put("uuid", UUID.randomUUID());
+		keys.put("date", new Date());
+		keys.put("instant", Instant.ofEpochSecond(-100, 5));
+		keys.put("localDate", dateTime.toLocalDate());
+		keys.put("localTime", dateTime.toLocalTime());
+		keys.put("localDateTime", dateTime);
+		keys.put("offsetDateTime", OffsetDateTime.of(dateTime, ZoneOffset.ofHours(-5)));
+		keys.put("zonedDateTime", ZonedDateTime.of(dateTime, ZoneId.of("Europe/Paris")));
+
+		String cursor = this.cursorStrategy.toCursor(keys);
+
+		assertThat(this.cursorStrategy.fromCursor(cursor)).containsExactlyEntriesOf(keys);
+	}
+
+	@Test
+	void toAndFromCursorWithSqlDateTypes() {
+		Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2023, Month.MAY, 5, 10, 30, 15, 123_456_789));
+
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("timestamp", timestamp);
+		keys.put("sqlDate", java.sql.Date.valueOf(LocalDate.of(2023, Month.MAY, 5)));
+		keys.put("sqlTime", new Time(37815000L));
+		keys.put("date", new Date(timestamp.getTime()));
+
+		Map<String, Object> result = this.cursorStrategy.fromCursor(this.cursorStrategy.toCursor(keys));
+
+		assertThat(result).containsExactlyEntriesOf(keys);
+		assertThat(result.get("timestamp")).isExactlyInstanceOf(Timestamp.class);
+		assertThat(((Timestamp) result.get("timestamp")).getNanos()).isEqualTo(123_456_789);
+		assertThat(result.get("sqlDate")).isExactlyInstanceOf(java.sql.Date.class);
+		assertThat(result.get("sqlTime")).isExactlyInstanceOf(Time.class);
+		assertThat(result.get("date")).isExactlyInstanceOf(Date.class);
+	}
+
+	@Test
+	void cursorShorterThanJson() {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put("createdDate", ZonedDateTime.of(LocalDateTime.of(2023, Month.MAY, 5, 0, 0), ZoneId.of("Z")));
+		keys.put("id", 103L);
+
+		String json = new JsonKeysetCursorStrategy().toCursor(keys);
+		String base64Json = Base64.getEncoder().encodeToString(json.getBytes());
+
+		assertThat(this.cursorStrategy.toCursor(keys).length()).isLessThan(base64Json.length() / 2);
+	}
+
+	@Test
+	void unsupportedValueType() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.toCursor(Map.of("key", new Object())))
+				.withMessageContaining("Unsupported keyset value type");
+	}
+
+	@Test
+	void unsupportedDateSubclass() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.toCursor(Map.of("key", new CustomDate())))
+				.withMessageContaining("Unsupported keyset value type");
+	}
+
+	@Test
+	void invalidCursor() {
+		String cursor = this.cursorStrategy.toCursor(Map.of("id", "1"));
+		String truncated = cursor.substring(0, cursor.length() - 4);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> this.cursorStrategy.fromCursor(truncated));
+	}
+
+	@Test
+	void unknownVersion() {
+		String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[] {9, 0});
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.fromCursor(cursor))
+				.withMessageContaining("Unsupported keyset cursor version");
+	}
+
+	@Test
+	void dateOutOfRange() {
+		// LocalDate with an epoch day of Long.MIN_VALUE
+		String cursor = malformedCursor(15, -1L);
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.fromCursor(cursor))
+				.withMessageContaining("Invalid value in keyset cursor");
+	}
+
+	@Test
+	void instantOverflow() {
+		// Instant with Long.MAX_VALUE seconds, plus a nano adjustment of more than a second
+		String cursor = malformedCursor(14, -2L, 2_000_000_000L);
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.fromCursor(cursor))
+				.withMessageContaining("Invalid value in keyset cursor");
+	}
+
+	@Test
+	void emptyBigInteger() {
+		// BigInteger with zero length
+		String cursor = malformedCursor(10, 0L);
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> this.cursorStrategy.fromCursor(cursor))
+				.withMessageContaining("Invalid value in keyset cursor");
+	}
+
+	@Test
+	void supports() {
+		assertThat(this.cursorStrategy.supports(Map.class)).isTrue();
+		assertThat(this.cursorStrategy.supports(LocalDate.class)).isFalse();
+	}
+
+	private static String malformedCursor(int tag, long... varLongs) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		output.write(1);
+		output.write(1);
+		output.write(2);
+		output.writeBytes("id".getBytes(StandardCharsets.UTF_8));
+		output.write(tag);
+		for (long value : varLongs) {
+			while ((value & ~0x7FL) != 0) {
+				output.write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			output.write((int) value);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(output.toByteArray());
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class CustomDate extends Date {
+	}
+
+}
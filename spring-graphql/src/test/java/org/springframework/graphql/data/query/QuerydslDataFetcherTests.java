@@ -17,23 +17,46 @@
 package org.springframework.graphql.data.query;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.querydsl.core.types.Predicate;
+import graphql.Scalars;
 import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.keyvalue.core.KeyValueTemplate;
 import org.springframework.data.keyvalue.repository.support.KeyValueRepositoryFactory;
 import org.springframework.data.map.MapKeyValueAdapter;
@@ -43,14 +66,19 @@ import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.FluentQuery;
 import org.springframework.graphql.Author;
 import org.springframework.graphql.BookSource;
 import org.springframework.graphql.ExecutionGraphQlResponse;
 import org.springframework.graphql.GraphQlSetup;
 import org.springframework.graphql.ResponseHelper;
 import org.springframework.graphql.data.GraphQlRepository;
+import org.springframework.graphql.data.pagination.ConnectionFieldTypeVisitor;
 import org.springframework.graphql.data.query.QuerydslDataFetcher.Builder;
 import org.springframework.graphql.data.query.QuerydslDataFetcher.QuerydslBuilderCustomizer;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlRequest;
@@ -63,6 +91,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -282,6 +312,147 @@ class QuerydslDataFetcherTests {
 		tester.accept(graphQlSetup(mockWithCustomizerRepository));
 	}
 
+	@Test
+	void shouldFetchSingleItemsWithSelectionProjection() {
+		Book book = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		mockRepository.save(book);
+
+		DataFetcher<?> fetcher = QuerydslDataFetcher.builder(mockRepository)
+				.projectSelectionAs(BookNameProjection.class)
+				.single();
+
+		WebGraphQlHandler handler = graphQlSetup("bookById", fetcher).toWebGraphQlHandler();
+
+		// Selection covered by the projection
+		Mono<WebGraphQlResponse> responseMono = handler.handleRequest(request("{ bookById(id: 42) {name}}"));
+		Book actualBook = ResponseHelper.forResponse(responseMono).toEntity("bookById", Book.class);
+		assertThat(actualBook.getName()).isEqualTo("HITCHHIKER'S GUIDE TO THE GALAXY");
+
+		// Selection not covered by the projection
+		responseMono = handler.handleRequest(request("{ bookById(id: 42) {name author {firstName}}}"));
+		actualBook = ResponseHelper.forResponse(responseMono).toEntity("bookById", Book.class);
+		assertThat(actualBook.getName()).isEqualTo("Hitchhiker's Guide to the Galaxy");
+		assertThat(actualBook.getAuthor().getFirstName()).isEqualTo("Douglas");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldQueryOnlyPropertiesOfClosedSelectionProjection() {
+		FluentQuery.FetchableFluentQuery<Book> query = mockFetchableFluentQuery();
+
+		DataFetcher<?> fetcher = QuerydslDataFetcher.builder(mockRepository(query))
+				.projectSelectionAs(BookNameClosedProjection.class)
+				.single();
+
+		WebGraphQlHandler handler = graphQlSetup("bookById", fetcher).toWebGraphQlHandler();
+
+		// Selection covered by the projection, so the store queries only its properties
+		handler.handleRequest(request("{ bookById(id: 42) {name}}")).block();
+		verify(query).as(BookNameClosedProjection.class);
+		verify(query, never()).project(any(Collection.class));
+
+		// Selection not covered by the projection, so the selected properties are queried
+		handler.handleRequest(request("{ bookById(id: 42) {name author {firstName}}}")).block();
+		ArgumentCaptor<Collection<String>> pathsCaptor = ArgumentCaptor.forClass(Collection.class);
+		verify(query).project(pathsCaptor.capture());
+		assertThat(pathsCaptor.getValue()).containsExactlyInAnyOrder("name", "author.firstName");
+		verify(query, times(1)).as(any(Class.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldSelectProjectionWithNestedProperties() {
+		FluentQuery.FetchableFluentQuery<Book> query = mockFetchableFluentQuery();
+
+		DataFetcher<?> fetcher = QuerydslDataFetcher.builder(mockRepository(query))
+				.projectSelectionAs(BookNameClosedProjection.class, BookAuthorProjection.class)
+				.single();
+
+		WebGraphQlHandler handler = graphQlSetup("bookById", fetcher).toWebGraphQlHandler();
+
+		handler.handleRequest(request("{ bookById(id: 42) {name author {firstName}}}")).block();
+		verify(query).as(BookAuthorProjection.class);
+		verify(query, never()).project(any(Collection.class));
+	}
+
+	@Test
+	void shouldBatchNestedFetchesThroughDataLoader() {
+		Author orwell = new Author(101L, "George", "Orwell");
+		Author fitzgerald = new Author(102L, "F. Scott", "Fitzgerald");
+		mockRepository.saveAll(Arrays.asList(
+				new Book(1L, "Nineteen Eighty-Four", orwell),
+				new Book(2L, "The Great Gatsby", fitzgerald),
+				new Book(5L, "Animal Farm", orwell)));
+
+		MockRepository repository = mock(MockRepository.class, AdditionalAnswers.delegatesTo(mockRepository));
+		BatchLoaderRegistry registry = new DefaultBatchLoaderRegistry();
+
+		DataFetcher<?> booksFetcher = QuerydslDataFetcher.builder(repository)
+				.sortBy(Sort.by("id"))
+				.batchedMany(registry, "author.id", (author) -> ((Author) author).getId());
+
+		String schema = """
+				type Query { authors: [Author] }
+				type Author { id: ID, firstName: String, books: [Book] }
+				type Book { id: ID, name: String }
+				""";
+
+		Mono<ExecutionGraphQlResponse> responseMono = GraphQlSetup.schemaContent(schema)
+				.queryFetcher("authors", (env) -> List.of(orwell, fitzgerald))
+				.dataFetcher("Author", "books", booksFetcher)
+				.dataLoaders(registry)
+				.toGraphQlService()
+				.execute(request("{ authors { id books { name } } }"));
+
+		ResponseHelper response = ResponseHelper.forResponse(responseMono);
+		assertThat(response.toList("authors[0].books", Book.class)).extracting(Book::getName)
+				.containsExactly("Nineteen Eighty-Four", "Animal Farm");
+		assertThat(response.toList("authors[1].books", Book.class)).extracting(Book::getName)
+				.containsExactly("The Great Gatsby");
+
+		verify(repository, times(1)).findAll(any(Predicate.class), any(Sort.class));
+	}
+
+	@Test
+	void shouldBatchNestedFetchesForTwoFieldsFromSameBuilder() {
+		Author orwell = new Author(101L, "George", "Orwell");
+		Author fitzgerald = new Author(102L, "F. Scott", "Fitzgerald");
+		mockRepository.saveAll(Arrays.asList(
+				new Book(1L, "Nineteen Eighty-Four", orwell),
+				new Book(2L, "The Great Gatsby", fitzgerald)));
+
+		BatchLoaderRegistry registry = new DefaultBatchLoaderRegistry();
+		QuerydslDataFetcher.Builder<Book, Book> builder = QuerydslDataFetcher.builder(mockRepository);
+
+		DataFetcher<?> booksFetcher =
+				builder.batchedMany(registry, "author.id", (author) -> ((Author) author).getId());
+		DataFetcher<?> reviewedBooksFetcher =
+				builder.batchedMany(registry, "author.id", (review) -> ((Review) review).authorId());
+
+		String schema = """
+				type Query { authors: [Author], reviews: [Review] }
+				type Author { id: ID, books: [Book] }
+				type Review { authorBooks: [Book] }
+				type Book { id: ID, name: String }
+				""";
+
+		Mono<ExecutionGraphQlResponse> responseMono = GraphQlSetup.schemaContent(schema)
+				.queryFetcher("authors", (env) -> List.of(orwell))
+				.queryFetcher("reviews", (env) -> List.of(new Review(102L)))
+				.dataFetcher("Author", "books", booksFetcher)
+				.dataFetcher("Review", "authorBooks", reviewedBooksFetcher)
+				.dataLoaders(registry)
+				.toGraphQlService()
+				.execute(request("{ authors { books { name } } reviews { authorBooks { name } } }"));
+
+		ResponseHelper response = ResponseHelper.forResponse(responseMono);
+		assertThat(response.errorCount()).isEqualTo(0);
+		assertThat(response.toList("authors[0].books", Book.class)).extracting(Book::getName)
+				.containsExactly("Nineteen Eighty-Four");
+		assertThat(response.toList("reviews[0].authorBooks", Book.class)).extracting(Book::getName)
+				.containsExactly("The Great Gatsby");
+	}
+
 	@Test
 	void shouldReactivelyFetchSingleItems() {
 		ReactiveMockRepository mockRepository = mock(ReactiveMockRepository.class);
@@ -327,6 +498,150 @@ class QuerydslDataFetcherTests {
 		tester.accept(graphQlSetup(mockRepository));
 	}
 
+	@Test
+	void shouldStreamFromInitialPositionWithDemand() throws Exception {
+		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		Book book2 = new Book(53L, "Breaking Bad", new Author(0L, "", "Heisenberg"));
+
+		List<Long> requests = new CopyOnWriteArrayList<>();
+		FluentQuery.ReactiveFluentQuery<Book> query = mockFluentQuery();
+		given(query.all()).willReturn(Flux.just(book1, book2).doOnRequest(requests::add));
+
+		DataFetcher<Flux<Book>> fetcher = QuerydslDataFetcher.builder(mockRepository(query)).stream();
+		Flux<Book> books = fetcher.get(streamEnvironment(Map.of("first", 2)));
+
+		StepVerifier.create(books, 1)
+				.expectNext(book1)
+				.then(() -> assertThat(requests).containsExactly(1L))
+				.thenRequest(1)
+				.expectNext(book2)
+				.verifyComplete();
+
+		verify(query).limit(2);
+		verify(query, never()).scroll(any());
+	}
+
+	@Test
+	void shouldStreamFromOffsetAppliedByStore() throws Exception {
+		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		Book book2 = new Book(53L, "Breaking Bad", new Author(0L, "", "Heisenberg"));
+
+		FluentQuery.ReactiveFluentQuery<Book> query = mockFluentQuery();
+		given(query.scroll(any())).willReturn(Mono.just(Window.from(List.of(book1, book2), ScrollPosition::offset)));
+
+		DataFetcher<Flux<Book>> fetcher = QuerydslDataFetcher.builder(mockRepository(query))
+				.cursorStrategy(new ScrollPositionCursorStrategy())
+				.stream();
+
+		Flux<Book> books = fetcher.get(streamEnvironment(Map.of("first", 2, "after", "O_10")));
+		StepVerifier.create(books).expectNext(book1, book2).verifyComplete();
+
+		verify(query).limit(2);
+		verify(query).scroll(ScrollPosition.offset(10));
+		verify(query, never()).all();
+	}
+
+	@Test
+	void shouldQueryTotalCountOnlyWhenSelected() {
+		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		Book book2 = new Book(53L, "Breaking Bad", new Author(0L, "", "Heisenberg"));
+
+		FluentQuery.FetchableFluentQuery<Book> query = mockFetchableFluentQuery();
+		given(query.scroll(any())).willReturn(Window.from(List.of(book1, book2), ScrollPosition::offset));
+
+		MockRepository repository = mockRepository(query);
+		given(repository.count(any(Predicate.class))).willReturn(7L);
+
+		GraphQlSetup setup = totalCountSetup(QuerydslDataFetcher.builder(repository).scrollable());
+
+		ResponseHelper response = ResponseHelper.forResponse(
+				setup.toGraphQlService().execute(request("{ books { edges { node { name } } } }")));
+
+		assertThat(response.toList("books.edges[*].node.name", String.class))
+				.containsExactly(book1.getName(), book2.getName());
+		verify(repository, never()).count(any(Predicate.class));
+
+		response = ResponseHelper.forResponse(
+				setup.toGraphQlService().execute(request("{ books { totalCount edges { node { name } } } }")));
+
+		assertThat(response.toEntity("books.totalCount", Long.class)).isEqualTo(7L);
+		assertThat(response.toList("books.edges[*].node.name", String.class))
+				.containsExactly(book1.getName(), book2.getName());
+		verify(repository, times(1)).count(any(Predicate.class));
+	}
+
+	@Test
+	void shouldQueryTotalCountOnExecutorConcurrentlyWithPage() {
+		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		Book book2 = new Book(53L, "Breaking Bad", new Author(0L, "", "Heisenberg"));
+
+		CountDownLatch pageQueried = new CountDownLatch(1);
+		FluentQuery.FetchableFluentQuery<Book> query = mockFetchableFluentQuery();
+		given(query.scroll(any())).willAnswer((invocation) -> {
+			pageQueried.countDown();
+			return Window.from(List.of(book1, book2), ScrollPosition::offset);
+		});
+
+		// The count only completes if the page is queried while it is in progress
+		List<Thread> countThreads = new CopyOnWriteArrayList<>();
+		MockRepository repository = mockRepository(query);
+		given(repository.count(any(Predicate.class))).willAnswer((invocation) -> {
+			countThreads.add(Thread.currentThread());
+			assertThat(pageQueried.await(5, TimeUnit.SECONDS)).isTrue();
+			return 2L;
+		});
+
+		DataFetcher<Iterable<Book>> fetcher = QuerydslDataFetcher.builder(repository)
+				.totalCount(new SimpleAsyncTaskExecutor(), Duration.ZERO)
+				.scrollable();
+
+		Mono<ExecutionGraphQlResponse> responseMono = totalCountSetup(fetcher).toGraphQlService()
+				.execute(request("{ books { totalCount edges { node { name } } } }"));
+
+		ResponseHelper response = ResponseHelper.forResponse(responseMono);
+		assertThat(response.errorCount()).isEqualTo(0);
+		assertThat(response.toEntity("books.totalCount", Long.class)).isEqualTo(2L);
+		assertThat(countThreads).singleElement().isNotSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void shouldReactivelyQueryTotalCountOnlyWhenSelected() {
+		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
+		Book book2 = new Book(53L, "Breaking Bad", new Author(0L, "", "Heisenberg"));
+
+		FluentQuery.ReactiveFluentQuery<Book> query = mockFluentQuery();
+		given(query.scroll(any())).willReturn(Mono.just(Window.from(List.of(book1, book2), ScrollPosition::offset)));
+
+		Sinks.One<Long> countSink = Sinks.one();
+		ReactiveMockRepository repository = mockRepository(query);
+		given(repository.count(any(Predicate.class))).willReturn(countSink.asMono());
+
+		GraphQlSetup setup = totalCountSetup(QuerydslDataFetcher.builder(repository).scrollable());
+
+		ResponseHelper response = ResponseHelper.forResponse(
+				setup.toGraphQlService().execute(request("{ books { edges { node { name } } } }")));
+
+		assertThat(response.toList("books.edges[*].node.name", String.class))
+				.containsExactly(book1.getName(), book2.getName());
+		verify(repository, never()).count(any(Predicate.class));
+
+		CompletableFuture<ExecutionGraphQlResponse> future = setup.toGraphQlService()
+				.execute(request("{ books { totalCount edges { node { name } } } }"))
+				.toFuture();
+
+		// The page is queried while the count is still pending
+		verify(query, times(2)).scroll(any());
+		assertThat(future).isNotDone();
+
+		countSink.tryEmitValue(7L);
+
+		response = ResponseHelper.forResponse(Mono.fromFuture(future));
+		assertThat(response.toEntity("books.totalCount", Long.class)).isEqualTo(7L);
+		assertThat(response.toList("books.edges[*].node.name", String.class))
+				.containsExactly(book1.getName(), book2.getName());
+		verify(repository, times(1)).count(any(Predicate.class));
+	}
+
 	@Test
 	void shouldNestForSingleArgumentInputType() {
 		Book book1 = new Book(42L, "Hitchhiker's Guide to the Galaxy", new Author(0L, "Douglas", "Adams"));
@@ -365,6 +680,16 @@ class QuerydslDataFetcherTests {
 				.connectionSupport(new WindowConnectionAdapter(cursorStrategy));
 	}
 
+	private static GraphQlSetup totalCountSetup(DataFetcher<?> dataFetcher) {
+		ConnectionTypeDefinitionConfigurer configurer = new ConnectionTypeDefinitionConfigurer();
+		configurer.setTotalCountEnabled(true);
+		WindowConnectionAdapter adapter = new WindowConnectionAdapter(new ScrollPositionCursorStrategy());
+		return GraphQlSetup.schemaResource(BookSource.paginationSchema)
+				.typeDefinitionConfigurer(configurer)
+				.typeVisitor(ConnectionFieldTypeVisitor.create(List.of(adapter)))
+				.queryFetcher("books", dataFetcher);
+	}
+
 	private static RuntimeWiringConfigurer createRuntimeWiringConfigurer(
 			@Nullable QuerydslPredicateExecutor<?> executor,
 			@Nullable ReactiveQuerydslPredicateExecutor<?> reactiveExecutor) {
@@ -374,6 +699,47 @@ class QuerydslDataFetcherTests {
 				(reactiveExecutor != null ? Collections.singletonList(reactiveExecutor) : Collections.emptyList()));
 	}
 
+	@SuppressWarnings("unchecked")
+	private static FluentQuery.FetchableFluentQuery<Book> mockFetchableFluentQuery() {
+		return mock(FluentQuery.FetchableFluentQuery.class, Answers.RETURNS_SELF);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MockRepository mockRepository(FluentQuery.FetchableFluentQuery<Book> query) {
+		MockRepository repository = mock(MockRepository.class);
+		given(repository.findBy(any(), any())).willAnswer((invocation) -> invocation
+				.<Function<FluentQuery.FetchableFluentQuery<Book>, ?>>getArgument(1).apply(query));
+		return repository;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static FluentQuery.ReactiveFluentQuery<Book> mockFluentQuery() {
+		return mock(FluentQuery.ReactiveFluentQuery.class, Answers.RETURNS_SELF);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ReactiveMockRepository mockRepository(FluentQuery.ReactiveFluentQuery<Book> query) {
+		ReactiveMockRepository repository = mock(ReactiveMockRepository.class);
+		given(repository.findBy(any(), any())).willAnswer((invocation) -> invocation
+				.<Function<FluentQuery.ReactiveFluentQuery<Book>, Publisher<?>>>getArgument(1).apply(query));
+		return repository;
+	}
+
+	private static DataFetchingEnvironment streamEnvironment(Map<String, Object> arguments) {
+		GraphQLFieldDefinition field = GraphQLFieldDefinition.newFieldDefinition()
+				.name("books")
+				.type(Scalars.GraphQLString)
+				.argument(GraphQLArgument.newArgument().name("first").type(Scalars.GraphQLInt))
+				.argument(GraphQLArgument.newArgument().name("after").type(Scalars.GraphQLString))
+				.build();
+
+		return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+				.fieldDefinition(field)
+				.arguments(arguments)
+				.selectionSet(mock(DataFetchingFieldSelectionSet.class))
+				.build();
+	}
+
 	private WebGraphQlRequest request(String query) {
 		return new WebGraphQlRequest(
 				URI.create("/"), new HttpHeaders(), null, null, Collections.emptyMap(),
@@ -420,6 +786,37 @@ class QuerydslDataFetcherTests {
 	}
 
 
+	interface BookNameProjection {
+
+		@Value("#{target.name.toUpperCase()}")
+		String getName();
+
+	}
+
+
+	interface BookNameClosedProjection {
+
+		String getName();
+
+	}
+
+
+	interface BookAuthorProjection {
+
+		String getName();
+
+		AuthorNameProjection getAuthor();
+
+	}
+
+
+	interface AuthorNameProjection {
+
+		String getFirstName();
+
+	}
+
+
 	static class BookDto {
 
 		private final String name;
@@ -434,4 +831,8 @@ class QuerydslDataFetcherTests {
 
 	}
 
+
+	private record Review(Long authorId) {
+	}
+
 }
@@ -29,6 +29,7 @@ import org.springframework.graphql.data.pagination.CursorStrategy;
 import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * Unit tests for {@link RepositoryUtils}.
@@ -103,6 +104,15 @@ public class RepositoryUtilsTests {
 		assertSubrange(true, null, null, range);
 	}
 
+	@Test
+	void streamOffset() {
+		assertThat(RepositoryUtils.getStreamOffset(ScrollPosition.offset())).isEqualTo(0);
+		assertThat(RepositoryUtils.getStreamOffset(ScrollPosition.offset(10))).isEqualTo(11);
+
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				RepositoryUtils.getStreamOffset(ScrollPosition.keyset()));
+	}
+
 	private static DataFetchingEnvironment environment(Map<String, Object> arguments) {
 		return DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
 				.arguments(arguments)
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.data.query;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TotalCounter}.
+ */
+class TotalCounterTests {
+
+	@Test
+	void countWithoutCache() {
+		AtomicInteger queryCount = new AtomicInteger();
+		TotalCounter counter = TotalCounter.NONE;
+
+		assertThat(counter.count("key", () -> (long) queryCount.incrementAndGet())).isCompletedWithValue(1L);
+		assertThat(counter.count("key", () -> (long) queryCount.incrementAndGet())).isCompletedWithValue(2L);
+	}
+
+	@Test
+	void countWithCache() {
+		AtomicInteger queryCount = new AtomicInteger();
+		TotalCounter counter = new TotalCounter(null, Duration.ofMinutes(1));
+
+		assertThat(counter.count("key", () -> (long) queryCount.incrementAndGet())).isCompletedWithValue(1L);
+		assertThat(counter.count("key", () -> (long) queryCount.incrementAndGet())).isCompletedWithValue(1L);
+		assertThat(counter.count("other", () -> (long) queryCount.incrementAndGet())).isCompletedWithValue(2L);
+	}
+
+	@Test
+	void failedCountIsNotCached() {
+		TotalCounter counter = new TotalCounter(null, Duration.ofMinutes(1));
+
+		assertThat(counter.countAsync("key", () -> Mono.error(new IllegalStateException()))).isCompletedExceptionally();
+		assertThat(counter.countAsync("key", () -> Mono.just(5L))).isCompletedWithValue(5L);
+	}
+
+	@Test
+	void countOnExecutor() {
+		TotalCounter counter = new TotalCounter(Runnable::run, Duration.ZERO);
+		assertThat(counter.count("key", () -> 3L)).isCompletedWithValue(3L);
+	}
+
+}
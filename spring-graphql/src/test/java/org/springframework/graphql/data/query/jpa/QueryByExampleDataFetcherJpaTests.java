@@ -17,6 +17,7 @@
 package org.springframework.graphql.data.query.jpa;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -31,22 +32,27 @@ import graphql.schema.DataFetcher;
 import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import reactor.core.publisher.Mono;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.repository.query.QueryByExampleExecutor;
 import org.springframework.graphql.BookSource;
 import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
 import org.springframework.graphql.GraphQlSetup;
 import org.springframework.graphql.ResponseHelper;
+import org.springframework.graphql.data.pagination.ConnectionFieldTypeVisitor;
 import org.springframework.graphql.data.query.QueryByExampleDataFetcher;
 import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
 import org.springframework.graphql.data.query.ScrollSubrange;
 import org.springframework.graphql.data.query.WindowConnectionAdapter;
+import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlRequest;
@@ -64,6 +70,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Integration tests for {@link QueryByExampleDataFetcher} with JPA repository.
@@ -167,6 +175,45 @@ class QueryByExampleDataFetcherJpaTests {
 		tester.accept(graphQlSetup);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void shouldCacheTotalCountAcrossPages() {
+		repository.saveAll(List.of(
+				new Book(1L, "Nineteen Eighty-Four", new Author(101L, "George", "Orwell")),
+				new Book(2L, "The Great Gatsby", new Author(102L, "F. Scott", "Fitzgerald")),
+				new Book(3L, "Catch-22", new Author(103L, "Joseph", "Heller"))));
+
+		long count = repository.count();
+
+		// The probe of each Example is a new Book without equals, so counts are cached by argument values
+		BookJpaRepository countingRepository = mock(BookJpaRepository.class, AdditionalAnswers.delegatesTo(repository));
+
+		DataFetcher<Iterable<Book>> dataFetcher = QueryByExampleDataFetcher.builder(countingRepository)
+				.totalCount(null, Duration.ofMinutes(1))
+				.scrollable();
+
+		ConnectionTypeDefinitionConfigurer configurer = new ConnectionTypeDefinitionConfigurer();
+		configurer.setTotalCountEnabled(true);
+		WindowConnectionAdapter adapter = new WindowConnectionAdapter(new ScrollPositionCursorStrategy());
+
+		ExecutionGraphQlService service = GraphQlSetup.schemaResource(BookSource.paginationSchema)
+				.typeDefinitionConfigurer(configurer)
+				.typeVisitor(ConnectionFieldTypeVisitor.create(List.of(adapter)))
+				.queryFetcher("books", dataFetcher)
+				.toGraphQlService();
+
+		for (String arguments : List.of("first:2", "first:2, after:\"O_1\"")) {
+			Mono<ExecutionGraphQlResponse> responseMono =
+					service.execute(request("{ books(" + arguments + ") { totalCount edges { node { name } } } }"));
+
+			ResponseHelper response = ResponseHelper.forResponse(responseMono);
+			assertThat(response.toEntity("books.totalCount", Long.class)).isEqualTo(count);
+			assertThat(response.toList("books.edges[*].node.name", String.class)).isNotEmpty();
+		}
+
+		verify(countingRepository, times(1)).count(any(Example.class));
+	}
+
 	@Test
 	void shouldFavorExplicitWiring() {
 		BookJpaRepository mockRepository = mock(BookJpaRepository.class);
@@ -32,6 +32,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -69,6 +70,12 @@ class QueryByExampleDataFetcherReactiveMongoDbTests {
 	@Container
 	static MongoDBContainer mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:4.0.10"));
 
+	private static final String STREAM_SCHEMA = """
+			type Query { bookById(id: ID): Book }
+			type Subscription { bookStream(first: Int, after: String): Book }
+			type Book { id: ID name: String }
+			""";
+
 	@Autowired
 	private BookReactiveMongoRepository repository;
 
@@ -189,6 +196,56 @@ class QueryByExampleDataFetcherReactiveMongoDbTests {
 		tester.accept(graphQlSetup);
 	}
 
+	@Test
+	void shouldStreamFromInitialPositionWithDemand() {
+		saveBooks();
+
+		DataFetcher<Flux<Book>> fetcher = QueryByExampleDataFetcher.builder(repository).stream();
+		Flux<String> names = streamNames(fetcher, "subscription { bookStream(first: 2) { name } }");
+
+		StepVerifier.create(names, 1)
+				.expectNext("Nineteen Eighty-Four")
+				.thenRequest(1)
+				.expectNext("The Great Gatsby")
+				.verifyComplete();
+	}
+
+	@Test
+	void shouldStreamFromOffset() {
+		saveBooks();
+
+		DataFetcher<Flux<Book>> fetcher = QueryByExampleDataFetcher.builder(repository)
+				.cursorStrategy(new ScrollPositionCursorStrategy())
+				.stream();
+
+		Flux<String> names = streamNames(fetcher, "subscription { bookStream(first: 2, after: \"O_2\") { name } }");
+
+		StepVerifier.create(names)
+				.expectNext("Hitchhiker's Guide to the Galaxy", "Breaking Bad")
+				.verifyComplete();
+	}
+
+	private void saveBooks() {
+		repository.deleteAll().block();
+		repository.saveAll(Flux.just(
+						new Book("1", "Nineteen Eighty-Four", new Author("0", "George", "Orwell")),
+						new Book("2", "The Great Gatsby", new Author("0", "F. Scott", "Fitzgerald")),
+						new Book("3", "Catch-22", new Author("0", "Joseph", "Heller")),
+						new Book("42", "Hitchhiker's Guide to the Galaxy", new Author("0", "Douglas", "Adams")),
+						new Book("53", "Breaking Bad", new Author("0", "", "Heisenberg"))))
+				.blockLast();
+	}
+
+	private Flux<String> streamNames(DataFetcher<Flux<Book>> fetcher, String document) {
+		Mono<WebGraphQlResponse> responseMono = GraphQlSetup.schemaContent(STREAM_SCHEMA)
+				.subscriptionFetcher("bookStream", fetcher)
+				.toWebGraphQlHandler()
+				.handleRequest(request(document));
+
+		return ResponseHelper.forSubscription(responseMono)
+				.map((response) -> response.toEntity("bookStream.name", String.class));
+	}
+
 	private static GraphQlSetup graphQlSetup(String fieldName, DataFetcher<?> fetcher) {
 		return GraphQlSetup.schemaResource(BookSource.schema).queryFetcher(fieldName, fetcher);
 	}
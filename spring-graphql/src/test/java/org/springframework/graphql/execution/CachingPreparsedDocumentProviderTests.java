@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.TestExecutionGraphQlService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CachingPreparsedDocumentProvider}.
+ */
+public class CachingPreparsedDocumentProviderTests {
+
+	private static final String SCHEMA = "type Query { greeting: String, farewell: String }";
+
+
+	@Test
+	void cacheHit() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		TestExecutionGraphQlService service = initService(cache);
+
+		for (int i = 0; i < 3; i++) {
+			ExecutionGraphQlResponse response = service.execute("{ greeting }").block();
+			assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi"));
+		}
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidDocumentNotCached() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		TestExecutionGraphQlService service = initService(cache);
+
+		ExecutionGraphQlResponse response = service.execute("{ unknown }").block();
+		assertThat(response.getErrors()).hasSize(1);
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void evictLeastRecentlyUsedWhenMaxEntriesExceeded() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider(2, 1024);
+		TestExecutionGraphQlService service = initService(cache);
+
+		service.execute("{ greeting }").block();
+		service.execute("{ farewell }").block();
+		service.execute("{ greeting }").block();
+		service.execute("{ greeting farewell }").block();
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+		service.execute("{ greeting }").block();
+		assertThat(cache.getHitCount()).isEqualTo(2);
+	}
+
+	@Test
+	void evictWhenMaxWeightExceeded() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider(100, 20);
+		TestExecutionGraphQlService service = initService(cache);
+
+		service.execute("{ greeting }").block();
+		service.execute("{ farewell }").block();
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.weight()).isEqualTo("{ farewell }".length());
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void clearedWhenGraphQlSourceBuilt() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		GraphQlSetup setup = GraphQlSetup.schemaContent(SCHEMA)
+				.queryFetcher("greeting", (env) -> "hi")
+				.documentCache(cache);
+
+		setup.toGraphQlService().execute("{ greeting }").block();
+		assertThat(cache.size()).isEqualTo(1);
+
+		setup.toGraphQlSource();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void documentNotCachedIfClearedWhileParsing() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		ExecutionInput input = ExecutionInput.newExecutionInput("{ greeting }").build();
+
+		cache.getDocumentAsync(input, (executionInput) -> {
+			cache.clear();
+			return new PreparsedDocumentEntry(Parser.parse(executionInput.getQuery()));
+		});
+
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.getPutCount()).isEqualTo(0);
+	}
+
+	@Test
+	void keyedByOperationName() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		String document = "query A { greeting } query B { farewell }";
+
+		for (String operationName : List.of("A", "B", "A")) {
+			ExecutionInput input = ExecutionInput.newExecutionInput(document).operationName(operationName).build();
+			cache.getDocumentAsync(input, (executionInput) ->
+					new PreparsedDocumentEntry(Parser.parse(executionInput.getQuery())));
+		}
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.weight()).isEqualTo(2L * document.length());
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentLookups() throws Exception {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider(4, 1024);
+		TestExecutionGraphQlService service = initService(cache);
+		List<String> documents = List.of("{ greeting }", "{ farewell }", "{ greeting farewell }");
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String document = documents.get(i % documents.size());
+				futures.add(executor.submit(() -> service.execute(document).block()));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(cache.getHitCount() + cache.getMissCount()).isEqualTo(200);
+		assertThat(cache.getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void metrics() {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		MeterRegistry registry = new SimpleMeterRegistry();
+		new PreparsedDocumentCacheMetrics(cache).bindTo(registry);
+
+		TestExecutionGraphQlService service = initService(cache);
+		service.execute("{ greeting }").block();
+		service.execute("{ greeting }").block();
+
+		assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.size").gauge().value()).isEqualTo(1);
+	}
+
+	private static TestExecutionGraphQlService initService(CachingPreparsedDocumentProvider cache) {
+		return GraphQlSetup.schemaContent(SCHEMA)
+				.queryFetcher("greeting", (env) -> "hi")
+				.queryFetcher("farewell", (env) -> "bye")
+				.documentCache(cache)
+				.toGraphQlService();
+	}
+
+}
@@ -26,15 +26,26 @@ import graphql.relay.DefaultConnectionCursor;
 import graphql.relay.DefaultEdge;
 import graphql.relay.DefaultPageInfo;
 import graphql.relay.Edge;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.TypeName;
 import graphql.schema.DataFetcher;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.Book;
 import org.springframework.graphql.BookSource;
 import org.springframework.graphql.ExecutionGraphQlResponse;
 import org.springframework.graphql.GraphQlSetup;
 import org.springframework.graphql.ResponseHelper;
+import org.springframework.graphql.data.pagination.ConnectionFieldTypeVisitor;
+import org.springframework.graphql.data.query.ScrollPositionCursorStrategy;
+import org.springframework.graphql.data.query.SliceConnectionAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Unit tests for {@link ConnectionTypeDefinitionConfigurer}.
@@ -68,6 +79,54 @@ public class ConnectionTypeDefinitionConfigurerTests {
 		testConnectionTypeGeneration(graphQlSetup);
 	}
 
+	@Test
+	void connectionTypeGenerationWithTotalCount() {
+		List<Book> books = BookSource.books();
+
+		ConnectionTypeDefinitionConfigurer configurer = new ConnectionTypeDefinitionConfigurer();
+		configurer.setTotalCountEnabled(true);
+
+		Mono<ExecutionGraphQlResponse> response = GraphQlSetup.schemaResource(BookSource.paginationSchema)
+				.typeDefinitionConfigurer(configurer)
+				.typeVisitor(ConnectionFieldTypeVisitor.create(
+						List.of(new SliceConnectionAdapter(new ScrollPositionCursorStrategy()))))
+				.dataFetcher("Query", "books", env -> new PageImpl<>(books.subList(0, 2), PageRequest.of(0, 2), books.size()))
+				.toGraphQlService()
+				.execute("{ books { totalCount edges { node { id } } } }");
+
+		ResponseHelper.forResponse(response).assertData(
+				"{\"books\":{" +
+						"\"totalCount\":7," +
+						"\"edges\":[{\"node\":{\"id\":\"1\"}},{\"node\":{\"id\":\"2\"}}]" +
+						"}}"
+		);
+	}
+
+	@Test
+	void connectionTypeGenerationWithTotalCountTypeName() {
+		TypeDefinitionRegistry registry = new SchemaParser().parse("""
+				type Query {
+					books(first:Int, after:String): BookConnection
+				}
+				type Book {
+					id: ID
+				}
+				scalar Long
+				""");
+
+		ConnectionTypeDefinitionConfigurer configurer = new ConnectionTypeDefinitionConfigurer();
+		configurer.setTotalCountEnabled(true);
+		configurer.setTotalCountTypeName("Long");
+		configurer.configure(registry);
+
+		ObjectTypeDefinition connectionType = registry.getType("BookConnection", ObjectTypeDefinition.class).get();
+		assertThat(connectionType.getFieldDefinitions())
+				.filteredOn((definition) -> definition.getName().equals("totalCount"))
+				.singleElement()
+				.extracting((definition) -> ((TypeName) definition.getType()).getName())
+				.isEqualTo("Long");
+	}
+
 	private static void testConnectionTypeGeneration(GraphQlSetup graphQlSetup) {
 		List<Book> books = BookSource.books();
 
@@ -30,6 +30,7 @@ import graphql.GraphqlErrorBuilder;
 import graphql.TrivialDataFetcher;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetcherFactories;
+import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLSchema;
@@ -42,7 +43,9 @@ import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.context.Context;
 
+import org.springframework.core.ResolvableType;
 import org.springframework.graphql.GraphQlSetup;
 import org.springframework.graphql.ResponseHelper;
 import org.springframework.graphql.TestThreadLocalAccessor;
@@ -106,6 +109,33 @@ public class ContextDataFetcherDecoratorTests {
 		assertThat(data).containsExactly("Hi 007", "Bonjour 007", "Hola 007");
 	}
 
+	@Test
+	void snapshotCapturedOncePerRequest() throws Exception {
+		GraphQL graphQl = GraphQlSetup.schemaContent(SCHEMA_CONTENT)
+				.queryFetcher("greeting", (env) -> {
+					env.getGraphQlContext().put("name", "James");
+					return "Hello";
+				})
+				.queryFetcher("greetings", (env) ->
+						Flux.deferContextual((context) -> Flux.just("Hi " + context.get("name"))))
+				.toGraphQl();
+
+		ExecutionInput input = ExecutionInput.newExecutionInput().query("{ greeting greetings }").build();
+		input.getGraphQLContext().put("name", "007");
+
+		ExecutionResult result = graphQl.executeAsync(input).get();
+
+		List<String> data = ResponseHelper.forResult(result).toList("greetings", String.class);
+		assertThat(data).containsExactly("Hi 007");
+
+		// The saved snapshot is not copied by further captures
+		Context context = ContextSnapshotFactoryHelper.captureFrom(input.getGraphQLContext())
+				.updateContext(Context.empty());
+		assertThat(context.<String>get("name")).isEqualTo("James");
+		assertThat(context.stream()).noneMatch((entry) ->
+				entry.getValue() instanceof ContextSnapshotFactoryHelper.SnapshotHolder);
+	}
+
 	@Test
 	void fluxDataFetcherSubscription() throws Exception {
 		GraphQL graphQl = GraphQlSetup.schemaContent(SCHEMA_CONTENT)
@@ -257,4 +287,42 @@ public class ContextDataFetcherDecoratorTests {
 		assertThat(dataFetcher).isInstanceOf(TrivialDataFetcher.class);
 	}
 
+	@Test
+	void contextFreeDataFetcherIsNotDecorated() {
+		GraphQL graphQl = GraphQlSetup.schemaContent(SCHEMA_CONTENT)
+				.queryFetcher("greeting", new ContextFreeDataFetcher())
+				.toGraphQl();
+
+		GraphQLSchema schema = graphQl.getGraphQLSchema();
+		FieldCoordinates coordinates = FieldCoordinates.coordinates("Query", "greeting");
+		GraphQLFieldDefinition fieldDefinition = schema.getFieldDefinition(coordinates);
+		DataFetcher<?> dataFetcher = schema.getCodeRegistry().getDataFetcher(coordinates, fieldDefinition);
+
+		assertThat(dataFetcher).isInstanceOf(ContextFreeDataFetcher.class);
+	}
+
+
+	private static class ContextFreeDataFetcher implements SelfDescribingDataFetcher<String> {
+
+		@Override
+		public String getDescription() {
+			return "greeting";
+		}
+
+		@Override
+		public ResolvableType getReturnType() {
+			return ResolvableType.forClass(String.class);
+		}
+
+		@Override
+		public boolean isContextFree() {
+			return true;
+		}
+
+		@Override
+		public String get(DataFetchingEnvironment environment) {
+			return "hello";
+		}
+	}
+
 }
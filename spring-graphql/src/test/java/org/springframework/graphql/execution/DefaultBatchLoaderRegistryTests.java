@@ -16,7 +16,14 @@
 
 package org.springframework.graphql.execution;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -32,9 +39,13 @@ import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.graphql.Author;
 import org.springframework.graphql.Book;
 import org.springframework.graphql.BookSource;
 
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 /**
@@ -152,4 +163,245 @@ public class DefaultBatchLoaderRegistryTests {
 		assertThat(map.get(name).getStatistics()).isSameAs(collector.getStatistics());
 	}
 
+	@Test
+	void lazyDataLoaderRegistry() throws Exception {
+		AtomicInteger optionsCount = new AtomicInteger();
+		DefaultBatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry(() -> {
+			optionsCount.incrementAndGet();
+			return DataLoaderOptions.newOptions().setBatchingEnabled(false);
+		});
+
+		batchLoaderRegistry.forName("loader1").registerBatchLoader((keys, environment) -> Flux.just(1));
+		batchLoaderRegistry.forName("loader2").registerBatchLoader((keys, environment) -> Flux.just(2));
+
+		for (int i = 0; i < 3; i++) {
+			LazyDataLoaderRegistry registry = new LazyDataLoaderRegistry();
+			batchLoaderRegistry.registerDataLoaders(registry, GraphQLContext.newContext().build());
+
+			assertThat(registry.getKeys()).containsExactlyInAnyOrder("loader1", "loader2");
+			assertThat(registry.getDataLoadersMap()).isEmpty();
+
+			DataLoader<Long, Integer> loader1 = registry.getDataLoader("loader1");
+			assertThat(loader1.load(1L).get()).isEqualTo(1);
+			assertThat(registry.getDataLoader("loader1")).isSameAs(loader1);
+			assertThat(registry.getDataLoadersMap()).containsOnlyKeys("loader1");
+		}
+
+		// Options prepared once per registration, and copied for each request
+		assertThat(optionsCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void lazyDataLoaderRegistryDuplicateName() {
+		this.batchLoaderRegistry.forName("loader").registerBatchLoader((keys, environment) -> Flux.empty());
+		this.batchLoaderRegistry.forName("loader").registerBatchLoader((keys, environment) -> Flux.empty());
+
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.batchLoaderRegistry.registerDataLoaders(
+						new LazyDataLoaderRegistry(), GraphQLContext.newContext().build()))
+				.withMessage("More than one DataLoader named 'loader'");
+	}
+
+	@Test
+	void crossRequestBatching() throws Exception {
+		List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+		this.batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withCrossRequestBatching(Duration.ofMillis(50), 100, (context) -> "shared")
+				.registerBatchLoader((ids, environment) -> {
+					batches.add(ids);
+					return Flux.fromIterable(ids).map(BookSource::getBook);
+				});
+
+		DataLoader<Long, Book> loader1 = registerDataLoader(GraphQLContext.newContext().build());
+		DataLoader<Long, Book> loader2 = registerDataLoader(GraphQLContext.newContext().build());
+
+		CompletableFuture<Book> book1 = loader1.load(1L);
+		CompletableFuture<Book> book2 = loader2.load(2L);
+		CompletableFuture<Book> book3 = loader2.load(1L);
+
+		assertThat(book1.get().getId()).isEqualTo(1L);
+		assertThat(book2.get().getId()).isEqualTo(2L);
+		assertThat(book3.get().getId()).isEqualTo(1L);
+		assertThat(batches).containsExactly(List.of(1L, 2L));
+	}
+
+	@Test
+	void crossRequestBatchingWithMaxBatchSize() throws Exception {
+		List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+
+		this.batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withCrossRequestBatching(Duration.ofMinutes(1), 2, (context) -> "shared")
+				.registerMappedBatchLoader((ids, environment) -> {
+					batches.add(ids);
+					return Flux.fromIterable(ids).map(BookSource::getBook).collectMap(Book::getId, Function.identity());
+				});
+
+		DataLoader<Long, Book> loader1 = registerDataLoader(GraphQLContext.newContext().build());
+		DataLoader<Long, Book> loader2 = registerDataLoader(GraphQLContext.newContext().build());
+
+		CompletableFuture<Book> book1 = loader1.load(1L);
+		CompletableFuture<Book> book2 = loader2.load(2L);
+
+		assertThat(book1.get(5, TimeUnit.SECONDS).getId()).isEqualTo(1L);
+		assertThat(book2.get(5, TimeUnit.SECONDS).getId()).isEqualTo(2L);
+		assertThat(batches).containsExactly(Set.of(1L, 2L));
+	}
+
+	@Test
+	void crossRequestBatchingByContextKey() throws Exception {
+		Map<String, List<Long>> batches = new ConcurrentHashMap<>();
+
+		this.batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withCrossRequestBatching(Duration.ofMillis(50), 100, (context) -> context.get("tenant"))
+				.registerBatchLoader((ids, environment) -> {
+					GraphQLContext context = environment.getContext();
+					batches.put(context.get("tenant"), ids);
+					return Flux.fromIterable(ids).map(BookSource::getBook);
+				});
+
+		DataLoader<Long, Book> loader1 = registerDataLoader(GraphQLContext.newContext().of("tenant", "a").build());
+		DataLoader<Long, Book> loader2 = registerDataLoader(GraphQLContext.newContext().of("tenant", "b").build());
+		DataLoader<Long, Book> loader3 = registerDataLoader(GraphQLContext.newContext().of("tenant", "a").build());
+
+		CompletableFuture<Book> book1 = loader1.load(1L);
+		CompletableFuture<Book> book2 = loader2.load(2L);
+		CompletableFuture<Book> book3 = loader3.load(3L);
+
+		assertThat(book1.get().getId()).isEqualTo(1L);
+		assertThat(book2.get().getId()).isEqualTo(2L);
+		assertThat(book3.get().getId()).isEqualTo(3L);
+		assertThat(batches).containsOnly(Map.entry("a", List.of(1L, 3L)), Map.entry("b", List.of(2L)));
+	}
+
+	@Test
+	void crossRequestBatchingDoesNotShareEnvironmentAcrossContexts() throws Exception {
+		Map<Object, GraphQLContext> contexts = new ConcurrentHashMap<>();
+
+		this.batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withCrossRequestBatching(Duration.ofMillis(50), 100, (context) -> context.get("tenant"))
+				.registerBatchLoader((ids, environment) -> {
+					GraphQLContext context = environment.getContext();
+					contexts.put(ids.get(0), context);
+					return Flux.fromIterable(ids).map(BookSource::getBook);
+				});
+
+		GraphQLContext context1 = GraphQLContext.newContext().of("tenant", "a").build();
+		GraphQLContext context2 = GraphQLContext.newContext().of("tenant", "b").build();
+		GraphQLContext context3 = GraphQLContext.newContext().build();
+
+		CompletableFuture<Book> book1 = registerDataLoader(context1).load(1L);
+		CompletableFuture<Book> book2 = registerDataLoader(context2).load(2L);
+		CompletableFuture<Book> book3 = registerDataLoader(context3).load(3L);
+
+		assertThat(book1.get().getId()).isEqualTo(1L);
+		assertThat(book2.get().getId()).isEqualTo(2L);
+		assertThat(book3.get().getId()).isEqualTo(3L);
+		assertThat(contexts).hasSize(3);
+		assertThat(contexts.get(1L)).isSameAs(context1);
+		assertThat(contexts.get(2L)).isSameAs(context2);
+		assertThat(contexts.get(3L)).isSameAs(context3);
+	}
+
+	@Test
+	void crossRequestBatchingWithKeyContexts() throws Exception {
+		List<List<Object>> keyContexts = new CopyOnWriteArrayList<>();
+
+		this.batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withCrossRequestBatching(Duration.ofMillis(50), 100, (context) -> "shared")
+				.registerBatchLoader((ids, environment) -> {
+					keyContexts.add(environment.getKeyContextsList());
+					return Flux.fromIterable(ids).map(BookSource::getBook);
+				});
+
+		DataLoader<Long, Book> loader1 = registerDataLoader(GraphQLContext.newContext().build());
+		DataLoader<Long, Book> loader2 = registerDataLoader(GraphQLContext.newContext().build());
+
+		CompletableFuture<Book> book1 = loader1.load(1L, "one");
+		CompletableFuture<Book> book2 = loader2.load(2L, "two");
+
+		assertThat(book1.get().getId()).isEqualTo(1L);
+		assertThat(book2.get().getId()).isEqualTo(2L);
+		assertThat(keyContexts).containsExactly(List.of("one", "two"));
+	}
+
+	@Test
+	void sharedCache() {
+		List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+		DefaultBatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry();
+		batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withSharedCache(Duration.ofMinutes(1), 10)
+				.registerBatchLoader((ids, environment) -> {
+					batches.add(ids);
+					return Flux.fromIterable(ids).map(BookSource::getBook);
+				});
+
+		for (List<Long> ids : List.of(List.of(1L, 2L), List.of(2L, 3L))) {
+			DataLoaderRegistry registry = DataLoaderRegistry.newRegistry().build();
+			batchLoaderRegistry.registerDataLoaders(registry, GraphQLContext.newContext().build());
+			DataLoader<Long, Book> dataLoader = registry.getDataLoader(Book.class.getName());
+			List<CompletableFuture<Book>> futures = ids.stream().map(dataLoader::load).toList();
+			dataLoader.dispatchAndJoin();
+			assertThat(futures).allMatch((future) -> future.join() != null);
+		}
+
+		assertThat(batches).containsExactly(List.of(1L, 2L), List.of(3L));
+
+		SharedValueCache<?, ?> cache = batchLoaderRegistry.getSharedCaches().get(Book.class.getName());
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(3);
+		assertThat(cache.getHitRatio()).isEqualTo(0.25);
+	}
+
+	@Test
+	void sharedCacheUsedByTwoDataLoaders() {
+		Cache sharedCache = new ConcurrentMapCache("reference");
+
+		DefaultBatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry();
+		batchLoaderRegistry.forTypePair(Long.class, Book.class)
+				.withSharedCache(sharedCache)
+				.registerBatchLoader((ids, environment) -> Flux.fromIterable(ids).map(BookSource::getBook));
+		batchLoaderRegistry.forTypePair(Long.class, Author.class)
+				.withSharedCache(sharedCache)
+				.registerBatchLoader((ids, environment) ->
+						Flux.fromIterable(ids).map((id) -> BookSource.getAuthor(id + 100)));
+
+		for (int i = 0; i < 2; i++) {
+			DataLoaderRegistry registry = DataLoaderRegistry.newRegistry().build();
+			batchLoaderRegistry.registerDataLoaders(registry, GraphQLContext.newContext().build());
+			DataLoader<Long, Book> bookLoader = registry.getDataLoader(Book.class.getName());
+			DataLoader<Long, Author> authorLoader = registry.getDataLoader(Author.class.getName());
+			CompletableFuture<Book> book = bookLoader.load(1L);
+			CompletableFuture<Author> author = authorLoader.load(1L);
+			registry.dispatchAll();
+
+			assertThat(book.join()).isSameAs(BookSource.getBook(1L));
+			assertThat(author.join()).isSameAs(BookSource.getAuthor(101L));
+		}
+
+		SharedValueCache<?, ?> bookCache = batchLoaderRegistry.getSharedCaches().get(Book.class.getName());
+		assertThat(bookCache.getHitCount()).isEqualTo(1);
+		assertThat(bookCache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void sharedCacheEvictsLeastRecentlyUsed() {
+		ExpiringMapCache cache = new ExpiringMapCache("test", Duration.ofMinutes(1), 2);
+		cache.put(1L, "one");
+		cache.put(2L, "two");
+		cache.get(1L);
+		cache.put(3L, "three");
+
+		assertThat(cache.get(1L)).isNotNull();
+		assertThat(cache.get(2L)).isNull();
+		assertThat(cache.get(3L)).isNotNull();
+	}
+
+	private DataLoader<Long, Book> registerDataLoader(GraphQLContext context) {
+		DataLoaderRegistry registry = DataLoaderRegistry.newRegistry().build();
+		this.batchLoaderRegistry.registerDataLoaders(registry, context);
+		return registry.getDataLoader(Book.class.getName());
+	}
+
 }
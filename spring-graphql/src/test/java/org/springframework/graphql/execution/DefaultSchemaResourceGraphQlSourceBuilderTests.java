@@ -16,6 +16,9 @@
 
 package org.springframework.graphql.execution;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -31,11 +34,14 @@ import graphql.schema.GraphQLTypeVisitor;
 import graphql.schema.GraphQLTypeVisitorStub;
 import graphql.schema.idl.FieldWiringEnvironment;
 import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.WiringFactory;
 import graphql.util.TraversalControl;
 import graphql.util.TraverserContext;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.graphql.BookSource;
 import org.springframework.graphql.GraphQlSetup;
 
@@ -209,12 +215,82 @@ public class DefaultSchemaResourceGraphQlSourceBuilderTests {
 		assertThat(getDataFetcherForQuery(schema, "q2")).isSameAs(dataFetcher2);
 	}
 
+	@Test
+	void parseMultipleResources() {
+		GraphQLSchema schema = GraphQlSource.schemaResourceBuilder()
+				.schemaResources(
+						resource("type Query { book: Book }"),
+						resource("type Book { id: ID }"),
+						resource("extend type Query { author: String }"))
+				.build()
+				.schema();
+
+		assertThat(schema.getObjectType("Book")).isNotNull();
+		assertThat(schema.getQueryType().getFieldDefinition("author")).isNotNull();
+	}
+
+	@Test
+	void serializedTypeDefinitionRegistry() throws Exception {
+		List<Resource> resources = List.of(resource("type Query { book: Book }"), resource("type Book { id: ID }"));
+		Resource serializedRegistry = serialize(resources);
+
+		GraphQLSchema schema = GraphQlSource.schemaResourceBuilder()
+				.serializedTypeDefinitionRegistry(serializedRegistry)
+				.build()
+				.schema();
+
+		assertThat(schema.getObjectType("Book").getFieldDefinition("id")).isNotNull();
+
+		// Schema resources in a different order
+		List<Resource> reordered = List.of(resources.get(1), resources.get(0));
+		assertThat(TypeDefinitionRegistrySerializer.read(serializedRegistry, reordered)).isNotNull();
+	}
+
+	@Test
+	void serializedTypeDefinitionRegistryFromOtherSchemaResources() throws Exception {
+		Resource serializedRegistry = serialize(
+				List.of(resource("type Query { book: Book }"), resource("type Book { id: ID }")));
+
+		GraphQLSchema schema = GraphQlSource.schemaResourceBuilder()
+				.schemaResources(resource("type Query { book: Book }"), resource("type Book { id: ID name: String }"))
+				.serializedTypeDefinitionRegistry(serializedRegistry)
+				.build()
+				.schema();
+
+		assertThat(schema.getObjectType("Book").getFieldDefinition("name")).isNotNull();
+	}
+
+	@Test
+	void serializedTypeDefinitionRegistryUnreadable() {
+		Resource serializedRegistry = resource("not a serialized registry");
+		assertThat(TypeDefinitionRegistrySerializer.read(serializedRegistry, List.of())).isNull();
+
+		GraphQLSchema schema = GraphQlSource.schemaResourceBuilder()
+				.schemaResources(resource("type Query { book: Book }"), resource("type Book { id: ID }"))
+				.serializedTypeDefinitionRegistry(serializedRegistry)
+				.build()
+				.schema();
+
+		assertThat(schema.getObjectType("Book").getFieldDefinition("id")).isNotNull();
+	}
+
+	private static Resource serialize(List<Resource> resources) throws IOException {
+		TypeDefinitionRegistry registry = DefaultSchemaResourceGraphQlSourceBuilder.parseSchemaResources(resources);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		TypeDefinitionRegistrySerializer.write(registry, resources, outputStream);
+		return new ByteArrayResource(outputStream.toByteArray());
+	}
+
 	private DataFetcher<?> getDataFetcherForQuery(GraphQLSchema schema, String query) {
 		FieldCoordinates coordinates = FieldCoordinates.coordinates("Query", query);
 		GraphQLFieldDefinition fieldDefinition = schema.getFieldDefinition(coordinates);
 		return schema.getCodeRegistry().getDataFetcher(coordinates, fieldDefinition);
 	}
 
+	private static Resource resource(String content) {
+		return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+	}
+
 
 	private static class DataFetcherWiringFactory implements WiringFactory {
 
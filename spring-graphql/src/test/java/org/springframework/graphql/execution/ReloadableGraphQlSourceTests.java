@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link ReloadableGraphQlSource}.
+ */
+public class ReloadableGraphQlSourceTests {
+
+	@TempDir
+	Path directory;
+
+	private Path schemaFile;
+
+	private GraphQlSource.SchemaResourceBuilder builder;
+
+
+	@BeforeEach
+	void setUp() throws IOException {
+		this.schemaFile = this.directory.resolve("schema.graphqls");
+		Files.writeString(this.schemaFile, "type Query { greeting: String }");
+		this.builder = GraphQlSource.schemaResourceBuilder()
+				.schemaResources(new FileSystemResource(this.schemaFile))
+				.configureRuntimeWiring((wiring) -> wiring.type("Query", (type) -> type
+						.dataFetcher("greeting", (env) -> "hi")
+						.dataFetcher("farewell", (env) -> "bye")));
+	}
+
+
+	@Test
+	void reload() throws IOException {
+		ReloadableGraphQlSource source = new ReloadableGraphQlSource(this.builder::build);
+		GraphQL previous = source.graphQl();
+		assertThat(source.schema().getQueryType().getFieldDefinition("farewell")).isNull();
+
+		Files.writeString(this.schemaFile, "type Query { greeting: String, farewell: String }");
+		source.reload();
+
+		assertThat(source.graphQl()).isNotSameAs(previous);
+		assertThat(source.schema().getQueryType().getFieldDefinition("farewell")).isNotNull();
+		assertThat(execute(source.graphQl(), "{ farewell }").<Map<String, Object>>getData())
+				.isEqualTo(Map.of("farewell", "bye"));
+
+		// Already obtained instance continues with the previous schema
+		assertThat(execute(previous, "{ greeting }").<Map<String, Object>>getData())
+				.isEqualTo(Map.of("greeting", "hi"));
+		assertThat(execute(previous, "{ farewell }").getErrors()).hasSize(1);
+	}
+
+	@Test
+	void reloadIfModified() throws IOException {
+		List<GraphQlSource> reloaded = new ArrayList<>();
+		ReloadableGraphQlSource source = new ReloadableGraphQlSource(this.builder::build);
+		source.setWatchedResources(List.of(new FileSystemResource(this.schemaFile)));
+		source.addReloadListener(reloaded::add);
+
+		assertThat(source.reloadIfModified()).isFalse();
+		assertThat(reloaded).isEmpty();
+
+		Files.writeString(this.schemaFile, "type Query { greeting: String, farewell: String }");
+		assertThat(this.schemaFile.toFile().setLastModified(System.currentTimeMillis() + 10_000)).isTrue();
+
+		assertThat(source.reloadIfModified()).isTrue();
+		assertThat(reloaded).hasSize(1);
+		assertThat(reloaded.get(0).graphQl()).isSameAs(source.graphQl());
+		assertThat(source.reloadIfModified()).isFalse();
+	}
+
+	@Test
+	void failedReloadKeepsCurrentSource() throws IOException {
+		ReloadableGraphQlSource source = new ReloadableGraphQlSource(this.builder::build);
+		GraphQL current = source.graphQl();
+
+		Files.writeString(this.schemaFile, "type Query {");
+		assertThatIllegalStateException().isThrownBy(source::reload);
+
+		assertThat(source.graphQl()).isSameAs(current);
+	}
+
+	@Test
+	void documentCacheInvalidatedOnReload() throws IOException {
+		CachingPreparsedDocumentProvider cache = new CachingPreparsedDocumentProvider();
+		this.builder.documentCache(cache);
+		ReloadableGraphQlSource source = new ReloadableGraphQlSource(this.builder::build);
+		GraphQL previous = source.graphQl();
+
+		execute(previous, "{ greeting }");
+		assertThat(cache.size()).isEqualTo(1);
+
+		Files.writeString(this.schemaFile, "type Query { greeting: String, farewell: String }");
+		source.reload();
+		assertThat(cache.size()).isEqualTo(0);
+
+		// Requests on the previous source neither use nor populate the cache
+		assertThat(execute(previous, "{ greeting }").<Map<String, Object>>getData())
+				.isEqualTo(Map.of("greeting", "hi"));
+		assertThat(cache.size()).isEqualTo(0);
+
+		assertThat(execute(source.graphQl(), "{ greeting farewell }").<Map<String, Object>>getData())
+				.isEqualTo(Map.of("greeting", "hi", "farewell", "bye"));
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	private static ExecutionResult execute(GraphQL graphQl, String document) {
+		return graphQl.execute(document);
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.execution;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.graphql.ExecutionGraphQlRequest;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.TestExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link TrustedDocumentRegistry}.
+ */
+public class TrustedDocumentRegistryTests {
+
+	private static final String SCHEMA = "type Query { greeting: String, farewell: String }";
+
+
+	@Test
+	void apolloManifest() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("""
+				{
+					"format": "apollo-persisted-query-manifest",
+					"version": 1,
+					"operations": [
+						{ "id": "abc", "name": "Greeting", "type": "query", "body": "query Greeting { greeting }" }
+					]
+				}
+				"""));
+
+		TestExecutionGraphQlService service = initService(registry);
+		assertThat(registry.getDocumentIds()).containsExactly("abc");
+		assertThat(registry.getParsedDocument("abc")).isNotNull();
+
+		ExecutionGraphQlResponse response = service.execute(requestForId("abc")).block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi"));
+	}
+
+	@Test
+	void relayManifest() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("""
+				{ "abc": "{ greeting }" }
+				"""));
+
+		TestExecutionGraphQlService service = initService(registry);
+
+		ExecutionGraphQlResponse response = service.execute(requestForId("abc")).block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi"));
+
+		response = service.execute("{ greeting }").block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi"));
+	}
+
+	@Test
+	void unknownId() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("{ \"abc\": \"{ greeting }\" }"));
+		TestExecutionGraphQlService service = initService(registry);
+
+		ExecutionGraphQlResponse response = service.execute(requestForId("xyz")).block();
+		assertThat(response.getErrors()).hasSize(1);
+		assertThat(response.getErrors().get(0).getMessage()).isEqualTo("PersistedQueryNotFound");
+	}
+
+	@Test
+	void unregisteredDocumentRejected() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("{ \"abc\": \"{ greeting }\" }"));
+		TestExecutionGraphQlService service = initService(registry);
+
+		ExecutionGraphQlResponse response = service.execute("{ farewell }").block();
+		assertThat(response.getErrors()).hasSize(1);
+		assertThat(response.getErrors().get(0).getErrorType()).isEqualTo(ErrorType.FORBIDDEN);
+	}
+
+	@Test
+	void unregisteredDocumentAllowed() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("{ \"abc\": \"{ greeting }\" }"));
+		registry.setAllowUnregisteredDocuments(true);
+		TestExecutionGraphQlService service = initService(registry);
+
+		ExecutionGraphQlResponse response = service.execute("{ farewell }").block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("farewell", "bye"));
+	}
+
+	@Test
+	void invalidDocumentFailsOnBuild() {
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromManifest(manifest("{ \"abc\": \"{ unknown }\" }"));
+		assertThatIllegalStateException().isThrownBy(() -> initService(registry)).withMessageContaining("abc");
+	}
+
+	@Test
+	void reloadFromDocumentSource() {
+		Map<String, String> documents = new ConcurrentHashMap<>(Map.of("greeting", "{ greeting }"));
+		TrustedDocumentRegistry registry = TrustedDocumentRegistry.fromDocumentSource(
+				(name) -> Mono.justOrEmpty(documents.get(name)), List.of("greeting"));
+
+		TestExecutionGraphQlService service = initService(registry);
+		ExecutionGraphQlResponse response = service.execute(requestForId("greeting")).block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi"));
+
+		documents.put("greeting", "{ farewell }");
+		registry.reload();
+
+		response = service.execute(requestForId("greeting")).block();
+		assertThat(response.<Map<String, Object>>getData()).isEqualTo(Map.of("farewell", "bye"));
+	}
+
+	private static ByteArrayResource manifest(String content) {
+		return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static TestExecutionGraphQlService initService(TrustedDocumentRegistry registry) {
+		return GraphQlSetup.schemaContent(SCHEMA)
+				.queryFetcher("greeting", (env) -> "hi")
+				.queryFetcher("farewell", (env) -> "bye")
+				.trustedDocuments(registry)
+				.toGraphQlService();
+	}
+
+	private static ExecutionGraphQlRequest requestForId(String id) {
+		Map<String, Object> extensions = Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", id));
+		return new DefaultExecutionGraphQlRequest(PersistedQuerySupport.PERSISTED_QUERY_MARKER, null, null, extensions, "1", Locale.ENGLISH);
+	}
+
+}
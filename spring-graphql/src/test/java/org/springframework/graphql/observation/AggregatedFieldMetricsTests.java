@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.observation;
+
+import java.time.Duration;
+
+import graphql.schema.GraphQLSchema;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.graphql.GraphQlSetup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AggregatedFieldMetrics}.
+ */
+public class AggregatedFieldMetricsTests {
+
+	@Test
+	void registerSchema() {
+		AggregatedFieldMetrics metrics = new AggregatedFieldMetrics();
+		metrics.register(schema("type Query { greeting: String }"));
+		AggregatedFieldMetrics.FieldMetrics fieldMetrics = metrics.getFieldMetrics("Query", "greeting");
+
+		assertThat(fieldMetrics).isNotNull();
+		assertThat(fieldMetrics.getCoordinates().getTypeName()).isEqualTo("Query");
+		assertThat(fieldMetrics.getCoordinates().getFieldName()).isEqualTo("greeting");
+		assertThat(metrics.getFieldMetrics("Query", "__typename")).isNull();
+		assertThat(metrics.getFieldMetrics()).containsExactly(fieldMetrics);
+	}
+
+	@Test
+	void registerSchemaKeepsExistingMetrics() {
+		AggregatedFieldMetrics metrics = new AggregatedFieldMetrics();
+		metrics.register(schema("type Query { greeting: String }"));
+		metrics.getFieldMetrics("Query", "greeting").record(1000, false);
+
+		GraphQLSchema schema = schema("type Query { greeting: String farewell: String }");
+		metrics.register(schema);
+
+		assertThat(metrics.isRegistered(schema)).isTrue();
+		assertThat(metrics.getFieldMetrics("Query", "greeting").getCount()).isEqualTo(1);
+		assertThat(metrics.getFieldMetrics("Query", "farewell").getCount()).isEqualTo(0);
+	}
+
+	@Test
+	void record() {
+		AggregatedFieldMetrics metrics = new AggregatedFieldMetrics();
+		metrics.register(schema("type Query { greeting: String }"));
+		AggregatedFieldMetrics.FieldMetrics fieldMetrics = metrics.getFieldMetrics("Query", "greeting");
+
+		fieldMetrics.record(500, false);
+		fieldMetrics.record(Duration.ofMillis(3).toNanos(), false);
+		fieldMetrics.record(Duration.ofMillis(5).toNanos(), true);
+		fieldMetrics.record(Duration.ofHours(1).toNanos(), false);
+
+		assertThat(fieldMetrics.getCount()).isEqualTo(4);
+		assertThat(fieldMetrics.getErrorCount()).isEqualTo(1);
+		assertThat(fieldMetrics.getMaxTime()).isEqualTo(Duration.ofHours(1));
+
+		long[] histogram = fieldMetrics.getHistogram();
+		assertThat(histogram[0]).isEqualTo(1);
+		assertThat(histogram[12]).isEqualTo(1);
+		assertThat(histogram[13]).isEqualTo(1);
+		assertThat(histogram[AggregatedFieldMetrics.BUCKET_COUNT - 1]).isEqualTo(1);
+
+		assertThat(fieldMetrics.getPercentile(0.25)).isEqualTo(Duration.ofNanos(1000));
+		assertThat(fieldMetrics.getPercentile(0.5)).isEqualTo(Duration.ofNanos(4096000));
+		assertThat(fieldMetrics.getPercentile(1.0)).isEqualTo(Duration.ofHours(1));
+	}
+
+	private static GraphQLSchema schema(String schemaContent) {
+		return GraphQlSetup.schemaContent(schemaContent).toGraphQlSource().schema();
+	}
+
+}
@@ -47,6 +47,7 @@ import org.springframework.graphql.ExecutionGraphQlRequest;
 import org.springframework.graphql.ExecutionGraphQlResponse;
 import org.springframework.graphql.GraphQlSetup;
 import org.springframework.graphql.ResponseHelper;
+import org.springframework.graphql.TestExecutionGraphQlService;
 import org.springframework.graphql.TestExecutionRequest;
 import org.springframework.graphql.execution.DataFetcherExceptionResolver;
 import org.springframework.graphql.execution.ErrorType;
@@ -408,6 +409,69 @@ class GraphQlObservationInstrumentationTests {
 		ResponseHelper.forResponse(responseMono);
 	}
 
+	@Test
+	void recordFieldMetricsWithoutSampling() {
+		String document = """
+				{
+					bookById(id: 1) {
+						author {
+							firstName
+						}
+					}
+				}
+				""";
+		AggregatedFieldMetrics fieldMetrics = new AggregatedFieldMetrics();
+		this.instrumentation.setFieldMetrics(fieldMetrics);
+		this.instrumentation.setDataFetcherSamplingProbability(0.0);
+
+		TestExecutionGraphQlService service = graphQlSetup
+				.queryFetcher("bookById", env -> BookSource.getBookWithoutAuthor(1L))
+				.dataFetcher("Book", "author", env -> {
+					throw new IllegalStateException("author fetching failure");
+				})
+				.toGraphQlService();
+		ResponseHelper.forResponse(service.execute(document));
+		ResponseHelper.forResponse(service.execute(document));
+
+		TestObservationRegistryAssert.assertThat(this.observationRegistry)
+				.hasNumberOfObservationsWithNameEqualTo("graphql.request", 2)
+				.hasNumberOfObservationsWithNameEqualTo("graphql.datafetcher", 0);
+
+		AggregatedFieldMetrics.FieldMetrics bookMetrics = fieldMetrics.getFieldMetrics("Query", "bookById");
+		assertThat(bookMetrics).isNotNull();
+		assertThat(bookMetrics.getCount()).isEqualTo(2);
+		assertThat(bookMetrics.getErrorCount()).isEqualTo(0);
+		assertThat(bookMetrics.getHistogram()).containsAnyOf(2L);
+
+		AggregatedFieldMetrics.FieldMetrics authorMetrics = fieldMetrics.getFieldMetrics("Book", "author");
+		assertThat(authorMetrics).isNotNull();
+		assertThat(authorMetrics.getCount()).isEqualTo(2);
+		assertThat(authorMetrics.getErrorCount()).isEqualTo(2);
+	}
+
+	@Test
+	void recordFieldMetricsWithSampling() {
+		String document = """
+				{
+					bookById(id: 1) {
+						name
+					}
+				}
+				""";
+		AggregatedFieldMetrics fieldMetrics = new AggregatedFieldMetrics();
+		this.instrumentation.setFieldMetrics(fieldMetrics);
+
+		Mono<ExecutionGraphQlResponse> responseMono = graphQlSetup
+				.queryFetcher("bookById", env -> CompletableFuture.completedFuture(BookSource.getBookWithoutAuthor(1L)))
+				.toGraphQlService()
+				.execute(document);
+		ResponseHelper.forResponse(responseMono);
+
+		TestObservationRegistryAssert.assertThat(this.observationRegistry)
+				.hasNumberOfObservationsWithNameEqualTo("graphql.datafetcher", 1);
+		assertThat(fieldMetrics.getFieldMetrics("Query", "bookById").getCount()).isEqualTo(1);
+	}
+
 	static class CustomLocalContext {
 
 	}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.ResponseHelper;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PersistedQueryInterceptor}.
+ */
+public class PersistedQueryInterceptorTests {
+
+	private static final String DOCUMENT = "{ greeting }";
+
+
+	private final InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore();
+
+	private final WebGraphQlHandler handler = GraphQlSetup.schemaContent("type Query { greeting: String }")
+			.queryFetcher("greeting", (env) -> "hi")
+			.interceptor(new PersistedQueryInterceptor(this.store))
+			.toWebGraphQlHandler();
+
+
+	@Test
+	void notFound() {
+		Mono<WebGraphQlResponse> responseMono = this.handler.handleRequest(request(null, sha256(DOCUMENT)));
+
+		ResponseHelper response = ResponseHelper.forResponse(responseMono);
+		assertThat(response.errorCount()).isEqualTo(1);
+		assertThat(response.error(0).message()).isEqualTo("PersistedQueryNotFound");
+		assertThat(response.error(0).extensions()).containsEntry("code", "PERSISTED_QUERY_NOT_FOUND");
+	}
+
+	@Test
+	void registerAndExecuteByHash() {
+		String hash = sha256(DOCUMENT);
+
+		Mono<WebGraphQlResponse> responseMono = this.handler.handleRequest(request(DOCUMENT, hash));
+		assertThat(ResponseHelper.forResponse(responseMono).toEntity("greeting", String.class)).isEqualTo("hi");
+
+		responseMono = this.handler.handleRequest(request(null, hash));
+		assertThat(ResponseHelper.forResponse(responseMono).toEntity("greeting", String.class)).isEqualTo("hi");
+	}
+
+	@Test
+	void hashMismatch() {
+		Mono<WebGraphQlResponse> responseMono = this.handler.handleRequest(request(DOCUMENT, sha256("{ other }")));
+
+		ResponseHelper response = ResponseHelper.forResponse(responseMono);
+		assertThat(response.errorCount()).isEqualTo(1);
+		assertThat(response.error(0).message()).isEqualTo("provided sha does not match query");
+		assertThat(this.store.getDocument(sha256(DOCUMENT)).block()).isNull();
+	}
+
+	@Test
+	void requestWithoutPersistedQuery() {
+		Mono<WebGraphQlResponse> responseMono = this.handler.handleRequest(
+				new WebGraphQlRequest(URI.create("/graphql"), new HttpHeaders(), null, null,
+						Collections.emptyMap(), Map.of("query", DOCUMENT), "1", null));
+
+		assertThat(ResponseHelper.forResponse(responseMono).toEntity("greeting", String.class)).isEqualTo("hi");
+	}
+
+	@Test
+	void storeEvictsLeastRecentlyUsed() {
+		InMemoryPersistedQueryStore store = new InMemoryPersistedQueryStore(2);
+		store.saveDocument("a", "{ a }").block();
+		store.saveDocument("b", "{ b }").block();
+		store.getDocument("a").block();
+		store.saveDocument("c", "{ c }").block();
+
+		assertThat(store.getDocument("a").block()).isEqualTo("{ a }");
+		assertThat(store.getDocument("b").block()).isNull();
+		assertThat(store.getDocument("c").block()).isEqualTo("{ c }");
+	}
+
+	private static WebGraphQlRequest request(String document, String hash) {
+		Map<String, Object> body = new HashMap<>();
+		if (document != null) {
+			body.put("query", document);
+		}
+		body.put("extensions", Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)));
+		return new WebGraphQlRequest(URI.create("/graphql"), new HttpHeaders(), null, null,
+				Collections.emptyMap(), body, "1", null);
+	}
+
+	private static String sha256(String document) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(document.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.server.support;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.execution.CacheControlInstrumentation;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResponseCacheInterceptor}.
+ */
+public class ResponseCacheInterceptorTests {
+
+	private static final String SCHEMA = """
+			enum CacheControlScope { PUBLIC PRIVATE }
+			directive @cacheControl(maxAge: Int, scope: CacheControlScope) on FIELD_DEFINITION | OBJECT | INTERFACE | UNION
+			type Query {
+				greeting: String @cacheControl(maxAge: 60)
+				farewell: String @cacheControl(maxAge: 10)
+				uncached: String
+				me: String @cacheControl(maxAge: 60, scope: PRIVATE)
+			}
+			""";
+
+
+	private final AtomicInteger fetchCount = new AtomicInteger();
+
+	private final ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor();
+
+	private final WebGraphQlHandler handler = GraphQlSetup.schemaContent(SCHEMA)
+			.queryFetcher("greeting", (env) -> "hi " + this.fetchCount.incrementAndGet())
+			.queryFetcher("farewell", (env) -> "bye " + this.fetchCount.incrementAndGet())
+			.queryFetcher("uncached", (env) -> "now " + this.fetchCount.incrementAndGet())
+			.queryFetcher("me", (env) -> "me " + this.fetchCount.incrementAndGet())
+			.instrumentation(new CacheControlInstrumentation())
+			.interceptor(this.interceptor)
+			.toWebGraphQlHandler();
+
+
+	@Test
+	void cachedResponse() {
+		WebGraphQlResponse response1 = execute("{ greeting }", new HttpHeaders());
+		WebGraphQlResponse response2 = execute("{\n  greeting\n}\n", new HttpHeaders());
+
+		assertThat(this.fetchCount.get()).isEqualTo(1);
+		assertThat(response2.<Map<String, Object>>getData()).isEqualTo(Map.of("greeting", "hi 1"));
+
+		HttpHeaders headers1 = response1.getResponseHeaders();
+		HttpHeaders headers2 = response2.getResponseHeaders();
+		assertThat(headers1.getCacheControl()).isEqualTo("max-age=60, public");
+		assertThat(headers2.getCacheControl()).startsWith("max-age=").endsWith(", public");
+		assertThat(headers1.getETag()).isNotNull().isEqualTo(headers2.getETag());
+	}
+
+	@Test
+	void eTagFromSerializedResponse() {
+		byte[] bytes = "{\"data\":{\"greeting\":\"hi 1\"}}".getBytes(StandardCharsets.UTF_8);
+		this.interceptor.setResponseSerializer((result) -> bytes);
+
+		WebGraphQlResponse response = execute("{ greeting }", new HttpHeaders());
+
+		String eTag = "W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+		assertThat(response.getResponseHeaders().getETag()).isEqualTo(eTag);
+	}
+
+	@Test
+	void notModified() {
+		WebGraphQlResponse response = execute("{ greeting }", new HttpHeaders());
+		assertThat(ResponseCacheInterceptor.isNotModified(response)).isFalse();
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(response.getResponseHeaders().getETag());
+		WebGraphQlResponse cachedResponse = execute("{ greeting }", headers);
+		assertThat(ResponseCacheInterceptor.isNotModified(cachedResponse)).isTrue();
+		assertThat(cachedResponse.getResponseHeaders().getETag()).isEqualTo(response.getResponseHeaders().getETag());
+
+		headers = new HttpHeaders();
+		headers.setIfNoneMatch("W/\"other\"");
+		assertThat(ResponseCacheInterceptor.isNotModified(execute("{ greeting }", headers))).isFalse();
+	}
+
+	@Test
+	void minimumMaxAge() {
+		WebGraphQlResponse response = execute("{ greeting farewell }", new HttpHeaders());
+		assertThat(response.getResponseHeaders().getCacheControl()).isEqualTo("max-age=10, public");
+	}
+
+	@Test
+	void fieldWithoutHintNotCached() {
+		WebGraphQlResponse response = execute("{ greeting uncached }", new HttpHeaders());
+		execute("{ greeting uncached }", new HttpHeaders());
+
+		assertThat(this.fetchCount.get()).isEqualTo(4);
+		assertThat(response.getResponseHeaders().getCacheControl()).isNull();
+		assertThat(response.getResponseHeaders().getETag()).isNull();
+	}
+
+	@Test
+	void privateScopeNotCached() {
+		WebGraphQlResponse response = execute("{ me }", new HttpHeaders());
+		execute("{ me }", new HttpHeaders());
+
+		assertThat(this.fetchCount.get()).isEqualTo(2);
+		assertThat(response.getResponseHeaders().getCacheControl()).isEqualTo("max-age=60, private");
+	}
+
+	@Test
+	void varyHeaders() {
+		this.interceptor.setVaryHeaders("Accept-Language");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Accept-Language", "en");
+		execute("{ greeting }", headers);
+		execute("{ greeting }", headers);
+
+		headers = new HttpHeaders();
+		headers.set("Accept-Language", "fr");
+		WebGraphQlResponse response = execute("{ greeting }", headers);
+
+		assertThat(this.fetchCount.get()).isEqualTo(2);
+		assertThat(response.getResponseHeaders().getVary()).containsExactly("Accept-Language");
+	}
+
+	@Test
+	void normalize() {
+		String document = "query Q($id: ID) {\n  a(s: \"x,  y\", id: $id), b # comment\n  ... on T { c }\n}";
+		assertThat(ResponseCacheInterceptor.normalize(document))
+				.isEqualTo("query Q($id:ID){a(s:\"x,  y\"id:$id)b ... on T{c}}");
+	}
+
+	private WebGraphQlResponse execute(String document, HttpHeaders headers) {
+		WebGraphQlRequest request = new WebGraphQlRequest(URI.create("/graphql"), headers, null, null,
+				Collections.emptyMap(), Map.of("query", document), "1", null);
+		return this.handler.handleRequest(request).block();
+	}
+
+}
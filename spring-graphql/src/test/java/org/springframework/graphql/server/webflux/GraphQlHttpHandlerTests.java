@@ -32,8 +32,11 @@ import org.springframework.core.codec.DataBufferEncoder;
 import org.springframework.core.io.buffer.DefaultDataBuffer;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.execution.CacheControlInstrumentation;
 import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.support.ResponseCacheInterceptor;
 import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.CodecConfigurer;
 import org.springframework.http.codec.DecoderHttpMessageReader;
@@ -46,6 +49,7 @@ import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import org.springframework.web.reactive.result.view.ViewResolver;
@@ -61,6 +65,17 @@ public class GraphQlHttpHandlerTests {
 	private static final List<HttpMessageReader<?>> MESSAGE_READERS =
 			List.of(new DecoderHttpMessageReader<>(new Jackson2JsonDecoder()));
 
+	private static final String CACHE_CONTROL_SCHEMA = """
+			enum CacheControlScope { PUBLIC PRIVATE }
+			directive @cacheControl(maxAge: Int, scope: CacheControlScope) on FIELD_DEFINITION
+			type Query { greeting: String @cacheControl(maxAge: 60) }
+			""";
+
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
 	private final GraphQlHttpHandler greetingHandler =
 			GraphQlSetup.schemaContent("type Query { greeting: String }")
 					.queryFetcher("greeting", (env) -> "Hello")
@@ -207,6 +222,75 @@ public class GraphQlHttpHandlerTests {
 		assertThat(id).isEqualTo(httpRequest.getId());
 	}
 
+	@Test
+	void notModified() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(CACHE_CONTROL_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.instrumentation(new CacheControlInstrumentation())
+				.interceptor(new ResponseCacheInterceptor())
+				.toHttpHandlerWebFlux();
+
+		MockServerHttpRequest httpRequest = MockServerHttpRequest.post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(initRequestBody("{greeting}"));
+
+		MockServerHttpResponse httpResponse = handleRequest(httpRequest, handler);
+		String eTag = httpResponse.getHeaders().getETag();
+		assertThat(httpResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(eTag).isNotNull();
+
+		httpRequest = MockServerHttpRequest.post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.ifNoneMatch(eTag)
+				.body(initRequestBody("{greeting}"));
+
+		httpResponse = handleRequest(httpRequest, handler);
+		assertThat(httpResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(httpResponse.getHeaders().getETag()).isEqualTo(eTag);
+		assertThat(httpResponse.getBodyAsString().defaultIfEmpty("").block()).isEmpty();
+	}
+
+	@Test
+	void deferWithMultipart() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toHttpHandlerWebFlux();
+
+		MockServerHttpRequest httpRequest = MockServerHttpRequest.post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.MULTIPART_MIXED, MediaType.APPLICATION_JSON)
+				.body(initRequestBody("{ greeting ... @defer { farewell } }"));
+
+		MockServerHttpResponse httpResponse = handleRequest(httpRequest, handler);
+		assertThat(httpResponse.getHeaders().getContentType()).isNotNull();
+		assertThat(httpResponse.getHeaders().getContentType().isCompatibleWith(MediaType.MULTIPART_MIXED)).isTrue();
+
+		String body = httpResponse.getBodyAsString().block();
+		assertThat(body).startsWith("\r\n---\r\n").endsWith("\r\n-----\r\n");
+		assertThat(StringUtils.countOccurrencesOf(body, "Content-Type: application/json")).isEqualTo(2);
+		assertThat(body).contains("\"greeting\":\"Hello\"", "\"farewell\":\"Goodbye\"", "\"hasNext\":false");
+		assertThat(body.indexOf("\"greeting\"")).isLessThan(body.indexOf("\"farewell\""));
+	}
+
+	@Test
+	void deferWithoutMultipartAccepted() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toHttpHandlerWebFlux();
+
+		MockServerHttpRequest httpRequest = MockServerHttpRequest.post("/")
+				.contentType(MediaType.APPLICATION_JSON)
+				.accept(MediaType.APPLICATION_JSON)
+				.body(initRequestBody("{ greeting ... @defer { farewell } }"));
+
+		MockServerHttpResponse httpResponse = handleRequest(httpRequest, handler);
+		assertThat(httpResponse.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(httpResponse.getBodyAsString().block())
+				.isEqualTo("{\"data\":{\"greeting\":\"Hello\",\"farewell\":\"Goodbye\"}}");
+	}
+
 	private static String initRequestBody(String document) throws Exception {
 		SerializableGraphQlRequest request = new SerializableGraphQlRequest();
 		request.setQuery(document);
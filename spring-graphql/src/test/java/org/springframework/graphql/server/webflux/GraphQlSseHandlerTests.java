@@ -39,6 +39,7 @@ import org.springframework.mock.web.reactive.function.server.MockServerRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,6 +59,11 @@ class GraphQlSseHandlerTests {
 		return Flux.fromIterable(BookSource.books()).filter((book) -> book.getAuthor().getFullName().contains(author));
 	};
 
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
 	private final MockServerHttpRequest httpRequest = MockServerHttpRequest.post("/graphql")
 			.contentType(MediaType.APPLICATION_JSON).accept(MediaType.TEXT_EVENT_STREAM).build();
 
@@ -129,6 +135,34 @@ class GraphQlSseHandlerTests {
 				""");
 	}
 
+	@Test
+	void shouldNotDeliverDeferredQueryIncrementallyByDefault() {
+		SerializableGraphQlRequest request = initRequest("{ greeting ... @defer { farewell } }");
+		GraphQlSseHandler handler = createDeferHandler();
+		assertThat(handler.isIncrementalDeliveryEnabled()).isFalse();
+
+		MockServerHttpResponse response = handleRequest(this.httpRequest, handler, request);
+
+		String body = response.getBodyAsString().block();
+		assertThat(StringUtils.countOccurrencesOf(body, "event:next")).isEqualTo(1);
+		assertThat(body).doesNotContain("hasNext");
+	}
+
+	@Test
+	void shouldWriteEventPerPayloadForDeferredQuery() {
+		SerializableGraphQlRequest request = initRequest("{ greeting ... @defer { farewell } }");
+		GraphQlSseHandler handler = createDeferHandler();
+		handler.setIncrementalDeliveryEnabled(true);
+
+		MockServerHttpResponse response = handleRequest(this.httpRequest, handler, request);
+
+		String body = response.getBodyAsString().block();
+		assertThat(StringUtils.countOccurrencesOf(body, "event:next")).isEqualTo(2);
+		assertThat(body).contains("\"greeting\":\"Hello\"", "\"farewell\":\"Goodbye\"", "\"hasNext\":false");
+		assertThat(body.indexOf("\"greeting\"")).isLessThan(body.indexOf("\"farewell\""));
+		assertThat(body).endsWith("event:complete\ndata:{}\n\n");
+	}
+
 	private GraphQlSseHandler createHandler(DataFetcher<?> subscriptionDataFetcher) {
 		return new GraphQlSseHandler(
 				GraphQlSetup.schemaResource(BookSource.schema)
@@ -137,6 +171,13 @@ class GraphQlSseHandlerTests {
 						.toWebGraphQlHandler());
 	}
 
+	private GraphQlSseHandler createDeferHandler() {
+		return new GraphQlSseHandler(GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toWebGraphQlHandler());
+	}
+
 	private static SerializableGraphQlRequest initRequest(String document) {
 		SerializableGraphQlRequest request = new SerializableGraphQlRequest();
 		request.setQuery(document);
@@ -71,6 +71,14 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 
 	private static final Duration TIMEOUT = Duration.ofSeconds(5);
 
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
+	private static final String DEFER_QUERY = "{\"id\":\"" + SUBSCRIPTION_ID + "\",\"type\":\"subscribe\"," +
+			"\"payload\":{\"query\":\"{ greeting ... @defer { farewell } }\"}}";
+
 
 	@Test
 	void query() {
@@ -380,6 +388,55 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 				.verify(TIMEOUT);
 	}
 
+	@Test
+	void deferWithIncrementalDeliveryDisabled() {
+		TestWebSocketSession session = handleDeferQuery(false);
+
+		StepVerifier.create(session.getOutput())
+				.consumeNextWith((message) -> assertMessageType(message, CONNECTION_ACK))
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.doesNotContainKey("hasNext")
+							.extractingByKey("data", as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("greeting", "Hello")
+							.containsEntry("farewell", "Goodbye");
+				})
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.COMPLETE))
+				.expectComplete()
+				.verify(TIMEOUT);
+	}
+
+	@Test
+	void deferWithIncrementalDeliveryEnabled() {
+		TestWebSocketSession session = handleDeferQuery(true);
+
+		StepVerifier.create(session.getOutput())
+				.consumeNextWith((message) -> assertMessageType(message, CONNECTION_ACK))
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.containsEntry("hasNext", true)
+							.extractingByKey("data", as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("greeting", "Hello")
+							.doesNotContainKey("farewell");
+				})
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.containsEntry("hasNext", false)
+							.extractingByKey("incremental", as(InstanceOfAssertFactories.LIST))
+							.singleElement(as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("data", Map.of("farewell", "Goodbye"));
+				})
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.COMPLETE))
+				.expectComplete()
+				.verify(TIMEOUT);
+	}
+
 	@Test
 	void registerBindingReflectionOnWebSocketMessage() {
 		RuntimeHints runtimeHints = new RuntimeHints();
@@ -408,6 +465,24 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 		return session;
 	}
 
+	private TestWebSocketSession handleDeferQuery(boolean incrementalDeliveryEnabled) {
+		WebGraphQlHandler graphQlHandler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toWebGraphQlHandler();
+
+		GraphQlWebSocketHandler handler =
+				new GraphQlWebSocketHandler(graphQlHandler, ServerCodecConfigurer.create(), Duration.ofSeconds(60));
+		handler.setIncrementalDeliveryEnabled(incrementalDeliveryEnabled);
+
+		TestWebSocketSession session = new TestWebSocketSession(Flux.just(
+				toWebSocketMessage("{\"type\":\"connection_init\"}"),
+				toWebSocketMessage(DEFER_QUERY)));
+
+		handler.handle(session).block(TIMEOUT);
+		return session;
+	}
+
 	private static WebSocketMessage toWebSocketMessage(String data) {
 		DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(data.getBytes(StandardCharsets.UTF_8));
 		return new WebSocketMessage(WebSocketMessage.Type.TEXT, buffer);
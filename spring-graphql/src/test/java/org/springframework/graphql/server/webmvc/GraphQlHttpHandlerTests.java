@@ -18,6 +18,7 @@ package org.springframework.graphql.server.webmvc;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -34,20 +35,25 @@ import org.testcontainers.shaded.com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.graphql.GraphQlSetup;
+import org.springframework.graphql.execution.CacheControlInstrumentation;
 import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.support.ResponseCacheInterceptor;
 import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.function.AsyncServerResponse;
 import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.awaitility.Awaitility.await;
 
 /**
  * Tests for {@link GraphQlHttpHandler}.
@@ -59,6 +65,17 @@ public class GraphQlHttpHandlerTests {
 	private static final List<HttpMessageConverter<?>> MESSAGE_READERS =
 			List.of(new MappingJackson2HttpMessageConverter(), new ByteArrayHttpMessageConverter());
 
+	private static final String CACHE_CONTROL_SCHEMA = """
+			enum CacheControlScope { PUBLIC PRIVATE }
+			directive @cacheControl(maxAge: Int, scope: CacheControlScope) on FIELD_DEFINITION
+			type Query { greeting: String @cacheControl(maxAge: 60) }
+			""";
+
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
 	private final GraphQlHttpHandler greetingHandler = GraphQlSetup.schemaContent("type Query { greeting: String }")
 			.queryFetcher("greeting", (env) -> "Hello").toHttpHandler();
 
@@ -188,6 +205,65 @@ public class GraphQlHttpHandlerTests {
 		assertThat(response.getContentAsString()).isEqualTo("{\"data\":{\"__typename\":\"Query\"}}");
 	}
 
+	@Test
+	void notModified() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(CACHE_CONTROL_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.instrumentation(new CacheControlInstrumentation())
+				.interceptor(new ResponseCacheInterceptor())
+				.toHttpHandler();
+
+		MockHttpServletResponse response = handleRequest(createServletRequest("{ greeting }", "*/*"), handler);
+		String eTag = response.getHeader(HttpHeaders.ETAG);
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(eTag).isNotNull();
+
+		MockHttpServletRequest request = createServletRequest("{ greeting }", "*/*");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+		response = handleRequest(request, handler);
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void deferWithMultipart() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toHttpHandler();
+
+		MockHttpServletRequest request = createServletRequest(
+				"{ greeting ... @defer { farewell } }", "multipart/mixed, application/json");
+
+		MockHttpServletResponse response = handleRequest(request, handler);
+		await().atMost(Duration.ofSeconds(1)).until(() -> response.getContentAsString().endsWith("\r\n-----\r\n"));
+
+		assertThat(response.getContentType()).startsWith("multipart/mixed");
+
+		String body = response.getContentAsString();
+		assertThat(body).startsWith("\r\n---\r\n");
+		assertThat(StringUtils.countOccurrencesOf(body, "Content-Type: application/json")).isEqualTo(2);
+		assertThat(body).contains("\"greeting\":\"Hello\"", "\"farewell\":\"Goodbye\"", "\"hasNext\":false");
+		assertThat(body.indexOf("\"greeting\"")).isLessThan(body.indexOf("\"farewell\""));
+	}
+
+	@Test
+	void deferWithoutMultipartAccepted() throws Exception {
+		GraphQlHttpHandler handler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toHttpHandler();
+
+		MockHttpServletRequest request = createServletRequest(
+				"{ greeting ... @defer { farewell } }", MediaType.APPLICATION_JSON_VALUE);
+		MockHttpServletResponse response = handleRequest(request, handler);
+
+		assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(response.getContentAsString())
+				.isEqualTo("{\"data\":{\"greeting\":\"Hello\",\"farewell\":\"Goodbye\"}}");
+	}
+
 	private MockHttpServletRequest createServletRequest(String document, String accept) throws Exception {
 		SerializableGraphQlRequest request = new SerializableGraphQlRequest();
 		request.setQuery(document);
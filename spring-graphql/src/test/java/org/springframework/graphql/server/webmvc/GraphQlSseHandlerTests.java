@@ -37,6 +37,7 @@ import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.function.AsyncServerResponse;
 import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
@@ -58,6 +59,11 @@ class GraphQlSseHandlerTests {
 	private static final List<HttpMessageConverter<?>> MESSAGE_READERS =
 			List.of(new MappingJackson2HttpMessageConverter());
 
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
 	private static final AtomicBoolean DATA_FETCHER_CANCELLED = new AtomicBoolean();
 
 	private static final DataFetcher<?> SEARCH_DATA_FETCHER = env -> {
@@ -156,6 +162,37 @@ class GraphQlSseHandlerTests {
 
 	}
 
+	@Test
+	void shouldNotDeliverDeferredQueryIncrementallyByDefault() throws Exception {
+		GraphQlSseHandler handler = createDeferHandler();
+		assertThat(handler.isIncrementalDeliveryEnabled()).isFalse();
+
+		MockHttpServletRequest request = createServletRequest("""
+				{ "query": "{ greeting ... @defer { farewell } }" }
+				""");
+		MockHttpServletResponse response = handleRequest(request, handler);
+
+		String body = response.getContentAsString();
+		assertThat(StringUtils.countOccurrencesOf(body, "event:next")).isEqualTo(1);
+		assertThat(body).doesNotContain("hasNext");
+	}
+
+	@Test
+	void shouldWriteEventPerPayloadForDeferredQuery() throws Exception {
+		GraphQlSseHandler handler = createDeferHandler();
+		handler.setIncrementalDeliveryEnabled(true);
+
+		MockHttpServletRequest request = createServletRequest("""
+				{ "query": "{ greeting ... @defer { farewell } }" }
+				""");
+		MockHttpServletResponse response = handleRequest(request, handler);
+
+		String body = response.getContentAsString();
+		assertThat(StringUtils.countOccurrencesOf(body, "event:next")).isEqualTo(2);
+		assertThat(body).contains("\"greeting\":\"Hello\"", "\"farewell\":\"Goodbye\"", "\"hasNext\":false");
+		assertThat(body.indexOf("\"greeting\"")).isLessThan(body.indexOf("\"farewell\""));
+	}
+
 	private GraphQlSseHandler createSseHandler(DataFetcher<?> dataFetcher) {
 		return new GraphQlSseHandler(GraphQlSetup.schemaResource(BookSource.schema)
 				.queryFetcher("bookById", (env) -> BookSource.getBookWithoutAuthor(1L))
@@ -163,6 +200,13 @@ class GraphQlSseHandlerTests {
 				.toWebGraphQlHandler());
 	}
 
+	private GraphQlSseHandler createDeferHandler() {
+		return new GraphQlSseHandler(GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toWebGraphQlHandler());
+	}
+
 	private MockHttpServletRequest createServletRequest(String query) {
 		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
 		request.setContentType(MediaType.APPLICATION_JSON_VALUE);
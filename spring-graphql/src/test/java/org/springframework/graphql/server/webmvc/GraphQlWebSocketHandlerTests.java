@@ -77,6 +77,14 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 
 	private static final Duration TIMEOUT = Duration.ofSeconds(5);
 
+	private static final String DEFER_SCHEMA = """
+			directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+			type Query { greeting: String, farewell: String }
+			""";
+
+	private static final String DEFER_QUERY = "{\"id\":\"" + SUBSCRIPTION_ID + "\",\"type\":\"subscribe\"," +
+			"\"payload\":{\"query\":\"{ greeting ... @defer { farewell } }\"}}";
+
 	private final GraphQlWebSocketHandler handler = initWebSocketHandler();
 
 	private TestWebSocketSession session = new TestWebSocketSession();
@@ -450,6 +458,61 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 		}
 	}
 
+	@Test
+	void deferWithIncrementalDeliveryDisabled() throws Exception {
+		handle(initDeferWebSocketHandler(false),
+				new TextMessage("{\"type\":\"connection_init\"}"),
+				new TextMessage(DEFER_QUERY));
+
+		StepVerifier.create(this.session.getOutput())
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.CONNECTION_ACK))
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.doesNotContainKey("hasNext")
+							.extractingByKey("data", as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("greeting", "Hello")
+							.containsEntry("farewell", "Goodbye");
+				})
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.COMPLETE))
+				.then(this.session::close) // Complete output Flux
+				.expectComplete()
+				.verify(TIMEOUT);
+	}
+
+	@Test
+	void deferWithIncrementalDeliveryEnabled() throws Exception {
+		handle(initDeferWebSocketHandler(true),
+				new TextMessage("{\"type\":\"connection_init\"}"),
+				new TextMessage(DEFER_QUERY));
+
+		StepVerifier.create(this.session.getOutput())
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.CONNECTION_ACK))
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.containsEntry("hasNext", true)
+							.extractingByKey("data", as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("greeting", "Hello")
+							.doesNotContainKey("farewell");
+				})
+				.consumeNextWith((message) -> {
+					GraphQlWebSocketMessage actual = decode(message);
+					assertThat(actual.resolvedType()).isEqualTo(GraphQlWebSocketMessageType.NEXT);
+					assertThat(actual.<Map<String, Object>>getPayload())
+							.containsEntry("hasNext", false)
+							.extractingByKey("incremental", as(InstanceOfAssertFactories.LIST))
+							.singleElement(as(InstanceOfAssertFactories.map(String.class, Object.class)))
+							.containsEntry("data", Map.of("farewell", "Goodbye"));
+				})
+				.consumeNextWith((message) -> assertMessageType(message, GraphQlWebSocketMessageType.COMPLETE))
+				.then(this.session::close) // Complete output Flux
+				.expectComplete()
+				.verify(TIMEOUT);
+	}
+
 	@Test
 	void registerBindingReflectionOnWebSocketMessage() {
 		RuntimeHints runtimeHints = new RuntimeHints();
@@ -490,6 +553,17 @@ public class GraphQlWebSocketHandlerTests extends WebSocketHandlerTestSupport {
 		}
 	}
 
+	private GraphQlWebSocketHandler initDeferWebSocketHandler(boolean incrementalDeliveryEnabled) {
+		WebGraphQlHandler graphQlHandler = GraphQlSetup.schemaContent(DEFER_SCHEMA)
+				.queryFetcher("greeting", (env) -> "Hello")
+				.queryFetcher("farewell", (env) -> "Goodbye")
+				.toWebGraphQlHandler();
+
+		GraphQlWebSocketHandler handler = new GraphQlWebSocketHandler(graphQlHandler, converter, Duration.ofSeconds(60));
+		handler.setIncrementalDeliveryEnabled(incrementalDeliveryEnabled);
+		return handler;
+	}
+
 	@SuppressWarnings("unchecked")
 	private GraphQlWebSocketMessage decode(WebSocketMessage<?> message) {
 		try {
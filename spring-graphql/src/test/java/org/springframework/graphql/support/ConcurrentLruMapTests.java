@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.graphql.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ConcurrentLruMap}.
+ */
+public class ConcurrentLruMapTests {
+
+	@Test
+	void evictLeastRecentlyUsed() {
+		ConcurrentLruMap<String, String> map = new ConcurrentLruMap<>(2);
+		map.put("a", "A");
+		map.put("b", "B");
+		map.get("a");
+
+		assertThat(map.put("c", "C")).isEqualTo(1);
+		assertThat(map.size()).isEqualTo(2);
+		assertThat(map.get("a")).isEqualTo("A");
+		assertThat(map.get("b")).isNull();
+		assertThat(map.get("c")).isEqualTo("C");
+	}
+
+	@Test
+	void evictByWeight() {
+		ConcurrentLruMap<String, String> map = new ConcurrentLruMap<>(10, 5, String::length);
+		map.put("a", "AA");
+		map.put("b", "BB");
+
+		assertThat(map.put("c", "CCC")).isEqualTo(2);
+		assertThat(map.size()).isEqualTo(1);
+		assertThat(map.weight()).isEqualTo(3);
+	}
+
+	@Test
+	void replaceAndRemove() {
+		ConcurrentLruMap<String, String> map = new ConcurrentLruMap<>(10, 100, String::length);
+		map.put("a", "A");
+		map.put("a", "AAA");
+		assertThat(map.weight()).isEqualTo(3);
+
+		assertThat(map.remove("a", "A")).isFalse();
+		assertThat(map.remove("a", "AAA")).isTrue();
+		assertThat(map.remove("a")).isNull();
+		assertThat(map.size()).isEqualTo(0);
+		assertThat(map.weight()).isEqualTo(0);
+	}
+
+}
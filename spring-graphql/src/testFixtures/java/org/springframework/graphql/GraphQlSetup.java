@@ -38,6 +38,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
 import org.springframework.graphql.data.pagination.ConnectionAdapter;
 import org.springframework.graphql.data.pagination.ConnectionFieldTypeVisitor;
+import org.springframework.graphql.execution.CachingPreparsedDocumentProvider;
 import org.springframework.graphql.execution.ConnectionTypeDefinitionConfigurer;
 import org.springframework.graphql.execution.DataFetcherExceptionResolver;
 import org.springframework.graphql.execution.DataLoaderRegistrar;
@@ -45,6 +46,7 @@ import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
 import org.springframework.graphql.execution.GraphQlSource;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 import org.springframework.graphql.execution.SubscriptionExceptionResolver;
+import org.springframework.graphql.execution.TrustedDocumentRegistry;
 import org.springframework.graphql.execution.TypeDefinitionConfigurer;
 import org.springframework.graphql.server.WebGraphQlHandler;
 import org.springframework.graphql.server.WebGraphQlInterceptor;
@@ -153,6 +155,21 @@ public final class GraphQlSetup implements GraphQlServiceSetup {
 		return this;
 	}
 
+	public GraphQlSetup configureSourceBuilder(Consumer<GraphQlSource.SchemaResourceBuilder> consumer) {
+		consumer.accept(this.graphQlSourceBuilder);
+		return this;
+	}
+
+	public GraphQlSetup documentCache(CachingPreparsedDocumentProvider documentCache) {
+		this.graphQlSourceBuilder.documentCache(documentCache);
+		return this;
+	}
+
+	public GraphQlSetup trustedDocuments(TrustedDocumentRegistry registry) {
+		this.graphQlSourceBuilder.trustedDocuments(registry);
+		return this;
+	}
+
 	public GraphQL toGraphQl() {
 		return this.graphQlSourceBuilder.build().graphQl();
 	}